@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel;
+
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+public final class DingoIndexScan extends LogicalDingoTableScan implements DingoRel {
+    // Assume an index value matches a few rows, more than a primary key but far less than a filtered scan.
+    private static final double ASSUME_ROWS_PER_VALUE = 2.0d;
+
+    @Getter
+    private final String index;
+    @Getter
+    private final Collection<Map<Integer, RexLiteral>> keyItems;
+
+    public DingoIndexScan(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelOptTable table,
+        RexNode filter,
+        @Nullable TupleMapping selection,
+        String index,
+        Collection<Map<Integer, RexLiteral>> keyItems
+    ) {
+        super(cluster, traitSet, hints, table, filter, selection);
+        this.index = index;
+        this.keyItems = keyItems;
+    }
+
+    @Nonnull
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        super.explainTerms(pw);
+        pw.item("index", index);
+        pw.item("keyItems", keyItems);
+        return pw;
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        return keyItems.size() * ASSUME_ROWS_PER_VALUE / DingoTableScan.ASSUME_PARTS;
+    }
+
+    @Override
+    public <T> T accept(@Nonnull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
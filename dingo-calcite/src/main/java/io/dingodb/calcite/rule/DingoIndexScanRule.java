@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.DingoConventions;
+import io.dingodb.calcite.rel.DingoIndexScan;
+import io.dingodb.calcite.rel.DingoTableScan;
+import io.dingodb.common.table.IndexDefinition;
+import io.dingodb.common.table.TableDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.immutables.value.Value;
+
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+import static io.dingodb.calcite.DingoTable.dingo;
+
+/**
+ * Turn a scan into an index lookup if the filter sets all the columns of a secondary index for each row.
+ */
+@Slf4j
+@Value.Enclosing
+public class DingoIndexScanRule extends RelRule<DingoIndexScanRule.Config> {
+    public DingoIndexScanRule(Config config) {
+        super(config);
+    }
+
+    @Override
+    public void onMatch(@Nonnull RelOptRuleCall call) {
+        final DingoTableScan rel = call.rel(0);
+        TableDefinition td = dingo(rel.getTable()).getTableDefinition();
+        if (td.getIndexes() == null || td.getIndexes().isEmpty()) {
+            return;
+        }
+        RexNode rexNode = RexUtil.toDnf(rel.getCluster().getRexBuilder(), rel.getFilter());
+        for (IndexDefinition index : td.getIndexes()) {
+            KeyFilterRexVisitor visitor = new KeyFilterRexVisitor(
+                td.getIndexMapping(index),
+                rel.getCluster().getRexBuilder()
+            );
+            Set<Map<Integer, RexLiteral>> items = rexNode.accept(visitor);
+            if (visitor.checkKeyItems(items)) {
+                call.transformTo(new DingoIndexScan(
+                    rel.getCluster(),
+                    rel.getTraitSet().replace(DingoConventions.DISTRIBUTED),
+                    rel.getHints(),
+                    rel.getTable(),
+                    rel.getFilter(),
+                    rel.getSelection(),
+                    index.getName(),
+                    items
+                ));
+            }
+        }
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoIndexScanRule.Config.builder()
+            .operandSupplier(b0 ->
+                b0.operand(DingoTableScan.class).predicate(r -> r.getFilter() != null)
+                    .noInputs()
+            )
+            .description("DingoIndexScanRule")
+            .build();
+
+        @Override
+        default DingoIndexScanRule toRule() {
+            return new DingoIndexScanRule(this);
+        }
+    }
+}
@@ -37,6 +37,8 @@ public final class DingoRules {
         = DingoFilterRule.ROOT.toRule(DingoFilterRule.class);
     public static final DingoGetByKeysRule DINGO_GET_BY_KEYS_RULE
         = DingoGetByKeysRule.Config.DEFAULT.toRule();
+    public static final DingoIndexScanRule DINGO_INDEX_SCAN_RULE
+        = DingoIndexScanRule.Config.DEFAULT.toRule();
     public static final DingoHashJoinRootRule DINGO_HASH_JOIN_ROOT_RULE
         = DingoHashJoinRootRule.DEFAULT.toRule(DingoHashJoinRootRule.class);
     public static final DingoHashJoinRule DINGO_HASH_JOIN_RULE
@@ -98,6 +100,7 @@ public final class DingoRules {
         DINGO_GET_BY_KEYS_RULE,
         DINGO_HASH_JOIN_ROOT_RULE,
         DINGO_HASH_JOIN_RULE,
+        DINGO_INDEX_SCAN_RULE,
         DINGO_PART_COUNT_RULE,
         DINGO_PART_DELETE_RULE,
         DINGO_PART_MODIFY_RULE,
@@ -18,6 +18,7 @@ package io.dingodb.calcite.rule;
 
 import com.google.common.collect.Range;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
 import org.apache.calcite.rex.RexBuilder;
 import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexInputRef;
@@ -37,16 +38,22 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 class KeyFilterRexVisitor extends RexVisitorImpl<Set<Map<Integer, RexLiteral>>> {
-    private final TableDefinition tableDefinition;
+    private final Set<Integer> keyColumns;
     private final int primaryKeyCount;
     private final RexBuilder rexBuilder;
     private boolean operandHasNonPrimaryKey = false;
 
     public KeyFilterRexVisitor(@Nonnull TableDefinition tableDefinition, RexBuilder rexBuilder) {
+        this(tableDefinition.getKeyMapping(), rexBuilder);
+    }
+
+    /**
+     * Create a visitor collecting the values of the columns in {@code keyMapping}, such as the columns of an index.
+     */
+    public KeyFilterRexVisitor(@Nonnull TupleMapping keyMapping, RexBuilder rexBuilder) {
         super(true);
-        this.tableDefinition = tableDefinition;
-        this.primaryKeyCount = tableDefinition.getKeyMapping().size();
-        // reverse indices mapping from column index to key index.
+        this.keyColumns = keyMapping.stream().boxed().collect(Collectors.toSet());
+        this.primaryKeyCount = keyColumns.size();
         this.rexBuilder = rexBuilder;
     }
 
@@ -214,7 +221,7 @@ class KeyFilterRexVisitor extends RexVisitorImpl<Set<Map<Integer, RexLiteral>>>
     @Nonnull
     private Map<Integer, RexLiteral> makeItem(int index, RexLiteral rexLiteral) {
         Map<Integer, RexLiteral> item = new HashMap<>(primaryKeyCount);
-        if (tableDefinition.getColumn(index).isPrimary()) {
+        if (keyColumns.contains(index)) {
             item.put(index, rexLiteral);
         } else {
             this.operandHasNonPrimaryKey = true;
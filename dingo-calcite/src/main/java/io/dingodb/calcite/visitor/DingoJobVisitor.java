@@ -26,6 +26,7 @@ import io.dingodb.calcite.rel.DingoFilter;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHash;
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoIndexScan;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartModify;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
@@ -45,6 +46,7 @@ import io.dingodb.common.hash.HashStrategy;
 import io.dingodb.common.hash.SimpleHashStrategy;
 import io.dingodb.common.partition.PartitionStrategy;
 import io.dingodb.common.partition.RangeStrategy;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
@@ -67,8 +69,10 @@ import io.dingodb.exec.operator.FilterOperator;
 import io.dingodb.exec.operator.GetByKeysOperator;
 import io.dingodb.exec.operator.HashJoinOperator;
 import io.dingodb.exec.operator.HashOperator;
+import io.dingodb.exec.operator.PartColumnScanOperator;
 import io.dingodb.exec.operator.PartCountOperator;
 import io.dingodb.exec.operator.PartDeleteOperator;
+import io.dingodb.exec.operator.PartIndexScanOperator;
 import io.dingodb.exec.operator.PartInsertOperator;
 import io.dingodb.exec.operator.PartRangeScanOperator;
 import io.dingodb.exec.operator.PartScanOperator;
@@ -89,13 +93,17 @@ import io.dingodb.exec.operator.data.SortNullDirection;
 import io.dingodb.meta.Part;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.util.ImmutableBitSet;
 
 import java.util.ArrayList;
@@ -109,6 +117,7 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -216,6 +225,38 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
             .collect(Collectors.toList());
     }
 
+    @Nonnull
+    private static List<Object[]> getTuplesFromIndexItems(
+        @Nonnull Collection<Map<Integer, RexLiteral>> items,
+        @Nonnull TupleMapping indexMapping,
+        @Nonnull TableDefinition td
+    ) {
+        return items.stream()
+            .map(item -> {
+                Object[] tuple = new Object[indexMapping.size()];
+                for (int i = 0; i < indexMapping.size(); i++) {
+                    int index = indexMapping.get(i);
+                    tuple[i] = RexLiteralUtils.convertFromRexLiteral(
+                        item.get(index),
+                        td.getColumn(index).getDingoType()
+                    );
+                }
+                return tuple;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, TupleMapping> getIndexMappings(@Nonnull TableDefinition td) {
+        if (td.getIndexes() == null || td.getIndexes().isEmpty()) {
+            return null;
+        }
+        Map<String, TupleMapping> indexes = new HashMap<>();
+        for (IndexDefinition index : td.getIndexes()) {
+            indexes.put(index.getName(), td.getIndexMapping(index));
+        }
+        return indexes;
+    }
+
     @Nonnull
     private static Map<Location, List<String>> groupAllPartKeysByAddress(
         @Nonnull final NavigableMap<ComparableByteArray, Part> parts
@@ -481,6 +522,40 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         return outputs;
     }
 
+    @Override
+    public Collection<Output> visit(@Nonnull DingoIndexScan rel) {
+        String tableName = MetaCache.getTableName(rel.getTable());
+        TableDefinition td = this.metaCache.getTableDefinition(tableName);
+        List<Location> distributes = this.metaCache.getDistributes(tableName);
+        CommonId tableId = this.metaCache.getTableId(tableName);
+        IndexDefinition index = td.getIndex(rel.getIndex());
+        if (index == null) {
+            throw new IllegalStateException("Index \"" + rel.getIndex() + "\" not found in table " + tableName);
+        }
+        TupleMapping indexMapping = td.getIndexMapping(index);
+        List<Object[]> values = getTuplesFromIndexItems(rel.getKeyItems(), indexMapping, td);
+        List<Output> outputs = new ArrayList<>(distributes.size());
+        // The index is local to parts, so every store holding parts of the table is looked up.
+        for (int i = 0; i < distributes.size(); i++) {
+            PartIndexScanOperator operator = new PartIndexScanOperator(
+                tableId,
+                i,
+                td.getDingoType(),
+                td.getKeyMapping(),
+                index.getName(),
+                indexMapping,
+                values,
+                SqlExprUtils.toSqlExpr(rel.getFilter()),
+                rel.getSelection()
+            );
+            operator.setId(idGenerator.get());
+            Task task = job.getOrCreate(distributes.get(i), idGenerator);
+            task.putOperator(operator);
+            outputs.addAll(operator.getOutputs());
+        }
+        return outputs;
+    }
+
     @Override
     public Collection<Output> visit(@Nonnull DingoPartition rel) {
         Collection<Output> inputs = dingo(rel.getInput()).accept(this);
@@ -520,7 +595,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         tableId,
                         input.getHint().getPartId(),
                         td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(),
+                        getIndexMappings(td)
                     );
                     break;
                 case UPDATE:
@@ -532,7 +608,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         TupleMapping.of(td.getColumnIndices(rel.getUpdateColumnList())),
                         rel.getSourceExpressionList().stream()
                             .map(SqlExprUtils::toSqlExpr)
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                        getIndexMappings(td)
                     );
                     break;
                 case DELETE:
@@ -540,7 +617,8 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
                         tableId,
                         input.getHint().getPartId(),
                         td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(),
+                        getIndexMappings(td)
                     );
                     break;
                 default:
@@ -622,6 +700,9 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         CommonId tableId = this.metaCache.getTableId(tableName);
         List<Output> outputs = new ArrayList<>(distributes.size());
         RexNode filter = rel.getFilter();
+        if (td.isColumnar()) {
+            return visitColumnScan(rel, td, tableId, distributes);
+        }
         for (int i = 0; i < distributes.size(); i++) {
             PartScanOperator operator = new PartScanOperator(
                 tableId,
@@ -639,6 +720,105 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         return outputs;
     }
 
+    private Collection<Output> visitColumnScan(
+        @Nonnull DingoTableScan rel,
+        @Nonnull TableDefinition td,
+        CommonId tableId,
+        @Nonnull List<Location> distributes
+    ) {
+        RexNode filter = rel.getFilter();
+        TupleMapping selection = rel.getSelection();
+        TreeSet<Integer> columns = new TreeSet<>();
+        if (selection != null) {
+            for (int i = 0; i < selection.size(); i++) {
+                columns.add(selection.get(i));
+            }
+        } else {
+            for (int i = 0; i < td.getColumns().size(); i++) {
+                columns.add(i);
+            }
+        }
+        Object[] lower = new Object[td.getColumns().size()];
+        Object[] upper = new Object[td.getColumns().size()];
+        if (filter != null) {
+            columns.addAll(RelOptUtil.InputFinder.bits(filter).asList());
+            for (RexNode conjunction : RelOptUtil.conjunctions(filter)) {
+                setBound(conjunction, td, lower, upper);
+            }
+        }
+        // At least one column must be read to know the number of rows.
+        if (columns.isEmpty()) {
+            columns.add(td.getKeyMapping().get(0));
+        }
+        TupleMapping columnMapping = TupleMapping.of(columns.stream().mapToInt(Integer::intValue).toArray());
+        List<Output> outputs = new ArrayList<>(distributes.size());
+        for (int i = 0; i < distributes.size(); i++) {
+            PartColumnScanOperator operator = new PartColumnScanOperator(
+                tableId,
+                i,
+                td.getDingoType(),
+                td.getKeyMapping(),
+                columnMapping,
+                lower,
+                upper,
+                filter != null ? SqlExprUtils.toSqlExpr(filter) : null,
+                selection
+            );
+            operator.setId(idGenerator.get());
+            Task task = job.getOrCreate(distributes.get(i), idGenerator);
+            task.putOperator(operator);
+            outputs.addAll(operator.getOutputs());
+        }
+        return outputs;
+    }
+
+    /**
+     * Narrow the bounds by a condition like {@code $i < literal}, other conditions are ignored. The bounds are only
+     * used to skip chunks by zone maps, so a looser bound is always safe.
+     */
+    private static void setBound(RexNode node, TableDefinition td, Object[] lower, Object[] upper) {
+        if (!(node instanceof RexCall) || ((RexCall) node).getOperands().size() != 2) {
+            return;
+        }
+        RexCall call = (RexCall) node;
+        RexNode left = call.getOperands().get(0);
+        RexNode right = call.getOperands().get(1);
+        SqlKind kind = call.getKind();
+        if (left instanceof RexLiteral && right instanceof RexInputRef) {
+            RexNode tmp = left;
+            left = right;
+            right = tmp;
+            kind = kind.reverse();
+        }
+        if (!(left instanceof RexInputRef) || !(right instanceof RexLiteral)) {
+            return;
+        }
+        int index = ((RexInputRef) left).getIndex();
+        Object value = RexLiteralUtils.convertFromRexLiteral(
+            (RexLiteral) right,
+            td.getColumn(index).getDingoType()
+        );
+        if (value == null) {
+            return;
+        }
+        switch (kind) {
+            case EQUALS:
+                lower[index] = value;
+                upper[index] = value;
+                break;
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                lower[index] = value;
+                break;
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                upper[index] = value;
+                break;
+            default:
+                break;
+        }
+    }
+
     @Override
     public Collection<Output> visit(@Nonnull DingoUnion rel) {
         Collection<Output> inputs = new LinkedList<>();
@@ -24,6 +24,7 @@ import io.dingodb.calcite.rel.DingoFilter;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHash;
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoIndexScan;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartModify;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
@@ -55,6 +56,8 @@ public interface DingoRelVisitor<T> {
 
     T visit(@Nonnull DingoHashJoin rel);
 
+    T visit(@Nonnull DingoIndexScan rel);
+
     T visit(@Nonnull DingoPartition rel);
 
     T visit(@Nonnull DingoPartModify rel);
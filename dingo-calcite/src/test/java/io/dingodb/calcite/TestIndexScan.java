@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite;
+
+import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.calcite.rel.DingoCoalesce;
+import io.dingodb.calcite.rel.DingoExchange;
+import io.dingodb.calcite.rel.DingoIndexScan;
+import io.dingodb.calcite.rel.DingoRoot;
+import io.dingodb.calcite.rel.DingoTableScan;
+import io.dingodb.test.asserts.Assert;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestIndexScan {
+    private static DingoParser parser;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoParserContext context = new DingoParserContext(MockMetaServiceProvider.SCHEMA_NAME);
+        parser = new DingoParser(context);
+    }
+
+    private static RelNode optimize(String sql) throws SqlParseException {
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        return parser.optimize(relRoot.rel);
+    }
+
+    @Test
+    public void testIndexScan() throws SqlParseException {
+        RelNode optimized = optimize("select * from `table-with-index` where name = 'Alice'");
+        DingoIndexScan scan = (DingoIndexScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class).prop("root", true)
+            .soleInput().isA(DingoIndexScan.class)
+            .getInstance();
+        assertThat(scan.getIndex()).isEqualTo("NAME_INDEX");
+        assertThat(scan.getKeyItems()).hasSize(1);
+        assertThat(scan.getFilter()).isNotNull();
+    }
+
+    @Test
+    public void testIndexScanMultiValues() throws SqlParseException {
+        RelNode optimized = optimize(
+            "select * from `table-with-index` where name = 'Alice' or name = 'Betty'"
+        );
+        DingoIndexScan scan = (DingoIndexScan) Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class).prop("root", true)
+            .soleInput().isA(DingoIndexScan.class)
+            .getInstance();
+        assertThat(scan.getKeyItems()).hasSize(2);
+    }
+
+    @Test
+    public void testNotIndexColumns() throws SqlParseException {
+        RelNode optimized = optimize("select * from `table-with-index` where amount = 1.0");
+        Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class).prop("root", true)
+            .soleInput().isA(DingoTableScan.class);
+    }
+
+    @Test
+    public void testIndexColumnsNotAllSet() throws SqlParseException {
+        RelNode optimized = optimize("select * from `table-with-index` where name = 'Alice' or amount = 1.0");
+        Assert.relNode(optimized).isA(DingoRoot.class)
+            .soleInput().isA(DingoCoalesce.class)
+            .soleInput().isA(DingoExchange.class).prop("root", true)
+            .soleInput().isA(DingoTableScan.class);
+    }
+}
@@ -49,7 +49,8 @@ public class MockMetaServiceProvider implements MetaServiceProvider {
                 TABLE_NAME, TableDefinition.readJson(getClass().getResourceAsStream("/table-test.json")),
                 "test1", TableDefinition.readJson(getClass().getResourceAsStream("/table-test1.json")),
                 "table-with-date", TableDefinition.readJson(getClass().getResourceAsStream("/table-with-date.json")),
-                "table-with-array", TableDefinition.readJson(getClass().getResourceAsStream("/table-with-array.json"))
+                "table-with-array", TableDefinition.readJson(getClass().getResourceAsStream("/table-with-array.json")),
+                "table-with-index", TableDefinition.readJson(getClass().getResourceAsStream("/table-with-index.json"))
             ));
             when(metaService.getTableId(TABLE_NAME)).thenReturn(CommonId.prefix((byte) 0));
         } catch (IOException e) {
@@ -19,6 +19,7 @@ package io.dingodb.cli.source;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.sdk.client.DingoClient;
 
+import java.nio.file.Path;
 import java.util.Properties;
 
 public interface Fetch {
@@ -28,4 +29,12 @@ public interface Fetch {
 
     void fetch(Properties props, String topic, DingoClient dingoClient, TableDefinition tableDefinition);
 
+    /**
+     * Load the local file by building sst files under {@code workPath} and ingesting them into the stores.
+     */
+    default void bulkLoad(String localFile, String separatorOrPattern, boolean state, DingoClient dingoClient,
+                          TableDefinition tableDefinition, Path workPath) {
+        throw new UnsupportedOperationException("Bulk load is not supported by this record type.");
+    }
+
 }
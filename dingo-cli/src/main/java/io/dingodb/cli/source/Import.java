@@ -18,6 +18,7 @@ package io.dingodb.cli.source;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
+import io.dingodb.cli.source.impl.AbstractParser;
 import io.dingodb.cli.source.impl.DefaultFactory;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.table.TableDefinition;
@@ -26,6 +27,7 @@ import io.dingodb.server.client.config.ClientConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 
+import java.nio.file.Paths;
 import java.util.Properties;
 
 @Slf4j
@@ -55,6 +57,15 @@ public class Import {
     @Parameter(names = "--use-header", description = "Does the csv file have headers")
     private boolean state;
 
+    @Parameter(names = "--bulk-load", description = "Build sst files locally and ingest them into the stores")
+    private boolean bulkLoad;
+
+    @Parameter(names = "--work-path", description = "Directory of the sst files built by bulk load")
+    private String workPath;
+
+    @Parameter(names = "--parser-threads", description = "Number of threads parsing the records, default cpu count")
+    private Integer parserThreads;
+
     @Parameter(names = "--bootstrap-servers", description = "Kafka server address")
     private String bootstrapServers;
 
@@ -95,12 +106,26 @@ public class Import {
         TableDefinition tableDefinition = dingoClient.getTableDefinition(tableName);
         Factory factory = new DefaultFactory();
         Fetch fetch = factory.getFetch(recordType.toUpperCase());
+        if (parserThreads != null && fetch instanceof AbstractParser) {
+            ((AbstractParser) fetch).setParserThreads(parserThreads);
+        }
         switch (cmd.toUpperCase()) {
             case "LOCAL":
                 if (localFile == null) {
                     System.out.println("File-path cannot be empty \n");
                 }
-                fetch.fetch(localFile, separator, state, dingoClient, tableDefinition);
+                if (bulkLoad) {
+                    fetch.bulkLoad(
+                        localFile,
+                        separator,
+                        state,
+                        dingoClient,
+                        tableDefinition,
+                        Paths.get(workPath == null ? System.getProperty("java.io.tmpdir") : workPath)
+                    );
+                } else {
+                    fetch.fetch(localFile, separator, state, dingoClient, tableDefinition);
+                }
                 break;
             case "KAFKA":
                 Properties props = buildProp();
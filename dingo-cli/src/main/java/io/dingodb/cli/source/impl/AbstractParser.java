@@ -20,7 +20,9 @@ import io.dingodb.cli.source.Parser;
 import io.dingodb.common.table.ColumnDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.DingoType;
+import io.dingodb.common.util.NoBreakFunctions;
 import io.dingodb.sdk.client.DingoClient;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -29,22 +31,19 @@ import java.util.List;
 @Slf4j
 public abstract class AbstractParser implements Parser {
 
+    @Setter
+    private int parserThreads = ImportPipeline.DEFAULT_PARSER_THREADS;
+
     @Override
     public long parse(TableDefinition tableDefinition, List<Object[]> records, DingoClient dingoClient) {
         long totalInsertCnt = 0L;
         List<Object[]> result = new ArrayList<>();
+        DingoType schema = tableDefinition.getDingoType();
         for (Object[] arr : records) {
-            try {
-                DingoType schema = tableDefinition.getDingoType();
-                Object[] row = (Object[]) schema.parse(arr);
-                if (!isValidRecord(tableDefinition, row)) {
-                    log.warn("Invalid input row will skip it:{}", arr);
-                    continue;
-                }
+            Object[] row = parseRecord(tableDefinition, schema, arr);
+            if (row != null) {
                 result.add(row);
                 totalInsertCnt++;
-            } catch (Exception ex) {
-                log.warn("Data:{} parsing failed", arr, ex);
             }
         }
         try {
@@ -56,6 +55,41 @@ public abstract class AbstractParser implements Parser {
         return totalInsertCnt;
     }
 
+    /**
+     * Create an import pipeline writing to the table, the {@code parser} is called by the parser threads.
+     */
+    protected <T> ImportPipeline<T> pipeline(
+        DingoClient dingoClient,
+        TableDefinition tableDefinition,
+        NoBreakFunctions.Function<T, Object[]> parser
+    ) {
+        return new ImportPipeline<>(dingoClient, tableDefinition, parserThreads, parser);
+    }
+
+    /**
+     * Parse the record by the table schema, returns {@code null} if the record is invalid.
+     */
+    protected Object[] parseRecord(TableDefinition tableDefinition, Object[] arr) {
+        return parseRecord(tableDefinition, tableDefinition.getDingoType(), arr);
+    }
+
+    /**
+     * Parse the record by the {@code schema} of the table, the schema is computed once by the caller.
+     */
+    protected Object[] parseRecord(TableDefinition tableDefinition, DingoType schema, Object[] arr) {
+        try {
+            Object[] row = (Object[]) schema.parse(arr);
+            if (!isValidRecord(tableDefinition, row)) {
+                log.warn("Invalid input row will skip it:{}", arr);
+                return null;
+            }
+            return row;
+        } catch (Exception ex) {
+            log.warn("Data:{} parsing failed", arr, ex);
+            return null;
+        }
+    }
+
     protected boolean isValidRecord(TableDefinition tableDefinition, Object[] columnValues) {
         if (tableDefinition == null
             || columnValues == null
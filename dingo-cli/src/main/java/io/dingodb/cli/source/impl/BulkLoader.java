@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.cli.source.impl;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.common.util.FileUtils;
+import io.dingodb.meta.Part;
+import io.dingodb.net.service.FileTransferService;
+import io.dingodb.sdk.client.DingoClient;
+import io.dingodb.sdk.client.RouteTable;
+import io.dingodb.server.api.ExecutorApi;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Load rows by building sst files locally instead of writing rows through the stores. Rows are encoded and
+ * split by the part boundaries, each part buffers its rows and writes them as a sorted sst file when the
+ * buffer is full, the largest buffer is written when the buffers of all parts exceed {@link #MAX_BUFFERED_SIZE}.
+ * On {@link #finish()} the files are sent to every replica of the part and ingested by the part leader through
+ * raft, files of a part are ingested in order so the later rows win on the same key.
+ *
+ * <p>Index entries are not built, so tables with indexes can not be bulk loaded.
+ */
+@Slf4j
+public class BulkLoader {
+
+    private static final long SST_FILE_SIZE = 64L * 1024 * 1024;
+    private static final long MAX_BUFFERED_SIZE = 256L * 1024 * 1024;
+
+    private final DingoClient dingoClient;
+    private final RouteTable routeTable;
+    private final Path workPath;
+    private final String loadId = UUID.randomUUID().toString();
+    private final Map<ComparableByteArray, PartBuffer> buffers = new TreeMap<>();
+
+    private long count = 0;
+    private long bufferedSize = 0;
+
+    public BulkLoader(DingoClient dingoClient, TableDefinition tableDefinition, Path workPath) {
+        if (tableDefinition.getIndexes() != null && !tableDefinition.getIndexes().isEmpty()) {
+            throw new IllegalArgumentException(
+                "Table " + tableDefinition.getName() + " has indexes, bulk load does not build index entries."
+            );
+        }
+        this.dingoClient = dingoClient;
+        this.routeTable = dingoClient.getRouteTable(tableDefinition.getName());
+        if (routeTable == null) {
+            throw new IllegalArgumentException("Table " + tableDefinition.getName() + " not found.");
+        }
+        this.workPath = workPath.resolve(loadId);
+        FileUtils.createDirectories(this.workPath);
+    }
+
+    public void add(Object[] row) throws IOException {
+        KeyValue keyValue = routeTable.getCodec().encode(row);
+        ComparableByteArray partId = routeTable.getPartitionStrategy().calcPartId(keyValue.getPrimaryKey());
+        PartBuffer buffer = buffers.computeIfAbsent(partId, id -> new PartBuffer(buffers.size()));
+        buffer.add(keyValue);
+        bufferedSize += keyValue.getKey().length + keyValue.getValue().length;
+        if (buffer.size >= SST_FILE_SIZE) {
+            flush(buffer);
+        } else if (bufferedSize >= MAX_BUFFERED_SIZE) {
+            flush(buffers.values().stream().max(Comparator.comparingLong(b -> b.size)).orElse(buffer));
+        }
+        count++;
+    }
+
+    private void flush(PartBuffer buffer) {
+        bufferedSize -= buffer.size;
+        buffer.flush();
+    }
+
+    /**
+     * Write the buffered rows, send the files to the replicas and ingest them, returns the loaded row count.
+     */
+    public long finish() {
+        try {
+            for (Map.Entry<ComparableByteArray, PartBuffer> entry : buffers.entrySet()) {
+                PartBuffer buffer = entry.getValue();
+                flush(buffer);
+                ingest(entry.getKey(), buffer.files);
+            }
+        } finally {
+            FileUtils.deleteIfExists(workPath);
+        }
+        return count;
+    }
+
+    private void ingest(ComparableByteArray partId, List<Path> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        Part part = routeTable.getPartitionRange().get(partId);
+        byte[] startKey = partId.getBytes();
+        List<String> names = files.stream()
+            .map(file -> file.getFileName().toString())
+            .collect(Collectors.toList());
+        long startTime = System.currentTimeMillis();
+        for (Location location : part.getReplicates()) {
+            ExecutorApi executor = dingoClient.getExecutor(routeTable, location);
+            Path ingestPath = Paths.get(executor.ingestPath(routeTable.getTableId(), startKey));
+            for (Path file : files) {
+                FileTransferService.transferTo(location, file, ingestPath.resolve(file.getFileName()));
+            }
+        }
+        ExecutorApi leader = dingoClient.getExecutor(routeTable, part.getLeader());
+        if (!leader.ingest(routeTable.getTableId(), startKey, names)) {
+            throw new RuntimeException("Ingest " + names + " into " + part.getLeader() + " failed.");
+        }
+        log.info("Bulk load {} files into part {}, cost {}ms.",
+            files.size(), part.getLeader(), System.currentTimeMillis() - startTime);
+    }
+
+    private class PartBuffer {
+        private final int partNo;
+        private final List<KeyValue> rows = new ArrayList<>();
+        private final List<Path> files = new ArrayList<>();
+        private long size = 0;
+
+        PartBuffer(int partNo) {
+            this.partNo = partNo;
+        }
+
+        void add(KeyValue keyValue) {
+            rows.add(keyValue);
+            size += keyValue.getKey().length + keyValue.getValue().length;
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            // The sort is stable, so the last row of the same key is the latest one.
+            rows.sort(Comparator.comparing(KeyValue::getKey, ByteArrayUtils::compare));
+            Path file = workPath.resolve(loadId + "-" + partNo + "-" + files.size() + ".sst");
+            try (
+                EnvOptions envOptions = new EnvOptions();
+                Options options = new Options();
+                SstFileWriter writer = new SstFileWriter(envOptions, options)
+            ) {
+                writer.open(file.toString());
+                for (int i = 0; i < rows.size(); i++) {
+                    KeyValue row = rows.get(i);
+                    if (i + 1 < rows.size() && ByteArrayUtils.equal(row.getKey(), rows.get(i + 1).getKey())) {
+                        continue;
+                    }
+                    writer.put(row.getKey(), row.getValue());
+                }
+                writer.finish();
+            } catch (RocksDBException e) {
+                throw new RuntimeException(e);
+            }
+            files.add(file);
+            rows.clear();
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.cli.source.impl;
+
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.common.util.NoBreakFunctions;
+import io.dingodb.sdk.client.DingoClient;
+import io.dingodb.sdk.client.RouteTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.dingodb.common.concurrent.Executors.scheduleWithFixedDelayAsync;
+
+/**
+ * Import records through a pipeline: the caller submits raw records, they are handed in chunks to the parser
+ * threads, one router takes the parsed chunks in the submitted order and routes the rows to their part by the
+ * range strategy, each part writes its rows in batches one after another. So the rows of a part are written
+ * in the input order and the last record of a duplicate key wins, while the parts are written in parallel.
+ * The chunks waiting to be routed and the pending batches of each part are bounded, a full stage blocks the
+ * stage before it, so the memory is bounded.
+ *
+ * <p>The progress and throughput are reported periodically while importing.
+ */
+@Slf4j
+public class ImportPipeline<T> {
+
+    public static final int DEFAULT_PARSER_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CHUNKS = 64;
+    private static final int MAX_PENDING = 4;
+    private static final long REPORT_INTERVAL = 5;
+
+    private final DingoClient dingoClient;
+    private final TableDefinition tableDefinition;
+    private final RouteTable routeTable;
+    private final NoBreakFunctions.Function<T, Object[]> parser;
+    // Every chunk to parse is also waiting in the route queue, so the bounded route queue bounds both.
+    private final BlockingQueue<Chunk> parseQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Chunk> routeQueue = new ArrayBlockingQueue<>(QUEUE_CHUNKS);
+    private final Chunk end = new Chunk(Collections.emptyList());
+    private final List<CompletableFuture<Void>> parsers;
+    private final CompletableFuture<Void> router;
+    private final Map<ComparableByteArray, PartWriter> writers = new HashMap<>();
+    private final ScheduledFuture<?> reporter;
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong readCount = new AtomicLong();
+    private final AtomicLong skipCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong failCount = new AtomicLong();
+
+    private List<T> records = new ArrayList<>(CHUNK_SIZE);
+
+    /**
+     * Create and start the pipeline.
+     *
+     * @param parser parse a raw record to a table row, returns {@code null} to skip the record
+     */
+    public ImportPipeline(
+        DingoClient dingoClient,
+        TableDefinition tableDefinition,
+        int parserThreads,
+        NoBreakFunctions.Function<T, Object[]> parser
+    ) {
+        this.dingoClient = dingoClient;
+        this.tableDefinition = tableDefinition;
+        this.routeTable = dingoClient.getRouteTable(tableDefinition.getName());
+        if (routeTable == null) {
+            throw new IllegalArgumentException("Table " + tableDefinition.getName() + " not found.");
+        }
+        this.parser = parser;
+        this.parsers = new ArrayList<>(parserThreads);
+        for (int i = 0; i < parserThreads; i++) {
+            parsers.add(Executors.submit("import-parser", this::parse));
+        }
+        this.router = Executors.submit("import-router", this::route);
+        this.reporter = scheduleWithFixedDelayAsync(
+            "import-report", this::report, REPORT_INTERVAL, REPORT_INTERVAL, TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * Submit a raw record, only one thread may submit.
+     */
+    public void submit(T record) throws InterruptedException {
+        records.add(record);
+        readCount.incrementAndGet();
+        if (records.size() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hand the submitted records to the parsers, the router writes partial batches when it is idle.
+     */
+    public void flush() throws InterruptedException {
+        if (!records.isEmpty()) {
+            Chunk chunk = new Chunk(records);
+            records = new ArrayList<>(CHUNK_SIZE);
+            putRoute(chunk);
+            parseQueue.put(chunk);
+        }
+    }
+
+    /**
+     * Wait all submitted records written and stop the pipeline, returns the written row count.
+     */
+    public long finish() throws InterruptedException {
+        try {
+            flush();
+            for (int i = 0; i < parsers.size(); i++) {
+                parseQueue.put(end);
+            }
+            putRoute(end);
+            CompletableFuture.allOf(parsers.toArray(new CompletableFuture[0])).join();
+            router.join();
+            for (PartWriter writer : writers.values()) {
+                writer.flush();
+            }
+            for (PartWriter writer : writers.values()) {
+                writer.await();
+            }
+        } finally {
+            reporter.cancel(true);
+        }
+        report();
+        return writeCount.get();
+    }
+
+    /**
+     * Put the chunk to the route queue, fails with the error of the router if it stops with a full queue.
+     */
+    private void putRoute(Chunk chunk) throws InterruptedException {
+        while (!routeQueue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (router.isDone()) {
+                for (int i = 0; i < parsers.size(); i++) {
+                    parseQueue.put(end);
+                }
+                reporter.cancel(true);
+                router.join();
+                throw new IllegalStateException("Import router stopped.");
+            }
+        }
+    }
+
+    private void parse() {
+        try {
+            while (true) {
+                Chunk chunk = parseQueue.take();
+                if (chunk == end) {
+                    return;
+                }
+                try {
+                    chunk.rows.complete(parse(chunk.records));
+                } catch (Throwable e) {
+                    chunk.rows.completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Map<ComparableByteArray, List<Object[]>> parse(List<T> records) {
+        Map<ComparableByteArray, List<Object[]>> rows = new LinkedHashMap<>();
+        for (T record : records) {
+            Object[] row = null;
+            try {
+                row = parser.apply(record);
+            } catch (Exception e) {
+                log.warn("Data:{} parsing failed", record, e);
+            }
+            if (row == null) {
+                skipCount.incrementAndGet();
+                continue;
+            }
+            ComparableByteArray partId = routeTable.getPartitionStrategy()
+                .calcPartId(row, tableDefinition.getKeyMapping());
+            rows.computeIfAbsent(partId, id -> new ArrayList<>()).add(row);
+        }
+        return rows;
+    }
+
+    private void route() {
+        try {
+            while (true) {
+                Chunk chunk = routeQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (chunk == null) {
+                    // No more records for now, write the partial batches instead of waiting them full.
+                    for (PartWriter writer : writers.values()) {
+                        writer.flush();
+                    }
+                    continue;
+                }
+                if (chunk == end) {
+                    return;
+                }
+                for (Map.Entry<ComparableByteArray, List<Object[]>> entry : chunk.rows.join().entrySet()) {
+                    writers.computeIfAbsent(entry.getKey(), PartWriter::new).add(entry.getValue());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void report() {
+        long seconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+        System.out.println("Import progress=>read: " + readCount.get()
+            + ", skipped: " + skipCount.get()
+            + ", written: " + writeCount.get()
+            + ", failed: " + failCount.get()
+            + ", throughput: " + writeCount.get() / seconds + " rows/s");
+    }
+
+    private class Chunk {
+        private final List<T> records;
+        private final CompletableFuture<Map<ComparableByteArray, List<Object[]>>> rows = new CompletableFuture<>();
+
+        Chunk(List<T> records) {
+            this.records = records;
+        }
+    }
+
+    /**
+     * Only the router adds rows, the batches are written one after another in the order they are flushed.
+     */
+    private class PartWriter {
+        private final ComparableByteArray partId;
+        private final Semaphore pending = new Semaphore(MAX_PENDING);
+        private List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+
+        PartWriter(ComparableByteArray partId) {
+            this.partId = partId;
+        }
+
+        void add(List<Object[]> rows) throws InterruptedException {
+            for (Object[] row : rows) {
+                batch.add(row);
+                if (batch.size() >= BATCH_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = batch;
+            batch = new ArrayList<>(BATCH_SIZE);
+            pending.acquire();
+            last = last.thenRunAsync(() -> write(rows), Executors.executor("import-writer"));
+        }
+
+        void await() {
+            last.join();
+        }
+
+        private void write(List<Object[]> rows) {
+            try {
+                if (dingoClient.insert(tableDefinition.getName(), rows)) {
+                    writeCount.addAndGet(rows.size());
+                } else {
+                    failCount.addAndGet(rows.size());
+                    log.error("Write {} rows to part {} failed.", rows.size(), partId);
+                }
+            } catch (Exception e) {
+                failCount.addAndGet(rows.size());
+                log.error("Write {} rows to part {} failed.", rows.size(), partId, e);
+            } finally {
+                pending.release();
+            }
+        }
+    }
+}
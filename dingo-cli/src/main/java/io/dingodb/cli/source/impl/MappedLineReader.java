@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.cli.source.impl;
+
+import io.dingodb.common.util.NoBreakFunctions;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read the lines of a file through memory mapped regions, so the file is not copied through a reader buffer.
+ * A line across two regions is joined, {@code \r\n} line ends are supported, empty lines are skipped.
+ */
+public final class MappedLineReader {
+
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private MappedLineReader() {
+    }
+
+    /**
+     * Read the lines of the file, returns the count of the lines passed to the {@code consumer}.
+     */
+    public static long read(
+        Path path,
+        boolean skipHeader,
+        NoBreakFunctions.Consumer<String> consumer
+    ) throws Exception {
+        return read(path, skipHeader, REGION_SIZE, consumer);
+    }
+
+    static long read(
+        Path path,
+        boolean skipHeader,
+        long regionSize,
+        NoBreakFunctions.Consumer<String> consumer
+    ) throws Exception {
+        long count = 0;
+        boolean header = skipHeader;
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += regionSize) {
+                int length = (int) Math.min(regionSize, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) != '\n') {
+                        continue;
+                    }
+                    String line = line(pending, buffer, start, i);
+                    start = i + 1;
+                    if (header) {
+                        header = false;
+                    } else if (!line.isEmpty()) {
+                        consumer.accept(line);
+                        count++;
+                    }
+                }
+                pending.write(copy(buffer, start, length), 0, length - start);
+            }
+        }
+        String line = line(pending, null, 0, 0);
+        if (!header && !line.isEmpty()) {
+            consumer.accept(line);
+            count++;
+        }
+        return count;
+    }
+
+    private static String line(ByteArrayOutputStream pending, MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = copy(buffer, start, end);
+        if (pending.size() > 0) {
+            pending.write(bytes, 0, bytes.length);
+            bytes = pending.toByteArray();
+            pending.reset();
+        }
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] copy(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        if (bytes.length > 0) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(start);
+            slice.get(bytes);
+        }
+        return bytes;
+    }
+}
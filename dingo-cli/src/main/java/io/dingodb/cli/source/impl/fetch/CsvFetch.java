@@ -17,18 +17,21 @@
 package io.dingodb.cli.source.impl.fetch;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
-import com.google.common.base.Strings;
 import io.dingodb.cli.source.Fetch;
 import io.dingodb.cli.source.impl.AbstractParser;
+import io.dingodb.cli.source.impl.BulkLoader;
+import io.dingodb.cli.source.impl.ImportPipeline;
+import io.dingodb.cli.source.impl.MappedLineReader;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.sdk.client.DingoClient;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -49,38 +52,12 @@ public class CsvFetch extends AbstractParser implements Fetch {
         DingoClient dingoClient,
         TableDefinition tableDefinition) {
         try {
-            List<Object[]> records = new ArrayList<>();
-            separator = Optional.of(separator.trim()).orElse(",");
-            char separatorChar;
-            if (separator.length() > 1 && separator.startsWith("\\") ) {
-                separatorChar = separator.charAt(1);
-            } else {
-                separatorChar = separator.charAt(0);
-            }
-            BufferedReader br = new BufferedReader(new FileReader(localFile));
-            String line = "";
-            if (state) {
-                br.readLine();
-            }
-            long totalReadCnt = 0L;
-            long totalWriteCnt = 0L;
-            while ((line = br.readLine()) != null) {
-                if (Strings.isNullOrEmpty(line)) {
-                    continue;
-                }
-                Object[] arr = mapper.readerFor(Object[].class)
-                    .with(schema.withColumnSeparator(separatorChar))
-                    .readValue(line);
-                records.add(arr);
-                totalReadCnt++;
-                if (records.size() >= 1000) {
-                    totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
-                    records.clear();
-                }
-            }
-            if (records.size() != 0) {
-                totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
-            }
+            ObjectReader reader = reader(separator);
+            DingoType dingoType = tableDefinition.getDingoType();
+            ImportPipeline<String> pipeline = pipeline(dingoClient, tableDefinition,
+                line -> parseRecord(tableDefinition, dingoType, reader.readValue(line)));
+            long totalReadCnt = MappedLineReader.read(Paths.get(localFile), state, pipeline::submit);
+            long totalWriteCnt = pipeline.finish();
             System.out.println("The total read count from File is:" + totalReadCnt
                 + ", real write count:" + totalWriteCnt);
         } catch (Exception ex) {
@@ -88,6 +65,44 @@ public class CsvFetch extends AbstractParser implements Fetch {
         }
     }
 
+    @Override
+    public void bulkLoad(
+        String localFile,
+        String separator,
+        boolean state,
+        DingoClient dingoClient,
+        TableDefinition tableDefinition,
+        Path workPath
+    ) {
+        try {
+            BulkLoader loader = new BulkLoader(dingoClient, tableDefinition, workPath);
+            ObjectReader reader = reader(separator);
+            DingoType dingoType = tableDefinition.getDingoType();
+            long totalReadCnt = MappedLineReader.read(Paths.get(localFile), state, line -> {
+                Object[] row = parseRecord(tableDefinition, dingoType, reader.readValue(line));
+                if (row != null) {
+                    loader.add(row);
+                }
+            });
+            long totalWriteCnt = loader.finish();
+            System.out.println("The total read count from File is:" + totalReadCnt
+                + ", real load count:" + totalWriteCnt);
+        } catch (Exception ex) {
+            log.error("Error bulk loading file:{}", localFile, ex);
+        }
+    }
+
+    private ObjectReader reader(String separator) {
+        separator = Optional.of(separator.trim()).orElse(",");
+        char separatorChar;
+        if (separator.length() > 1 && separator.startsWith("\\") ) {
+            separatorChar = separator.charAt(1);
+        } else {
+            separatorChar = separator.charAt(0);
+        }
+        return mapper.readerFor(Object[].class).with(schema.withColumnSeparator(separatorChar));
+    }
+
     @Override
     public void fetch(Properties props, String topic, DingoClient dingoClient, TableDefinition tableDefinition) {
     }
@@ -21,8 +21,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dingodb.cli.source.Fetch;
 import io.dingodb.cli.source.impl.AbstractParser;
+import io.dingodb.cli.source.impl.ImportPipeline;
+import io.dingodb.cli.source.impl.MappedLineReader;
 import io.dingodb.common.table.ColumnDefinition;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.sdk.client.DingoClient;
 import lombok.extern.slf4j.Slf4j;
 import org.json.simple.JSONArray;
@@ -30,9 +33,9 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -51,28 +54,25 @@ public class JsonFetch extends AbstractParser implements Fetch {
             boolean state,
             DingoClient dingoClient,
             TableDefinition tableDefinition) {
+        DingoType dingoType = tableDefinition.getDingoType();
         try {
             long totalReadCnt = 0L;
-            long totalWriteCnt = 0L;
             JSONParser parser = new JSONParser();
             Object parserJsonObj = parser.parse(new FileReader(localFile));
 
+            ImportPipeline<String> pipeline = pipeline(dingoClient, tableDefinition,
+                line -> parseRecord(tableDefinition, dingoType, parseSingleRow(line, tableDefinition)));
             if (parserJsonObj instanceof JSONObject) {
-                String inputStr = parserJsonObj.toString();
                 totalReadCnt++;
-                List<Object[]> records = new ArrayList<>();
-                records.add(parseSingleRow(inputStr, tableDefinition));
-                totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
+                pipeline.submit(parserJsonObj.toString());
             } else if (parserJsonObj instanceof JSONArray) {
                 JSONArray jsonArray = (JSONArray) (parserJsonObj);
                 for (Object o : jsonArray) {
-                    JSONObject jsonObject = (JSONObject) o;
                     totalReadCnt++;
-                    List<Object[]> records = new ArrayList<>();
-                    records.add(parseSingleRow(jsonObject.toString(), tableDefinition));
-                    totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
+                    pipeline.submit(o.toString());
                 }
             }
+            long totalWriteCnt = pipeline.finish();
             System.out.println("FileMode=>The total read count from File is:" + totalReadCnt
                 + ", real write count:" + totalWriteCnt);
             return;
@@ -82,28 +82,29 @@ public class JsonFetch extends AbstractParser implements Fetch {
         } catch (ParseException parseException) {
             log.error("Error file:{} catch parser exception:{}",
                 localFile, parseException.toString(), parseException);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            log.error("Import file:{} interrupted", localFile, interruptedException);
+            return;
         }
 
         try {
-            doParseJsonRecord(localFile, dingoClient, tableDefinition);
-        } catch (IOException exception) {
-            log.error("IO Exception:{}", exception.toString(), exception);
+            doParseJsonRecord(localFile, dingoClient, tableDefinition, dingoType);
+        } catch (Exception exception) {
+            log.error("Error file:{} catch exception:{}", localFile, exception.toString(), exception);
         }
     }
 
     private void doParseJsonRecord(final String localFile,
                                    final DingoClient dingoClient,
-                                   final TableDefinition tableDefinition) throws IOException {
-        long totalReadCnt = 0L;
-        long totalWriteCnt = 0L;
-        String line = "";
-        List<Object[]> records = new ArrayList<>();
-        BufferedReader br = new BufferedReader(new FileReader(localFile));
-
-        while ((line = br.readLine()) != null) {
-            line = line.trim();
+                                   final TableDefinition tableDefinition,
+                                   final DingoType dingoType) throws Exception {
+        ImportPipeline<String> pipeline = pipeline(dingoClient, tableDefinition,
+            line -> parseRecord(tableDefinition, dingoType, parseSingleRow(line, tableDefinition)));
+        long totalReadCnt = MappedLineReader.read(Paths.get(localFile), false, inputLine -> {
+            String line = inputLine.trim();
             if (!isValidRecord(line)) {
-                continue;
+                return;
             }
             // skip the header line '[{"id":1,"name":"dingo"},{"id":2,"name":"dingo"}]'
             if (line.charAt(0) == '[') {
@@ -112,17 +113,9 @@ public class JsonFetch extends AbstractParser implements Fetch {
             if (line.charAt(line.length() - 1) == ']') {
                 line = line.substring(0, line.length() - 1);
             }
-
-            records.add(parseSingleRow(line, tableDefinition));
-            totalReadCnt++;
-            if (records.size() >= 1000) {
-                totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
-                records.clear();
-            }
-        }
-        if (records.size() != 0) {
-            totalWriteCnt += this.parse(tableDefinition, records, dingoClient);
-        }
+            pipeline.submit(line);
+        });
+        long totalWriteCnt = pipeline.finish();
         System.out.println("LineMode=>The total read count from File is:" + totalReadCnt
             + ", real write count:" + totalWriteCnt);
     }
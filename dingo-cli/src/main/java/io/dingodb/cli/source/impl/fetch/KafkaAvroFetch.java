@@ -19,6 +19,7 @@ package io.dingodb.cli.source.impl.fetch;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import io.dingodb.cli.source.Fetch;
 import io.dingodb.cli.source.impl.AbstractParser;
+import io.dingodb.cli.source.impl.ImportPipeline;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.converter.AvroConverter;
@@ -45,34 +46,33 @@ public class KafkaAvroFetch extends AbstractParser implements Fetch {
         deserializer.configure(
             Collections.singletonMap("schema.registry.url", props.getProperty("schema.registry.url")), false);
 
+        DingoType dingoType = tableDefinition.getDingoType();
+        ImportPipeline<byte[]> pipeline = pipeline(dingoClient, tableDefinition, value -> {
+            try {
+                GenericData.Record genericRecord = (GenericData.Record) deserializer.deserialize(topic, value);
+                Object[] data = genericRecord.getSchema().getFields()
+                    .stream()
+                    .map(field -> genericRecord.get(field.name()))
+                    .toArray();
+                return convertRecord(tableDefinition, dingoType, data);
+            } catch (Exception e) {
+                log.error("Avro deserialization failed ", e);
+                return null;
+            }
+        });
         KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props);
         consumer.subscribe(Collections.singletonList(topic));
         try {
             while (true) {
-                List<Object[]> result = new ArrayList<>();
                 ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
                 for (ConsumerRecord<String, byte[]> record : records) {
-                    try {
-                        GenericData.Record genericRecord =
-                            (GenericData.Record) deserializer.deserialize(topic, record.value());
-                        Object[] data = genericRecord.getSchema().getFields()
-                            .stream()
-                            .map(field -> genericRecord.get(field.name()))
-                            .toArray();
-                        result.add(data);
-                    } catch (Exception e) {
-                        log.error("Avro deserialization failed ", e);
-                    }
-                    if (result.size() >= 1000) {
-                        this.parse(tableDefinition, result, dingoClient);
-                        result.clear();
-                    }
-                }
-                if (result.size() != 0) {
-                    this.parse(tableDefinition, result, dingoClient);
-                    result.clear();
+                    pipeline.submit(record.value());
                 }
+                pipeline.flush();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Consume topic:{} interrupted", topic, e);
         } finally {
             consumer.close();
         }
@@ -87,18 +87,12 @@ public class KafkaAvroFetch extends AbstractParser implements Fetch {
     public long parse(TableDefinition tableDefinition, List<Object[]> records, DingoClient dingoClient) {
         long totalInsertCnt = 0L;
         List<Object[]> result = new ArrayList<>();
+        DingoType schema = tableDefinition.getDingoType();
         for (Object[] arr : records) {
-            try {
-                DingoType schema = tableDefinition.getDingoType();
-                Object[] row = (Object[]) schema.convertFrom(arr, AvroConverter.INSTANCE);
-                if (!isValidRecord(tableDefinition, row)) {
-                    log.warn("Invalid input row will skip it:{}", arr);
-                    continue;
-                }
+            Object[] row = convertRecord(tableDefinition, schema, arr);
+            if (row != null) {
                 result.add(row);
                 totalInsertCnt++;
-            } catch (Exception ex) {
-                log.warn("Data:{} parsing failed", arr, ex);
             }
         }
         try {
@@ -110,4 +104,17 @@ public class KafkaAvroFetch extends AbstractParser implements Fetch {
         return totalInsertCnt;
     }
 
+    private Object[] convertRecord(TableDefinition tableDefinition, DingoType schema, Object[] arr) {
+        try {
+            Object[] row = (Object[]) schema.convertFrom(arr, AvroConverter.INSTANCE);
+            if (!isValidRecord(tableDefinition, row)) {
+                log.warn("Invalid input row will skip it:{}", arr);
+                return null;
+            }
+            return row;
+        } catch (Exception ex) {
+            log.warn("Data:{} parsing failed", arr, ex);
+            return null;
+        }
+    }
 }
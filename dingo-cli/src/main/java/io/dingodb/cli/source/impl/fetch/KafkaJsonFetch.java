@@ -21,7 +21,9 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dingodb.cli.source.Fetch;
 import io.dingodb.cli.source.impl.AbstractParser;
+import io.dingodb.cli.source.impl.ImportPipeline;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.sdk.client.DingoClient;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -29,7 +31,6 @@ import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -43,30 +44,30 @@ public class KafkaJsonFetch extends AbstractParser implements Fetch {
     @Override
     public void fetch(Properties props, String topic, DingoClient dingoClient, TableDefinition tableDefinition) {
 
+        DingoType dingoType = tableDefinition.getDingoType();
+        ImportPipeline<String> pipeline = pipeline(dingoClient, tableDefinition, value -> {
+            try {
+                LinkedHashMap<String, Object> map = mapper.readValue(value,
+                    new TypeReference<LinkedHashMap<String, Object>>() {});
+                return parseRecord(tableDefinition, dingoType, map.values().toArray());
+            } catch (JsonProcessingException e) {
+                log.error("The data:{} is not in JSON format, and parsing fails", value);
+                return null;
+            }
+        });
         KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props);
         consumer.subscribe(Collections.singletonList(topic));
         try {
             while (true) {
-                List<Object[]> result = new ArrayList<>();
                 ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(100));
                 for (ConsumerRecord<String, String> record : records) {
-                    try {
-                        LinkedHashMap<String, Object> map = mapper.readValue(record.value(),
-                            new TypeReference<LinkedHashMap<String, Object>>() {});
-                        result.add(map.values().toArray());
-                    } catch (JsonProcessingException e) {
-                        log.error("The data:{} is not in JSON format, and parsing fails", record.value());
-                    }
-                    if (result.size() >= 1000) {
-                        this.parse(tableDefinition, result, dingoClient);
-                        result.clear();
-                    }
-                }
-                if (result.size() != 0) {
-                    this.parse(tableDefinition, result, dingoClient);
-                    result.clear();
+                    pipeline.submit(record.value());
                 }
+                pipeline.flush();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Consume topic:{} interrupted", topic, e);
         } finally {
             consumer.close();
         }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.cli.source.impl;
+
+import io.dingodb.common.partition.PartitionStrategy;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.sdk.client.DingoClient;
+import io.dingodb.sdk.client.RouteTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+public class TestImportPipeline {
+    private static final String TABLE = "TEST";
+    private static final int PARTS = 3;
+    private static final int RECORDS = 10000;
+
+    private final Map<ComparableByteArray, List<Object[]>> written = new ConcurrentHashMap<>();
+
+    private DingoClient dingoClient;
+    private TableDefinition tableDefinition;
+    private PartitionStrategy<ComparableByteArray> strategy;
+
+    private static ComparableByteArray partId(Object[] row) {
+        return new ComparableByteArray(new byte[] {(byte) ((Integer) row[0] % PARTS)});
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        dingoClient = Mockito.mock(DingoClient.class);
+        tableDefinition = Mockito.mock(TableDefinition.class);
+        strategy = Mockito.mock(PartitionStrategy.class);
+        RouteTable routeTable = Mockito.mock(RouteTable.class);
+        when(tableDefinition.getName()).thenReturn(TABLE);
+        when(tableDefinition.getKeyMapping()).thenReturn(TupleMapping.of(new int[]{0}));
+        when(dingoClient.getRouteTable(TABLE)).thenReturn(routeTable);
+        when(routeTable.getPartitionStrategy()).thenReturn(strategy);
+        when(strategy.calcPartId(any(Object[].class), any(TupleMapping.class)))
+            .thenAnswer(invocation -> partId(invocation.getArgument(0)));
+        when(dingoClient.insert(eq(TABLE), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            written.computeIfAbsent(partId(rows.get(0)), id -> new CopyOnWriteArrayList<>()).addAll(rows);
+            return true;
+        });
+    }
+
+    @Test
+    public void testWriteInOrderOfPart() throws InterruptedException {
+        ImportPipeline<Integer> pipeline = new ImportPipeline<>(dingoClient, tableDefinition, 4, record -> {
+            if (record % 10 == 9) {
+                return null;
+            }
+            // Each key is submitted twice, the second value must win.
+            return new Object[]{record / 2, record};
+        });
+        for (int i = 0; i < RECORDS; i++) {
+            pipeline.submit(i);
+        }
+        assertThat(pipeline.finish()).isEqualTo(RECORDS - RECORDS / 10);
+        assertThat(written).hasSize(PARTS);
+        for (List<Object[]> rows : written.values()) {
+            List<Integer> records = new ArrayList<>(rows.size());
+            rows.forEach(row -> records.add((Integer) row[1]));
+            assertThat(records).isSorted();
+        }
+    }
+
+    @Test
+    public void testFailWhenRouterStops() {
+        doThrow(new IllegalStateException("No part."))
+            .when(strategy).calcPartId(any(Object[].class), any(TupleMapping.class));
+        ImportPipeline<Integer> pipeline = new ImportPipeline<>(dingoClient, tableDefinition, 2, record ->
+            new Object[]{record, record}
+        );
+        // Submit more chunks than the route queue holds, the submitter must not block on the full queue.
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThatThrownBy(() -> {
+            for (int i = 0; i < 100 * RECORDS; i++) {
+                pipeline.submit(i);
+            }
+            pipeline.finish();
+        }).hasRootCauseInstanceOf(IllegalStateException.class).hasRootCauseMessage("No part."));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.cli.source.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMappedLineReader {
+    private static final String LINES = "id,name\r\n1,Alice\r\n\r\n2,Betty\n3,Cindy\n4,中文";
+
+    @TempDir
+    Path dir;
+
+    private List<String> read(String content, boolean skipHeader, long regionSize) throws Exception {
+        Path path = dir.resolve("data.csv");
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+        long count = MappedLineReader.read(path, skipHeader, regionSize, lines::add);
+        assertThat(count).isEqualTo(lines.size());
+        return lines;
+    }
+
+    @Test
+    public void testReadLines() throws Exception {
+        assertThat(read(LINES, false, 1024))
+            .containsExactly("id,name", "1,Alice", "2,Betty", "3,Cindy", "4,中文");
+    }
+
+    @Test
+    public void testSkipHeader() throws Exception {
+        assertThat(read(LINES, true, 1024)).containsExactly("1,Alice", "2,Betty", "3,Cindy", "4,中文");
+    }
+
+    @Test
+    public void testJoinLinesAcrossRegions() throws Exception {
+        // Every region size splits some lines, a multi-byte char or a "\r\n".
+        for (int regionSize = 1; regionSize <= 16; regionSize++) {
+            assertThat(read(LINES, true, regionSize))
+                .as("region size %d", regionSize)
+                .containsExactly("1,Alice", "2,Betty", "3,Cindy", "4,中文");
+        }
+    }
+
+    @Test
+    public void testLastLineWithNewLine() throws Exception {
+        assertThat(read("1,Alice\r\n2,Betty\r\n", false, 4)).containsExactly("1,Alice", "2,Betty");
+    }
+
+    @Test
+    public void testOnlyHeader() throws Exception {
+        assertThat(read("id,name", true, 1024)).isEmpty();
+        assertThat(read("", false, 1024)).isEmpty();
+    }
+}
@@ -318,6 +318,88 @@ public class PrimitiveCodec {
         return new String(bytes);
     }
 
+    /**
+     * Read int from {@code buf}, and use VarInt load, throws {@link IllegalStateException} if the buffer is truncated.
+     */
+    public static int readVarIntOrThrow(ByteBuffer buf) {
+        Integer value = readVarInt(buf);
+        if (value == null) {
+            throw new IllegalStateException("Truncated varint at position " + buf.position() + ".");
+        }
+        return value;
+    }
+
+    /**
+     * Write {@code value} to {@code buf} using VarInt.
+     */
+    public static void writeVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    /**
+     * Write {@code value} to {@code out} using VarInt.
+     */
+    public static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Calculate the size of the nullable {@code bytes} written by {@link #writeNullableBytes}.
+     */
+    public static int computeNullableBytesSize(byte[] bytes) {
+        return bytes == null ? 1 : computeVarIntSize(bytes.length + 1) + bytes.length;
+    }
+
+    /**
+     * Write nullable {@code bytes} as {@code varint(length + 1) | bytes}, a zero length prefix stands for
+     * {@code null}.
+     */
+    public static void writeNullableBytes(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.put((byte) 0);
+            return;
+        }
+        writeVarInt(buf, bytes.length + 1);
+        buf.put(bytes);
+    }
+
+    /**
+     * Write nullable {@code bytes} like {@link #writeNullableBytes(ByteBuffer, byte[])}.
+     */
+    public static void writeNullableBytes(ByteArrayOutputStream out, byte[] bytes) {
+        if (bytes == null) {
+            out.write(0);
+            return;
+        }
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Read nullable bytes written by {@link #writeNullableBytes}, throws {@link IllegalStateException} if the buffer
+     * is truncated.
+     */
+    public static byte[] readNullableBytes(ByteBuffer buf) {
+        int len = readVarIntOrThrow(buf) - 1;
+        if (len < 0) {
+            return null;
+        }
+        if (buf.remaining() < len) {
+            throw new IllegalStateException("Truncated bytes at position " + buf.position() + ".");
+        }
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+
     public static byte[] encodeArray(final byte[] content) {
         if (content == null) {
             return new byte[] {0};
@@ -16,25 +16,60 @@
 
 package io.dingodb.common.concurrent;
 
+import com.codahale.metrics.Meter;
+import io.dingodb.common.metrics.DingoMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import static io.dingodb.common.concurrent.ThreadPoolBuilder.AVAILABLE_PROCESSORS;
+
+/**
+ * Executors of the process. A task is run by the pool of its workload class, selected by the task name, see
+ * {@link #pool(String)}.
+ */
 @Slf4j
 public final class Executors {
 
+    /**
+     * The workload classes. {@link #GLOBAL} is elastic, it runs the tasks that hold a thread for a long time, e.g.
+     * the event handlers of raft and the api invocations, which may call other nodes, and the tasks not routed to
+     * another pool. The other pools are bounded, their
+     * threads and queue capacity can be set by the system properties {@code dingo.executor.<pool>.threads} and
+     * {@code dingo.executor.<pool>.queue}.
+     */
+    public enum Pool {
+        GLOBAL,
+        // Query tasks, they block on each other, so they are never queued, rejected if all threads are busy.
+        EXECUTION,
+        // Raft closures, read index and apply callbacks, snapshot saving.
+        STORAGE,
+        // Callbacks of api invocations, they never block.
+        NET,
+        // Stats reports, compaction, schedule work.
+        BACKGROUND;
+
+        public final String poolName = name().toLowerCase();
+    }
+
     private static final String THREAD_NAME_FORMAT = "%s-%d";
-    private static final String FREE_THREAD_NAME = "FREE";
 
     public static final String GLOBAL_NAME = "GLOBAL";
     public static final String GLOBAL_SCHEDULE_NAME = "GLOBAL_SCHEDULE";
+    public static final String TASK_EXECUTE_PREFIX = "task-execute-";
 
     private static final ThreadPoolExecutor GLOBAL_POOL = new ThreadPoolBuilder()
         .name(GLOBAL_NAME)
@@ -46,6 +81,53 @@ public final class Executors {
         .group(new ThreadGroup(GLOBAL_NAME))
         .build();
 
+    private static final RejectedExecutionHandler CALLER_RUNS = new ThreadPoolExecutor.CallerRunsPolicy();
+
+    private static final Map<Pool, ThreadPoolExecutor> POOLS = new EnumMap<>(Pool.class);
+
+    private static final Map<String, Pool> NAME_ROUTES = new HashMap<>();
+    private static final Map<String, Pool> PREFIX_ROUTES = new HashMap<>();
+    private static final Map<String, Pool> SUFFIX_ROUTES = new HashMap<>();
+
+    static {
+        POOLS.put(Pool.GLOBAL, GLOBAL_POOL);
+        POOLS.put(Pool.EXECUTION, new ThreadPoolBuilder()
+            .name(Pool.EXECUTION.poolName)
+            .coreThreads(0)
+            .maximumThreads(threads(Pool.EXECUTION, 1024))
+            .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+            .workQueue(new SynchronousQueue<>())
+            .handler(countRejected(Pool.EXECUTION, new ThreadPoolExecutor.AbortPolicy()))
+            .daemon(true)
+            .group(new ThreadGroup(Pool.EXECUTION.poolName))
+            .build());
+        // A full queue runs the task in the submitter, which slows the submitter down.
+        POOLS.put(Pool.STORAGE, boundedPool(Pool.STORAGE, AVAILABLE_PROCESSORS * 4, CALLER_RUNS));
+        POOLS.put(Pool.NET, boundedPool(Pool.NET, AVAILABLE_PROCESSORS * 8, CALLER_RUNS));
+        POOLS.put(
+            Pool.BACKGROUND,
+            boundedPool(Pool.BACKGROUND, Math.max(2, AVAILABLE_PROCESSORS / 2), new ThreadPoolExecutor.AbortPolicy())
+        );
+        POOLS.forEach(Executors::registerMetrics);
+
+        route(NAME_ROUTES, Pool.EXECUTION, "do-operation");
+        // Only the tasks of jobs, the runners of other modules may use similar names.
+        route(PREFIX_ROUTES, Pool.EXECUTION, TASK_EXECUTE_PREFIX);
+        route(
+            NAME_ROUTES, Pool.STORAGE,
+            "read-index-exec", "JRAFT_CLOSURE_EXECUTOR", "JRaft-Rpc-Closure-Executor", "calc-count"
+        );
+        route(PREFIX_ROUTES, Pool.STORAGE, "snapshot-save-", "snapshot-load-");
+        route(SUFFIX_ROUTES, Pool.STORAGE, " on apply", "-read-index");
+        route(NAME_ROUTES, Pool.NET, "cancel-api-invoke");
+        route(
+            NAME_ROUTES, Pool.BACKGROUND,
+            "open-report-stats", "close-report-stats", "kv-compact", "assign-part", "delete-table",
+            "zip-compress", "zip-decompress"
+        );
+        route(PREFIX_ROUTES, Pool.BACKGROUND, "on-stats-");
+    }
+
     private static final ScheduledThreadPoolExecutor GLOBAL_SCHEDULE_POOL = new ThreadPoolBuilder()
         .name(GLOBAL_SCHEDULE_NAME)
         .daemon(true)
@@ -56,12 +138,33 @@ public final class Executors {
     private Executors() {
     }
 
+    /**
+     * Returns the pool of the task name, {@link Pool#GLOBAL} if the name is not routed to another pool.
+     */
+    public static Pool pool(String name) {
+        Pool pool = NAME_ROUTES.get(name);
+        if (pool != null) {
+            return pool;
+        }
+        for (Map.Entry<String, Pool> entry : PREFIX_ROUTES.entrySet()) {
+            if (name.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        for (Map.Entry<String, Pool> entry : SUFFIX_ROUTES.entrySet()) {
+            if (name.endsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return Pool.GLOBAL;
+    }
+
     public static Executor executor(String name) {
         return command -> execute(name, command);
     }
 
     public static void execute(String name, Runnable command) {
-        GLOBAL_POOL.execute(wrap(name, command));
+        executorOf(name).execute(wrap(name, command));
     }
 
     public static ScheduledFuture<CompletableFuture<?>> scheduleAsync(
@@ -90,42 +193,101 @@ public final class Executors {
 
     public static <T> CompletableFuture<T> submit(String name, Callable<T> task) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
-            try {
-                future.complete(wrap(name, task).call());
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
+        try {
+            executorOf(name).execute(() -> {
+                try {
+                    future.complete(wrap(name, task).call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
         return future;
     }
 
     public static <T> CompletableFuture<T> submit(String name, Runnable task, T result) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
-            try {
-                wrap(name, task).run();
-                future.complete(result);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
+        try {
+            executorOf(name).execute(() -> {
+                try {
+                    wrap(name, task).run();
+                    future.complete(result);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
         return future;
     }
 
     public static CompletableFuture<Void> submit(String name, Runnable task) {
         CompletableFuture<Void> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
-            try {
-                wrap(name, task).run();
-                future.complete(null);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
+        try {
+            executorOf(name).execute(() -> {
+                try {
+                    wrap(name, task).run();
+                    future.complete(null);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
         return future;
     }
 
+    private static ThreadPoolExecutor executorOf(String name) {
+        return POOLS.get(pool(name));
+    }
+
+    private static int threads(Pool pool, int defaultThreads) {
+        return Integer.getInteger("dingo.executor." + pool.poolName + ".threads", defaultThreads);
+    }
+
+    private static ThreadPoolExecutor boundedPool(Pool pool, int defaultThreads, RejectedExecutionHandler handler) {
+        int threads = threads(pool, defaultThreads);
+        int queueCapacity = Integer.getInteger("dingo.executor." + pool.poolName + ".queue", 65536);
+        ThreadPoolExecutor executor = new ThreadPoolBuilder()
+            .name(pool.poolName)
+            .coreThreads(threads)
+            .maximumThreads(threads)
+            .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+            .workQueue(new LinkedBlockingQueue<>(queueCapacity))
+            .handler(countRejected(pool, handler))
+            .daemon(true)
+            .group(new ThreadGroup(pool.poolName))
+            .build();
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler countRejected(Pool pool, RejectedExecutionHandler handler) {
+        Meter rejected = DingoMetrics.meter("executor-" + pool.poolName + "-rejected");
+        return (task, executor) -> {
+            rejected.mark();
+            handler.rejectedExecution(task, executor);
+        };
+    }
+
+    private static void registerMetrics(Pool pool, ThreadPoolExecutor executor) {
+        String prefix = "executor-" + pool.poolName;
+        DingoMetrics.gauge(prefix + "-threads", executor::getPoolSize);
+        DingoMetrics.gauge(prefix + "-active", executor::getActiveCount);
+        DingoMetrics.gauge(prefix + "-queued", () -> executor.getQueue().size());
+        DingoMetrics.gauge(prefix + "-completed", executor::getCompletedTaskCount);
+    }
+
+    private static void route(Map<String, Pool> routes, Pool pool, String... names) {
+        for (String name : names) {
+            routes.put(name, pool);
+        }
+    }
+
     private static <V> Callable<V> wrap(String name, Callable<V> callable) {
         return () -> call(name, callable);
     }
@@ -136,6 +298,8 @@ public final class Executors {
 
     private static <V> V call(String name, Callable<V> callable) throws Exception {
         Thread thread = Thread.currentThread();
+        // The submitter runs the task if the pool is full, so restore its name.
+        String threadName = thread.getName();
         try {
             if (log.isTraceEnabled()) {
                 log.trace("Call [{}] start, thread id [{}], set thread name.", name, thread.getId());
@@ -146,7 +310,7 @@ public final class Executors {
             log.error("Execute {} catch error.", name, e);
             throw e;
         } finally {
-            thread.setName(FREE_THREAD_NAME);
+            thread.setName(threadName);
             if (log.isTraceEnabled()) {
                 log.trace("Call [{}] finish, thread id [{}], reset thread name.", name, thread.getId());
             }
@@ -155,6 +319,7 @@ public final class Executors {
 
     private static void run(String name, Runnable runnable) {
         Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
         try {
             if (log.isTraceEnabled()) {
                 log.trace("Run [{}] start, thread id [{}], set thread name.", name, thread.getId());
@@ -165,7 +330,7 @@ public final class Executors {
             log.error("Execute {} catch error.", name, e);
             throw e;
         } finally {
-            thread.setName(FREE_THREAD_NAME);
+            thread.setName(threadName);
             if (log.isTraceEnabled()) {
                 log.trace("Run [{}] finish, thread id [{}], reset thread name.", name, thread.getId());
             }
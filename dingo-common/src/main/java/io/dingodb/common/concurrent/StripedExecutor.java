@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import com.codahale.metrics.Meter;
+import io.dingodb.common.metrics.DingoMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of single thread executors (stripes), the tasks submitted to one stripe run in submission order on
+ * one long living thread. A user that needs its tasks ordered, e.g. a net channel, takes a stripe with
+ * {@link #next()} and submits all its tasks to it.
+ *
+ * <p>The queue of each stripe is bounded, a task submitted to a full stripe is rejected with
+ * {@link RejectedExecutionException}, the submitter is never blocked because it may be an event loop. The
+ * submitters are expected to stop submitting before the queue is full, e.g. by stopping reading the socket. The
+ * queued tasks, the completed tasks and the rejections are exported to {@link DingoMetrics} under the executor name.
+ */
+@Slf4j
+public final class StripedExecutor {
+
+    private final String name;
+    private final ThreadPoolExecutor[] stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final Meter rejected;
+
+    public StripedExecutor(String name, int stripes, int queueCapacity) {
+        this.name = name;
+        this.stripes = new ThreadPoolExecutor[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ThreadPoolBuilder()
+                .name(name + "-" + i)
+                .coreThreads(1)
+                .maximumThreads(1)
+                .workQueue(new LinkedBlockingQueue<>(queueCapacity))
+                .handler(this::reject)
+                .daemon(true)
+                .build();
+        }
+        this.rejected = DingoMetrics.meter(name + "-rejected");
+        DingoMetrics.gauge(name + "-queued", this::queued);
+        DingoMetrics.gauge(name + "-completed", this::completed);
+    }
+
+    /**
+     * Returns the stripes in turn, so the users are spread over the stripes.
+     */
+    public Executor next() {
+        ThreadPoolExecutor stripe = stripes[(nextStripe.getAndIncrement() & Integer.MAX_VALUE) % stripes.length];
+        return task -> stripe.execute(() -> run(task));
+    }
+
+    public int queued() {
+        int queued = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            queued += stripe.getQueue().size();
+        }
+        return queued;
+    }
+
+    public long completed() {
+        long completed = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            completed += stripe.getCompletedTaskCount();
+        }
+        return completed;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            // Keep the thread of the stripe alive.
+            log.error("Execute task on {} error, the exception should be handled within the task.", name, e);
+        }
+    }
+
+    private void reject(Runnable task, ThreadPoolExecutor stripe) {
+        if (stripe.isShutdown()) {
+            throw new RejectedExecutionException(name + " is shutdown.");
+        }
+        rejected.mark();
+        throw new RejectedExecutionException(name + " stripe queue is full.");
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package io.dingodb.common.metrics;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
@@ -48,6 +49,16 @@ public class DingoMetrics {
         metricRegistry.timer(name).update(durationMs, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Register the gauge, replaces the gauge registered with the same name before.
+     */
+    public static <T> void gauge(@Nonnull final String name, @Nonnull final Gauge<T> gauge) {
+        synchronized (metricRegistry) {
+            metricRegistry.remove(name);
+            metricRegistry.register(name, gauge);
+        }
+    }
+
     public static void histogram(@Nonnull final String name, final long size) {
         metricRegistry.histogram(name).update(size);
     }
@@ -56,7 +56,7 @@ public class Part {
     private List<Location> replicateLocations;
     private int version;
     private int ttl;
-
+    private String storageProfile;
 
     @Override
     public String toString() {
@@ -69,6 +69,7 @@ public class Part {
             .add("replicates=" + replicateLocations)
             .add("version=" + version)
             .add("ttl=" + ttl)
+            .add("storageProfile=" + storageProfile)
             .toString();
     }
 }
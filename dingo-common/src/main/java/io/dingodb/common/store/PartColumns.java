@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The data of one part for a column scan. A part converted to columnar has the encoded chunks of each scanned
+ * column, chunk {@code i} of every column holds the same rows; other parts have their rows instead.
+ */
+@Getter
+@AllArgsConstructor
+public class PartColumns {
+
+    private final List<List<byte[]>> chunks;
+    private final Iterator<KeyValue> rows;
+
+    public static PartColumns ofChunks(List<List<byte[]>> chunks) {
+        return new PartColumns(chunks, null);
+    }
+
+    public static PartColumns ofRows(Iterator<KeyValue> rows) {
+        return new PartColumns(null, rows);
+    }
+
+    public boolean isColumnar() {
+        return chunks != null;
+    }
+}
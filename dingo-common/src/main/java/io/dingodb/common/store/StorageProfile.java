@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.store;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Storage tuning profile of a table, selected by {@code storage_profile = '...'} at create table. The profile is
+ * mapped to the rocksdb options of the table by {@link StorageProfileOptions}.
+ */
+public enum StorageProfile {
+    DEFAULT("default"),
+    POINT_LOOKUP("point-lookup"),
+    SCAN_HEAVY("scan-heavy"),
+    WRITE_HEAVY("write-heavy");
+
+    public static final String ATTR = "STORAGE_PROFILE";
+
+    @Getter
+    private final String profileName;
+
+    StorageProfile(String profileName) {
+        this.profileName = profileName;
+    }
+
+    /**
+     * Returns the profile of the name, {@code null} or empty name is {@link #DEFAULT}, the name is case-insensitive
+     * and {@code _} is the same as {@code -}.
+     */
+    public static StorageProfile of(@Nullable String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        String normalized = name.trim().replace('_', '-');
+        for (StorageProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(normalized)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage profile: " + name);
+    }
+}
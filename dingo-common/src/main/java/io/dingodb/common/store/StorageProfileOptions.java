@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.store;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptionsInterface;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DataBlockIndexType;
+import org.rocksdb.IndexType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.MutableColumnFamilyOptionsInterface;
+import org.rocksdb.RocksDB;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+import static org.rocksdb.CompressionType.LZ4_COMPRESSION;
+import static org.rocksdb.CompressionType.NO_COMPRESSION;
+import static org.rocksdb.CompressionType.ZSTD_COMPRESSION;
+
+/**
+ * Map {@link StorageProfile}s to rocksdb column family options, used by all the rocksdb based store engines so
+ * a table is tuned the same way whatever engine it is stored by.
+ *
+ * <p>Every profile reads through one block cache shared by the process, index and filter blocks are kept in the
+ * high priority pool of it so data blocks of large scans do not evict them.
+ */
+public final class StorageProfileOptions {
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    public static final long SHARED_BLOCK_CACHE_SIZE = 512L * 1024 * 1024;
+
+    private static final int NUM_LEVELS = 7;
+    private static final double HIGH_PRIORITY_POOL_RATIO = 0.2;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+
+    private static volatile Cache sharedBlockCache;
+
+    private StorageProfileOptions() {
+    }
+
+    /**
+     * Returns the process wide block cache, created at the first call.
+     */
+    public static Cache sharedBlockCache() {
+        if (sharedBlockCache == null) {
+            synchronized (StorageProfileOptions.class) {
+                if (sharedBlockCache == null) {
+                    sharedBlockCache = new LRUCache(SHARED_BLOCK_CACHE_SIZE, -1, false, HIGH_PRIORITY_POOL_RATIO);
+                }
+            }
+        }
+        return sharedBlockCache;
+    }
+
+    public static <T extends ColumnFamilyOptionsInterface<T> & MutableColumnFamilyOptionsInterface<T>> T apply(
+        @Nonnull StorageProfile profile,
+        @Nonnull T options
+    ) {
+        return apply(profile, options, sharedBlockCache());
+    }
+
+    /**
+     * Apply the profile to the column family options, the table format of the options is replaced.
+     */
+    public static <T extends ColumnFamilyOptionsInterface<T> & MutableColumnFamilyOptionsInterface<T>> T apply(
+        @Nonnull StorageProfile profile,
+        @Nonnull T options,
+        @Nonnull Cache blockCache
+    ) {
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig().setBlockCache(blockCache);
+        if (profile == StorageProfile.DEFAULT) {
+            options.setTableFormatConfig(tableConfig);
+            return options;
+        }
+        tableConfig
+            .setFormatVersion(5)
+            .setFilterPolicy(new BloomFilter(BLOOM_BITS_PER_KEY, false))
+            .setWholeKeyFiltering(true)
+            .setCacheIndexAndFilterBlocks(true)
+            .setCacheIndexAndFilterBlocksWithHighPriority(true)
+            .setPinL0FilterAndIndexBlocksInCache(true);
+        switch (profile) {
+            case POINT_LOOKUP:
+                // Small blocks and the hash index inside data blocks cut the bytes read and compared per get.
+                tableConfig
+                    .setBlockSize(4 * 1024)
+                    .setDataBlockIndexType(DataBlockIndexType.kDataBlockBinaryAndHash)
+                    .setDataBlockHashTableUtilRatio(0.75);
+                options.setCompressionPerLevel(compressionPerLevel(2, LZ4_COMPRESSION, LZ4_COMPRESSION));
+                options.setBottommostCompressionType(LZ4_COMPRESSION);
+                break;
+            case SCAN_HEAVY:
+                // Large blocks for sequential reads, the partitioned index and filters are loaded on demand.
+                tableConfig
+                    .setBlockSize(64 * 1024)
+                    .setIndexType(IndexType.kTwoLevelIndexSearch)
+                    .setPartitionFilters(true)
+                    .setMetadataBlockSize(4 * 1024);
+                options.setCompressionPerLevel(compressionPerLevel(0, LZ4_COMPRESSION, ZSTD_COMPRESSION));
+                options.setBottommostCompressionType(ZSTD_COMPRESSION);
+                break;
+            case WRITE_HEAVY:
+                // Larger and more memtables, later L0 compaction, upper levels are not compressed.
+                tableConfig.setBlockSize(16 * 1024);
+                options.setWriteBufferSize(128L * 1024 * 1024);
+                options.setMaxWriteBufferNumber(4);
+                options.setMinWriteBufferNumberToMerge(2);
+                options.setLevel0FileNumCompactionTrigger(8);
+                options.setLevel0SlowdownWritesTrigger(32);
+                options.setLevel0StopWritesTrigger(48);
+                options.setCompressionPerLevel(compressionPerLevel(3, LZ4_COMPRESSION, LZ4_COMPRESSION));
+                options.setBottommostCompressionType(ZSTD_COMPRESSION);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected storage profile: " + profile);
+        }
+        options.setTableFormatConfig(tableConfig);
+        return options;
+    }
+
+    /**
+     * Returns the compression of each level, the first {@code uncompressed} levels are not compressed, then
+     * levels 0 to 2 use {@code upper} and the others use {@code lower}.
+     */
+    private static List<CompressionType> compressionPerLevel(
+        int uncompressed,
+        CompressionType upper,
+        CompressionType lower
+    ) {
+        List<CompressionType> compressions = new ArrayList<>(NUM_LEVELS);
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            if (level < uncompressed) {
+                compressions.add(NO_COMPRESSION);
+            } else {
+                compressions.add(level <= 2 ? upper : lower);
+            }
+        }
+        return compressions;
+    }
+}
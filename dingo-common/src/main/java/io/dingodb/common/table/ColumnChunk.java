@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import io.dingodb.common.codec.PrimitiveCodec;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static io.dingodb.common.codec.PrimitiveCodec.readNullableBytes;
+import static io.dingodb.common.codec.PrimitiveCodec.readVarIntOrThrow;
+import static io.dingodb.common.codec.PrimitiveCodec.writeNullableBytes;
+import static io.dingodb.common.codec.PrimitiveCodec.writeVarInt;
+
+/**
+ * The encoded values of one column for a run of rows. Values with few distinct values are encoded by a
+ * dictionary, the ids are bit-packed or run-length encoded whichever is smaller, other values are encoded plainly.
+ * The min and max values are kept in the header as a zone map, so a chunk can be skipped without decoding values.
+ *
+ * <p>Layout: {@code encoding | varint(count) | bytes(min) | bytes(max) | body}. Byte arrays are written by
+ * {@link PrimitiveCodec#writeNullableBytes}.
+ */
+public final class ColumnChunk {
+
+    public static final byte PLAIN = 0;
+    public static final byte DICTIONARY_BIT_PACKED = 1;
+    public static final byte DICTIONARY_RLE = 2;
+
+    @Getter
+    private final byte encoding;
+    @Getter
+    private final int count;
+    @Getter
+    private final byte[] min;
+    @Getter
+    private final byte[] max;
+    private final ByteBuffer body;
+
+    private ColumnChunk(byte encoding, int count, byte[] min, byte[] max, ByteBuffer body) {
+        this.encoding = encoding;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.body = body;
+    }
+
+    /**
+     * Read the header of an encoded chunk, the values are decoded by {@link #values()}.
+     */
+    public static ColumnChunk of(@Nonnull byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte encoding = buffer.get();
+        int count = readVarIntOrThrow(buffer);
+        byte[] min = readNullableBytes(buffer);
+        byte[] max = readNullableBytes(buffer);
+        return new ColumnChunk(encoding, count, min, max, buffer.slice());
+    }
+
+    public List<byte[]> values() {
+        ByteBuffer buffer = body.duplicate();
+        List<byte[]> values = new ArrayList<>(count);
+        if (encoding == PLAIN) {
+            for (int i = 0; i < count; i++) {
+                values.add(readNullableBytes(buffer));
+            }
+            return values;
+        }
+        int size = readVarIntOrThrow(buffer);
+        byte[][] dictionary = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            dictionary[i] = readNullableBytes(buffer);
+        }
+        switch (encoding) {
+            case DICTIONARY_BIT_PACKED:
+                int bitWidth = buffer.get();
+                long mask = (1L << bitWidth) - 1;
+                long bits = 0;
+                int available = 0;
+                for (int i = 0; i < count; i++) {
+                    while (available < bitWidth) {
+                        bits |= (buffer.get() & 0xFFL) << available;
+                        available += 8;
+                    }
+                    values.add(dictionary[(int) (bits & mask)]);
+                    bits >>>= bitWidth;
+                    available -= bitWidth;
+                }
+                return values;
+            case DICTIONARY_RLE:
+                while (values.size() < count) {
+                    byte[] value = dictionary[readVarIntOrThrow(buffer)];
+                    int length = readVarIntOrThrow(buffer);
+                    for (int i = 0; i < length; i++) {
+                        values.add(value);
+                    }
+                }
+                return values;
+            default:
+                throw new IllegalStateException("Unexpected column chunk encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Encode the values of a column, the values are the encoded column values and must not be null.
+     */
+    public static byte[] encode(@Nonnull List<byte[]> values, @Nullable byte[] min, @Nullable byte[] max) {
+        Map<ByteBuffer, Integer> ids = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        int[] valueIds = new int[values.size()];
+        int runs = 0;
+        for (int i = 0; i < values.size(); i++) {
+            byte[] value = Objects.requireNonNull(values.get(i));
+            Integer id = ids.get(ByteBuffer.wrap(value));
+            if (id == null) {
+                id = dictionary.size();
+                ids.put(ByteBuffer.wrap(value), id);
+                dictionary.add(value);
+            }
+            valueIds[i] = id;
+            if (i == 0 || valueIds[i - 1] != id) {
+                runs++;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte encoding;
+        if (dictionary.size() > values.size() / 2) {
+            encoding = PLAIN;
+        } else {
+            int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+            int bitPackedSize = (values.size() * bitWidth + 7) / 8;
+            // Each run costs at least two bytes, an id and a length.
+            encoding = runs * 2 < bitPackedSize ? DICTIONARY_RLE : DICTIONARY_BIT_PACKED;
+        }
+        out.write(encoding);
+        writeVarInt(out, values.size());
+        writeNullableBytes(out, min);
+        writeNullableBytes(out, max);
+        if (encoding == PLAIN) {
+            values.forEach(value -> writeNullableBytes(out, value));
+            return out.toByteArray();
+        }
+        writeVarInt(out, dictionary.size());
+        dictionary.forEach(value -> writeNullableBytes(out, value));
+        if (encoding == DICTIONARY_RLE) {
+            int start = 0;
+            for (int i = 1; i <= valueIds.length; i++) {
+                if (i == valueIds.length || valueIds[i] != valueIds[start]) {
+                    writeVarInt(out, valueIds[start]);
+                    writeVarInt(out, i - start);
+                    start = i;
+                }
+            }
+            return out.toByteArray();
+        }
+        int bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dictionary.size() - 1));
+        out.write(bitWidth);
+        long bits = 0;
+        int used = 0;
+        for (int id : valueIds) {
+            bits |= ((long) id) << used;
+            used += bitWidth;
+            while (used >= 8) {
+                out.write((int) (bits & 0xFF));
+                bits >>>= 8;
+                used -= 8;
+            }
+        }
+        if (used > 0) {
+            out.write((int) (bits & 0xFF));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import io.dingodb.common.codec.Codec;
+import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.converter.DingoConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Encode table tuples to {@link ColumnChunk}s column by column, chunk {@code i} of every column holds the same
+ * rows. The zone map of a chunk is the min and max of the comparable non-null values.
+ */
+public class DingoColumnarCodec {
+
+    public static final int CHUNK_ROWS = 4096;
+
+    private final DingoType schema;
+    private final Codec[] codecs;
+
+    public DingoColumnarCodec(@Nonnull DingoType schema) {
+        this.schema = schema;
+        this.codecs = new Codec[schema.fieldCount()];
+        for (int i = 0; i < codecs.length; i++) {
+            codecs[i] = new DingoCodec(schema.select(TupleMapping.of(new int[]{i})).toDingoSchemas());
+        }
+    }
+
+    /**
+     * Receive the encoded chunks, the chunks of a run of rows are passed column by column before the next run.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(int column, int chunk, byte[] bytes);
+    }
+
+    /**
+     * Encode the tuples, returns the encoded chunks of each column.
+     */
+    public List<List<byte[]>> encode(@Nonnull Iterator<Object[]> tuples) throws IOException {
+        List<List<byte[]>> chunks = new ArrayList<>(codecs.length);
+        for (int i = 0; i < codecs.length; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        encode(tuples, (column, chunk, bytes) -> chunks.get(column).add(bytes));
+        return chunks;
+    }
+
+    /**
+     * Encode the tuples and pass each chunk to {@code consumer} as soon as its run of rows is encoded, so only one
+     * run of rows is held in memory.
+     *
+     * @return the count of chunks of each column
+     */
+    public int encode(@Nonnull Iterator<Object[]> tuples, @Nonnull ChunkConsumer consumer) throws IOException {
+        List<List<Object>> columns = new ArrayList<>(codecs.length);
+        for (int i = 0; i < codecs.length; i++) {
+            columns.add(new ArrayList<>(CHUNK_ROWS));
+        }
+        int chunk = 0;
+        while (tuples.hasNext()) {
+            Object[] tuple = (Object[]) schema.convertTo(tuples.next(), DingoConverter.INSTANCE);
+            for (int i = 0; i < codecs.length; i++) {
+                columns.get(i).add(tuple[i]);
+            }
+            if (columns.get(0).size() == CHUNK_ROWS) {
+                flush(columns, chunk++, consumer);
+            }
+        }
+        if (!columns.get(0).isEmpty()) {
+            flush(columns, chunk++, consumer);
+        }
+        return chunk;
+    }
+
+    private void flush(List<List<Object>> columns, int chunk, ChunkConsumer consumer) throws IOException {
+        for (int i = 0; i < codecs.length; i++) {
+            List<Object> values = columns.get(i);
+            List<byte[]> encoded = new ArrayList<>(values.size());
+            Object min = null;
+            Object max = null;
+            boolean comparable = true;
+            for (Object value : values) {
+                encoded.add(codecs[i].encode(new Object[]{value}));
+                if (value == null || !comparable) {
+                    continue;
+                }
+                if (!(value instanceof Comparable)) {
+                    comparable = false;
+                    continue;
+                }
+                if (min == null || compare(value, min) < 0) {
+                    min = value;
+                }
+                if (max == null || compare(value, max) > 0) {
+                    max = value;
+                }
+            }
+            consumer.accept(i, chunk, ColumnChunk.encode(
+                encoded,
+                comparable && min != null ? codecs[i].encode(new Object[]{min}) : null,
+                comparable && max != null ? codecs[i].encode(new Object[]{max}) : null
+            ));
+            values.clear();
+        }
+    }
+
+    /**
+     * Decode the values of the chunks into {@code tuples}, one chunk for each of the {@code columns}.
+     */
+    public List<Object[]> decode(@Nonnull TupleMapping columns, @Nonnull List<ColumnChunk> chunks) throws IOException {
+        int count = chunks.get(0).getCount();
+        List<Object[]> tuples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tuples.add(new Object[codecs.length]);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            int column = columns.get(i);
+            List<byte[]> values = chunks.get(i).values();
+            for (int j = 0; j < count; j++) {
+                tuples.get(j)[column] = codecs[column].decode(values.get(j))[0];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            tuples.set(i, (Object[]) schema.convertFrom(tuples.get(i), DingoConverter.INSTANCE));
+        }
+        return tuples;
+    }
+
+    /**
+     * Check the zone map of the chunk of {@code column} against the bounds, the bounds are table tuples with
+     * {@code null} for no bound.
+     *
+     * @return {@code false} if no value in the chunk is in the bounds
+     */
+    public boolean mayContain(
+        int column,
+        @Nonnull ColumnChunk chunk,
+        @Nullable Object[] lower,
+        @Nullable Object[] upper
+    ) throws IOException {
+        if (chunk.getMin() == null || chunk.getMax() == null) {
+            return true;
+        }
+        DingoType type = schema.getChild(column);
+        if (lower != null && lower[column] != null) {
+            Object max = codecs[column].decode(chunk.getMax())[0];
+            if (compare(type.convertTo(lower[column], DingoConverter.INSTANCE), max) > 0) {
+                return false;
+            }
+        }
+        if (upper != null && upper[column] != null) {
+            Object min = codecs[column].decode(chunk.getMin())[0];
+            if (compare(type.convertTo(upper[column], DingoConverter.INSTANCE), min) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object value1, Object value2) {
+        return ((Comparable) value1).compareTo(value2);
+    }
+}
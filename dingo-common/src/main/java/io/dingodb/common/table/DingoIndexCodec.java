@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import io.dingodb.common.codec.Codec;
+import io.dingodb.common.codec.DingoCodec;
+import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.converter.DingoConverter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * Encode the keys of a secondary index, an index key is {@code index name | index values | primary key}.
+ * The index values are encoded without length, so the encoded values are the prefix to scan for a lookup.
+ */
+public class DingoIndexCodec {
+
+    private final byte[] name;
+    private final DingoType schema;
+    private final TupleMapping mapping;
+    private final Codec codec;
+
+    /**
+     * Create the codec.
+     *
+     * @param name    the index name
+     * @param schema  the schema of the table tuple
+     * @param mapping the index columns in the table tuple
+     */
+    public DingoIndexCodec(@Nonnull String name, @Nonnull DingoType schema, @Nonnull TupleMapping mapping) {
+        this.name = PrimitiveCodec.encodeString(name);
+        this.schema = schema.select(mapping);
+        this.mapping = mapping;
+        this.codec = new DingoCodec(this.schema.toDingoSchemas(), null, true);
+    }
+
+    /**
+     * Encode the index key of a table tuple.
+     */
+    public byte[] encodeKey(@Nonnull Object[] tuple, @Nonnull byte[] primaryKey) throws IOException {
+        byte[] prefix = encodePrefix(mapping.revMap(tuple));
+        byte[] key = Arrays.copyOf(prefix, prefix.length + primaryKey.length);
+        System.arraycopy(primaryKey, 0, key, prefix.length, primaryKey.length);
+        return key;
+    }
+
+    /**
+     * Encode the scan prefix of the values of all index columns, in the order of the index columns.
+     */
+    public byte[] encodePrefix(@Nonnull Object[] values) throws IOException {
+        Object[] converted = (Object[]) schema.convertTo(values, DingoConverter.INSTANCE);
+        byte[] encoded = codec.encodeKeyForRangeScan(converted);
+        byte[] prefix = Arrays.copyOf(name, name.length + encoded.length);
+        System.arraycopy(encoded, 0, prefix, name.length, encoded.length);
+        return prefix;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@JsonPropertyOrder({"name", "columns"})
+@EqualsAndHashCode
+@ToString
+public class IndexDefinition {
+    @JsonProperty(value = "name", required = true)
+    @Getter
+    private final String name;
+
+    @JsonProperty(value = "columns", required = true)
+    @Getter
+    private final List<String> columns;
+
+    @JsonCreator
+    public IndexDefinition(
+        @JsonProperty("name") String name,
+        @JsonProperty("columns") List<String> columns
+    ) {
+        this.name = name.toUpperCase();
+        this.columns = columns.stream().map(String::toUpperCase).collect(Collectors.toList());
+    }
+}
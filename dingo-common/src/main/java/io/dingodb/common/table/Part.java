@@ -16,6 +16,8 @@
 
 package io.dingodb.common.table;
 
+import io.dingodb.common.type.TupleMapping;
+
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -32,8 +34,37 @@ public interface Part {
 
     boolean insert(@Nonnull Object[] tuple);
 
+    /**
+     * Insert the tuples whose primary keys not exist, returns the count of inserted tuples.
+     */
+    default long insert(@Nonnull List<Object[]> tuples) {
+        long count = 0;
+        for (Object[] tuple : tuples) {
+            if (insert(tuple)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     void upsert(@Nonnull Object[] tuple);
 
+    /**
+     * Replace the row of {@code oldTuple} by {@code newTuple}, they have the same primary key.
+     */
+    default void update(@Nonnull Object[] oldTuple, @Nonnull Object[] newTuple) {
+        upsert(newTuple);
+    }
+
+    /**
+     * Replace {@code oldRow} by {@code newTuple} only if the stored row is still {@code oldRow}, returns
+     * {@code false} if the row is changed or removed by others after it was read by {@link #getStoredByKey}.
+     */
+    default boolean compareAndUpdate(@Nonnull StoredRow oldRow, @Nonnull Object[] newTuple) {
+        update(oldRow.getTuple(), newTuple);
+        return true;
+    }
+
     boolean remove(@Nonnull Object[] tuple);
 
     long getEntryCntAndDeleteByPart(@Nonnull List<String> startKey);
@@ -43,6 +74,45 @@ public interface Part {
     @Nullable
     Object[] getByKey(@Nonnull Object[] keyTuple);
 
+    /**
+     * Get the row of {@code keyTuple} with its stored value, to be replaced by {@link #compareAndUpdate}.
+     */
+    @Nullable
+    default StoredRow getStoredByKey(@Nonnull Object[] keyTuple) {
+        Object[] tuple = getByKey(keyTuple);
+        return tuple == null ? null : new StoredRow(tuple, null);
+    }
+
+    /**
+     * Get the stored row of {@code keyTuple} if it is the last row read from the part on the current thread, so a
+     * conditional update fed by the read needs not read the row again. {@code tuple} is the row as it was read.
+     */
+    @Nullable
+    default StoredRow getReadRow(@Nonnull Object[] keyTuple, @Nonnull Object[] tuple) {
+        return null;
+    }
+
+    /**
+     * Get the rows whose index columns equal to {@code values}, the result may contain rows that not match.
+     */
+    @Nonnull
+    default Iterator<Object[]> getIteratorByIndex(@Nonnull String index, @Nonnull Object[] values) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Get the rows with at least the {@code columns} filled. Chunks of columnar parts whose zone maps are out of
+     * the bounds are skipped, the bounds are table tuples with {@code null} for no bound.
+     */
+    @Nonnull
+    default Iterator<Object[]> getIteratorByColumns(
+        @Nonnull TupleMapping columns,
+        @Nullable Object[] lower,
+        @Nullable Object[] upper
+    ) {
+        return getIterator();
+    }
+
     @Nonnull
     default List<Object[]> getByMultiKey(@Nonnull final List<Object[]> keyTuples) {
         return keyTuples.stream()
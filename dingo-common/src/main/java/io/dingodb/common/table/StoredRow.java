@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.common.table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A row read for a conditional update, with the stored value it was decoded from.
+ */
+@Getter
+@AllArgsConstructor
+public final class StoredRow {
+    @Nonnull
+    private final Object[] tuple;
+    /**
+     * The value bytes in the store, {@code null} if the part does not keep rows as bytes.
+     */
+    @Nullable
+    private final byte[] value;
+}
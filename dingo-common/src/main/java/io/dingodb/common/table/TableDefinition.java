@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.common.partition.DingoTablePart;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.common.type.TupleMapping;
@@ -64,6 +65,12 @@ public class TableDefinition {
 
     private DingoTablePart dingoTablePart;
 
+    @JsonProperty("indexes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @Getter
+    @Setter
+    private List<IndexDefinition> indexes;
+
     public String getName() {
         return name.toUpperCase();
     }
@@ -89,6 +96,33 @@ public class TableDefinition {
         this.attrMap = attrMap;
     }
 
+    /**
+     * Whether the table is created with {@code columnar = true}, the cold parts of a columnar table are converted
+     * to column chunks for analytical scans.
+     */
+    public boolean isColumnar() {
+        if (attrMap == null) {
+            return false;
+        }
+        return attrMap.entrySet().stream()
+            .filter(e -> e.getKey().equalsIgnoreCase("COLUMNAR"))
+            .anyMatch(e -> Boolean.parseBoolean(String.valueOf(e.getValue())));
+    }
+
+    /**
+     * The storage profile selected by {@code storage_profile = '...'}, throws if the profile name is unknown.
+     */
+    public StorageProfile getStorageProfile() {
+        if (attrMap == null) {
+            return StorageProfile.DEFAULT;
+        }
+        return StorageProfile.of(attrMap.entrySet().stream()
+            .filter(e -> e.getKey().equalsIgnoreCase(StorageProfile.ATTR) && e.getValue() != null)
+            .map(e -> e.getValue().toString())
+            .findAny()
+            .orElse(null));
+    }
+
     public DingoTablePart getDingoTablePart() {
         return dingoTablePart;
     }
@@ -113,6 +147,35 @@ public class TableDefinition {
         return this;
     }
 
+    public TableDefinition addIndex(IndexDefinition index) {
+        if (indexes == null) {
+            indexes = new LinkedList<>();
+        }
+        this.indexes.add(index);
+        return this;
+    }
+
+    @Nullable
+    public IndexDefinition getIndex(String name) {
+        if (indexes == null) {
+            return null;
+        }
+        for (IndexDefinition index : indexes) {
+            if (index.getName().equalsIgnoreCase(name)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    public boolean removeIndex(String name) {
+        return indexes != null && indexes.removeIf(index -> index.getName().equalsIgnoreCase(name));
+    }
+
+    public TupleMapping getIndexMapping(@Nonnull IndexDefinition index) {
+        return TupleMapping.of(getColumnIndices(index.getColumns()));
+    }
+
     public ColumnDefinition getColumn(int index) {
         return columns.get(index);
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.util;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Iterator holding resources such as a storage snapshot, the resources are released by {@link #close()}.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    @Override
+    void close();
+
+    /**
+     * Close the iterator if it is closeable.
+     */
+    static void close(Iterator<?> iterator) {
+        if (iterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) iterator).close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Transform the elements of the iterator, closing the returned iterator closes the source iterator.
+     */
+    static <F, T> CloseableIterator<T> transform(Iterator<F> iterator, Function<? super F, ? extends T> function) {
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return function.apply(iterator.next());
+            }
+
+            @Override
+            public void close() {
+                CloseableIterator.close(iterator);
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestExecutors {
+
+    @Test
+    public void testPool() {
+        assertThat(Executors.pool("task-execute-1-2")).isEqualTo(Executors.Pool.EXECUTION);
+        assertThat(Executors.pool("execute-T0001")).isEqualTo(Executors.Pool.GLOBAL);
+        assertThat(Executors.pool("read-index-exec")).isEqualTo(Executors.Pool.STORAGE);
+        assertThat(Executors.pool("T0001 on apply")).isEqualTo(Executors.Pool.STORAGE);
+        assertThat(Executors.pool("cancel-api-invoke")).isEqualTo(Executors.Pool.NET);
+        assertThat(Executors.pool("net-api-invoke")).isEqualTo(Executors.Pool.GLOBAL);
+        assertThat(Executors.pool("invoke-api")).isEqualTo(Executors.Pool.GLOBAL);
+        assertThat(Executors.pool("on-stats-T0001")).isEqualTo(Executors.Pool.BACKGROUND);
+        assertThat(Executors.pool("JRaft-FSMCaller-Disruptor")).isEqualTo(Executors.Pool.GLOBAL);
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        assertThat(Executors.submit("task-execute-1-2", () -> 1).get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(Executors.submit("cancel-api-invoke", () -> 2).get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(Executors.submit("unknown", () -> 3).get(10, TimeUnit.SECONDS)).isEqualTo(3);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestStripedExecutor {
+
+    private static StripedExecutor executor;
+
+    @BeforeAll
+    public static void setupAll() {
+        executor = new StripedExecutor("test-striped", 4, 1024);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOrderInStripe() throws InterruptedException {
+        Executor stripe = executor.next();
+        List<Integer> result = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            stripe.execute(() -> {
+                result.add(value);
+                latch.countDown();
+            });
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(result.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void testTaskException() throws InterruptedException {
+        Executor stripe = executor.next();
+        CountDownLatch latch = new CountDownLatch(1);
+        stripe.execute(() -> {
+            throw new RuntimeException("test");
+        });
+        stripe.execute(latch::countDown);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testRejectWhenFull() throws InterruptedException {
+        StripedExecutor full = new StripedExecutor("test-striped-full", 1, 2);
+        try {
+            Executor stripe = full.next();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(3);
+            stripe.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            stripe.execute(done::countDown);
+            stripe.execute(done::countDown);
+            // The submitter is not blocked by the full queue.
+            assertThatThrownBy(() -> stripe.execute(done::countDown)).isInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            full.shutdown();
+        }
+    }
+
+}
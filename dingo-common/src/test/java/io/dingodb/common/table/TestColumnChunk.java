@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestColumnChunk {
+
+    private static List<byte[]> values(int count, int distinct, int runLength) {
+        List<byte[]> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(new byte[] {(byte) (i / runLength % distinct), 1});
+        }
+        return values;
+    }
+
+    private static ColumnChunk roundTrip(List<byte[]> values, byte encoding) {
+        ColumnChunk chunk = ColumnChunk.of(ColumnChunk.encode(values, new byte[] {0}, new byte[] {9}));
+        assertThat(chunk.getEncoding()).isEqualTo(encoding);
+        assertThat(chunk.getCount()).isEqualTo(values.size());
+        assertThat(chunk.values()).containsExactlyElementsOf(values);
+        return chunk;
+    }
+
+    @Test
+    public void testPlain() {
+        roundTrip(values(100, 100, 1), ColumnChunk.PLAIN);
+    }
+
+    @Test
+    public void testDictionaryBitPacked() {
+        roundTrip(values(1000, 5, 1), ColumnChunk.DICTIONARY_BIT_PACKED);
+    }
+
+    @Test
+    public void testDictionaryRle() {
+        roundTrip(values(1000, 3, 100), ColumnChunk.DICTIONARY_RLE);
+    }
+
+    @Test
+    public void testZoneMap() {
+        ColumnChunk chunk = roundTrip(values(100, 1, 1), ColumnChunk.DICTIONARY_RLE);
+        assertThat(chunk.getMin()).isEqualTo(new byte[] {0});
+        assertThat(chunk.getMax()).isEqualTo(new byte[] {9});
+        ColumnChunk noZoneMap = ColumnChunk.of(ColumnChunk.encode(values(10, 10, 1), null, null));
+        assertThat(noZoneMap.getMin()).isNull();
+        assertThat(noZoneMap.getMax()).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.table;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoColumnarCodec {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE|NULL");
+    private static final int ROWS = DingoColumnarCodec.CHUNK_ROWS + 10;
+
+    private static List<Object[]> tuples() {
+        List<Object[]> tuples = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tuples.add(new Object[]{i, "name" + i % 3, i % 2 == 0 ? null : (double) i});
+        }
+        return tuples;
+    }
+
+    @Test
+    public void testEncodeStreamsChunks() throws IOException {
+        DingoColumnarCodec codec = new DingoColumnarCodec(SCHEMA);
+        List<int[]> order = new ArrayList<>();
+        int count = codec.encode(tuples().iterator(), (column, chunk, bytes) -> order.add(new int[]{column, chunk}));
+        assertThat(count).isEqualTo(2);
+        // All the columns of a run of rows are passed before the next run.
+        assertThat(order).containsExactly(
+            new int[]{0, 0}, new int[]{1, 0}, new int[]{2, 0},
+            new int[]{0, 1}, new int[]{1, 1}, new int[]{2, 1}
+        );
+    }
+
+    @Test
+    public void testEncodeDecode() throws IOException {
+        DingoColumnarCodec codec = new DingoColumnarCodec(SCHEMA);
+        List<List<byte[]>> chunks = codec.encode(tuples().iterator());
+        assertThat(chunks).hasSize(3);
+        TupleMapping columns = TupleMapping.of(new int[]{0, 2});
+        List<Object[]> decoded = new ArrayList<>();
+        for (int i = 0; i < chunks.get(0).size(); i++) {
+            List<ColumnChunk> columnChunks = new ArrayList<>();
+            columnChunks.add(ColumnChunk.of(chunks.get(0).get(i)));
+            columnChunks.add(ColumnChunk.of(chunks.get(2).get(i)));
+            decoded.addAll(codec.decode(columns, columnChunks));
+        }
+        assertThat(decoded).hasSize(ROWS);
+        assertThat(decoded.get(0)).containsExactly(0, null, null);
+        assertThat(decoded.get(ROWS - 1)).containsExactly(ROWS - 1, null, (double) (ROWS - 1));
+    }
+
+    @Test
+    public void testMayContain() throws IOException {
+        DingoColumnarCodec codec = new DingoColumnarCodec(SCHEMA);
+        List<List<byte[]>> chunks = codec.encode(tuples().iterator());
+        ColumnChunk first = ColumnChunk.of(chunks.get(0).get(0));
+        ColumnChunk last = ColumnChunk.of(chunks.get(0).get(1));
+        Object[] lower = {DingoColumnarCodec.CHUNK_ROWS, null, null};
+        assertThat(codec.mayContain(0, first, lower, null)).isFalse();
+        assertThat(codec.mayContain(0, last, lower, null)).isTrue();
+        Object[] upper = {10, null, null};
+        assertThat(codec.mayContain(0, first, null, upper)).isTrue();
+        assertThat(codec.mayContain(0, last, null, upper)).isFalse();
+        // Bounds of other columns do not skip the chunk.
+        assertThat(codec.mayContain(0, last, new Object[]{null, "z", null}, null)).isTrue();
+    }
+}
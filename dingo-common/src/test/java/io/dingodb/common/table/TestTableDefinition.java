@@ -16,6 +16,7 @@
 
 package io.dingodb.common.table;
 
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.serial.schema.DingoSchema;
 import io.dingodb.serial.schema.Type;
 import org.junit.jupiter.api.BeforeAll;
@@ -24,9 +25,11 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TestTableDefinition {
     private static TableDefinition tableDefinition;
@@ -65,6 +68,18 @@ public class TestTableDefinition {
         assertThat(schemaList.get(1).getIndex()).isEqualTo(1);
     }
 
+    @Test
+    public void testGetStorageProfile() {
+        TableDefinition definition = new TableDefinition("test");
+        assertThat(definition.getStorageProfile()).isEqualTo(StorageProfile.DEFAULT);
+        definition.setAttrMap(Collections.singletonMap("storage_profile", "Point_Lookup"));
+        assertThat(definition.getStorageProfile()).isEqualTo(StorageProfile.POINT_LOOKUP);
+        definition.setAttrMap(Collections.singletonMap("STORAGE_PROFILE", "scan-heavy"));
+        assertThat(definition.getStorageProfile()).isEqualTo(StorageProfile.SCAN_HEAVY);
+        definition.setAttrMap(Collections.singletonMap("STORAGE_PROFILE", "fast"));
+        assertThatThrownBy(definition::getStorageProfile).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void testToJsonFromJson() throws IOException {
         String json = tableDefinition.toJson();
@@ -80,4 +95,30 @@ public class TestTableDefinition {
         TableDefinition definition = TableDefinition.readJson(new ByteArrayInputStream(os.toByteArray()));
         assertThat(definition).isEqualTo(tableDefinition);
     }
+
+    @Test
+    public void testIndexToJsonFromJson() throws IOException {
+        TableDefinition definition = TableDefinition.fromJson(tableDefinition.toJson());
+        definition.addIndex(new IndexDefinition("idx_name", Collections.singletonList("name")));
+        TableDefinition restored = TableDefinition.fromJson(definition.toJson());
+        assertThat(restored).isEqualTo(definition);
+        IndexDefinition index = restored.getIndex("IDX_NAME");
+        assertThat(index).isNotNull();
+        assertThat(restored.getIndexMapping(index).getMappings()).containsExactly(1);
+        assertThat(restored.removeIndex("idx_name")).isTrue();
+        assertThat(restored.getIndex("idx_name")).isNull();
+    }
+
+    @Test
+    public void testIndexCodec() throws IOException {
+        IndexDefinition index = new IndexDefinition("idx_name", Collections.singletonList("name"));
+        DingoIndexCodec codec = new DingoIndexCodec(
+            index.getName(), tableDefinition.getDingoType(), tableDefinition.getIndexMapping(index)
+        );
+        byte[] primaryKey = new byte[] {0, 0, 1};
+        byte[] key = codec.encodeKey(new Object[] {1, "Alice", 3.5}, primaryKey);
+        assertThat(key).startsWith(codec.encodePrefix(new Object[] {"Alice"}));
+        assertThat(key).endsWith(primaryKey);
+        assertThat(key).doesNotStartWith(codec.encodePrefix(new Object[] {"Bob"}));
+    }
 }
@@ -622,3 +622,33 @@ SqlDrop SqlDropFunction(Span s, boolean replace) :
         return SqlDdlNodes.dropFunction(s.end(this), ifExists, id);
     }
 }
+
+SqlCreate SqlCreateIndex(Span s, boolean replace) :
+{
+    final boolean ifNotExists;
+    final SqlIdentifier id;
+    final SqlIdentifier table;
+    final SqlNodeList columnList;
+}
+{
+    <INDEX> ifNotExists = IfNotExistsOpt()
+    id = SimpleIdentifier()
+    <ON> table = CompoundIdentifier()
+    columnList = ParenthesizedSimpleIdentifierList() {
+        return DingoSqlDdlNodes.createIndex(s.end(this), replace, ifNotExists, id, table, columnList);
+    }
+}
+
+SqlDrop SqlDropIndex(Span s, boolean replace) :
+{
+    final boolean ifExists;
+    final SqlIdentifier id;
+    final SqlIdentifier table;
+}
+{
+    <INDEX> ifExists = IfExistsOpt()
+    id = SimpleIdentifier()
+    <ON> table = CompoundIdentifier() {
+        return DingoSqlDdlNodes.dropIndex(s.end(this), ifExists, id, table);
+    }
+}
@@ -19,6 +19,7 @@ package io.dingodb.ddl;
 import io.dingodb.common.partition.DingoPartDetail;
 import io.dingodb.common.partition.DingoTablePart;
 import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.jdbc.CalcitePrepare;
@@ -35,7 +36,9 @@ import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlTruncate;
 import org.apache.calcite.sql.SqlUtil;
+import org.apache.calcite.sql.ddl.DingoSqlCreateIndex;
 import org.apache.calcite.sql.ddl.DingoSqlCreateTable;
+import org.apache.calcite.sql.ddl.DingoSqlDropIndex;
 import org.apache.calcite.sql.ddl.SqlColumnDeclaration;
 import org.apache.calcite.sql.ddl.SqlCreateTable;
 import org.apache.calcite.sql.ddl.SqlDropTable;
@@ -178,6 +181,8 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
         TableDefinition td = new TableDefinition(tableName);
         DingoSqlCreateTable dingoSqlCreateTable = (DingoSqlCreateTable) create;
         td.setAttrMap(dingoSqlCreateTable.getAttrMap());
+        // Fail the create on an unknown storage profile instead of when the parts are assigned.
+        td.getStorageProfile();
         td.setPartType(dingoSqlCreateTable.getPartType());
         td.setDingoTablePart(dingoSqlCreateTable.getDingoTablePart());
         SqlValidator validator = new ContextSqlValidator(context, true);
@@ -234,6 +239,62 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
         }
     }
 
+    @SuppressWarnings({"unused"})
+    public void execute(DingoSqlCreateIndex create, CalcitePrepare.Context context) {
+        log.info("DDL execute: {}", create);
+        final Pair<MutableSchema, String> schemaTableName
+            = getSchemaAndTableName(create.table, context);
+        final MutableSchema schema = schemaTableName.left;
+        final String tableName = schemaTableName.right;
+        TableDefinition td = schema.getMetaService().getTableDefinition(tableName);
+        if (td == null) {
+            throw SqlUtil.newContextException(
+                create.table.getParserPosition(),
+                RESOURCE.tableNotFound(create.table.toString())
+            );
+        }
+        IndexDefinition index = new IndexDefinition(
+            create.name.getSimple(),
+            create.columnList.getList().stream()
+                .map(t -> ((SqlIdentifier) Objects.requireNonNull(t)).getSimple())
+                .collect(Collectors.toList())
+        );
+        if (td.getIndex(index.getName()) != null) {
+            if (!create.ifNotExists) {
+                throw new RuntimeException("Index " + index.getName() + " already exists on " + tableName + ".");
+            }
+            return;
+        }
+        if (index.getColumns().stream().distinct().count() != index.getColumns().size()) {
+            throw new RuntimeException("Duplicate column names are not allowed in index definition.");
+        }
+        for (String column : index.getColumns()) {
+            ColumnDefinition cd = td.getColumn(column);
+            if (cd == null) {
+                throw SqlUtil.newContextException(
+                    create.columnList.getParserPosition(),
+                    RESOURCE.columnNotFound(column)
+                );
+            }
+            if (cd.isPrimary()) {
+                throw new RuntimeException("Primary key column " + column + " can not be indexed.");
+            }
+        }
+        schema.createIndex(tableName, index);
+    }
+
+    @SuppressWarnings({"unused", "MethodMayBeStatic"})
+    public void execute(DingoSqlDropIndex drop, CalcitePrepare.Context context) {
+        log.info("DDL execute: {}", drop);
+        final Pair<MutableSchema, String> schemaTableName
+            = getSchemaAndTableName(drop.table, context);
+        final MutableSchema schema = schemaTableName.left;
+        final String tableName = schemaTableName.right;
+        if (!schema.dropIndex(tableName, drop.name.getSimple()) && !drop.ifExists) {
+            throw new RuntimeException("Index " + drop.name + " not found on " + tableName + ".");
+        }
+    }
+
     public void execute(SqlTruncate truncate, CalcitePrepare.Context context) {
         SqlIdentifier name = (SqlIdentifier) truncate.getOperandList().get(0);
         final Pair<MutableSchema, String> schemaTableName
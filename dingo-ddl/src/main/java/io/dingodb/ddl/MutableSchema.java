@@ -16,6 +16,7 @@
 
 package io.dingodb.ddl;
 
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.meta.MetaService;
 import lombok.Getter;
@@ -39,6 +40,14 @@ public abstract class MutableSchema extends AbstractSchema {
         return metaService.dropTable(tableName);
     }
 
+    public void createIndex(@Nonnull String tableName, @Nonnull IndexDefinition index) {
+        metaService.createIndex(tableName, index);
+    }
+
+    public boolean dropIndex(@Nonnull String tableName, @Nonnull String indexName) {
+        return metaService.dropIndex(tableName, indexName);
+    }
+
     @Override
     public boolean isMutable() {
         return true;
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.calcite.sql.ddl;
+
+import org.apache.calcite.sql.SqlCreate;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.ImmutableNullableList;
+
+import java.util.List;
+
+public class DingoSqlCreateIndex extends SqlCreate {
+    private static final SqlOperator OPERATOR = new SqlSpecialOperator("CREATE INDEX", SqlKind.CREATE_INDEX);
+
+    public final SqlIdentifier name;
+    public final SqlIdentifier table;
+    public final SqlNodeList columnList;
+
+    /**
+     * Creates a SqlCreateIndex.
+     *
+     * @param pos pos
+     * @param replace replace
+     * @param ifNotExists create if not exists
+     * @param name index name
+     * @param table table name
+     * @param columnList index columns
+     */
+    protected DingoSqlCreateIndex(SqlParserPos pos, boolean replace, boolean ifNotExists, SqlIdentifier name,
+                                  SqlIdentifier table, SqlNodeList columnList) {
+        super(OPERATOR, pos, replace, ifNotExists);
+        this.name = name;
+        this.table = table;
+        this.columnList = columnList;
+    }
+
+    @Override
+    public List<SqlNode> getOperandList() {
+        return ImmutableNullableList.of(name, table, columnList);
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("CREATE");
+        writer.keyword("INDEX");
+        if (ifNotExists) {
+            writer.keyword("IF NOT EXISTS");
+        }
+        name.unparse(writer, leftPrec, rightPrec);
+        writer.keyword("ON");
+        table.unparse(writer, leftPrec, rightPrec);
+        SqlWriter.Frame frame = writer.startList("(", ")");
+        for (SqlNode column : columnList) {
+            writer.sep(",");
+            column.unparse(writer, 0, 0);
+        }
+        writer.endList(frame);
+    }
+}
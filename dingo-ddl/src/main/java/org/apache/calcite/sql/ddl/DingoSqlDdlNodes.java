@@ -17,6 +17,8 @@
 package org.apache.calcite.sql.ddl;
 
 import io.dingodb.common.partition.DingoTablePart;
+import org.apache.calcite.sql.SqlCreate;
+import org.apache.calcite.sql.SqlDrop;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
@@ -37,4 +39,15 @@ public class DingoSqlDdlNodes {
             query, attrMap, partType, dingoTablePart);
     }
 
+    /** Creates a CREATE INDEX. */
+    public static SqlCreate createIndex(SqlParserPos pos, boolean replace, boolean ifNotExists,
+                                        SqlIdentifier name, SqlIdentifier table, SqlNodeList columnList) {
+        return new DingoSqlCreateIndex(pos, replace, ifNotExists, name, table, columnList);
+    }
+
+    /** Creates a DROP INDEX. */
+    public static SqlDrop dropIndex(SqlParserPos pos, boolean ifExists, SqlIdentifier name, SqlIdentifier table) {
+        return new DingoSqlDropIndex(pos, ifExists, name, table);
+    }
+
 }
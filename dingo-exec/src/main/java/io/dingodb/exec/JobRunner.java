@@ -19,21 +19,37 @@ package io.dingodb.exec;
 import io.dingodb.common.Location;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
-import io.dingodb.net.Channel;
-import io.dingodb.net.Message;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 
-import static io.dingodb.exec.Services.TASK_TAG;
-
 @Slf4j
-@RequiredArgsConstructor
 public final class JobRunner {
+    private static final int DISTRIBUTE_TIMEOUT_SECONDS = 30;
+    private static final Map<Location, TaskApi> TASK_APIS = new ConcurrentHashMap<>();
+
     private final Job job;
+    private final Function<Location, TaskApi> taskApis;
+
+    public JobRunner(Job job) {
+        this(job, JobRunner::taskApi);
+    }
+
+    JobRunner(Job job, Function<Location, TaskApi> taskApis) {
+        this.job = job;
+        this.taskApis = taskApis;
+    }
 
     @Nonnull
     public Iterator<Object[]> createIterator() {
@@ -43,40 +59,73 @@ public final class JobRunner {
         Task task = distributeTasks();
         assert task.getLocation().equals(Services.META.currentLocation())
             : "The root task must be at current location.";
-        task.init();
         task.run();
         return task.getRoot().getIterator();
     }
 
     /**
-     * Distribute the tasks.
+     * Distribute the tasks and initialize the root task. The tasks of each location are sent in one call, the calls
+     * to all the locations are in flight at the same time and the root task is initialized while the remote tasks
+     * are starting. If the tasks failed to start at any location, the tasks of the job are stopped at all the
+     * locations.
      *
      * @return the root task
      */
-    private Task distributeTasks() {
+    Task distributeTasks() {
         Task rootTask = null;
+        Map<Location, List<byte[]>> tasksByLocation = new HashMap<>();
         for (Task task : job.getTasks().values()) {
             if (task.getRoot() != null) {
                 rootTask = task;
                 continue;
             }
-            Location location = task.getLocation();
             // Currently only root task is run at localhost, if a task is at localhost but not root task,
             // it is just ignored. Just distribute all the tasks to avoid this.
-            try {
-                Channel channel = Services.openNewSysChannel(location.getHost(), location.getPort());
-                Message msg = Message.builder()
-                    .tag(TASK_TAG)
-                    .content(task.serialize())
-                    .build();
-                channel.send(msg);
-                channel.close();
-            } catch (Exception e) {
-                log.error("Error to distribute tasks.", e);
-                throw new RuntimeException("Error to distribute tasks.", e);
-            }
+            tasksByLocation.computeIfAbsent(task.getLocation(), k -> new ArrayList<>()).add(task.serialize());
         }
         assert rootTask != null : "There must be one and only one root task.";
+        List<CompletableFuture<Void>> acks = new ArrayList<>(tasksByLocation.size());
+        tasksByLocation.forEach((location, tasks) -> acks.add(runTasks(location, tasks)));
+        rootTask.init();
+        try {
+            CompletableFuture.allOf(acks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            log.error("Error to distribute tasks.", e);
+            // All the acks are done here, so the tasks started at other locations are all registered.
+            stopTasks(rootTask.getJobId().toString(), tasksByLocation.keySet());
+            throw new RuntimeException("Error to distribute tasks.", e.getCause());
+        }
         return rootTask;
     }
+
+    private CompletableFuture<Void> runTasks(Location location, List<byte[]> tasks) {
+        try {
+            return taskApis.apply(location).runTasks(tasks);
+        } catch (RuntimeException e) {
+            CompletableFuture<Void> ack = new CompletableFuture<>();
+            ack.completeExceptionally(e);
+            return ack;
+        }
+    }
+
+    private void stopTasks(String jobId, Collection<Location> locations) {
+        for (Location location : locations) {
+            try {
+                taskApis.apply(location).stopTasks(jobId).whenComplete((r, e) -> {
+                    if (e != null) {
+                        log.error("Error to stop tasks of job {} at {}.", jobId, location, e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Error to stop tasks of job {} at {}.", jobId, location, e);
+            }
+        }
+    }
+
+    private static TaskApi taskApi(Location location) {
+        return TASK_APIS.computeIfAbsent(
+            location,
+            k -> Services.NET.apiRegistry().proxy(TaskApi.class, location, DISTRIBUTE_TIMEOUT_SECONDS)
+        );
+    }
 }
@@ -36,9 +36,12 @@ import io.dingodb.store.api.StoreServiceProvider;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -62,7 +65,6 @@ public final class Services {
 
     private static final ExecutorService executorService = Executors.newWorkStealingPool();
 
-    public static final String TASK_TAG = "DINGO_TASK";
     public static final String CTRL_TAG = "DINGO_CTRL";
 
     static {
@@ -85,31 +87,51 @@ public final class Services {
 
     public static void initNetService() {
         initControlMsgService();
-        NET.registerTagMessageListener(TASK_TAG, (message, channel) -> {
-            final long startTime = System.currentTimeMillis();
-            String taskStr = new String(message.content(), StandardCharsets.UTF_8);
-            if (log.isDebugEnabled()) {
-                log.debug("Received task: {}", taskStr);
-            }
-            try {
-                final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
-                Task task = TaskImpl.fromString(taskStr);
-                timeCtx.stop();
+        NET.apiRegistry().register(TaskApi.class, TaskApi.INSTANCE);
+    }
 
-                executorService.execute(() -> {
-                    task.init();
+    /**
+     * Start the serialized tasks, see {@link TaskApi#runTasks(List)}.
+     */
+    public static CompletableFuture<Void> startTasks(List<byte[]> tasks) {
+        final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
+        List<Task> received = new ArrayList<>(tasks.size());
+        try {
+            for (byte[] task : tasks) {
+                received.add(TaskImpl.fromString(new String(task, StandardCharsets.UTF_8)));
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot deserialize received task.", e);
+        } finally {
+            timeCtx.stop();
+        }
+        CompletableFuture<?>[] inits = new CompletableFuture[received.size()];
+        for (int i = 0; i < inits.length; i++) {
+            Task task = received.get(i);
+            CompletableFuture<Void> init = CompletableFuture.runAsync(task::initOrThrow, executorService);
+            // A failed init is reported to the job runner by the acknowledgement, the task is still run if the init
+            // status is set, so the operators are finished with the failure.
+            init.handleAsync((r, e) -> {
+                if (task.getTaskInitStatus() != null) {
                     task.run();
-                });
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Cannot deserialize received task.", e);
-            } finally {
-                final long cost = System.currentTimeMillis() - startTime;
-                if (log.isDebugEnabled()) {
-                    log.debug("Services initNetService TASK_TAG msg cost: {}ms.", cost);
                 }
-                DingoMetrics.latency("on_task_message", cost);
-            }
-        });
+                return null;
+            }, executorService).whenComplete((r, e) -> {
+                if (e != null) {
+                    log.error("Run task {} of job {} failed.", task.getId(), task.getJobId(), e);
+                }
+            });
+            inits[i] = init;
+        }
+        return CompletableFuture.allOf(inits);
+    }
+
+    /**
+     * Stop the tasks of the job, see {@link TaskApi#stopTasks(String)}.
+     */
+    public static void stopTasks(String jobId) {
+        log.warn("Stop the tasks of job {}.", jobId);
+        EndpointManager.INSTANCE.stopJob(jobId);
     }
 
     public static void initControlMsgService() {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec;
+
+import io.dingodb.net.api.annotation.ApiDeclaration;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Start the tasks of a job on a remote executor, all the tasks of the job at the executor are sent in one call.
+ */
+public interface TaskApi {
+
+    TaskApi INSTANCE = new TaskApi() {};
+
+    /**
+     * Deserialize the tasks, initialize them in parallel and run each one when it is initialized. The returned
+     * future is the acknowledgement to the job runner, it is done when all the tasks are initialized and fails if
+     * any of them fails to initialize.
+     *
+     * @param tasks the serialized tasks
+     */
+    @ApiDeclaration
+    default CompletableFuture<Void> runTasks(List<byte[]> tasks) {
+        return Services.startTasks(tasks);
+    }
+
+    /**
+     * Stop the tasks of the job at the executor, called when the job failed to start at any location.
+     *
+     * @param jobId the id of the job
+     */
+    @ApiDeclaration
+    default CompletableFuture<Void> stopTasks(String jobId) {
+        Services.stopTasks(jobId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+}
@@ -18,6 +18,7 @@ package io.dingodb.exec.base;
 
 import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.fin.TaskStatus;
 import io.dingodb.exec.operator.RootOperator;
 
 import java.util.List;
@@ -54,6 +55,26 @@ public interface Task {
 
     void init();
 
+    /**
+     * Get the status of {@link #init()}, {@code null} if the task is not inited.
+     */
+    @Nullable
+    TaskStatus getTaskInitStatus();
+
+    /**
+     * Init the task and throw if any operator failed to init. The failed status is kept, so {@link #run()} still
+     * finishes the operators with the failure.
+     */
+    default void initOrThrow() {
+        init();
+        TaskStatus status = getTaskInitStatus();
+        if (status != null && !status.getStatus()) {
+            throw new IllegalStateException(
+                "Init task " + getId() + " of job " + getJobId() + " failed: " + status.getErrorMsg()
+            );
+        }
+    }
+
     void run();
 
     void reset();
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.exec.Services;
+import io.dingodb.net.Channel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+/**
+ * Pool of the channels to the remote locations, used by task distribution and the exchange endpoints, so a query
+ * does not open and close its channels.
+ *
+ * <p>A leased channel is used by the lessee only, so the messages it sends stay in order, and returned to the pool
+ * by {@link #release(Location, Channel)} instead of being closed. Idle channels are kept open up to
+ * {@link #MAX_IDLE_PER_LOCATION} per location, the most recently released is leased first, channels idle longer
+ * than {@link #IDLE_TIMEOUT_SECONDS} are closed.
+ */
+@Slf4j
+public final class ChannelPool {
+    public static final int MAX_IDLE_PER_LOCATION = 16;
+    public static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    public static final ChannelPool INSTANCE = new ChannelPool(
+        location -> Services.openNewChannel(location.getHost(), location.getPort()),
+        MAX_IDLE_PER_LOCATION,
+        TimeUnit.SECONDS.toNanos(IDLE_TIMEOUT_SECONDS)
+    );
+
+    static {
+        Executors.scheduleWithFixedDelayAsync(
+            "exec-channel-evict", INSTANCE::evictIdle, IDLE_TIMEOUT_SECONDS, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS
+        );
+    }
+
+    private final Function<Location, Channel> opener;
+    private final int maxIdle;
+    private final long idleNanos;
+    private final Map<Location, Deque<IdleChannel>> idleChannels = new ConcurrentHashMap<>();
+
+    ChannelPool(Function<Location, Channel> opener, int maxIdle, long idleNanos) {
+        this.opener = opener;
+        this.maxIdle = maxIdle;
+        this.idleNanos = idleNanos;
+    }
+
+    /**
+     * Lease a channel to the location, an idle channel if there is one, otherwise a new one, this may block.
+     */
+    public Channel lease(@Nonnull Location location) {
+        Deque<IdleChannel> channels = idleChannels.get(location);
+        if (channels != null) {
+            IdleChannel idle;
+            while ((idle = channels.pollFirst()) != null) {
+                if (!idle.channel.isClosed()) {
+                    return idle.channel;
+                }
+            }
+        }
+        return opener.apply(location);
+    }
+
+    public Channel lease(String host, int port) {
+        return lease(new Location(host, port));
+    }
+
+    /**
+     * Return the channel leased for the location, the channel must not be used by the caller any more.
+     */
+    public void release(@Nonnull Location location, @Nonnull Channel channel) {
+        if (channel.isClosed()) {
+            return;
+        }
+        Deque<IdleChannel> channels = idleChannels.computeIfAbsent(location, k -> new ConcurrentLinkedDeque<>());
+        if (channels.size() >= maxIdle) {
+            close(channel);
+            return;
+        }
+        channels.offerFirst(new IdleChannel(channel, System.nanoTime()));
+    }
+
+    /**
+     * Close the channels idle for longer than the idle timeout, and drop the closed ones.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        for (Deque<IdleChannel> channels : idleChannels.values()) {
+            // Released channels are added at the head, so the longest idle ones are at the tail.
+            IdleChannel idle;
+            while ((idle = channels.peekLast()) != null
+                && (now - idle.since >= idleNanos || idle.channel.isClosed())
+            ) {
+                if (channels.removeLastOccurrence(idle)) {
+                    close(idle.channel);
+                }
+            }
+        }
+    }
+
+    int idleCount(Location location) {
+        Deque<IdleChannel> channels = idleChannels.get(location);
+        return channels == null ? 0 : channels.size();
+    }
+
+    private static void close(Channel channel) {
+        if (channel.isClosed()) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (Exception e) {
+            log.error("Close channel to {} error.", channel.remoteLocation(), e);
+        }
+    }
+
+    private static final class IdleChannel {
+        private final Channel channel;
+        private final long since;
+
+        private IdleChannel(Channel channel, long since) {
+            this.channel = channel;
+            this.since = since;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.exec.util.TagUtil;
 import io.dingodb.net.Message;
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,11 +52,25 @@ public final class EndpointManager {
         }
         signals.put(tag, status);
         SendEndpoint sendEndpoint = sendEndpointMap.get(tag);
-        if (sendEndpoint != null && status == ControlStatus.READY) {
+        if (sendEndpoint != null && status != ControlStatus.HALT) {
             sendEndpoint.wakeUp();
         }
     }
 
+    /**
+     * Stop the send endpoints of the job, so they do not wait for receivers that will never be ready, e.g. when the
+     * job failed to start at some location.
+     */
+    public void stopJob(@Nonnull String jobId) {
+        String prefix = TagUtil.tagPrefix(jobId);
+        sendEndpointMap.forEach((tag, endpoint) -> {
+            if (tag.startsWith(prefix)) {
+                signals.put(tag, ControlStatus.STOP);
+                endpoint.wakeUp();
+            }
+        });
+    }
+
     public void registerSendEndpoint(SendEndpoint endpoint) {
         sendEndpointMap.put(endpoint.getTag(), endpoint);
     }
@@ -17,7 +17,7 @@
 package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import io.dingodb.exec.Services;
+import io.dingodb.common.Location;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import lombok.extern.slf4j.Slf4j;
@@ -43,7 +43,7 @@ public class ReceiveEndpoint {
     }
 
     public void init() {
-        channel = Services.openNewSysChannel(host, port);
+        channel = ChannelPool.INSTANCE.lease(host, port);
         emittedStatus = new AtomicReference<>(ControlStatus.HALT);
     }
 
@@ -89,6 +89,6 @@ public class ReceiveEndpoint {
     }
 
     public void close() throws Exception {
-        channel.close();
+        ChannelPool.INSTANCE.release(new Location(host, port), channel);
     }
 }
@@ -16,7 +16,7 @@
 
 package io.dingodb.exec.channel;
 
-import io.dingodb.exec.Services;
+import io.dingodb.common.Location;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import lombok.Getter;
@@ -24,25 +24,23 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class SendEndpoint {
-    private final String host;
-    private final int port;
+    private final Location location;
     @Getter
     private final String tag;
 
     private Channel channel;
 
     public SendEndpoint(String host, int port, String tag) {
-        this.host = host;
-        this.port = port;
+        this.location = new Location(host, port);
         this.tag = tag;
     }
 
     public void init() {
         EndpointManager.INSTANCE.registerSendEndpoint(this);
         // This may block.
-        channel = Services.openNewChannel(host, port);
+        channel = ChannelPool.INSTANCE.lease(location);
         if (log.isDebugEnabled()) {
-            log.debug("(tag = {}) Opened channel to {}:{}.", tag, host, port);
+            log.debug("(tag = {}) Leased channel to {}.", tag, location.getUrl());
         }
     }
 
@@ -64,7 +62,7 @@ public class SendEndpoint {
                     continue;
                 }
                 status = EndpointManager.INSTANCE.getStatus(tag);
-                if (status == ControlStatus.READY) {
+                if (status == ControlStatus.READY || status == ControlStatus.STOP) {
                     break;
                 }
             }
@@ -90,6 +88,6 @@ public class SendEndpoint {
 
     public void close() throws Exception {
         EndpointManager.INSTANCE.unregisterSendEndpoint(this);
-        channel.close();
+        ChannelPool.INSTANCE.release(location, channel);
     }
 }
@@ -66,7 +66,12 @@ public final class AvroTxRxCodec implements TxRxCodec {
 
     @Override
     public Object[] decode(byte[] bytes) throws IOException {
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+        return decode(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object[] decode(byte[] bytes, int offset, int length) throws IOException {
+        ByteArrayInputStream is = new ByteArrayInputStream(bytes, offset, length);
         int flag = is.read();
         switch (flag) {
             case TUPLE_FLAG:
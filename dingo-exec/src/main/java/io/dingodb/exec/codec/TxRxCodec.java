@@ -26,4 +26,9 @@ public interface TxRxCodec {
     byte[] encodeFin(Fin fin) throws IOException;
 
     Object[] decode(byte[] bytes) throws IOException;
+
+    /**
+     * Decode the tuple in {@code length} bytes from {@code offset} of {@code bytes}, without copying them.
+     */
+    Object[] decode(byte[] bytes, int offset, int length) throws IOException;
 }
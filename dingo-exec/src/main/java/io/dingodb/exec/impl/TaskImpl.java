@@ -45,6 +45,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -176,33 +177,43 @@ public final class TaskImpl implements Task {
                 break;
             }
 
-            Executors.execute("execute-" + jobId + "-" + id, () -> {
-                final long startTime = System.currentTimeMillis();
-                boolean isStatusOK = true;
-                String statusErrMsg = "OK";
-                try {
-                    while (operator.push(0, null)) {
-                        log.info("Operator {} need another pushing.", operator.getId());
-                    }
-                    operator.fin(0, null);
-                } catch (RuntimeException e) {
-                    isStatusOK = false;
-                    statusErrMsg = e.toString();
-                    log.error("Run Task:{} catch operator:{} run Exception:{}",
-                        getId().toString(), operator.getId(), e, e);
-                } finally {
-                    if (!isStatusOK) {
-                        TaskStatus taskStatus = new TaskStatus();
-                        taskStatus.setStatus(isStatusOK);
-                        taskStatus.setTaskId(operator.getTask().getId().toString());
-                        taskStatus.setErrorMsg(statusErrMsg);
-                        operator.fin(0, FinWithException.of(taskStatus));
-                    }
-                    if (log.isDebugEnabled()) {
-                        log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
+            try {
+                Executors.execute(Executors.TASK_EXECUTE_PREFIX + jobId + "-" + id, () -> {
+                    final long startTime = System.currentTimeMillis();
+                    boolean isStatusOK = true;
+                    String statusErrMsg = "OK";
+                    try {
+                        while (operator.push(0, null)) {
+                            log.info("Operator {} need another pushing.", operator.getId());
+                        }
+                        operator.fin(0, null);
+                    } catch (RuntimeException e) {
+                        isStatusOK = false;
+                        statusErrMsg = e.toString();
+                        log.error("Run Task:{} catch operator:{} run Exception:{}",
+                            getId().toString(), operator.getId(), e, e);
+                    } finally {
+                        if (!isStatusOK) {
+                            TaskStatus taskStatus = new TaskStatus();
+                            taskStatus.setStatus(isStatusOK);
+                            taskStatus.setTaskId(operator.getTask().getId().toString());
+                            taskStatus.setErrorMsg(statusErrMsg);
+                            operator.fin(0, FinWithException.of(taskStatus));
+                        }
+                        if (log.isDebugEnabled()) {
+                            log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
+                        }
                     }
-                }
-            });
+                });
+            } catch (RejectedExecutionException e) {
+                // Finish the operator so the receivers of the task do not wait for it.
+                log.error("Run task {} of job {} rejected, operator: {}.", this.id, jobId, id, e);
+                TaskStatus taskStatus = new TaskStatus();
+                taskStatus.setStatus(false);
+                taskStatus.setTaskId(this.id.toString());
+                taskStatus.setErrorMsg(e.toString());
+                operator.fin(0, FinWithException.of(taskStatus));
+            }
         }
     }
 
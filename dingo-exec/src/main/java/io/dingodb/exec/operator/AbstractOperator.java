@@ -36,8 +36,10 @@ import lombok.Setter;
     @JsonSubTypes.Type(GetByKeysOperator.class),
     @JsonSubTypes.Type(HashJoinOperator.class),
     @JsonSubTypes.Type(HashOperator.class),
+    @JsonSubTypes.Type(PartColumnScanOperator.class),
     @JsonSubTypes.Type(PartCountOperator.class),
     @JsonSubTypes.Type(PartDeleteOperator.class),
+    @JsonSubTypes.Type(PartIndexScanOperator.class),
     @JsonSubTypes.Type(PartInsertOperator.class),
     @JsonSubTypes.Type(PartitionOperator.class),
     @JsonSubTypes.Type(PartScanOperator.class),
@@ -33,7 +33,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
@@ -91,11 +90,8 @@ public final class GetByKeysOperator extends PartIteratorSourceOperator {
                 break;
             }
         } else if (keyTuples.size() != 0) {
-            return keyTuples.stream()
-                .map(part::getByKey)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList())
-                .iterator();
+            // One batch read for all the keys instead of a read for each key.
+            return part.getByMultiKey(keyTuples).iterator();
         }
         return Iterators.forArray();
     }
@@ -16,6 +16,8 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.util.CloseableIterator;
+import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.OperatorProfile;
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,9 +53,23 @@ public abstract class IteratorSourceOperator extends SourceOperator {
     @Nonnull
     protected abstract Iterator<Object[]> createIterator();
 
+    /**
+     * Release the resources held by the iterator, such as the storage snapshot of a scan.
+     */
+    protected void closeIterator() {
+        CloseableIterator.close(iterator);
+    }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        closeIterator();
+        super.fin(pin, fin);
+    }
+
     @Override
     public void reset() {
         super.reset();
+        closeIterator();
         iterator = createIterator();
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.converter.JsonConverter;
+import io.dingodb.exec.codec.RawJsonDeserializer;
+import io.dingodb.exec.expr.SqlExpr;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Scan a part of a columnar table reading only the {@code columns}, other columns of the rows are {@code null}.
+ * The bounds are table tuples with {@code null} for no bound, chunks out of the bounds are skipped, so the filter
+ * should contain the bound conditions.
+ */
+@JsonTypeName("columnScan")
+@JsonPropertyOrder({
+    "table", "part", "schema", "keyMapping", "columns", "bounds", "filter", "selection", "output"
+})
+public final class PartColumnScanOperator extends PartIteratorSourceOperator {
+    @JsonProperty("columns")
+    private final TupleMapping columns;
+    private final Object[] lower;
+    private final Object[] upper;
+
+    public PartColumnScanOperator(
+        CommonId tableId,
+        Object partId,
+        DingoType schema,
+        TupleMapping keyMapping,
+        TupleMapping columns,
+        @Nonnull Object[] lower,
+        @Nonnull Object[] upper,
+        SqlExpr filter,
+        TupleMapping selection
+    ) {
+        super(tableId, partId, schema, keyMapping, filter, selection);
+        this.columns = columns;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    @Nonnull
+    @JsonCreator
+    public static PartColumnScanOperator fromJson(
+        @JsonProperty("table") CommonId tableId,
+        @JsonProperty("part") Object partId,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("columns") TupleMapping columns,
+        @JsonDeserialize(using = RawJsonDeserializer.class)
+        @Nonnull @JsonProperty("bounds") JsonNode jsonNode,
+        @JsonProperty("filter") SqlExpr filter,
+        @JsonProperty("selection") TupleMapping selection
+    ) {
+        List<Object[]> bounds = RawJsonDeserializer.convertBySchema(jsonNode, schema);
+        return new PartColumnScanOperator(
+            tableId,
+            partId,
+            schema,
+            keyMapping,
+            columns,
+            bounds.get(0),
+            bounds.get(1),
+            filter,
+            selection
+        );
+    }
+
+    @Nonnull
+    @Override
+    protected Iterator<Object[]> createSourceIterator() {
+        return part.getIteratorByColumns(columns, lower, upper);
+    }
+
+    // This method is only used by json serialization.
+    @JsonProperty("bounds")
+    public List<Object[]> getJsonBounds() {
+        return Arrays.asList(
+            (Object[]) schema.convertTo(lower, JsonConverter.INSTANCE),
+            (Object[]) schema.convertTo(upper, JsonConverter.INSTANCE)
+        );
+    }
+}
@@ -24,19 +24,21 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 
+import java.util.Map;
 import javax.annotation.Nonnull;
 
 @JsonTypeName("delete")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
 public final class PartDeleteOperator extends PartModifyOperator {
     @JsonCreator
     public PartDeleteOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") Object partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<String, TupleMapping> indexes
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexes);
     }
 
     @Override
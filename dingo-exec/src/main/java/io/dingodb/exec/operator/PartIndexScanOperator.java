@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.Iterators;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.converter.JsonConverter;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.codec.RawJsonDeserializer;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.PartInKvStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Lookup the rows by the values of a secondary index. The index values are matched by prefix, so the filter
+ * should contain the index conditions to drop the rows not matched.
+ */
+@Slf4j
+@JsonTypeName("indexScan")
+@JsonPropertyOrder({
+    "table", "part", "schema", "keyMapping", "index", "indexMapping", "values", "filter", "selection", "output"
+})
+public final class PartIndexScanOperator extends PartIteratorSourceOperator {
+    @JsonProperty("index")
+    private final String index;
+    @JsonProperty("indexMapping")
+    private final TupleMapping indexMapping;
+    private final List<Object[]> values;
+
+    public PartIndexScanOperator(
+        CommonId tableId,
+        Object partId,
+        DingoType schema,
+        TupleMapping keyMapping,
+        String index,
+        TupleMapping indexMapping,
+        @Nonnull List<Object[]> values,
+        SqlExpr filter,
+        TupleMapping selection
+    ) {
+        super(tableId, partId, schema, keyMapping, filter, selection);
+        this.index = index;
+        this.indexMapping = indexMapping;
+        this.values = values;
+    }
+
+    @Nonnull
+    @JsonCreator
+    public static PartIndexScanOperator fromJson(
+        @JsonProperty("table") CommonId tableId,
+        @JsonProperty("part") Object partId,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("index") String index,
+        @JsonProperty("indexMapping") TupleMapping indexMapping,
+        @JsonDeserialize(using = RawJsonDeserializer.class)
+        @Nonnull @JsonProperty("values") JsonNode jsonNode,
+        @JsonProperty("filter") SqlExpr filter,
+        @JsonProperty("selection") TupleMapping selection
+    ) {
+        return new PartIndexScanOperator(
+            tableId,
+            partId,
+            schema,
+            keyMapping,
+            index,
+            indexMapping,
+            RawJsonDeserializer.convertBySchema(jsonNode, schema.select(indexMapping)),
+            filter,
+            selection
+        );
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        part = new PartInKvStore(
+            Services.KV_STORE.getInstance(tableId),
+            schema,
+            keyMapping,
+            Collections.singletonMap(index, indexMapping)
+        );
+    }
+
+    @Nonnull
+    @Override
+    protected Iterator<Object[]> createSourceIterator() {
+        if (values.size() == 1) {
+            return part.getIteratorByIndex(index, values.get(0));
+        }
+        return Iterators.concat(values.stream()
+            .map(value -> part.getIteratorByIndex(index, value))
+            .iterator());
+    }
+
+    // This method is only used by json serialization.
+    @JsonProperty("values")
+    public List<Object[]> getJsonValues() {
+        return values.stream()
+            .map(i -> (Object[]) schema.select(indexMapping).convertTo(i, JsonConverter.INSTANCE))
+            .collect(Collectors.toList());
+    }
+}
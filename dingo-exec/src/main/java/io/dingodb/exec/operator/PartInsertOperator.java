@@ -23,32 +23,59 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 
 @JsonTypeName("insert")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
 public final class PartInsertOperator extends PartModifyOperator {
+    private static final int BATCH_SIZE = 1024;
+
+    private List<Object[]> buffer;
+
     @JsonCreator
     public PartInsertOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") Object partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<String, TupleMapping> indexes
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexes);
     }
 
     @Override
     public void init() {
         super.init();
+        buffer = new ArrayList<>(BATCH_SIZE);
     }
 
     @Override
     public synchronized boolean push(int pin, @Nonnull Object[] tuple) {
-        if (part.insert(tuple)) {
-            count++;
+        buffer.add(tuple);
+        if (buffer.size() >= BATCH_SIZE) {
+            flush();
         }
         return true;
     }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        if (!(fin instanceof FinWithException)) {
+            flush();
+        }
+        super.fin(pin, fin);
+    }
+
+    private void flush() {
+        if (!buffer.isEmpty()) {
+            count += part.insert(buffer);
+            buffer.clear();
+        }
+    }
 }
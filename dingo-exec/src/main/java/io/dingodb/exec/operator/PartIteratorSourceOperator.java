@@ -24,6 +24,7 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.table.Part;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.base.OutputHint;
 import io.dingodb.exec.expr.SqlExpr;
@@ -52,6 +53,8 @@ public abstract class PartIteratorSourceOperator extends IteratorSourceOperator
 
     protected Part part;
 
+    private Iterator<Object[]> sourceIterator;
+
     protected PartIteratorSourceOperator(
         CommonId tableId,
         Object partId,
@@ -96,7 +99,8 @@ public abstract class PartIteratorSourceOperator extends IteratorSourceOperator
     @Nonnull
     @Override
     protected Iterator<Object[]> createIterator() {
-        Iterator<Object[]> iterator = createSourceIterator();
+        sourceIterator = createSourceIterator();
+        Iterator<Object[]> iterator = sourceIterator;
         if (filter != null) {
             iterator = Iterators.filter(
                 iterator,
@@ -109,6 +113,11 @@ public abstract class PartIteratorSourceOperator extends IteratorSourceOperator
         return iterator;
     }
 
+    @Override
+    protected void closeIterator() {
+        CloseableIterator.close(sourceIterator);
+    }
+
     @Nonnull
     protected abstract Iterator<Object[]> createSourceIterator();
 }
@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.operator;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -29,6 +30,8 @@ import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.table.PartInKvStore;
 import io.dingodb.store.api.StoreInstance;
 
+import java.util.Map;
+
 public abstract class PartModifyOperator extends SoleOutOperator {
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
@@ -40,6 +43,9 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     protected final DingoType schema;
     @JsonProperty("keyMapping")
     protected final TupleMapping keyMapping;
+    @JsonProperty("indexes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    protected final Map<String, TupleMapping> indexes;
 
     protected Part part;
     protected long count;
@@ -48,13 +54,15 @@ public abstract class PartModifyOperator extends SoleOutOperator {
         CommonId tableId,
         Object partId,
         DingoType schema,
-        TupleMapping keyMapping
+        TupleMapping keyMapping,
+        Map<String, TupleMapping> indexes
     ) {
         super();
         this.tableId = tableId;
         this.partId = partId;
         this.schema = schema;
         this.keyMapping = keyMapping;
+        this.indexes = indexes;
     }
 
     @Override
@@ -64,7 +72,8 @@ public abstract class PartModifyOperator extends SoleOutOperator {
         part = new PartInKvStore(
             store,
             schema,
-            keyMapping
+            keyMapping,
+            indexes
         );
         count = 0;
     }
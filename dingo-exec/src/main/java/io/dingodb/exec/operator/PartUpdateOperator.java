@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.table.StoredRow;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.expr.SqlExpr;
@@ -28,12 +29,15 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
 
 @Slf4j
 @JsonTypeName("update")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "mapping", "updates", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "mapping", "updates", "output"})
 public final class PartUpdateOperator extends PartModifyOperator {
+    private static final int MAX_RETRIES = 16;
+
     @JsonProperty("mapping")
     private final TupleMapping mapping;
     @JsonProperty("updates")
@@ -46,9 +50,10 @@ public final class PartUpdateOperator extends PartModifyOperator {
         @JsonProperty("schema") DingoType schema,
         @JsonProperty("keyMapping") TupleMapping keyMapping,
         @JsonProperty("mapping") TupleMapping mapping,
-        @JsonProperty("updates") List<SqlExpr> updates
+        @JsonProperty("updates") List<SqlExpr> updates,
+        @JsonProperty("indexes") Map<String, TupleMapping> indexes
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexes);
         this.mapping = mapping;
         this.updates = updates;
     }
@@ -61,31 +66,60 @@ public final class PartUpdateOperator extends PartModifyOperator {
 
     @Override
     public synchronized boolean push(int pin, @Nonnull Object[] tuple) {
-        Object[] newTuple = Arrays.copyOf(tuple, tuple.length);
+        Object[] keyTuple = keyMapping.revMap(tuple);
+        // Take the stored value from the read feeding this operator, the row is read again only if it is not
+        // the row read or the compare and set misses.
+        StoredRow oldRow = part.getReadRow(keyTuple, Arrays.copyOf(tuple, schema.fieldCount()));
+        if (oldRow == null) {
+            oldRow = part.getStoredByKey(keyTuple);
+        }
+        for (int retry = 0; retry < MAX_RETRIES; ++retry) {
+            if (oldRow == null) {
+                return true;
+            }
+            // The input tuple may have more columns than the table, keep them for the update expressions and
+            // take the table columns from the stored row, they are the same unless the row is changed after scan.
+            Object[] input = Arrays.copyOf(tuple, tuple.length);
+            System.arraycopy(oldRow.getTuple(), 0, input, 0, schema.fieldCount());
+            Object[] newTuple = evaluate(input);
+            if (newTuple == null) {
+                return true;
+            }
+            if (part.compareAndUpdate(oldRow, Arrays.copyOf(newTuple, schema.fieldCount()))) {
+                count++;
+                return true;
+            }
+            // The row is changed by others, evaluate the updates again on the current row.
+            oldRow = part.getStoredByKey(keyTuple);
+        }
+        throw new RuntimeException("Update Operator failed, the row is changed concurrently " + MAX_RETRIES + " times");
+    }
+
+    /**
+     * Returns the updated tuple, or {@code null} if no column is changed.
+     */
+    private Object[] evaluate(@Nonnull Object[] oldTuple) {
+        Object[] newTuple = Arrays.copyOf(oldTuple, oldTuple.length);
         boolean updated = false;
         int i = 0;
         try {
             for (i = 0; i < mapping.size(); ++i) {
-                Object newValue = updates.get(i).eval(newTuple);
+                Object newValue = updates.get(i).eval(oldTuple);
                 int index = mapping.get(i);
-                if ((tuple[index] == null && newValue != null)
-                    || (tuple[index] != null && !tuple[index].equals(newValue))
+                if ((oldTuple[index] == null && newValue != null)
+                    || (oldTuple[index] != null && !oldTuple[index].equals(newValue))
                 ) {
-                    tuple[index] = newValue;
+                    newTuple[index] = newValue;
                     updated = true;
                 }
             }
-            if (updated) {
-                part.upsert(Arrays.copyOf(tuple, schema.fieldCount()));
-                count++;
-            }
         } catch (Exception ex) {
             log.error("update operator with expr:{}, exception:{}",
                 updates.get(i) == null ? "None" : updates.get(i).getExprString(),
                 ex, ex);
             throw new RuntimeException("Update Operator catch Exception");
         }
-        return true;
+        return updated ? newTuple : null;
     }
 
     @Override
@@ -22,7 +22,6 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.type.DingoType;
-import io.dingodb.common.util.Pair;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.channel.ControlStatus;
 import io.dingodb.exec.channel.ReceiveEndpoint;
@@ -40,6 +39,7 @@ import io.dingodb.net.MessageListener;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 import javax.annotation.Nonnull;
@@ -81,7 +81,9 @@ public final class ReceiveOperator extends SourceOperator {
     public void init() {
         super.init();
         codec = new AvroTxRxCodec(schema);
-        tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+        // Not bounded, the listener runs on the net dispatch stripe and must not block, the sender is halted when
+        // the queue is near the capacity.
+        tupleQueue = new LinkedBlockingDeque<>();
         messageListener = new ReceiveMessageListener();
         tag = TagUtil.tag(getTask().getJobId(), getId());
         Services.NET.registerTagMessageListener(tag, messageListener);
@@ -154,33 +156,34 @@ public final class ReceiveOperator extends SourceOperator {
         public void onMessage(@Nonnull Message message, Channel channel) {
             try {
                 final byte[] content = message.content();
+                // Tuples are decoded in place from the content, not copied out one by one.
+                final ByteBuffer buffer = ByteBuffer.wrap(content);
                 int count = 0;
-                int offset = 0;
-                while (offset < content.length) {
-                    Pair<byte[], Integer> pair = PrimitiveCodec.decodeArray(content, offset);
-                    if (pair == null) {
+                while (buffer.hasRemaining()) {
+                    int offset = buffer.position();
+                    Integer arrLen = PrimitiveCodec.readVarInt(buffer);
+                    if (arrLen == null || arrLen < 0 || arrLen > buffer.remaining()) {
                         log.error("ReceiveMessageListener, parse error.");
                         return;
                     }
-                    int arrLen = pair.getKey().length;
-                    Object[] tuple = codec.decode(pair.getKey());
+                    Object[] tuple = codec.decode(content, buffer.position(), arrLen);
+                    buffer.position(buffer.position() + arrLen);
                     if (log.isDebugEnabled()) {
                         if (!(tuple[0] instanceof Fin)) {
                             log.debug("ReceiveMessageListener (tag = {}) Received tuple {}, arr len: {}, "
                                     + "total len: {}, offset: {}, hashCode: {}.", tag, schema.format(tuple),
-                                arrLen, pair.getValue(), offset, this.hashCode());
+                                arrLen, buffer.position() - offset, offset, this.hashCode());
                         } else {
                             log.debug("ReceiveMessageListener (tag = {}) Received FIN, arr len: {}, "
-                                + "offset: {}, hashCode: {}.", tag, pair.getKey().length, offset, this.hashCode());
+                                + "offset: {}, hashCode: {}.", tag, arrLen, offset, this.hashCode());
                         }
                     }
-                    offset += pair.getValue();
                     count++;
                     if (!endpoint.isStopped() || tuple[0] instanceof Fin) {
-                        QueueUtil.forcePut(tupleQueue, tuple);
+                        tupleQueue.add(tuple);
                     }
                 }
-                if (tupleQueue.remainingCapacity() < SendOperator.SEND_MAX_COUNT * 2) {
+                if (QUEUE_CAPACITY - tupleQueue.size() < SendOperator.SEND_MAX_COUNT * 2) {
                     endpoint.sendControlMessage(ControlStatus.HALT);
                 }
                 if (log.isDebugEnabled()) {
@@ -16,14 +16,21 @@
 
 package io.dingodb.exec.table;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import io.dingodb.common.codec.KeyValueCodec;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.store.PartColumns;
+import io.dingodb.common.table.ColumnChunk;
+import io.dingodb.common.table.DingoColumnarCodec;
+import io.dingodb.common.table.DingoIndexCodec;
 import io.dingodb.common.table.DingoKeyValueCodec;
 import io.dingodb.common.table.Part;
+import io.dingodb.common.table.StoredRow;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.store.api.StoreInstance;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,11 +38,14 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -43,13 +53,70 @@ import static io.dingodb.common.util.NoBreakFunctions.wrap;
 
 @Slf4j
 public final class PartInKvStore implements Part {
+    // The last row read on the thread, see getReadRow.
+    private static final ThreadLocal<ReadRow> LAST_READ = new ThreadLocal<>();
+
     private final StoreInstance store;
+    private final DingoType schema;
     @Getter
     private final KeyValueCodec codec;
+    private DingoColumnarCodec columnarCodec;
+
+    private final Map<String, DingoIndexCodec> indexCodecs;
 
     public PartInKvStore(StoreInstance store, DingoType schema, TupleMapping keyMapping) {
+        this(store, schema, keyMapping, null);
+    }
+
+    public PartInKvStore(
+        StoreInstance store,
+        DingoType schema,
+        TupleMapping keyMapping,
+        @Nullable Map<String, TupleMapping> indexes
+    ) {
         this.store = store;
+        this.schema = schema;
         this.codec = new DingoKeyValueCodec(schema, keyMapping);
+        this.indexCodecs = new HashMap<>();
+        if (indexes != null) {
+            indexes.forEach((name, mapping) -> indexCodecs.put(name, new DingoIndexCodec(name, schema, mapping)));
+        }
+    }
+
+    private Object[] decodeAndKeep(@Nonnull KeyValue keyValue) throws IOException {
+        Object[] tuple = codec.decode(keyValue);
+        LAST_READ.set(new ReadRow(store, keyValue.getKey(), keyValue.getValue()));
+        return tuple;
+    }
+
+    private List<byte[]> encodeIndexKeys(@Nonnull Object[] tuple, byte[] primaryKey) throws IOException {
+        List<byte[]> indexKeys = new ArrayList<>(indexCodecs.size());
+        for (DingoIndexCodec indexCodec : indexCodecs.values()) {
+            indexKeys.add(indexCodec.encodeKey(tuple, primaryKey));
+        }
+        return indexKeys;
+    }
+
+    private void upsertWithIndex(@Nullable Object[] oldTuple, @Nonnull Object[] newTuple) throws IOException {
+        KeyValue row = codec.encode(newTuple);
+        List<byte[]> indexKeys = encodeIndexKeys(newTuple, row.getPrimaryKey());
+        store.upsertKeyValue(row, indexKeys, staleIndexKeys(oldTuple, row.getPrimaryKey(), indexKeys));
+    }
+
+    private List<byte[]> staleIndexKeys(
+        @Nullable Object[] oldTuple,
+        byte[] primaryKey,
+        List<byte[]> indexKeys
+    ) throws IOException {
+        List<byte[]> staleIndexKeys = new ArrayList<>();
+        if (oldTuple != null) {
+            for (byte[] oldKey : encodeIndexKeys(oldTuple, primaryKey)) {
+                if (indexKeys.stream().noneMatch(key -> ByteArrayUtils.equal(key, oldKey))) {
+                    staleIndexKeys.add(oldKey);
+                }
+            }
+        }
+        return staleIndexKeys;
     }
 
     @Override
@@ -57,9 +124,9 @@ public final class PartInKvStore implements Part {
     public Iterator<Object[]> getIterator() {
         final long startTime = System.currentTimeMillis();
         try {
-            return Iterators.transform(
+            return CloseableIterator.transform(
                 store.keyValueScan(),
-                wrap(codec::decode, e -> log.error("Iterator: decode error.", e))::apply
+                wrap(this::decodeAndKeep, e -> log.error("Iterator: decode error.", e))::apply
             );
         } finally {
             if (log.isDebugEnabled()) {
@@ -75,9 +142,9 @@ public final class PartInKvStore implements Part {
     ) {
         final long startTime = System.currentTimeMillis();
         try {
-            return Iterators.transform(
+            return CloseableIterator.transform(
                 store.keyValueScan(startKey, endKey, includeStart, includeEnd),
-                wrap(codec::decode, e -> log.error("Iterator: decode error.", e))::apply
+                wrap(this::decodeAndKeep, e -> log.error("Iterator: decode error.", e))::apply
             );
         } finally {
             if (log.isDebugEnabled()) {
@@ -86,15 +153,116 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    @Nonnull
+    public Iterator<Object[]> getIteratorByIndex(@Nonnull String index, @Nonnull Object[] values) {
+        DingoIndexCodec indexCodec = indexCodecs.get(index);
+        if (indexCodec == null) {
+            throw new IllegalArgumentException("Index " + index + " not found.");
+        }
+        final long startTime = System.currentTimeMillis();
+        try {
+            return CloseableIterator.transform(
+                store.keyValueScanByIndex(indexCodec.encodePrefix(values)),
+                wrap(this::decodeAndKeep, e -> log.error("Iterator: decode error.", e))::apply
+            );
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore getIteratorByIndex cost: {}ms.", System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<Object[]> getIteratorByColumns(
+        @Nonnull TupleMapping columns,
+        @Nullable Object[] lower,
+        @Nullable Object[] upper
+    ) {
+        if (columnarCodec == null) {
+            columnarCodec = new DingoColumnarCodec(schema);
+        }
+        int[] indexes = new int[columns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = columns.get(i);
+        }
+        final long startTime = System.currentTimeMillis();
+        try {
+            // The rows of the parts not converted hold their snapshots, closing the result closes them.
+            List<PartColumns> parts = ImmutableList.copyOf(store.columnScan(indexes));
+            Iterator<Object[]> iterator = Iterators.concat(Iterators.transform(parts.iterator(), part -> {
+                if (part.isColumnar()) {
+                    return decodeChunks(columns, part.getChunks(), lower, upper);
+                }
+                return Iterators.transform(
+                    part.getRows(),
+                    wrap(codec::decode, e -> log.error("Iterator: decode error.", e))::apply
+                );
+            }));
+            return new CloseableIterator<Object[]>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Object[] next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void close() {
+                    parts.stream()
+                        .filter(part -> !part.isColumnar())
+                        .forEach(part -> CloseableIterator.close(part.getRows()));
+                }
+            };
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore getIteratorByColumns cost: {}ms.", System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    private Iterator<Object[]> decodeChunks(
+        @Nonnull TupleMapping columns,
+        @Nonnull List<List<byte[]>> chunks,
+        @Nullable Object[] lower,
+        @Nullable Object[] upper
+    ) {
+        int chunkCount = chunks.isEmpty() ? 0 : chunks.get(0).size();
+        return Iterators.concat(IntStream.range(0, chunkCount).mapToObj(i -> {
+            try {
+                List<ColumnChunk> columnChunks = new ArrayList<>(columns.size());
+                for (int j = 0; j < columns.size(); j++) {
+                    ColumnChunk chunk = ColumnChunk.of(chunks.get(j).get(i));
+                    if (!columnarCodec.mayContain(columns.get(j), chunk, lower, upper)) {
+                        return Collections.<Object[]>emptyIterator();
+                    }
+                    columnChunks.add(chunk);
+                }
+                return columnarCodec.decode(columns, columnChunks).iterator();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }).iterator());
+    }
+
     @Override
     public boolean insert(@Nonnull Object[] tuple) {
         final long startTime = System.currentTimeMillis();
         try {
             KeyValue row = codec.encode(tuple);
-            if (!store.exist(row.getPrimaryKey())) {
-                store.upsertKeyValue(row);
-                return true;
+            if (indexCodecs.isEmpty()) {
+                return store.putIfAbsent(row);
             }
+            return store.putIfAbsent(
+                Collections.singletonList(row),
+                Collections.singletonList(encodeIndexKeys(tuple, row.getPrimaryKey()))
+            ).get(0);
         } catch (IOException e) {
             log.error("Insert: encode error.", e);
         } finally {
@@ -105,12 +273,54 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    /**
+     * Insert the tuples by one conditional put, the existence check is done by the store atomically with the put.
+     * The first tuple wins if there are tuples of the same primary key, all the tuples must be in one part of the
+     * store.
+     */
+    @Override
+    public long insert(@Nonnull List<Object[]> tuples) {
+        if (tuples.isEmpty()) {
+            return 0;
+        }
+        final long startTime = System.currentTimeMillis();
+        try {
+            List<KeyValue> rows = new ArrayList<>(tuples.size());
+            List<List<byte[]>> indexKeys = new ArrayList<>(indexCodecs.isEmpty() ? 0 : tuples.size());
+            for (Object[] tuple : tuples) {
+                KeyValue row = codec.encode(tuple);
+                rows.add(row);
+                if (!indexCodecs.isEmpty()) {
+                    indexKeys.add(encodeIndexKeys(tuple, row.getPrimaryKey()));
+                }
+            }
+            List<Boolean> results = indexCodecs.isEmpty()
+                ? store.putIfAbsent(rows)
+                : store.putIfAbsent(rows, indexKeys);
+            return results.stream().filter(Boolean::booleanValue).count();
+        } catch (IOException e) {
+            log.error("Insert: encode error.", e);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore insert {} tuples cost: {}ms.",
+                    tuples.size(), System.currentTimeMillis() - startTime);
+            }
+        }
+        return 0;
+    }
+
     @Override
     public void upsert(@Nonnull Object[] tuple) {
         final long startTime = System.currentTimeMillis();
         try {
             KeyValue row = codec.encode(tuple);
-            store.upsertKeyValue(row);
+            if (indexCodecs.isEmpty()) {
+                store.upsertKeyValue(row);
+                return;
+            }
+            // The old row is needed to remove its index entries.
+            byte[] oldValue = store.getValueByPrimaryKey(row.getPrimaryKey());
+            upsertWithIndex(oldValue == null ? null : codec.decode(new KeyValue(row.getKey(), oldValue)), tuple);
         } catch (IOException e) {
             log.error("Upsert: encode error.", e);
         } finally {
@@ -120,6 +330,48 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public void update(@Nonnull Object[] oldTuple, @Nonnull Object[] newTuple) {
+        if (indexCodecs.isEmpty()) {
+            upsert(newTuple);
+            return;
+        }
+        final long startTime = System.currentTimeMillis();
+        try {
+            upsertWithIndex(oldTuple, newTuple);
+        } catch (IOException e) {
+            log.error("Update: encode error.", e);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore update cost: {}ms.", System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdate(@Nonnull StoredRow oldRow, @Nonnull Object[] newTuple) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            // Compare with the bytes read from the store, re-encoding the old tuple may not give the same bytes.
+            byte[] expect = oldRow.getValue();
+            KeyValue row = codec.encode(newTuple);
+            if (indexCodecs.isEmpty()) {
+                return store.compareAndSet(row, expect);
+            }
+            List<byte[]> indexKeys = encodeIndexKeys(newTuple, row.getPrimaryKey());
+            return store.compareAndSet(
+                row, expect, indexKeys, staleIndexKeys(oldRow.getTuple(), row.getPrimaryKey(), indexKeys)
+            );
+        } catch (IOException e) {
+            log.error("Update: encode error.", e);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore compareAndUpdate cost: {}ms.", System.currentTimeMillis() - startTime);
+            }
+        }
+        return false;
+    }
+
     @Override
     public long getEntryCntAndDeleteByPart(@Nonnull List<String> startKeyList) {
         return getEntryCntOrDeleteByPart(startKeyList, true);
@@ -168,7 +420,10 @@ public final class PartInKvStore implements Part {
         final long startTime = System.currentTimeMillis();
         try {
             KeyValue row = codec.encode(tuple);
-            return store.delete(row.getPrimaryKey());
+            if (indexCodecs.isEmpty()) {
+                return store.delete(row.getPrimaryKey());
+            }
+            return store.delete(row.getPrimaryKey(), encodeIndexKeys(tuple, row.getPrimaryKey()));
         } catch (IOException e) {
             log.error("Remove: encode error.", e);
         } finally {
@@ -187,7 +442,9 @@ public final class PartInKvStore implements Part {
             byte[] key = codec.encodeKey(keyTuple);
             byte[] value = store.getValueByPrimaryKey(key);
             if (value != null) {
-                return codec.mapKeyAndDecodeValue(keyTuple, value);
+                Object[] tuple = codec.mapKeyAndDecodeValue(keyTuple, value);
+                LAST_READ.set(new ReadRow(store, key, value));
+                return tuple;
             }
         } catch (IOException e) {
             log.error("GetByKey: codec error.", e);
@@ -199,14 +456,56 @@ public final class PartInKvStore implements Part {
         return null;
     }
 
+    @Override
+    @Nullable
+    public StoredRow getReadRow(@Nonnull Object[] keyTuple, @Nonnull Object[] tuple) {
+        ReadRow last = LAST_READ.get();
+        if (last == null || last.store != store) {
+            return null;
+        }
+        try {
+            if (ByteArrayUtils.equal(last.key, codec.encodeKey(keyTuple))) {
+                return new StoredRow(tuple, last.value);
+            }
+        } catch (IOException e) {
+            log.error("GetReadRow: encode key error.", e);
+        }
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public StoredRow getStoredByKey(@Nonnull Object[] keyTuple) {
+        try {
+            byte[] value = store.getValueByPrimaryKey(codec.encodeKey(keyTuple));
+            if (value != null) {
+                return new StoredRow(codec.mapKeyAndDecodeValue(keyTuple, value), value);
+            }
+        } catch (IOException e) {
+            log.error("GetStoredByKey: codec error.", e);
+        }
+        return null;
+    }
+
     @Override
     @Nonnull
     public List<Object[]> getByMultiKey(@Nonnull final List<Object[]> keyTuples) {
-        List<byte[]> keyList = keyTuples.stream()
-            .map(wrap(codec::encodeKey, e -> log.error("GetByMultiKey: encode key error.", e)))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        Function<Object[], byte[]> encodeKey = wrap(
+            codec::encodeKey, e -> log.error("GetByMultiKey: encode key error.", e)
+        );
+        List<Object[]> encodedTuples = new ArrayList<>(keyTuples.size());
+        List<byte[]> keyList = new ArrayList<>(keyTuples.size());
+        for (Object[] keyTuple : keyTuples) {
+            byte[] key = encodeKey.apply(keyTuple);
+            if (key != null) {
+                encodedTuples.add(keyTuple);
+                keyList.add(key);
+            }
+        }
         List<Object[]> tuples = new ArrayList<>(keyList.size());
+        if (keyList.isEmpty()) {
+            return tuples;
+        }
         final long startTime = System.currentTimeMillis();
         try {
             List<KeyValue> valueList = store.getKeyValueByPrimaryKeys(keyList);
@@ -216,13 +515,13 @@ public final class PartInKvStore implements Part {
                     valueList.size()
                 );
             }
-            ListIterator<Object[]> keyIt = keyTuples.listIterator();
+            ListIterator<Object[]> keyIt = encodedTuples.listIterator();
             for (KeyValue row : valueList) {
-                if (row == null) {
-                    keyIt.next();
+                Object[] keyTuple = keyIt.next();
+                if (row == null || row.getValue() == null) {
                     continue;
                 }
-                tuples.add(codec.mapKeyAndDecodeValue(keyIt.next(), row.getValue()));
+                tuples.add(codec.mapKeyAndDecodeValue(keyTuple, row.getValue()));
             }
         } catch (IOException e) {
             log.error("Get KeyValues from Store => Catch Exception:{} when read data", e.getMessage(), e);
@@ -233,4 +532,16 @@ public final class PartInKvStore implements Part {
         }
         return tuples;
     }
+
+    private static final class ReadRow {
+        private final StoreInstance store;
+        private final byte[] key;
+        private final byte[] value;
+
+        private ReadRow(StoreInstance store, byte[] key, byte[] value) {
+            this.store = store;
+            this.key = key;
+            this.value = value;
+        }
+    }
 }
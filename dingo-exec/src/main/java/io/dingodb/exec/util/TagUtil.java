@@ -26,7 +26,15 @@ public final class TagUtil {
 
     @Nonnull
     public static String tag(Id jobId, Id id) {
-        return jobId + ":" + id;
+        return tagPrefix(jobId.toString()) + id;
+    }
+
+    /**
+     * Returns the prefix of the tags of the job.
+     */
+    @Nonnull
+    public static String tagPrefix(String jobId) {
+        return jobId + ":";
     }
 
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.RootOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestJobRunner {
+    private static final Id JOB_ID = new Id("job");
+    private static final Location LOCAL = new Location("localhost", 9000);
+    private static final Location REMOTE1 = new Location("localhost", 9001);
+    private static final Location REMOTE2 = new Location("localhost", 9002);
+
+    private final Map<Location, TaskApi> taskApis = new HashMap<>();
+    private Task rootTask;
+    private Job job;
+
+    private static Task task(String id, Location location) {
+        Task task = Mockito.mock(Task.class);
+        when(task.getId()).thenReturn(new Id(id));
+        when(task.getJobId()).thenReturn(JOB_ID);
+        when(task.getLocation()).thenReturn(location);
+        when(task.serialize()).thenReturn(id.getBytes());
+        return task;
+    }
+
+    private TaskApi taskApi(Location location) {
+        TaskApi taskApi = Mockito.mock(TaskApi.class);
+        when(taskApi.runTasks(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        when(taskApi.stopTasks(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        taskApis.put(location, taskApi);
+        return taskApi;
+    }
+
+    @BeforeEach
+    public void setup() {
+        rootTask = task("root", LOCAL);
+        when(rootTask.getRoot()).thenReturn(new RootOperator(DingoTypeFactory.tuple("INTEGER")));
+        Map<Id, Task> tasks = new LinkedHashMap<>();
+        tasks.put(rootTask.getId(), rootTask);
+        for (Task task : new Task[]{task("1", REMOTE1), task("2", REMOTE1), task("3", REMOTE2)}) {
+            tasks.put(task.getId(), task);
+        }
+        job = Mockito.mock(Job.class);
+        when(job.getTasks()).thenReturn(tasks);
+    }
+
+    @Test
+    public void testDistributeByLocation() {
+        TaskApi taskApi1 = taskApi(REMOTE1);
+        TaskApi taskApi2 = taskApi(REMOTE2);
+        Task task = new JobRunner(job, taskApis::get).distributeTasks();
+        assertThat(task).isSameAs(rootTask);
+        verify(rootTask).init();
+        verify(rootTask, never()).run();
+        // One call for all the tasks of a location.
+        verify(taskApi1).runTasks(argThat(tasks -> tasks.size() == 2));
+        verify(taskApi2).runTasks(argThat(tasks -> tasks.size() == 1));
+        verify(taskApi1, never()).stopTasks(anyString());
+        verify(taskApi2, never()).stopTasks(anyString());
+    }
+
+    @Test
+    public void testStopOnFailure() {
+        TaskApi taskApi1 = taskApi(REMOTE1);
+        TaskApi taskApi2 = taskApi(REMOTE2);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("init failed"));
+        when(taskApi2.runTasks(anyList())).thenReturn(failed);
+        assertThatThrownBy(() -> new JobRunner(job, taskApis::get).distributeTasks())
+            .isInstanceOf(RuntimeException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        // The tasks started at the other locations must not wait for the failed ones.
+        verify(taskApi1).stopTasks(JOB_ID.toString());
+        verify(taskApi2).stopTasks(JOB_ID.toString());
+    }
+
+    @Test
+    public void testStopOnCallError() {
+        TaskApi taskApi1 = taskApi(REMOTE1);
+        TaskApi taskApi2 = taskApi(REMOTE2);
+        when(taskApi1.runTasks(anyList())).thenThrow(new IllegalStateException("connection closed"));
+        assertThatThrownBy(() -> new JobRunner(job, taskApis::get).distributeTasks())
+            .isInstanceOf(RuntimeException.class);
+        verify(taskApi2).runTasks(any());
+        verify(taskApi1).stopTasks(JOB_ID.toString());
+        verify(taskApi2).stopTasks(JOB_ID.toString());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.common.Location;
+import io.dingodb.net.Channel;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestChannelPool {
+    private static final Location LOCATION = new Location("localhost", 9999);
+
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private ChannelPool pool(int maxIdle, long idleNanos) {
+        return new ChannelPool(location -> {
+            opened.incrementAndGet();
+            return Mockito.mock(Channel.class);
+        }, maxIdle, idleNanos);
+    }
+
+    @Test
+    public void testReuse() {
+        ChannelPool pool = pool(4, TimeUnit.MINUTES.toNanos(1));
+        Channel channel = pool.lease(LOCATION);
+        pool.release(LOCATION, channel);
+        assertThat(pool.lease(new Location("localhost", 9999))).isSameAs(channel);
+        assertThat(opened.get()).isEqualTo(1);
+        verify(channel, never()).close();
+    }
+
+    @Test
+    public void testLeaseIsExclusive() {
+        ChannelPool pool = pool(4, TimeUnit.MINUTES.toNanos(1));
+        Channel channel1 = pool.lease(LOCATION);
+        Channel channel2 = pool.lease(LOCATION);
+        assertThat(channel2).isNotSameAs(channel1);
+        assertThat(opened.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testClosedNotReused() {
+        ChannelPool pool = pool(4, TimeUnit.MINUTES.toNanos(1));
+        Channel channel = pool.lease(LOCATION);
+        pool.release(LOCATION, channel);
+        when(channel.isClosed()).thenReturn(true);
+        assertThat(pool.lease(LOCATION)).isNotSameAs(channel);
+        assertThat(opened.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMaxIdle() {
+        ChannelPool pool = pool(1, TimeUnit.MINUTES.toNanos(1));
+        Channel channel1 = pool.lease(LOCATION);
+        Channel channel2 = pool.lease(LOCATION);
+        pool.release(LOCATION, channel1);
+        pool.release(LOCATION, channel2);
+        assertThat(pool.idleCount(LOCATION)).isEqualTo(1);
+        verify(channel1, never()).close();
+        verify(channel2).close();
+    }
+
+    @Test
+    public void testEvictIdle() {
+        ChannelPool pool = pool(4, 0);
+        Channel channel = pool.lease(LOCATION);
+        pool.release(LOCATION, channel);
+        pool.evictIdle();
+        assertThat(pool.idleCount(LOCATION)).isZero();
+        verify(channel).close();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.util.TagUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestEndpointManager {
+    @Test
+    public void testStopJob() throws Exception {
+        SendEndpoint endpoint = new SendEndpoint("localhost", 9999, TagUtil.tag(new Id("job1"), new Id("1")));
+        SendEndpoint other = new SendEndpoint("localhost", 9999, TagUtil.tag(new Id("job10"), new Id("1")));
+        EndpointManager.INSTANCE.registerSendEndpoint(endpoint);
+        EndpointManager.INSTANCE.registerSendEndpoint(other);
+        try {
+            // Waits for the receiver to be ready.
+            CompletableFuture<ControlStatus> status = CompletableFuture.supplyAsync(endpoint::checkStatus);
+            EndpointManager.INSTANCE.stopJob("job1");
+            assertThat(status.get(10, TimeUnit.SECONDS)).isEqualTo(ControlStatus.STOP);
+            assertThat(EndpointManager.INSTANCE.getStatus(other.getTag())).isNull();
+        } finally {
+            EndpointManager.INSTANCE.unregisterSendEndpoint(endpoint);
+            EndpointManager.INSTANCE.unregisterSendEndpoint(other);
+        }
+    }
+}
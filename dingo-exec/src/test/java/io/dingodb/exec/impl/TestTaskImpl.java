@@ -30,8 +30,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TestTaskImpl {
     @Test
@@ -95,4 +99,37 @@ public class TestTaskImpl {
             root.popValue();
         }
     }
+
+    @Test
+    public void testInitFailed() {
+        Task task = new TaskImpl(new Id("task"), new Id("job"), Mockito.mock(Location.class), null);
+        ValuesOperator values = new ValuesOperator(
+            ImmutableList.of(new Object[]{1}),
+            DingoTypeFactory.tuple("INTEGER")
+        );
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        // The expression cannot be parsed, so the operator fails to init.
+        ProjectOperator project = new ProjectOperator(
+            Collections.singletonList(new SqlExpr("1 +", DingoTypeFactory.scalar("INT"))),
+            DingoTypeFactory.tuple("INTEGER")
+        );
+        project.setId(new Id("1"));
+        task.putOperator(project);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INT"));
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(project.getInput(0));
+        project.getSoleOutput().setLink(root.getInput(0));
+        CompletableFuture<Void> init = CompletableFuture.runAsync(task::initOrThrow);
+        assertThatThrownBy(init::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Init task task of job job failed");
+        assertThat(task.getTaskInitStatus().getStatus()).isFalse();
+        // The operators are finished with the failure when the task is run.
+        task.run();
+        assertThatThrownBy(() -> root.getIterator().hasNext())
+            .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.store.PartColumns;
+import io.dingodb.common.table.DingoColumnarCodec;
+import io.dingodb.common.table.DingoKeyValueCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.table.PartInKvStore;
+import io.dingodb.store.api.StoreInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.dingodb.common.table.DingoColumnarCodec.CHUNK_ROWS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.Mockito.when;
+
+public class TestPartColumnScanOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE");
+    private static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+    private static final TupleMapping COLUMNS = TupleMapping.of(new int[]{0, 2});
+
+    private StoreInstance store;
+
+    @BeforeEach
+    public void setup() {
+        store = Mockito.mock(StoreInstance.class);
+    }
+
+    private static List<Object[]> tuples(int start, int end) {
+        List<Object[]> tuples = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            tuples.add(new Object[]{i, "name" + i, (double) i});
+        }
+        return tuples;
+    }
+
+    private static PartColumns columnarPart(List<Object[]> tuples) throws IOException {
+        List<List<byte[]>> chunks = new DingoColumnarCodec(SCHEMA).encode(tuples.iterator());
+        List<List<byte[]>> selected = new ArrayList<>(COLUMNS.size());
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            selected.add(chunks.get(COLUMNS.get(i)));
+        }
+        return PartColumns.ofChunks(selected);
+    }
+
+    private List<Object[]> scan(Object[] lower, Object[] upper) {
+        PartColumnScanOperator operator = new PartColumnScanOperator(
+            CommonId.prefix((byte) 0),
+            0,
+            SCHEMA,
+            KEY_MAPPING,
+            COLUMNS,
+            lower,
+            upper,
+            null,
+            null
+        );
+        // Set the part directly, `init` needs the store service.
+        operator.part = new PartInKvStore(store, SCHEMA, KEY_MAPPING);
+        return ImmutableList.copyOf(operator.createIterator());
+    }
+
+    @Test
+    public void testScanColumns() throws IOException {
+        when(store.columnScan(aryEq(new int[]{0, 2})))
+            .thenReturn(Collections.singletonList(columnarPart(tuples(0, 10))).iterator());
+        List<Object[]> result = scan(new Object[3], new Object[3]);
+        assertThat(result).hasSize(10);
+        // Columns not scanned are null.
+        assertThat(result.get(3)).containsExactly(3, null, 3.0);
+    }
+
+    @Test
+    public void testSkipChunksByZoneMap() throws IOException {
+        when(store.columnScan(aryEq(new int[]{0, 2})))
+            .thenReturn(Collections.singletonList(columnarPart(tuples(0, 3 * CHUNK_ROWS))).iterator());
+        List<Object[]> result = scan(
+            new Object[]{CHUNK_ROWS + 1, null, null},
+            new Object[]{null, null, 2.0 * CHUNK_ROWS - 1}
+        );
+        // Only the second chunk is in the bounds, the filter is left to drop the rows out of the bounds in it.
+        assertThat(result).hasSize(CHUNK_ROWS);
+        assertThat(result.get(0)).containsExactly(CHUNK_ROWS, null, (double) CHUNK_ROWS);
+        assertThat(result.get(CHUNK_ROWS - 1)).containsExactly(2 * CHUNK_ROWS - 1, null, 2.0 * CHUNK_ROWS - 1);
+    }
+
+    @Test
+    public void testScanRowsOfPartNotConverted() throws IOException {
+        DingoKeyValueCodec codec = new DingoKeyValueCodec(SCHEMA, KEY_MAPPING);
+        when(store.columnScan(aryEq(new int[]{0, 2}))).thenReturn(ImmutableList.of(
+            columnarPart(tuples(0, 2)),
+            PartColumns.ofRows(ImmutableList.of(codec.encode(new Object[]{5, "name5", 5.0})).iterator())
+        ).iterator());
+        List<Object[]> result = scan(new Object[3], new Object[3]);
+        assertThat(result).hasSize(3);
+        assertThat(result.get(2)).containsExactly(5, "name5", 5.0);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.Part;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestPartIndexScanOperator {
+    private static final String INDEX = "NAME_INDEX";
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE");
+    private static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+    private static final TupleMapping INDEX_MAPPING = TupleMapping.of(new int[]{1});
+
+    private static PartIndexScanOperator create(Part part, TupleMapping selection, Object[]... values) {
+        PartIndexScanOperator operator = new PartIndexScanOperator(
+            CommonId.prefix((byte) 0),
+            0,
+            SCHEMA,
+            KEY_MAPPING,
+            INDEX,
+            INDEX_MAPPING,
+            ImmutableList.copyOf(values),
+            null,
+            selection
+        );
+        // Set the part directly, `init` needs the store service.
+        operator.part = part;
+        return operator;
+    }
+
+    @Test
+    public void testLookupOneValue() {
+        Part part = Mockito.mock(Part.class);
+        when(part.getIteratorByIndex(eq(INDEX), aryEq(new Object[]{"Alice"})))
+            .thenReturn(ImmutableList.of(new Object[]{1, "Alice", 1.0}, new Object[]{3, "Alice", 3.0}).iterator());
+        Iterator<Object[]> iterator = create(part, null, new Object[]{"Alice"}).createIterator();
+        assertThat(iterator.next()).containsExactly(1, "Alice", 1.0);
+        assertThat(iterator.next()).containsExactly(3, "Alice", 3.0);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testLookupValues() {
+        Part part = Mockito.mock(Part.class);
+        when(part.getIteratorByIndex(eq(INDEX), aryEq(new Object[]{"Alice"})))
+            .thenReturn(Collections.singletonList(new Object[]{1, "Alice", 1.0}).iterator());
+        when(part.getIteratorByIndex(eq(INDEX), aryEq(new Object[]{"Betty"})))
+            .thenReturn(Collections.singletonList(new Object[]{2, "Betty", 2.0}).iterator());
+        Iterator<Object[]> iterator = create(
+            part,
+            TupleMapping.of(new int[]{0}),
+            new Object[]{"Alice"},
+            new Object[]{"Betty"}
+        ).createIterator();
+        assertThat(ImmutableList.copyOf(iterator)).containsExactly(new Object[]{1}, new Object[]{2});
+        verify(part).getIteratorByIndex(eq(INDEX), aryEq(new Object[]{"Alice"}));
+        verify(part).getIteratorByIndex(eq(INDEX), aryEq(new Object[]{"Betty"}));
+    }
+
+    @Test
+    public void testJsonValues() {
+        PartIndexScanOperator operator = create(
+            Mockito.mock(Part.class),
+            null,
+            new Object[]{"Alice"},
+            new Object[]{"Betty"}
+        );
+        assertThat(operator.getJsonValues()).containsExactly(new Object[]{"Alice"}, new Object[]{"Betty"});
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.table;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.table.DingoIndexCodec;
+import io.dingodb.common.table.DingoKeyValueCodec;
+import io.dingodb.common.table.StoredRow;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.store.api.StoreInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestPartInKvStore {
+    private static final String INDEX = "NAME_INDEX";
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE");
+    private static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+    private static final TupleMapping INDEX_MAPPING = TupleMapping.of(new int[]{1});
+
+    private final DingoKeyValueCodec codec = new DingoKeyValueCodec(SCHEMA, KEY_MAPPING);
+    private final DingoIndexCodec indexCodec = new DingoIndexCodec(INDEX, SCHEMA, INDEX_MAPPING);
+
+    private StoreInstance store;
+    private PartInKvStore part;
+
+    @BeforeEach
+    public void setup() {
+        store = Mockito.mock(StoreInstance.class);
+        part = new PartInKvStore(store, SCHEMA, KEY_MAPPING, ImmutableMap.of(INDEX, INDEX_MAPPING));
+    }
+
+    private byte[] indexKey(Object[] tuple) throws IOException {
+        return indexCodec.encodeKey(tuple, codec.encode(tuple).getPrimaryKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testInsertPutsIndex() throws IOException {
+        Object[] tuple = {1, "Alice", 1.0};
+        when(store.putIfAbsent(anyList(), anyList())).thenReturn(Collections.singletonList(true));
+        assertThat(part.insert(tuple)).isTrue();
+        ArgumentCaptor<List<KeyValue>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<List<byte[]>>> indexKeys = ArgumentCaptor.forClass(List.class);
+        verify(store).putIfAbsent(rows.capture(), indexKeys.capture());
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().get(0).getPrimaryKey()).isEqualTo(codec.encode(tuple).getPrimaryKey());
+        assertThat(indexKeys.getValue()).hasSize(1);
+        assertThat(indexKeys.getValue().get(0)).containsExactly(indexKey(tuple));
+    }
+
+    @Test
+    public void testInsertDuplicated() {
+        when(store.putIfAbsent(anyList(), anyList())).thenReturn(ImmutableList.of(true, false));
+        assertThat(part.insert(ImmutableList.of(
+            new Object[]{1, "Alice", 1.0},
+            new Object[]{1, "Betty", 2.0}
+        ))).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpdateIndexColumn() throws IOException {
+        Object[] oldTuple = {1, "Alice", 1.0};
+        Object[] newTuple = {1, "Betty", 1.0};
+        part.update(oldTuple, newTuple);
+        ArgumentCaptor<List<byte[]>> indexKeys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<byte[]>> staleIndexKeys = ArgumentCaptor.forClass(List.class);
+        verify(store).upsertKeyValue(any(KeyValue.class), indexKeys.capture(), staleIndexKeys.capture());
+        assertThat(indexKeys.getValue()).containsExactly(indexKey(newTuple));
+        assertThat(staleIndexKeys.getValue()).containsExactly(indexKey(oldTuple));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpdateOtherColumn() throws IOException {
+        Object[] oldTuple = {1, "Alice", 1.0};
+        Object[] newTuple = {1, "Alice", 2.0};
+        part.update(oldTuple, newTuple);
+        ArgumentCaptor<List<byte[]>> indexKeys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<byte[]>> staleIndexKeys = ArgumentCaptor.forClass(List.class);
+        verify(store).upsertKeyValue(any(KeyValue.class), indexKeys.capture(), staleIndexKeys.capture());
+        assertThat(indexKeys.getValue()).containsExactly(indexKey(newTuple));
+        assertThat(staleIndexKeys.getValue()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpsertRemovesOldIndex() throws IOException {
+        Object[] oldTuple = {1, "Alice", 1.0};
+        Object[] newTuple = {1, "Betty", 2.0};
+        KeyValue oldRow = codec.encode(oldTuple);
+        when(store.getValueByPrimaryKey(oldRow.getPrimaryKey())).thenReturn(oldRow.getValue());
+        part.upsert(newTuple);
+        ArgumentCaptor<List<byte[]>> staleIndexKeys = ArgumentCaptor.forClass(List.class);
+        verify(store).upsertKeyValue(any(KeyValue.class), anyList(), staleIndexKeys.capture());
+        assertThat(staleIndexKeys.getValue()).containsExactly(indexKey(oldTuple));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRemoveDeletesIndex() throws IOException {
+        Object[] tuple = {1, "Alice", 1.0};
+        when(store.delete(any(byte[].class), anyList())).thenReturn(true);
+        assertThat(part.remove(tuple)).isTrue();
+        ArgumentCaptor<List<byte[]>> indexKeys = ArgumentCaptor.forClass(List.class);
+        verify(store).delete(any(byte[].class), indexKeys.capture());
+        assertThat(indexKeys.getValue()).containsExactly(indexKey(tuple));
+    }
+
+    @Test
+    public void testGetIteratorByIndex() throws IOException {
+        Object[] tuple = {1, "Alice", 1.0};
+        byte[] prefix = indexCodec.encodePrefix(new Object[]{"Alice"});
+        when(store.keyValueScanByIndex(prefix))
+            .thenReturn(Collections.singletonList(codec.encode(tuple)).iterator());
+        Iterator<Object[]> iterator = part.getIteratorByIndex(INDEX, new Object[]{"Alice"});
+        assertThat(iterator.next()).containsExactly(tuple);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testIndexPrefix() throws IOException {
+        byte[] prefix = indexCodec.encodePrefix(new Object[]{"Alice"});
+        assertThat(indexKey(new Object[]{1, "Alice", 1.0})).startsWith(prefix);
+        assertThat(indexKey(new Object[]{2, "Alice", 2.0})).startsWith(prefix);
+        assertThat(indexKey(new Object[]{1, "Betty", 1.0})).doesNotStartWith(prefix);
+    }
+
+    @Test
+    public void testReadRowKept() throws IOException {
+        Object[] tuple = {1, "Alice", 1.0};
+        KeyValue row = codec.encode(tuple);
+        when(store.getValueByPrimaryKey(row.getPrimaryKey())).thenReturn(row.getValue());
+        assertThat(part.getByKey(new Object[]{1})).containsExactly(tuple);
+        StoredRow readRow = part.getReadRow(new Object[]{1}, tuple);
+        assertThat(readRow).isNotNull();
+        assertThat(readRow.getValue()).isEqualTo(row.getValue());
+        assertThat(part.getReadRow(new Object[]{2}, new Object[]{2, "Alice", 1.0})).isNull();
+        // Not kept for the parts of other stores.
+        PartInKvStore other = new PartInKvStore(Mockito.mock(StoreInstance.class), SCHEMA, KEY_MAPPING);
+        assertThat(other.getReadRow(new Object[]{1}, tuple)).isNull();
+    }
+}
@@ -18,6 +18,7 @@ package io.dingodb.meta;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 
@@ -42,6 +43,23 @@ public interface MetaService {
 
     boolean dropTable(@Nonnull String tableName);
 
+    /**
+     * Add a local secondary index to the table, the index entries are written with the rows of each part.
+     * @param tableName the input table name must be upper case.
+     * @param index the index definition.
+     */
+    default void createIndex(@Nonnull String tableName, @Nonnull IndexDefinition index) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Remove the index from the table definition.
+     * @return true if the index existed.
+     */
+    default boolean dropIndex(@Nonnull String tableName, @Nonnull String indexName) {
+        throw new UnsupportedOperationException();
+    }
+
     byte[] getTableKey(@Nonnull String tableName);
 
     CommonId getTableId(@Nonnull String tableName);
@@ -17,6 +17,7 @@
 package io.dingodb.mpu.core;
 
 import io.dingodb.common.CommonId;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.util.Parameters;
 import io.dingodb.mpu.storage.rocks.RocksStorage;
 import lombok.extern.slf4j.Slf4j;
@@ -34,16 +35,23 @@ public class MirrorProcessingUnit {
     public final String dbRocksOptionsFile;
     public final String logRocksOptionsFile;
     public final int ttl;
+    public final StorageProfile profile;
 
     private final Map<CommonId, Core> subCores = new ConcurrentHashMap<>();
 
     public MirrorProcessingUnit(CommonId id, Path path, final String dbRocksOptionsFile,
                                 final String logRocksOptionsFile, final int ttl) {
+        this(id, path, dbRocksOptionsFile, logRocksOptionsFile, ttl, StorageProfile.DEFAULT);
+    }
+
+    public MirrorProcessingUnit(CommonId id, Path path, final String dbRocksOptionsFile,
+                                final String logRocksOptionsFile, final int ttl, StorageProfile profile) {
         this.id = id;
         this.path = path;
         this.dbRocksOptionsFile = dbRocksOptionsFile;
         this.logRocksOptionsFile = logRocksOptionsFile;
         this.ttl = ttl;
+        this.profile = profile;
         MPURegister.put(this);
     }
 
@@ -62,7 +70,7 @@ public class MirrorProcessingUnit {
             CoreMeta local = metas.remove(num);
             log.info("Create core {} for {}", local.coreId, id);
             RocksStorage storage = new RocksStorage(local, path.resolve(local.coreId.toString()).toString(),
-                this.dbRocksOptionsFile, this.logRocksOptionsFile, this.ttl);
+                this.dbRocksOptionsFile, this.logRocksOptionsFile, this.ttl, this.profile);
             if (metas.size() == 0) {
                 core = new Core(this, local, null, null, storage);
             } else if (metas.size() == 2) {
@@ -17,11 +17,16 @@
 package io.dingodb.mpu.instruction;
 
 import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.mpu.api.KVApi;
 import io.dingodb.mpu.storage.Reader;
 import io.dingodb.mpu.storage.Writer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 
 import static io.dingodb.mpu.Constant.API;
@@ -35,6 +40,9 @@ public class KVInstructions implements Instructions {
     public static final int SET_BATCH_OC = 5;
     public static final int DEL_BATCH_OC = 7;
     public static final int DEL_RANGE_OC = 9;
+    public static final int SET_IF_ABSENT_OC = 11;
+    public static final int SET_IF_ABSENT_BATCH_OC = 13;
+    public static final int CAS_OC = 15;
 
     public static final int COUNT_OC = 0;
     public static final int GET_OC = 2;
@@ -62,6 +70,24 @@ public class KVInstructions implements Instructions {
         Object out(Reader reader, Object... operand);
     }
 
+    /**
+     * In processor that reads the current values to decide the writes and returns the result. Instructions are
+     * executed one by one, so nothing is written between the read and the write.
+     */
+    public interface ConditionalProcessor extends InProcessor {
+        @Override
+        default Object process(Reader reader, Writer writer, Object... operand) {
+            return in(reader, writer, operand);
+        }
+
+        @Override
+        default void in(Writer writer, Object... operand) {
+            throw new UnsupportedOperationException("Conditional instruction needs a reader.");
+        }
+
+        Object in(Reader reader, Writer writer, Object... operand);
+    }
+
     public static final byte id = 2;
 
     private final Instructions.Processor[] processors = new Processor[SIZE];
@@ -129,6 +155,38 @@ public class KVInstructions implements Instructions {
             (InProcessor) (writer, operand) -> writer.erase((byte[]) operand[0], (byte[]) operand[1])
         );
 
+        // set if absent opcode 11
+        kv.processor(SET_IF_ABSENT_OC, (ConditionalProcessor) (reader, writer, operand) -> {
+            if (reader.get((byte[]) operand[0]) != null) {
+                return false;
+            }
+            writer.set((byte[]) operand[0], (byte[]) operand[1]);
+            return true;
+        });
+        // set if absent batch opcode 13, returns whether each pair is set
+        kv.processor(SET_IF_ABSENT_BATCH_OC, (ConditionalProcessor) (reader, writer, operand) -> {
+            List<Boolean> results = new ArrayList<>(operand.length / 2);
+            Set<byte[]> written = new TreeSet<>(ByteArrayUtils::compare);
+            for (int i = 0; i < operand.length; i += 2) {
+                byte[] key = (byte[]) operand[i];
+                boolean absent = !written.contains(key) && reader.get(key) == null;
+                if (absent) {
+                    written.add(key);
+                    writer.set(key, (byte[]) operand[i + 1]);
+                }
+                results.add(absent);
+            }
+            return results;
+        });
+        // compare and set opcode 15, operands are key, expected value and new value
+        kv.processor(CAS_OC, (ConditionalProcessor) (reader, writer, operand) -> {
+            if (!Arrays.equals(reader.get((byte[]) operand[0]), (byte[]) operand[1])) {
+                return false;
+            }
+            writer.set((byte[]) operand[0], (byte[]) operand[2]);
+            return true;
+        });
+
         // out instruction:
         // count opcode 0
         kv.processor(COUNT_OC, (OutProcessor) (reader, operand) -> reader.count());
@@ -19,6 +19,8 @@ package io.dingodb.mpu.storage.rocks;
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.concurrent.LinkedRunner;
+import io.dingodb.common.store.StorageProfile;
+import io.dingodb.common.store.StorageProfileOptions;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.common.util.Optional;
 import io.dingodb.mpu.api.StorageApi;
@@ -102,6 +104,7 @@ public class RocksStorage implements Storage {
     public final String dbRocksOptionsFile;
     public final String logRocksOptionsFile;
     public final int ttl;
+    public final StorageProfile profile;
 
     public final WriteOptions writeOptions;
     public final LinkedRunner runner;
@@ -122,12 +125,18 @@ public class RocksStorage implements Storage {
 
     public RocksStorage(CoreMeta coreMeta, String path, final String dbRocksOptionsFile,
                         final String logRocksOptionsFile, final int ttl) throws Exception {
+        this(coreMeta, path, dbRocksOptionsFile, logRocksOptionsFile, ttl, StorageProfile.DEFAULT);
+    }
+
+    public RocksStorage(CoreMeta coreMeta, String path, final String dbRocksOptionsFile,
+                        final String logRocksOptionsFile, final int ttl, StorageProfile profile) throws Exception {
         this.coreMeta = coreMeta;
         this.runner = new LinkedRunner(coreMeta.label);
         this.path = Paths.get(path).toAbsolutePath();
         this.dbRocksOptionsFile = dbRocksOptionsFile;
         this.logRocksOptionsFile = logRocksOptionsFile;
         this.ttl = ttl;
+        this.profile = profile;
 
         this.backupPath = this.path.resolve("backup");
 
@@ -203,13 +212,14 @@ public class RocksStorage implements Storage {
         options.setListeners(Collections.singletonList(new Listener()));
 
         List<ColumnFamilyDescriptor> cfs = Arrays.asList(
-            dcfDesc = dcfDesc(),
+            dcfDesc = dcfDesc(profile),
             mcfDesc = mcfDesc()
         );
 
         RocksDB db;
         List<ColumnFamilyHandle> handles = new ArrayList<>(4);
         if (RocksUtils.ttlValid(this.ttl)) {
+            // Unlike the raft store, which keeps an expire time per row, the ttl is fixed for the whole storage.
             List<Integer> ttlList = new ArrayList<>();
             ttlList.add(this.ttl);
             ttlList.add(0);
@@ -519,7 +529,11 @@ public class RocksStorage implements Storage {
             (System.currentTimeMillis() - now) / 1000 );
     }
 
-    private static ColumnFamilyDescriptor dcfDesc() {
+    private static ColumnFamilyDescriptor dcfDesc(StorageProfile profile) {
+        if (profile != StorageProfile.DEFAULT) {
+            ColumnFamilyOptions cfOption = StorageProfileOptions.apply(profile, new ColumnFamilyOptions());
+            return new ColumnFamilyDescriptor(CF_DEFAULT, cfOption);
+        }
         final ColumnFamilyOptions cfOption = new ColumnFamilyOptions();
         /**
          * configuration for performance.
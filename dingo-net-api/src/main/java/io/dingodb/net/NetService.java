@@ -19,6 +19,8 @@ package io.dingodb.net;
 import io.dingodb.common.Location;
 import io.dingodb.net.api.ApiRegistry;
 
+import java.util.function.Consumer;
+
 public interface NetService extends AutoCloseable {
 
     static NetService getDefault() {
@@ -69,6 +71,14 @@ public interface NetService extends AutoCloseable {
      */
     void cancelPort(int port) throws Exception;
 
+    /**
+     * Add a listener of the remote hosts detected down, it is called with the host name when nothing is received
+     * from the host within the heartbeat timeout, after the connections to the host are closed.
+     */
+    void addHostFailureListener(Consumer<String> listener);
+
+    void removeHostFailureListener(Consumer<String> listener);
+
     /**
      * Returns api registry instance, {@link ApiRegistry}.
      * @return api registry instance
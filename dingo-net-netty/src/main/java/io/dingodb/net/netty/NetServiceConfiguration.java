@@ -56,6 +56,17 @@ public class NetServiceConfiguration {
     private Integer heartbeat;
     private String host;
     private Integer apiTimeout;
+    private Integer bossThreads;
+    private Integer workerThreads;
+    private Boolean epoll;
+    private Integer sendBufferSize;
+    private Integer receiveBufferSize;
+    private Integer flushBytes;
+    private Integer writeBufferLowWaterMark;
+    private Integer writeBufferHighWaterMark;
+    private Integer dispatchThreads;
+    private Integer dispatchQueueCapacity;
+    private Integer pendingFramesHighWaterMark;
 
     public static Integer heartbeat() {
         return INSTANCE.heartbeat;
@@ -69,6 +80,89 @@ public class NetServiceConfiguration {
         return INSTANCE.apiTimeout == null ? 30 : INSTANCE.apiTimeout;
     }
 
+    public static int bossThreads() {
+        return INSTANCE.bossThreads == null || INSTANCE.bossThreads <= 0 ? 1 : INSTANCE.bossThreads;
+    }
+
+    /**
+     * Returns the thread count of the worker event loops shared by all connections, defaults to the cpu count.
+     */
+    public static int workerThreads() {
+        return INSTANCE.workerThreads == null || INSTANCE.workerThreads <= 0
+            ? Runtime.getRuntime().availableProcessors() : INSTANCE.workerThreads;
+    }
+
+    /**
+     * Returns whether to use the native epoll transport if it is available, defaults to {@code true}.
+     */
+    public static boolean epoll() {
+        return INSTANCE.epoll == null || INSTANCE.epoll;
+    }
+
+    /**
+     * Returns the socket send buffer size, {@code null} for the system default.
+     */
+    public static Integer sendBufferSize() {
+        return INSTANCE.sendBufferSize;
+    }
+
+    /**
+     * Returns the socket receive buffer size, {@code null} for the system default.
+     */
+    public static Integer receiveBufferSize() {
+        return INSTANCE.receiveBufferSize;
+    }
+
+    /**
+     * Returns the unflushed bytes of a connection that trigger a flush before the consolidated one.
+     */
+    public static int flushBytes() {
+        return INSTANCE.flushBytes == null || INSTANCE.flushBytes <= 0 ? 64 * 1024 : INSTANCE.flushBytes;
+    }
+
+    public static int writeBufferLowWaterMark() {
+        return INSTANCE.writeBufferLowWaterMark == null || INSTANCE.writeBufferLowWaterMark <= 0
+            ? 256 * 1024 : INSTANCE.writeBufferLowWaterMark;
+    }
+
+    /**
+     * Returns the outbound bytes of a connection above which async senders wait until it is drained below the
+     * low water mark.
+     */
+    public static int writeBufferHighWaterMark() {
+        return Math.max(
+            writeBufferLowWaterMark(),
+            INSTANCE.writeBufferHighWaterMark == null || INSTANCE.writeBufferHighWaterMark <= 0
+                ? 1024 * 1024 : INSTANCE.writeBufferHighWaterMark
+        );
+    }
+
+    /**
+     * Returns the thread count of the inbound dispatch stripes, defaults to the cpu count.
+     */
+    public static int dispatchThreads() {
+        return INSTANCE.dispatchThreads == null || INSTANCE.dispatchThreads <= 0
+            ? Runtime.getRuntime().availableProcessors() : INSTANCE.dispatchThreads;
+    }
+
+    /**
+     * Returns the queue capacity of each dispatch stripe, a stripe queues at most one task per busy channel, the
+     * channels that find their stripe full are processed on the elastic pool.
+     */
+    public static int dispatchQueueCapacity() {
+        return INSTANCE.dispatchQueueCapacity == null || INSTANCE.dispatchQueueCapacity <= 0
+            ? 64 * 1024 : INSTANCE.dispatchQueueCapacity;
+    }
+
+    /**
+     * Returns the received but not processed frames of a channel above which its connection stops reading the
+     * socket, it reads again when half of them are processed.
+     */
+    public static int pendingFramesHighWaterMark() {
+        return INSTANCE.pendingFramesHighWaterMark == null || INSTANCE.pendingFramesHighWaterMark <= 1
+            ? 1024 : INSTANCE.pendingFramesHighWaterMark;
+    }
+
     public static void resetAllTimeout(int timeout) {
         INSTANCE.apiTimeout = timeout;
         INSTANCE.heartbeat = timeout;
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty;
+
+import io.dingodb.common.concurrent.StripedExecutor;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.SocketAddress;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The event loop groups shared by all the listeners and connections of the process. The boss group accepts
+ * connections, the worker group serves all accepted and outbound channels. The native epoll transport is used on
+ * linux if it is available and not disabled, otherwise nio.
+ *
+ * <p>The groups are created at the first use and live until the process exits, their threads are daemon threads.
+ * So is the inbound dispatcher, which processes the received frames off the event loops.
+ */
+@Slf4j
+public final class NettyEventLoops {
+
+    private static final boolean EPOLL = NetServiceConfiguration.epoll() && Epoll.isAvailable();
+
+    private static volatile EventLoopGroup boss;
+    private static volatile EventLoopGroup worker;
+    private static volatile StripedExecutor dispatcher;
+
+    private NettyEventLoops() {
+    }
+
+    public static boolean epoll() {
+        return EPOLL;
+    }
+
+    public static EventLoopGroup boss() {
+        if (boss == null) {
+            synchronized (NettyEventLoops.class) {
+                if (boss == null) {
+                    boss = newGroup(NetServiceConfiguration.bossThreads(), "net-boss");
+                }
+            }
+        }
+        return boss;
+    }
+
+    public static EventLoopGroup worker() {
+        if (worker == null) {
+            synchronized (NettyEventLoops.class) {
+                if (worker == null) {
+                    worker = newGroup(NetServiceConfiguration.workerThreads(), "net-worker");
+                }
+            }
+        }
+        return worker;
+    }
+
+    /**
+     * Returns the executor of the received frames, each channel takes one stripe of it so the frames of the channel
+     * are processed in order.
+     */
+    public static StripedExecutor dispatcher() {
+        if (dispatcher == null) {
+            synchronized (NettyEventLoops.class) {
+                if (dispatcher == null) {
+                    dispatcher = new StripedExecutor(
+                        "net-dispatch",
+                        NetServiceConfiguration.dispatchThreads(),
+                        NetServiceConfiguration.dispatchQueueCapacity()
+                    );
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Returns a client bootstrap on the shared worker group with the socket options of the configuration.
+     */
+    public static Bootstrap bootstrap(SocketAddress remoteAddress, ChannelHandler handler) {
+        Bootstrap bootstrap = new Bootstrap()
+            .group(worker())
+            .channel(socketChannelClass())
+            .remoteAddress(remoteAddress)
+            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark())
+            .handler(handler);
+        Integer sendBuffer = NetServiceConfiguration.sendBufferSize();
+        if (sendBuffer != null) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, sendBuffer);
+        }
+        Integer receiveBuffer = NetServiceConfiguration.receiveBufferSize();
+        if (receiveBuffer != null) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, receiveBuffer);
+        }
+        return bootstrap;
+    }
+
+    /**
+     * Returns a server bootstrap on the shared boss and worker groups with the socket options of the configuration.
+     */
+    public static ServerBootstrap serverBootstrap(int port, ChannelHandler childHandler) {
+        ServerBootstrap server = new ServerBootstrap()
+            .group(boss(), worker())
+            .channel(serverSocketChannelClass())
+            .localAddress(port)
+            .option(ChannelOption.SO_REUSEADDR, true)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childOption(ChannelOption.SO_KEEPALIVE, true)
+            .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark())
+            .childHandler(childHandler);
+        Integer sendBuffer = NetServiceConfiguration.sendBufferSize();
+        if (sendBuffer != null) {
+            server.childOption(ChannelOption.SO_SNDBUF, sendBuffer);
+        }
+        Integer receiveBuffer = NetServiceConfiguration.receiveBufferSize();
+        if (receiveBuffer != null) {
+            // Set on the listening socket, so the window scale of accepted sockets is negotiated with it.
+            server.option(ChannelOption.SO_RCVBUF, receiveBuffer);
+        }
+        return server;
+    }
+
+    private static WriteBufferWaterMark writeBufferWaterMark() {
+        return new WriteBufferWaterMark(
+            NetServiceConfiguration.writeBufferLowWaterMark(), NetServiceConfiguration.writeBufferHighWaterMark()
+        );
+    }
+
+    public static Class<? extends SocketChannel> socketChannelClass() {
+        return EPOLL ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    public static Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return EPOLL ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    private static EventLoopGroup newGroup(int threads, String name) {
+        ThreadFactory threadFactory = new DefaultThreadFactory(name, true);
+        log.info("Create {} event loop group, threads: {}, epoll: {}.", name, threads, EPOLL);
+        return EPOLL ? new EpollEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads, threadFactory);
+    }
+}
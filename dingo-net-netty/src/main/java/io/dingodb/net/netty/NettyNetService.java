@@ -25,6 +25,7 @@ import io.dingodb.net.NetService;
 import io.dingodb.net.api.ApiRegistry;
 import io.dingodb.net.netty.api.ApiRegistryImpl;
 import io.dingodb.net.netty.channel.Channel;
+import io.dingodb.net.netty.connection.Connection;
 import io.dingodb.net.netty.connection.ConnectionManager;
 import io.dingodb.net.netty.handler.TagMessageHandler;
 import io.dingodb.net.netty.listener.PortListener;
@@ -35,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Slf4j
 public class NettyNetService implements NetService {
@@ -93,6 +95,20 @@ public class NettyNetService implements NetService {
         return connectionManager.getOrOpenConnection(location).newChannel(keepAlive);
     }
 
+    public Connection connection(Location location) {
+        return connectionManager.getOrOpenConnection(location);
+    }
+
+    @Override
+    public void addHostFailureListener(Consumer<String> listener) {
+        connectionManager.getHeartbeats().addFailureListener(listener);
+    }
+
+    @Override
+    public void removeHostFailureListener(Consumer<String> listener) {
+        connectionManager.getHeartbeats().removeFailureListener(listener);
+    }
+
     @Override
     public void setMessageListenerProvider(String tag, MessageListenerProvider listenerProvider) {
         Parameters.nonNull(tag, "tag");
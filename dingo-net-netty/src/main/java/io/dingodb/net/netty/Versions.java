@@ -21,9 +21,21 @@ public class Versions {
     public static final byte[] MAGIC_CODE = new byte[]{'D', 'I', 'N', 'G', 'O'};
 
     public static final byte VERSION_1 = 0x01;
+    /**
+     * Api calls carry the numeric id of the method instead of its name.
+     */
+    public static final byte VERSION_2 = 0x02;
+    /**
+     * Api calls are multiplexed over the default channel of the connection with request ids.
+     */
+    public static final byte VERSION_3 = 0x03;
+    /**
+     * Api calls carry the checksum of the method name, arguments and results are encoded by per-method codecs.
+     */
+    public static final byte VERSION_4 = 0x04;
 
     public static byte currentVersion() {
-        return VERSION_1;
+        return VERSION_4;
     }
 
     public static boolean checkCode(byte[] bytes, int start) {
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.api;
+
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.net.netty.channel.Channel;
+import io.dingodb.net.netty.connection.Connection;
+import io.dingodb.net.netty.packet.Type;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Api calls multiplexed over the default channel of a connection. A call is a {@link Type#CALL} frame with a request
+ * id, answered by a {@link Type#RESULT} frame with the same id, so any number of calls can be in flight on one
+ * channel without a channel or a thread per call.
+ *
+ * <p>The caller side keeps the futures of the calls in flight, a call fails at its deadline and a canceled or timed
+ * out call sends {@link Type#CALL_CANCEL}. The callee side keeps the futures returned by the async apis, so they can
+ * be canceled.
+ */
+@Slf4j
+public class ApiCalls {
+
+    private static final byte OK = 1;
+    private static final byte ERROR = 0;
+
+    private final Connection connection;
+    private final AtomicLong requestIds = new AtomicLong();
+    private final Map<Long, Call> calls = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<?>> serving = new ConcurrentHashMap<>();
+
+    public ApiCalls(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Call the api on the remote, returns the future of the result.
+     *
+     * @param timeout the deadline of the call in seconds, {@code 0} for no deadline
+     */
+    CompletableFuture<Object> call(ApiMethod apiMethod, Object[] args, int timeout) {
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Channel channel = connection.channel();
+        byte[] content = apiMethod.codec().encodeArgs(args);
+        calls.put(requestId, new Call(apiMethod.codec(), future));
+        if (timeout > 0) {
+            ScheduledFuture<?> deadline = connection.eventLoop().schedule(
+                () -> onTimeout(requestId, timeout), timeout, TimeUnit.SECONDS
+            );
+            future.whenComplete((r, e) -> deadline.cancel(false));
+        }
+        future.whenComplete((r, e) -> {
+            // The result or the deadline removes the call before completing it, so only a cancel by the caller finds
+            // the call here.
+            if (calls.remove(requestId) != null && e instanceof CancellationException) {
+                sendCancel(requestId);
+            }
+        });
+        channel.sendAsync(
+            channel.buffer(Type.CALL, 8 + 4 + 4 + content.length)
+                .writeLong(requestId)
+                .writeInt(apiMethod.id())
+                .writeInt(apiMethod.check())
+                .writeBytes(content)
+        ).addListener(f -> {
+            if (!f.isSuccess() && calls.remove(requestId) != null) {
+                ApiProxy.completeExceptionally(future, f.cause(), connection.remoteLocation());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Complete the call by the {@link Type#RESULT} frame, the request id and status are not read yet, an empty
+     * result is {@code null}.
+     */
+    public void onResult(ByteBuffer buffer) {
+        long requestId = buffer.getLong();
+        boolean ok = buffer.get() == OK;
+        Call call = calls.remove(requestId);
+        if (call == null) {
+            // Timed out or canceled.
+            return;
+        }
+        CompletableFuture<Object> future = call.future;
+        try {
+            if (ok) {
+                future.complete(call.codec.decodeResult(buffer));
+            } else {
+                ApiProxy.completeExceptionally(future, ProtostuffCodec.read(buffer), connection.remoteLocation());
+            }
+        } catch (Exception e) {
+            ApiProxy.completeExceptionally(future, e, connection.remoteLocation());
+        }
+    }
+
+    private void onTimeout(long requestId, int timeout) {
+        Call call = calls.remove(requestId);
+        if (call != null) {
+            ApiProxy.completeExceptionally(
+                call.future,
+                new TimeoutException(String.format("Call [%s] timeout after %ss.", requestId, timeout)),
+                connection.remoteLocation()
+            );
+            sendCancel(requestId);
+        }
+    }
+
+    private void sendCancel(long requestId) {
+        Channel channel = connection.channel();
+        try {
+            channel.sendAsync(channel.buffer(Type.CALL_CANCEL, 8).writeLong(requestId));
+        } catch (Exception e) {
+            log.warn("Send cancel of call [{}] to [{}] error.", requestId, connection.remoteLocation(), e);
+        }
+    }
+
+    /**
+     * Keep the future returned by an async api until it is done, so the caller can cancel it.
+     */
+    void serve(long requestId, CompletableFuture<?> future) {
+        serving.put(requestId, future);
+        future.whenComplete((r, e) -> serving.remove(requestId));
+    }
+
+    public void onCancel(ByteBuffer buffer) {
+        CompletableFuture<?> future = serving.remove(buffer.getLong());
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    void sendResult(long requestId, ApiMethod apiMethod, Object result) {
+        send(requestId, OK, apiMethod.codec().encodeResult(result));
+    }
+
+    void sendError(long requestId, Throwable error) {
+        send(requestId, ERROR, ProtostuffCodec.write(error));
+    }
+
+    private void send(long requestId, byte status, byte[] content) {
+        Channel channel = connection.channel();
+        channel.sendAsync(
+            channel.buffer(Type.RESULT, 8 + 1 + content.length)
+                .writeLong(requestId)
+                .writeByte(status)
+                .writeBytes(content)
+        );
+    }
+
+    /**
+     * Fail the calls in flight and cancel the served calls, called when the connection is closed.
+     */
+    public void close() {
+        calls.keySet().forEach(requestId -> {
+            Call call = calls.remove(requestId);
+            if (call != null) {
+                ApiProxy.completeExceptionally(
+                    call.future, new RuntimeException("Connection closed"), connection.remoteLocation()
+                );
+            }
+        });
+        serving.keySet().forEach(requestId -> {
+            CompletableFuture<?> future = serving.remove(requestId);
+            if (future != null) {
+                future.cancel(true);
+            }
+        });
+    }
+
+    private static final class Call {
+        private final ApiCodec codec;
+        private final CompletableFuture<Object> future;
+
+        private Call(ApiCodec codec, CompletableFuture<Object> future) {
+            this.codec = codec;
+            this.future = future;
+        }
+    }
+
+}
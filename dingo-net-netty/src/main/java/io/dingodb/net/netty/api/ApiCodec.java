@@ -0,0 +1,352 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.api;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.net.Channel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static io.dingodb.net.netty.Constant.API_EMPTY_ARGS;
+import static io.dingodb.net.netty.Constant.EMPTY_BYTES;
+
+/**
+ * Binary codec of the arguments and the result of an api method, resolved once per method from the declared types.
+ *
+ * <p>Primitives, strings, byte arrays, enums, {@link CommonId} and {@link Location} are written as fixed fields,
+ * a nullable field is led by a presence byte. Other types are written one by one by protostuff, led by their
+ * length. A {@link Channel} argument is not sent, the callee passes the channel of the call.
+ */
+final class ApiCodec {
+
+    private final FieldCodec[] params;
+    private final FieldCodec result;
+
+    private ApiCodec(FieldCodec[] params, FieldCodec result) {
+        this.params = params;
+        this.result = result;
+    }
+
+    static ApiCodec of(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        FieldCodec[] params = new FieldCodec[types.length];
+        for (int i = 0; i < types.length; i++) {
+            params[i] = resolve(types[i]);
+        }
+        return new ApiCodec(params, resolve(resultType(method)));
+    }
+
+    byte[] encodeArgs(Object[] args) {
+        if (params.length == 0) {
+            return EMPTY_BYTES;
+        }
+        return write(out -> {
+            for (int i = 0; i < params.length; i++) {
+                params[i].write(out, args[i]);
+            }
+        });
+    }
+
+    Object[] decodeArgs(ByteBuffer buffer) {
+        if (params.length == 0) {
+            return API_EMPTY_ARGS;
+        }
+        Object[] args = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            args[i] = params[i].read(buffer);
+        }
+        return args;
+    }
+
+    /**
+     * Encode the result, {@code null} is encoded as empty.
+     */
+    byte[] encodeResult(Object value) {
+        if (value == null) {
+            return EMPTY_BYTES;
+        }
+        return write(out -> result.write(out, value));
+    }
+
+    Object decodeResult(ByteBuffer buffer) {
+        return buffer.hasRemaining() ? result.read(buffer) : null;
+    }
+
+    private static byte[] write(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The type of the result, the type argument of the future for async methods.
+     */
+    private static Class<?> resultType(Method method) {
+        if (!CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return method.getReturnType();
+        }
+        Type type = method.getGenericReturnType();
+        if (type instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+        }
+        return Object.class;
+    }
+
+    private static FieldCodec resolve(Class<?> type) {
+        if (type == void.class || type == Void.class || Channel.class.isAssignableFrom(type)) {
+            return NONE;
+        }
+        if (type == int.class) {
+            return INT;
+        }
+        if (type == long.class) {
+            return LONG;
+        }
+        if (type == boolean.class) {
+            return BOOLEAN;
+        }
+        if (type == double.class) {
+            return DOUBLE;
+        }
+        if (type == Integer.class) {
+            return nullable(INT);
+        }
+        if (type == Long.class) {
+            return nullable(LONG);
+        }
+        if (type == Boolean.class) {
+            return nullable(BOOLEAN);
+        }
+        if (type == Double.class) {
+            return nullable(DOUBLE);
+        }
+        if (type == String.class) {
+            return nullable(STRING);
+        }
+        if (type == byte[].class) {
+            return nullable(BYTES);
+        }
+        if (type == CommonId.class) {
+            return nullable(COMMON_ID);
+        }
+        if (type == Location.class) {
+            return nullable(LOCATION);
+        }
+        if (type.isEnum()) {
+            return nullable(enumCodec(type.getEnumConstants()));
+        }
+        return PROTOSTUFF;
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface FieldCodec {
+        void write(DataOutputStream out, Object value) throws IOException;
+
+        Object read(ByteBuffer buffer);
+    }
+
+    private static final FieldCodec NONE = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) {
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return null;
+        }
+    };
+
+    private static final FieldCodec INT = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            out.writeInt((Integer) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    private static final FieldCodec LONG = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            out.writeLong((Long) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    private static final FieldCodec BOOLEAN = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            out.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return buffer.get() != 0;
+        }
+    };
+
+    private static final FieldCodec DOUBLE = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            out.writeDouble((Double) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    private static final FieldCodec BYTES = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            byte[] bytes = (byte[]) value;
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return bytes;
+        }
+    };
+
+    private static final FieldCodec STRING = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            BYTES.write(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return new String((byte[]) BYTES.read(buffer), StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final FieldCodec COMMON_ID = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            out.write(((CommonId) value).encode());
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            byte[] bytes = new byte[CommonId.LEN];
+            buffer.get(bytes);
+            return CommonId.decode(bytes);
+        }
+    };
+
+    private static final FieldCodec LOCATION = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            Location location = (Location) value;
+            STRING.write(out, location.getHost());
+            out.writeInt(location.getPort());
+            out.writeInt(location.getRaftPort());
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return new Location((String) STRING.read(buffer), buffer.getInt(), buffer.getInt());
+        }
+    };
+
+    private static final FieldCodec PROTOSTUFF = new FieldCodec() {
+        @Override
+        public void write(DataOutputStream out, Object value) throws IOException {
+            BYTES.write(out, value == null ? EMPTY_BYTES : ProtostuffCodec.write(value));
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (length == 0) {
+                return null;
+            }
+            ByteBuffer content = buffer.slice();
+            content.limit(length);
+            buffer.position(buffer.position() + length);
+            return ProtostuffCodec.read(content);
+        }
+    };
+
+    private static FieldCodec enumCodec(Object[] constants) {
+        return new FieldCodec() {
+            @Override
+            public void write(DataOutputStream out, Object value) throws IOException {
+                out.writeInt(((Enum<?>) value).ordinal());
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return constants[buffer.getInt()];
+            }
+        };
+    }
+
+    private static FieldCodec nullable(FieldCodec codec) {
+        return new FieldCodec() {
+            @Override
+            public void write(DataOutputStream out, Object value) throws IOException {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    codec.write(out, value);
+                }
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return buffer.get() == 0 ? null : codec.read(buffer);
+            }
+        };
+    }
+
+}
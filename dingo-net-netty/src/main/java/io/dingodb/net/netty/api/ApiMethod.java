@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.api;
+
+import io.dingodb.net.api.annotation.ApiDeclaration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The declaration of an api method resolved once: the name, the numeric id sent instead of the name, whether the
+ * call returns the future immediately, and the codec of its arguments and result.
+ *
+ * <p>The id is the {@link String#hashCode()} of the name, which is specified by the language, so the caller and the
+ * callee get the same id without exchanging it. The registry rejects two names with the same id. The id is sent
+ * with the CRC32 of the name, which the callee checks, so a name the callee does not declare is not dispatched to
+ * another method whose name has the same hash.
+ */
+@Getter
+@Accessors(fluent = true)
+@AllArgsConstructor
+final class ApiMethod {
+
+    private static final ApiMethod NOT_DECLARED = new ApiMethod(null, 0, 0, null, false, null);
+    private static final Map<Method, ApiMethod> METHODS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int id;
+    private final int check;
+    private final Method method;
+    private final boolean async;
+    private final ApiCodec codec;
+
+    /**
+     * Returns the declaration of the method, {@code null} if the method is not annotated by {@link ApiDeclaration}.
+     */
+    static ApiMethod of(Method method) {
+        ApiMethod apiMethod = METHODS.computeIfAbsent(method, ApiMethod::resolve);
+        return apiMethod == NOT_DECLARED ? null : apiMethod;
+    }
+
+    static ApiMethod of(String name, Method method) {
+        return new ApiMethod(name, id(name), check(name), method, isAsync(method), ApiCodec.of(method));
+    }
+
+    static int id(String name) {
+        return name.hashCode();
+    }
+
+    static int check(String name) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(name.getBytes(StandardCharsets.UTF_8));
+        return (int) crc32.getValue();
+    }
+
+    private static ApiMethod resolve(Method method) {
+        ApiDeclaration declaration = method.getAnnotation(ApiDeclaration.class);
+        if (declaration == null) {
+            return NOT_DECLARED;
+        }
+        String name = declaration.name();
+        if (name.isEmpty()) {
+            name = method.toGenericString();
+        }
+        return of(name, method);
+    }
+
+    private static boolean isAsync(Method method) {
+        return method.getReturnType().isAssignableFrom(CompletableFuture.class);
+    }
+
+}
@@ -17,62 +17,30 @@
 package io.dingodb.net.netty.api;
 
 import io.dingodb.common.Location;
-import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.net.MessageListener;
-import io.dingodb.net.api.annotation.ApiDeclaration;
 import io.dingodb.net.netty.channel.Channel;
-import io.netty.buffer.ByteBuf;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static io.dingodb.net.Message.API_OK;
-import static io.dingodb.net.netty.packet.Type.API;
 
 public interface ApiProxy<T> extends InvocationHandler {
 
-    Channel channel();
-
     T defined();
 
     int timeout();
 
-    void invoke(Channel ch, ByteBuf buffer, CompletableFuture<Object> future) throws Exception;
-
-    @Override
-    default Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        ApiDeclaration declaration = method.getAnnotation(ApiDeclaration.class);
-        if (declaration == null) {
-            return invoke(method, args);
-        }
-        String name = declaration.name();
-        if (name.isEmpty()) {
-            name = method.toGenericString();
-        }
-        CompletableFuture<Object> future = new CompletableFuture<>();
-        Channel channel = channel();
-        try {
-            channel.setMessageListener(callHandler(future));
-            channel.setCloseListener(ch -> closeListener(channel, future));
-            byte[] nameB = PrimitiveCodec.encodeString(name);
-            byte[] content = ProtostuffCodec.write(args);
-            invoke(
-                channel,
-                channel.buffer(API, nameB.length + content.length).writeBytes(nameB).writeBytes(content),
-                future
-            );
-        } catch (Exception e) {
-            if (channel == null) {
-                future.complete(e);
-            } else {
-                completeExceptionally(future, e, channel.remoteLocation());
-            }
-        }
-        if (method.getReturnType().isInstance(future)) {
+    /**
+     * Returns the future of the call if the api is async, otherwise waits the result of the call.
+     */
+    default Object result(ApiMethod apiMethod, CompletableFuture<Object> future) throws Exception {
+        if (apiMethod.async()) {
             return future;
         }
         int timeout = timeout();
@@ -87,11 +55,11 @@ public interface ApiProxy<T> extends InvocationHandler {
         return method.invoke(defined, args);
     }
 
-    static MessageListener callHandler(CompletableFuture<Object> future) {
+    static MessageListener callHandler(ApiMethod apiMethod, CompletableFuture<Object> future) {
         return (message, ch) -> {
             try {
                 if (message.tag().equals(API_OK)) {
-                    future.complete(ProtostuffCodec.read(message.content()));
+                    future.complete(apiMethod.codec().decodeResult(ByteBuffer.wrap(message.content())));
                 } else {
                     completeExceptionally(future, ProtostuffCodec.read(message.content()), ch.remoteLocation());
                 }
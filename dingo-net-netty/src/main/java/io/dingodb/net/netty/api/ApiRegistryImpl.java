@@ -17,7 +17,6 @@
 package io.dingodb.net.netty.api;
 
 import io.dingodb.common.Location;
-import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.net.Message;
@@ -32,9 +31,13 @@ import io.dingodb.net.netty.NetServiceConfiguration;
 import io.dingodb.net.netty.channel.Channel;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
@@ -47,7 +50,6 @@ import static io.dingodb.common.util.Parameters.cleanNull;
 import static io.dingodb.net.Message.API_CANCEL;
 import static io.dingodb.net.Message.API_ERROR;
 import static io.dingodb.net.Message.API_OK;
-import static io.dingodb.net.netty.Constant.API_EMPTY_ARGS;
 import static java.lang.reflect.Proxy.newProxyInstance;
 
 @Slf4j
@@ -64,31 +66,76 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
         return INSTANCE;
     }
 
-    private final Map<String, Object> definedMap = new ConcurrentHashMap<>();
-    private final Map<String, Method> declarationMap = new ConcurrentHashMap<>();
+    private final Map<Integer, MethodHandle> invokerMap = new ConcurrentHashMap<>();
+    private final Map<Integer, ApiMethod> declarationMap = new ConcurrentHashMap<>();
 
     @Override
     public <T> void register(Class<T> api, T defined) {
         for (Method method : api.getMethods()) {
-            ApiDeclaration declaration = method.getAnnotation(ApiDeclaration.class);
-            if (declaration == null) {
+            ApiMethod apiMethod = ApiMethod.of(method);
+            if (apiMethod == null) {
                 continue;
             }
-            String name = declaration.name();
-            if (name.isEmpty()) {
-                name = method.toGenericString();
-            }
-            definedMap.put(name, defined);
-            declarationMap.put(name, method);
-            log.info("Register api: {}, method: {}, defined: {}", api.getName(), name, defined.getClass().getName());
+            register(apiMethod, defined);
+            log.info(
+                "Register api: {}, method: {}, id: {}, defined: {}",
+                api.getName(), apiMethod.name(), apiMethod.id(), defined.getClass().getName()
+            );
         }
     }
 
     @Override
     public <T> void register(String name, Method method, T defined) {
-        definedMap.put(name, defined);
-        declarationMap.put(name, method);
-        log.info("Register function: {}, defined: {}", name, defined.getClass().getName());
+        ApiMethod apiMethod = ApiMethod.of(name, method);
+        register(apiMethod, defined);
+        log.info("Register function: {}, id: {}, defined: {}", name, apiMethod.id(), defined.getClass().getName());
+    }
+
+    private void register(ApiMethod apiMethod, Object defined) {
+        MethodHandle invoker = invoker(apiMethod.method(), defined);
+        declarationMap.compute(apiMethod.id(), (id, old) -> {
+            if (old != null && !old.name().equals(apiMethod.name())) {
+                throw new IllegalStateException(String.format(
+                    "Api [%s] and [%s] have the same id %d, rename one of them.", old.name(), apiMethod.name(), id
+                ));
+            }
+            invokerMap.put(id, invoker);
+            return apiMethod;
+        });
+    }
+
+    /**
+     * Bind the method to the defined object once, a call spreads the decoded arguments to the handle, without the
+     * access checks and the argument checks of {@link Method#invoke} on every call.
+     */
+    private static MethodHandle invoker(Method method, Object defined) {
+        method.setAccessible(true);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(defined);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access api method " + method, e);
+        }
+    }
+
+    /**
+     * Returns the declaration of the called method, {@code null} if the callee does not declare the method.
+     */
+    private ApiMethod declaration(int id, int check) {
+        ApiMethod apiMethod = declarationMap.get(id);
+        return apiMethod == null || apiMethod.check() != check ? null : apiMethod;
+    }
+
+    private Object invoke(int id, Object[] args) throws InvocationTargetException {
+        try {
+            return (Object) invokerMap.get(id).invokeExact(args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
     }
 
     @Override
@@ -141,23 +188,25 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
     }
 
     public void invoke(Channel channel, ByteBuffer buffer) {
-        String name = PrimitiveCodec.readString(buffer);
-        Method method = declarationMap.get(name);
+        int id = buffer.getInt();
+        ApiMethod apiMethod = declaration(id, buffer.getInt());
+        String name = apiMethod == null ? String.valueOf(id) : apiMethod.name();
         Object result;
         Message message = Constant.API_VOID;
         try {
-            if (method == null) {
+            if (apiMethod == null) {
                 NetError.API_NOT_FOUND.throwFormatError(name);
             }
-            Object[] args = deserializeArgs(channel, buffer, method.getParameterTypes());
-            result = invoke(definedMap.get(name), method, args);
+            result = invoke(id, deserializeArgs(channel, buffer, apiMethod));
             if (result instanceof CompletableFuture) {
                 channel.setMessageListener(listenCancel(name, (CompletableFuture<?>) result));
-                Executors.execute("invoke-api", () -> invokeWithFuture(name, channel, (CompletableFuture<?>) result));
+                Executors.execute(
+                    "invoke-api", () -> invokeWithFuture(apiMethod, channel, (CompletableFuture<?>) result)
+                );
                 return;
             }
             if (result != null) {
-                message = new Message(API_OK, ProtostuffCodec.write(result));
+                message = new Message(API_OK, apiMethod.codec().encodeResult(result));
             }
         } catch (ApiTerminateException e) {
             log.error("Invoke [{}] from [{}/{}] is termination, message: {}.",
@@ -170,9 +219,53 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
         channel.send(message);
     }
 
-    private void invokeWithFuture(String name, Channel channel, CompletableFuture<?> future) {
+    /**
+     * Serve a call multiplexed over the connection, the result is sent back with the request id of the call. The
+     * result of an async api is sent when its future is done, no thread waits it.
+     */
+    public void call(Channel channel, ByteBuffer buffer) {
+        long requestId = buffer.getLong();
+        int id = buffer.getInt();
+        ApiCalls apiCalls = channel.connection().apiCalls();
+        ApiMethod apiMethod = declaration(id, buffer.getInt());
+        String name = apiMethod == null ? String.valueOf(id) : apiMethod.name();
         try {
-            channel.send(new Message(API_OK, ProtostuffCodec.write(future.join())));
+            if (apiMethod == null) {
+                NetError.API_NOT_FOUND.throwFormatError(name);
+            }
+            Object result = invoke(id, deserializeArgs(channel, buffer, apiMethod));
+            if (!(result instanceof CompletableFuture)) {
+                apiCalls.sendResult(requestId, apiMethod, result);
+                return;
+            }
+            CompletableFuture<?> future = (CompletableFuture<?>) result;
+            apiCalls.serve(requestId, future);
+            future.whenComplete((r, e) -> {
+                if (e == null) {
+                    apiCalls.sendResult(requestId, apiMethod, r);
+                } else if (e instanceof CancellationException) {
+                    log.warn("Call [{}] from [{}] is canceled.", name, channel.connection().remoteLocation());
+                } else {
+                    Throwable error = e instanceof CompletionException ? cleanNull(e.getCause(), () -> e) : e;
+                    apiCalls.sendError(requestId, logError(error, name, channel));
+                }
+            });
+        } catch (ApiTerminateException e) {
+            log.error("Call [{}] from [{}] is termination, message: {}.",
+                name, channel.connection().remoteLocation(), e.getMessage(), e);
+            apiCalls.sendResult(requestId, apiMethod, null);
+        } catch (InvocationTargetException e) {
+            Throwable error = cleanNull(e.getCause(), () -> cleanNull(e.getTargetException(), () -> e));
+            apiCalls.sendError(requestId, logError(error, name, channel));
+        } catch (Throwable e) {
+            apiCalls.sendError(requestId, logError(e, name, channel));
+        }
+    }
+
+    private void invokeWithFuture(ApiMethod apiMethod, Channel channel, CompletableFuture<?> future) {
+        String name = apiMethod.name();
+        try {
+            channel.send(new Message(API_OK, apiMethod.codec().encodeResult(future.join())));
         } catch (CancellationException e) {
             log.warn("Invoke [{}] from [{}/{}] is canceled.",
                 name, channel.connection().remoteLocation(), channel.channelId());
@@ -183,12 +276,10 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
         }
     }
 
-    private Object[] deserializeArgs(Channel channel, ByteBuffer buffer, Class<?>[] parameterTypes) {
-        if (parameterTypes == null || parameterTypes.length == 0) {
-            return API_EMPTY_ARGS;
-        }
-        Object[] args = ProtostuffCodec.read(buffer);
-        if (parameterTypes[0].isInstance(channel)) {
+    private Object[] deserializeArgs(Channel channel, ByteBuffer buffer, ApiMethod apiMethod) {
+        Object[] args = apiMethod.codec().decodeArgs(buffer);
+        Class<?>[] parameterTypes = apiMethod.method().getParameterTypes();
+        if (parameterTypes.length > 0 && parameterTypes[0].isInstance(channel)) {
             args[0] = channel;
         }
         return args;
@@ -203,9 +294,13 @@ public class ApiRegistryImpl implements ApiRegistry, InvocationHandler {
     }
 
     private Message onError(Throwable error, String name, Channel channel) {
+        return new Message(API_ERROR, ProtostuffCodec.write(logError(error, name, channel)));
+    }
+
+    private Throwable logError(Throwable error, String name, Channel channel) {
         log.error("Invoke [{}] from [{}/{}] error, message: {}.",
             name, channel.connection().remoteLocation(), channel.channelId(), error.getMessage(), error);
-        return new Message(API_ERROR, ProtostuffCodec.write(error));
+        return error;
     }
 
 }
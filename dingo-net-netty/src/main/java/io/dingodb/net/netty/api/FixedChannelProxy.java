@@ -30,6 +30,7 @@ import java.util.concurrent.CompletableFuture;
 
 import static io.dingodb.net.Message.API_CANCEL;
 import static io.dingodb.net.Message.EMPTY;
+import static io.dingodb.net.netty.packet.Type.API;
 
 @Slf4j
 @Accessors(fluent = true)
@@ -56,19 +57,46 @@ public class FixedChannelProxy<T> implements  ApiProxy<T> {
         this.timeout = timeout;
     }
 
+    /**
+     * Invoke the api on the channel, the channel serves one call at a time, it is used by the handshake before the
+     * connection is ready for multiplexed calls.
+     */
     @Override
     public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        return ApiProxy.super.invoke(proxy, method, args);
+        ApiMethod apiMethod = ApiMethod.of(method);
+        if (apiMethod == null) {
+            return invoke(method, args);
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            channel.setMessageListener(ApiProxy.callHandler(apiMethod, future));
+            channel.setCloseListener(ch -> ApiProxy.closeListener(channel, future));
+            byte[] content = apiMethod.codec().encodeArgs(args);
+            invoke(
+                channel,
+                channel.buffer(API, 4 + 4 + content.length)
+                    .writeInt(apiMethod.id())
+                    .writeInt(apiMethod.check())
+                    .writeBytes(content),
+                future
+            );
+        } catch (Exception e) {
+            ApiProxy.completeExceptionally(future, e, channel.remoteLocation());
+        }
+        return result(apiMethod, future);
     }
 
-    @Override
-    public void invoke(Channel ch, ByteBuf buffer, CompletableFuture<Object> future) throws InterruptedException {
+    private void invoke(Channel ch, ByteBuf buffer, CompletableFuture<Object> future) {
         future.whenCompleteAsync((r, e) -> {
             if (e instanceof CancellationException) {
                 ch.send(new Message(API_CANCEL, EMPTY.content()));
             }
         }, Executors.executor("cancel-api-invoke"));
-        ch.send(buffer);
+        ch.sendAsync(buffer).addListener(f -> {
+            if (!f.isSuccess()) {
+                ApiProxy.completeExceptionally(future, f.cause(), ch.remoteLocation());
+            }
+        });
     }
 
 }
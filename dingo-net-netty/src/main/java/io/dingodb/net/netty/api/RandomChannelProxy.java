@@ -17,23 +17,16 @@
 package io.dingodb.net.netty.api;
 
 import io.dingodb.common.Location;
-import io.dingodb.common.concurrent.Executors;
-import io.dingodb.net.Message;
 import io.dingodb.net.netty.NettyNetService;
 import io.dingodb.net.netty.NettyNetServiceProvider;
-import io.dingodb.net.netty.channel.Channel;
-import io.netty.buffer.ByteBuf;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.CancellationException;
+import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
-import static io.dingodb.net.Message.API_CANCEL;
-import static io.dingodb.net.Message.EMPTY;
-
 @Slf4j
 @Accessors(fluent = true)
 public class RandomChannelProxy<T> implements ApiProxy<T> {
@@ -60,24 +53,25 @@ public class RandomChannelProxy<T> implements ApiProxy<T> {
         this.timeout = timeout;
     }
 
+    /**
+     * Call the api over the connection to the location, calls of all the proxies to the same location share the
+     * connection and are in flight at the same time.
+     */
     @Override
-    public Channel channel() {
-        return netService.newChannel(locationSupplier.get());
-    }
-
-    @Override
-    public void invoke(Channel ch, ByteBuf buffer, CompletableFuture<Object> future) throws Exception {
-        future.whenCompleteAsync((r, e) -> {
-            if (e instanceof CancellationException) {
-                ch.send(new Message(API_CANCEL, EMPTY.content()));
-            }
-            try {
-                ch.close();
-            } catch (Exception ex) {
-                log.error("Close channel error, address: [{}].", ch.remoteLocation(), ex);
-            }
-        }, Executors.executor("on-invoke-complete"));
-        ch.send(buffer);
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        ApiMethod apiMethod = ApiMethod.of(method);
+        if (apiMethod == null) {
+            return invoke(method, args);
+        }
+        Location location = locationSupplier.get();
+        CompletableFuture<Object> future;
+        try {
+            future = netService.connection(location).apiCalls().call(apiMethod, args, timeout);
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            ApiProxy.completeExceptionally(future, e, location);
+        }
+        return result(apiMethod, future);
     }
 
 }
@@ -19,23 +19,32 @@ package io.dingodb.net.netty.channel;
 import io.dingodb.common.Location;
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.concurrent.Executors;
-import io.dingodb.common.concurrent.LinkedRunner;
 import io.dingodb.common.util.Parameters;
 import io.dingodb.net.Message;
 import io.dingodb.net.MessageListener;
+import io.dingodb.net.netty.NetServiceConfiguration;
 import io.dingodb.net.netty.api.ApiRegistryImpl;
 import io.dingodb.net.netty.connection.Connection;
 import io.dingodb.net.netty.handler.TagMessageHandler;
 import io.dingodb.net.netty.packet.Command;
 import io.dingodb.net.netty.packet.Type;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.FileRegion;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -44,6 +53,9 @@ import java.util.function.Consumer;
 public class Channel implements io.dingodb.net.Channel {
 
     private static final long WAIT_THREAD_TIME = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int PENDING_HIGH_WATER_MARK = NetServiceConfiguration.pendingFramesHighWaterMark();
+    private static final int PENDING_LOW_WATER_MARK = PENDING_HIGH_WATER_MARK / 2;
+    private static final int DRAIN_FRAMES = 64;
     private static final ApiRegistryImpl API_REGISTRY = ApiRegistryImpl.instance();
     private static final MessageListener EMPTY_MESSAGE_LISTENER = (msg, ch) -> {
         log.warn("Receive message, but listener is empty.");
@@ -57,7 +69,14 @@ public class Channel implements io.dingodb.net.Channel {
     protected final Connection connection;
     protected final Consumer<Long> onClose;
 
-    protected LinkedRunner runner;
+    protected final Executor runner;
+
+    private final Queue<ByteBuf> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingFrames = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // Guarded by frames.
+    private boolean suspended = false;
+    private volatile boolean blocking = false;
 
     @Getter
     protected Status status;
@@ -67,7 +86,7 @@ public class Channel implements io.dingodb.net.Channel {
     private MessageListener messageListener = null;
     private Consumer<io.dingodb.net.Channel> closeListener = EMPTY_CLOSE_LISTENER;
 
-    public Channel(long channelId, Connection connection, LinkedRunner runner, Consumer<Long> onClose) {
+    public Channel(long channelId, Connection connection, Executor runner, Consumer<Long> onClose) {
         this.channelId = channelId;
         this.connection = connection;
         this.onClose = onClose;
@@ -75,6 +94,15 @@ public class Channel implements io.dingodb.net.Channel {
         this.runner = runner;
     }
 
+    /**
+     * Process the frames of the channel on the elastic pool instead of the dispatch stripe, which is shared with
+     * other channels, for the listeners that block, e.g. on disk writes.
+     */
+    public Channel blocking() {
+        this.blocking = true;
+        return this;
+    }
+
     public ByteBuf buffer(Type type, int capacity) {
         capacity = capacity + 8 + 1;
         return connection.alloc().buffer(capacity + 4, capacity + 4)
@@ -83,6 +111,16 @@ public class Channel implements io.dingodb.net.Channel {
             .writeByte(type.ordinal());
     }
 
+    /**
+     * Frame header for {@code contentLength} bytes of content that are written separately.
+     */
+    public ByteBuf header(Type type, int contentLength) {
+        return connection.alloc().buffer(4 + 8 + 1 + 1)
+            .writeInt(contentLength + 8 + 1)
+            .writeLong(channelId)
+            .writeByte(type.ordinal());
+    }
+
     public synchronized void close() {
         if (this.status == Status.CLOSE) {
             log.warn("Channel [{}] already close", channelId);
@@ -101,9 +139,8 @@ public class Channel implements io.dingodb.net.Channel {
             return;
         }
         this.status = Status.CLOSE;
-        runner.forceFollow(() -> onClose.accept(channelId));
-        runner.forceFollow(() -> closeListener.accept(this));
-        this.runner = null;
+        runner.execute(() -> onClose.accept(channelId));
+        runner.execute(() -> closeListener.accept(this));
     }
 
     @Override
@@ -114,7 +151,7 @@ public class Channel implements io.dingodb.net.Channel {
     @Override
     public synchronized void setCloseListener(Consumer<io.dingodb.net.Channel> listener) {
         if (isClosed()) {
-            runner.forceFollow(() -> closeListener.accept(this));
+            runner.execute(() -> closeListener.accept(this));
         } else {
             this.closeListener = Parameters.cleanNull(listener, EMPTY_CLOSE_LISTENER);
         }
@@ -140,43 +177,151 @@ public class Channel implements io.dingodb.net.Channel {
         if (isClosed()) {
             throw new RuntimeException("The channel is closed");
         }
-        byte[] msg = message.encode();
         if (log.isTraceEnabled()) {
             log.trace("Send message to [{}] on [{}].", remoteLocation().getUrl(), channelId);
         }
         if (sync) {
             try {
-                send(buffer(Type.USER_DEFINE, msg.length).writeBytes(msg));
+                send(frame(message));
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         } else {
             try {
-                sendAsync(buffer(Type.USER_DEFINE, msg.length).writeBytes(msg));
+                sendAsync(frame(message));
             } catch (Exception e) {
                 log.error("Send message to {} on {} error.", remoteLocation().getUrl(), channelId, e);
             }
         }
     }
 
+    /**
+     * Returns the frame of the message, the content is wrapped instead of copied, only the header and tag are
+     * written to a new buffer.
+     */
+    private ByteBuf frame(Message message) {
+        byte[] tag = PrimitiveCodec.encodeString(message.tag());
+        byte[] content = message.content();
+        ByteBuf header = connection.alloc().buffer(4 + 8 + 1 + tag.length)
+            .writeInt(8 + 1 + tag.length + content.length)
+            .writeLong(channelId)
+            .writeByte(Type.USER_DEFINE.ordinal())
+            .writeBytes(tag);
+        if (content.length == 0) {
+            return header;
+        }
+        return connection.alloc().compositeBuffer(2).addComponents(true, header, Unpooled.wrappedBuffer(content));
+    }
+
     public void send(ByteBuf content) throws InterruptedException {
         connection.send(content);
     }
 
-    public void sendAsync(ByteBuf content) {
-        connection.sendAsync(content);
+    public ChannelFuture sendAsync(ByteBuf content) {
+        return connection.sendAsync(content);
+    }
+
+    public void send(ByteBuf header, FileRegion region) throws InterruptedException {
+        connection.send(header, region);
+    }
+
+    /**
+     * Receive a frame, the frame is released after it is processed, so the listeners must not keep the buffers they
+     * are given after they returned. Ping, pong and ack are processed in the event loop, other frames are queued on
+     * the channel and processed in order on the dispatch stripe of the channel, an accepted frame is never dropped.
+     * The connection stops reading the socket while the channel has more than
+     * {@link NetServiceConfiguration#pendingFramesHighWaterMark()} frames queued.
+     */
+    public void receive(ByteBuf frame) {
+        if (status != Status.ACTIVE) {
+            frame.release();
+            return;
+        }
+        if (isHeartbeat(frame)) {
+            processMessage(frame);
+            return;
+        }
+        frames.offer(frame);
+        if (pendingFrames.incrementAndGet() >= PENDING_HIGH_WATER_MARK) {
+            updateSuspended();
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        if (blocking) {
+            Executors.execute("net-dispatch-" + channelId, () -> drain(false));
+            return;
+        }
+        try {
+            runner.execute(() -> drain(true));
+        } catch (RejectedExecutionException e) {
+            // Only one drain of a channel is queued at a time, a full stripe means many busy channels, drain this
+            // one on the elastic pool instead of dropping its frames.
+            Executors.execute("net-dispatch-" + channelId, () -> drain(false));
+        }
+    }
+
+    private void drain(boolean onStripe) {
+        try {
+            // Process a limited count of frames at a time, so the channels sharing the stripe take turns.
+            for (int i = 0; i < DRAIN_FRAMES; i++) {
+                if (onStripe && blocking) {
+                    // Set by the frame just processed, the next frames go to the elastic pool.
+                    break;
+                }
+                ByteBuf frame = frames.poll();
+                if (frame == null) {
+                    break;
+                }
+                try {
+                    processMessage(frame);
+                } finally {
+                    if (pendingFrames.decrementAndGet() <= PENDING_LOW_WATER_MARK) {
+                        updateSuspended();
+                    }
+                }
+            }
+        } finally {
+            draining.set(false);
+            // A frame queued after the last poll may have seen the drain still running.
+            if (!frames.isEmpty()) {
+                scheduleDrain();
+            }
+        }
     }
 
-    public void receive(ByteBuffer buffer) {
-        if (status == Status.ACTIVE) {
-            if (!runner.follow(() -> processMessage(buffer))) {
-                log.error("Channel [{}] concurrent receive.", channelId);
+    private void updateSuspended() {
+        // Decided under the lock with the current count, so the last update always matches the count.
+        synchronized (frames) {
+            int pending = pendingFrames.get();
+            if (!suspended && pending >= PENDING_HIGH_WATER_MARK) {
+                suspended = true;
+                log.warn("Channel [{}] has {} pending frames, suspend reading.", channelId, pending);
+                connection.suspendReading();
+            } else if (suspended && pending <= PENDING_LOW_WATER_MARK) {
+                suspended = false;
+                connection.resumeReading();
             }
         }
     }
 
-    private void processMessage(ByteBuffer buffer) {
+    private static boolean isHeartbeat(ByteBuf frame) {
+        int index = frame.readerIndex();
+        if (frame.readableBytes() < 2 || frame.getByte(index) != Type.COMMAND.ordinal()) {
+            return false;
+        }
+        byte command = frame.getByte(index + 1);
+        return command == Command.PING.code() || command == Command.PONG.code() || command == Command.ACK.code();
+    }
+
+    private void processMessage(ByteBuf frame) {
         try {
+            // A view of the frame, not a copy.
+            ByteBuffer buffer = frame.nioBuffer();
             switch (Type.values()[buffer.get()]) {
                 case USER_DEFINE:
                     if (directListener != null) {
@@ -193,13 +338,40 @@ public class Channel implements io.dingodb.net.Channel {
                     processCommand(buffer);
                     break;
                 case API:
-                    API_REGISTRY.invoke(this, buffer);
+                    // Api implementations may block, e.g. on a call to another node, so they are invoked off the
+                    // stripe, which is shared with other channels.
+                    frame.retain();
+                    Executors.execute("net-api-invoke", () -> {
+                        try {
+                            API_REGISTRY.invoke(this, buffer);
+                        } finally {
+                            frame.release();
+                        }
+                    });
+                    break;
+                case CALL:
+                    frame.retain();
+                    Executors.execute("net-api-invoke", () -> {
+                        try {
+                            API_REGISTRY.call(this, buffer);
+                        } finally {
+                            frame.release();
+                        }
+                    });
+                    break;
+                case RESULT:
+                    connection.apiCalls().onResult(buffer);
+                    break;
+                case CALL_CANCEL:
+                    connection.apiCalls().onCancel(buffer);
                     break;
                 default:
                     throw new IllegalStateException("Unexpected value: " + Type.values()[buffer.get()]);
             }
         } catch (Exception e) {
             log.error("Process message failed.", e);
+        } finally {
+            frame.release();
         }
     }
 
@@ -17,11 +17,18 @@
 package io.dingodb.net.netty.connection;
 
 import io.dingodb.common.Location;
-import io.dingodb.common.concurrent.LinkedRunner;
 import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.net.netty.NetServiceConfiguration;
+import io.dingodb.net.netty.NettyEventLoops;
+import io.dingodb.net.netty.api.ApiCalls;
 import io.dingodb.net.netty.channel.Channel;
+import io.dingodb.net.netty.packet.Command;
+import io.dingodb.net.netty.packet.Type;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOutboundInvoker;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.AttributeMap;
 import lombok.Getter;
@@ -29,10 +36,22 @@ import lombok.experimental.Accessors;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * A connection to a remote, multiplexing the channels over one socket.
+ *
+ * <p>Messages are written in the event loop of the socket and flushed once per event loop iteration, or as soon as
+ * {@link NetServiceConfiguration#flushBytes()} bytes are not flushed, so messages sent close together share the
+ * syscalls. Async senders wait while the outbound bytes are above the high water mark of the socket.
+ *
+ * <p>Received frames are queued on their channel and processed on the stripes of
+ * {@link NettyEventLoops#dispatcher()}, the connection stops reading the socket while a channel has more than
+ * {@link NetServiceConfiguration#pendingFramesHighWaterMark()} frames not processed, so a slow receiver pushes back
+ * on the sender through tcp.
+ */
 @Slf4j
 @Accessors(fluent = true)
 public abstract class Connection  {
@@ -42,12 +61,28 @@ public abstract class Connection  {
     @Getter
     protected final Channel channel;
     @Getter
+    protected final ApiCalls apiCalls = new ApiCalls(this);
+    @Getter
     protected Location remoteLocation;
     protected Location localLocation;
     @Getter
     @Delegate(excludes = {ChannelOutboundInvoker.class, AttributeMap.class})
     protected SocketChannel socketChannel;
 
+    private static final int FLUSH_BYTES = NetServiceConfiguration.flushBytes();
+
+    private final Object writableLock = new Object();
+    private final Runnable flushTask = this::flush;
+    // Only accessed in the event loop.
+    private boolean flushScheduled = false;
+    private long unflushedBytes = 0;
+
+    private final Object readingLock = new Object();
+    // Guarded by readingLock.
+    private int suspendedChannels = 0;
+    private volatile boolean reading = true;
+    private volatile long lastReadNanos = System.nanoTime();
+
     public Connection(Location remoteLocation, Location localLocation) {
         this.remoteLocation = remoteLocation;
         this.localLocation = localLocation;
@@ -57,18 +92,166 @@ public abstract class Connection  {
 
     protected abstract Map<Long, Channel> createChannels();
 
-    public abstract void receive(ByteBuffer message);
+    /**
+     * Receive a frame, the frame is released by the connection or the channel it is dispatched to.
+     */
+    public abstract void receive(ByteBuf message);
 
     public Location localLocation() {
         return DingoConfiguration.instance() == null ? localLocation : DingoConfiguration.location();
     }
 
+    /**
+     * Send the message and wait it written to the socket.
+     */
     public void send(ByteBuf message) throws InterruptedException {
-        socketChannel.writeAndFlush(message).await();
+        ChannelFuture future = write(message);
+        if (!future.await().isSuccess()) {
+            throw new RuntimeException(future.cause());
+        }
+    }
+
+    /**
+     * Send the message without waiting it written, returns the future of the write.
+     */
+    public ChannelFuture sendAsync(ByteBuf message) {
+        awaitWritable();
+        return write(message);
+    }
+
+    private ChannelFuture write(ByteBuf message) {
+        ChannelPromise promise = socketChannel.newPromise();
+        if (socketChannel.eventLoop().inEventLoop()) {
+            write(message, promise);
+        } else {
+            socketChannel.eventLoop().execute(() -> write(message, promise));
+        }
+        return promise;
+    }
+
+    private void write(ByteBuf message, ChannelPromise promise) {
+        unflushedBytes += message.readableBytes();
+        socketChannel.write(message, promise);
+        if (unflushedBytes >= FLUSH_BYTES) {
+            flush();
+        } else if (!flushScheduled) {
+            // The flush task runs after the writes already submitted to the event loop.
+            flushScheduled = true;
+            socketChannel.eventLoop().execute(flushTask);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        unflushedBytes = 0;
+        socketChannel.flush();
+    }
+
+    private void awaitWritable() {
+        if (socketChannel.isWritable() || socketChannel.eventLoop().inEventLoop()) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(NetServiceConfiguration.apiTimeout());
+        synchronized (writableLock) {
+            while (!socketChannel.isWritable() && socketChannel.isActive()) {
+                long waitMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (waitMillis <= 0) {
+                    log.warn("Wait connection to [{}] writable timeout.", remoteLocation.getUrl());
+                    return;
+                }
+                try {
+                    writableLock.wait(waitMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by the handler of the socket when its writability is changed.
+     */
+    public void onWritabilityChanged() {
+        if (socketChannel.isWritable()) {
+            synchronized (writableLock) {
+                writableLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Called by the handler of the socket when bytes are read, any received frame proves the remote alive.
+     */
+    public void onRead() {
+        lastReadNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} of the last read.
+     */
+    public long lastReadNanos() {
+        return lastReadNanos;
+    }
+
+    /**
+     * Send a ping on the default channel, the remote answers with a pong.
+     */
+    public void ping() {
+        channel.sendAsync(channel.buffer(Type.COMMAND, 1).writeByte(Command.PING.code()));
     }
 
-    public void sendAsync(ByteBuf message) {
-        socketChannel.writeAndFlush(message);
+    /**
+     * Called by a channel when it has too many pending frames, the socket is not read until every suspended
+     * channel resumed.
+     */
+    public void suspendReading() {
+        synchronized (readingLock) {
+            if (suspendedChannels++ == 0) {
+                reading = false;
+                socketChannel.config().setAutoRead(false);
+                log.warn("Connection to [{}] has a channel with too many pending frames, stop reading.",
+                    remoteLocation.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Called by a suspended channel when its pending frames are processed.
+     */
+    public void resumeReading() {
+        synchronized (readingLock) {
+            if (--suspendedChannels == 0) {
+                // Not read while suspended, so the silence is not counted against the remote.
+                onRead();
+                reading = true;
+                socketChannel.config().setAutoRead(true);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code false} while the socket is not read because of too many pending frames.
+     */
+    public boolean reading() {
+        return reading;
+    }
+
+    /**
+     * Send a frame made of {@code header} followed by {@code region}, the region is written with sendfile
+     * when the transport supports it. Both are written in one event loop task, so no other frame can be
+     * interleaved between them.
+     */
+    public void send(ByteBuf header, FileRegion region) throws InterruptedException {
+        ChannelPromise promise = socketChannel.newPromise();
+        socketChannel.eventLoop().execute(() -> {
+            socketChannel.write(header);
+            socketChannel.write(region, promise);
+            flush();
+        });
+        if (!promise.await().isSuccess()) {
+            throw new RuntimeException(promise.cause());
+        }
     }
 
     /**
@@ -79,7 +262,7 @@ public abstract class Connection  {
 
     protected Channel createChannel(long channelId) {
         return new Channel(
-            channelId, this, new LinkedRunner(channelName(remoteLocation.getUrl(), channelId)), channels::remove
+            channelId, this, NettyEventLoops.dispatcher().next(), channels::remove
         );
     }
 
@@ -92,6 +275,7 @@ public abstract class Connection  {
     }
 
     public void close() {
+        apiCalls.close();
         channel.shutdown();
         channels.values().forEach(Channel::shutdown);
         channels.clear();
@@ -18,6 +18,7 @@ package io.dingodb.net.netty.connection;
 
 import io.dingodb.common.Location;
 import io.dingodb.net.NetError;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
@@ -28,6 +29,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ConnectionManager implements AutoCloseable {
 
     private final Map<Location, Connection> connections = new ConcurrentHashMap<>(8);
+    @Getter
+    private final HostHeartbeats heartbeats = new HostHeartbeats();
 
     public Connection open(Location location) {
         if (connections.containsKey(location)) {
@@ -42,6 +45,7 @@ public class ConnectionManager implements AutoCloseable {
             connection.close();
             throw e;
         }
+        heartbeats.add(connection);
         connection.socketChannel().closeFuture().addListener(future -> onClose(connection));
         return connection;
     }
@@ -56,9 +60,11 @@ public class ConnectionManager implements AutoCloseable {
 
     public void onOpen(Connection connection) {
         connections.put(connection.remoteLocation(), connection);
+        heartbeats.add(connection);
     }
 
     public void onClose(Connection connection) {
+        heartbeats.remove(connection);
         try {
             connections.remove(connection.remoteLocation()).close();
         } catch (Exception e) {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.connection;
+
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.net.netty.NetServiceConfiguration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Liveness of the remote hosts, shared by all the client and accepted connections of the same host, so there is one
+ * timer for the process and at most one ping per host and interval, whatever the number of connections.
+ *
+ * <p>Any frame received on any connection of a host proves the host alive, a ping is sent only if nothing is
+ * received from the host for an interval, on its connection received from least recently. If nothing is received
+ * from the host for {@link NetServiceConfiguration#heartbeat()} seconds, the host is down, its connections are
+ * closed and the failure listeners are called with the host name.
+ *
+ * <p>A connection not reading because of the receive backpressure is not silent by the remote, so its host is
+ * treated as alive until it reads again.
+ */
+@Slf4j
+public class HostHeartbeats {
+
+    private static final long INTERVAL_SECONDS = 1;
+
+    private final LongSupplier clock;
+    private final long intervalNanos;
+    private final long timeoutNanos;
+    private final boolean scheduled;
+
+    private final Map<String, Set<Connection>> hosts = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> failureListeners = new CopyOnWriteArrayList<>();
+
+    private volatile ScheduledFuture<?> checker;
+
+    public HostHeartbeats() {
+        this(
+            System::nanoTime,
+            TimeUnit.SECONDS.toNanos(INTERVAL_SECONDS),
+            TimeUnit.SECONDS.toNanos(NetServiceConfiguration.heartbeat()),
+            true
+        );
+    }
+
+    /**
+     * Create with the clock and durations, {@link #check()} is called by the caller if not {@code scheduled}.
+     */
+    HostHeartbeats(LongSupplier clock, long intervalNanos, long timeoutNanos, boolean scheduled) {
+        this.clock = clock;
+        this.intervalNanos = intervalNanos;
+        this.timeoutNanos = timeoutNanos;
+        this.scheduled = scheduled;
+    }
+
+    public void add(Connection connection) {
+        hosts.computeIfAbsent(connection.remoteLocation().getHost(), k -> ConcurrentHashMap.newKeySet())
+            .add(connection);
+        if (scheduled && checker == null) {
+            synchronized (this) {
+                if (checker == null) {
+                    checker = Executors.scheduleWithFixedDelayAsync(
+                        "net-heartbeat", this::check, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS
+                    );
+                }
+            }
+        }
+    }
+
+    public void remove(Connection connection) {
+        hosts.computeIfPresent(connection.remoteLocation().getHost(), (host, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    public void addFailureListener(Consumer<String> listener) {
+        failureListeners.add(listener);
+    }
+
+    public void removeFailureListener(Consumer<String> listener) {
+        failureListeners.remove(listener);
+    }
+
+    void check() {
+        long now = clock.getAsLong();
+        hosts.forEach((host, connections) -> {
+            Connection leastRecent = null;
+            long leastRecentRead = 0;
+            long lastRead = 0;
+            for (Connection connection : connections) {
+                if (!connection.reading()) {
+                    // Suspended by the local backpressure, the remote may be sending.
+                    return;
+                }
+                long connectionLastRead = connection.lastReadNanos();
+                if (leastRecent == null) {
+                    leastRecent = connection;
+                    leastRecentRead = connectionLastRead;
+                    lastRead = connectionLastRead;
+                    continue;
+                }
+                // Compared by difference, the nano time may overflow.
+                if (connectionLastRead - lastRead > 0) {
+                    lastRead = connectionLastRead;
+                }
+                if (connectionLastRead - leastRecentRead < 0) {
+                    leastRecent = connection;
+                    leastRecentRead = connectionLastRead;
+                }
+            }
+            if (leastRecent == null) {
+                return;
+            }
+            long silent = now - lastRead;
+            if (silent >= timeoutNanos) {
+                onFailure(host, silent);
+            } else if (silent >= intervalNanos) {
+                try {
+                    leastRecent.ping();
+                } catch (Exception e) {
+                    log.warn("Send heartbeat to [{}] error.", leastRecent.remoteLocation().getUrl(), e);
+                }
+            }
+        });
+    }
+
+    private void onFailure(String host, long silent) {
+        Set<Connection> connections = hosts.remove(host);
+        if (connections == null) {
+            return;
+        }
+        log.warn(
+            "Nothing received from host [{}] for {}ms, close its {} connections.",
+            host, TimeUnit.NANOSECONDS.toMillis(silent), connections.size()
+        );
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                log.error("Close connection to [{}] error.", connection.remoteLocation().getUrl(), e);
+            }
+        }
+        for (Consumer<String> listener : failureListeners) {
+            try {
+                listener.accept(host);
+            } catch (Exception e) {
+                log.error("Call failure listener of host [{}] error.", host, e);
+            }
+        }
+    }
+
+}
@@ -18,11 +18,11 @@ package io.dingodb.net.netty.connection;
 
 import io.dingodb.common.Location;
 import io.dingodb.net.netty.channel.Channel;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.socket.SocketChannel;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -55,11 +55,8 @@ public class ServerConnection extends Connection {
     }
 
     @Override
-    public void receive(ByteBuffer message) {
-        if (message == null) {
-            return;
-        }
-        long channelId = message.getLong();
+    public void receive(ByteBuf message) {
+        long channelId = message.readLong();
         Channel channel = channels.get(channelId);
         if (channel == null) {
             channel = createChannel(channelId);
@@ -23,7 +23,6 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.CorruptedFrameException;
 import lombok.extern.slf4j.Slf4j;
 
-import java.nio.ByteBuffer;
 import java.util.List;
 
 @Slf4j
@@ -45,7 +44,10 @@ public class MessageHandler extends ByteToMessageDecoder {
             return;
         }
         // if read throw exception, must close connection
-        ByteBuffer message = read(in);
+        ByteBuf message = read(in);
+        if (message == null) {
+            return;
+        }
         try {
             connection.receive(message);
         } catch (Exception e) {
@@ -53,7 +55,23 @@ public class MessageHandler extends ByteToMessageDecoder {
         }
     }
 
-    private static ByteBuffer read(ByteBuf buf) {
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        connection.onRead();
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        connection.onWritabilityChanged();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    /**
+     * Returns a retained slice of the next frame without copying it, the connection releases it after the frame is
+     * processed.
+     */
+    private static ByteBuf read(ByteBuf buf) {
         if (buf.readableBytes() < 5) {
             return null;
         }
@@ -69,9 +87,7 @@ public class MessageHandler extends ByteToMessageDecoder {
             buf.resetReaderIndex();
             return null;
         }
-        ByteBuffer buffer = ByteBuffer.allocate(length);
-        buf.readBytes(buffer);
-        return (ByteBuffer) buffer.flip();
+        return buf.readRetainedSlice(length);
     }
 
 }
@@ -16,31 +16,25 @@
 
 package io.dingodb.net.netty.listener.impl;
 
-import io.dingodb.common.concurrent.ThreadPoolBuilder;
-import io.dingodb.net.netty.NetServiceConfiguration;
+import io.dingodb.net.netty.NettyEventLoops;
 import io.dingodb.net.netty.connection.ConnectionManager;
 import io.dingodb.net.netty.connection.ServerConnection;
 import io.dingodb.net.netty.handler.ExceptionHandler;
 import io.dingodb.net.netty.handler.MessageHandler;
 import io.dingodb.net.netty.listener.PortListener;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.timeout.IdleStateHandler;
 import lombok.Builder;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-
 @Builder
 public class NettyServer implements PortListener {
 
     private final ConnectionManager connectionManager;
     private final int port;
-    private EventLoopGroup eventLoopGroup;
     private ServerBootstrap server;
+    private Channel serverChannel;
 
     @Override
     public int port() {
@@ -49,18 +43,12 @@ public class NettyServer implements PortListener {
 
     @Override
     public void init() {
-        server = new ServerBootstrap();
-        eventLoopGroup = new NioEventLoopGroup(2, new ThreadPoolBuilder().name("Netty server " + port).build());
-        server
-            .localAddress(port)
-            .channel(NioServerSocketChannel.class)
-            .group(eventLoopGroup)
-            .childHandler(channelInitializer());
+        server = NettyEventLoops.serverBootstrap(port, channelInitializer());
     }
 
     @Override
     public void start() throws Exception {
-        server.bind().sync().await();
+        serverChannel = server.bind().sync().channel();
     }
 
     private ChannelInitializer<SocketChannel> channelInitializer() {
@@ -70,7 +58,6 @@ public class NettyServer implements PortListener {
                 ServerConnection connection = new ServerConnection(ch);
                 ch.pipeline()
                     .addLast(new MessageHandler(connection))
-                    .addLast(new IdleStateHandler(NetServiceConfiguration.INSTANCE.getHeartbeat(), 0, 0, SECONDS))
                     .addLast(new ExceptionHandler(connection));
                 connectionManager.onOpen(connection);
                 ch.closeFuture().addListener(future -> connectionManager.onClose(connection));
@@ -80,7 +67,10 @@ public class NettyServer implements PortListener {
 
     @Override
     public void close() {
-        eventLoopGroup.shutdownGracefully();
+        // The event loops are shared, only the listening channel is closed.
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
     }
 
 }
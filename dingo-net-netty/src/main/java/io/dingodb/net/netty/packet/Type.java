@@ -21,5 +21,8 @@ public enum Type {
     COMMAND,
     API,
     HANDSHAKE,
+    CALL,
+    RESULT,
+    CALL_CANCEL,
     ;
 }
@@ -24,7 +24,8 @@ import io.dingodb.net.Message;
 import io.dingodb.net.netty.NettyNetService;
 import io.dingodb.net.netty.NettyNetServiceProvider;
 import io.dingodb.net.netty.channel.Channel;
-import io.netty.buffer.ByteBuf;
+import io.netty.channel.DefaultFileRegion;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
@@ -34,28 +35,43 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
+import java.util.zip.CRC32;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
 import static io.dingodb.net.Message.FILE_TRANSFER;
 import static io.dingodb.net.netty.packet.Type.USER_DEFINE;
 
+/**
+ * Transfer files between nodes, a file is split into ranges sent on parallel channels. Each range is sent
+ * as chunks through {@link DefaultFileRegion} (sendfile where the transport supports it), followed by the
+ * CRC32 of the range. The receiver writes the chunks at their position through a {@link FileChannel}, and
+ * a range that fails or mismatches the checksum is sent again, not the whole file.
+ */
+@Slf4j
 @AutoService(io.dingodb.net.service.FileTransferService.class)
 public class FileTransferService implements io.dingodb.net.service.FileTransferService {
 
     private static final NettyNetService netService = NettyNetServiceProvider.NET_SERVICE_INSTANCE;
 
+    private static final byte DATA = 0;
+    private static final byte END = 1;
+
+    private static final byte OK = 1;
+    private static final byte FAILED = 0;
+
     static {
         netService.registerTagMessageListener(
             FILE_TRANSFER,
             (msg, ch) -> {
                 try {
-                    ((Channel) ch).directListener(
-                        new Receiver(Paths.get(PrimitiveCodec.readString(msg.content())), (Channel) ch)
-                    );
+                    Receiver receiver = new Receiver(ByteBuffer.wrap(msg.content()), (Channel) ch);
+                    ((Channel) ch).blocking().directListener(receiver);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
                 }
@@ -63,7 +79,14 @@ public class FileTransferService implements io.dingodb.net.service.FileTransferS
         );
     }
 
+    // Reused to read the ranges for the checksum, mapping each block leaves the mappings to the gc.
+    private static final ThreadLocal<ByteBuffer> CHECKSUM_BUFFER =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
+
     private final int block = 1024 * 1024 * 4;
+    private final long streamMinSize = 1024 * 1024 * 64;
+    private final int maxStreams = 4;
+    private final int retry = 3;
 
     public FileTransferService() {
     }
@@ -97,43 +120,118 @@ public class FileTransferService implements io.dingodb.net.service.FileTransferS
             }
             return;
         }
+        long size = source.toFile().length();
+        int streams = (int) Math.max(1, Math.min(maxStreams, size / streamMinSize));
+        long rangeSize = (size + streams - 1) / streams;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            long offset = i * rangeSize;
+            long length = Math.max(0, Math.min(rangeSize, size - offset));
+            futures.add(Executors.submit(
+                "transfer-to-" + location.getUrl(),
+                () -> transferRangeWithRetry(location, source, target, offset, length, size)
+            ));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void transferRangeWithRetry(
+        Location location, Path source, Path target, long offset, long length, long size
+    ) {
+        for (int i = 1; ; i++) {
+            try {
+                transferRange(location, source, target, offset, length, size);
+                return;
+            } catch (Exception e) {
+                if (i >= retry) {
+                    throw e;
+                }
+                log.warn(
+                    "Transfer {} [{}, {}) to {} failed, retry {}.", source, offset, offset + length, location, i, e
+                );
+            }
+        }
+    }
+
+    private void transferRange(Location location, Path source, Path target, long offset, long length, long size) {
         Channel ch = netService.newChannel(location);
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        ch.directListener(__ -> future.complete(null));
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        ch.directListener(buffer -> future.complete(Message.decode(buffer).content()[0] == OK));
         ch.setCloseListener(__ -> {
             if (!future.isDone()) {
-                future.completeExceptionally(new RuntimeException("Unknown!"));
+                future.completeExceptionally(new RuntimeException("Channel closed before transfer finished."));
             }
         });
-        try (FileChannel fileChannel = FileChannel.open(source, StandardOpenOption.READ)) {
-            ch.send(new Message(FILE_TRANSFER, PrimitiveCodec.encodeString(target.toAbsolutePath().toString())));
-            long position = 0, size = fileChannel.size();
-            int read;
-            ByteBuf buffer;
-            while (position < size) {
-                read = (int) Math.min(size - position, block);
-                position += (buffer = ch.buffer(USER_DEFINE, read)).writeBytes(fileChannel, position, read);
-                ch.send(buffer);
+        try {
+            byte[] targetPath = PrimitiveCodec.encodeString(target.toAbsolutePath().toString());
+            ch.send(new Message(FILE_TRANSFER, ByteBuffer.allocate(targetPath.length + 24)
+                .put(targetPath).putLong(offset).putLong(length).putLong(size).array()));
+            CRC32 crc32 = new CRC32();
+            try (FileChannel fileChannel = FileChannel.open(source, StandardOpenOption.READ)) {
+                long position = offset;
+                long end = offset + length;
+                while (position < end) {
+                    int count = (int) Math.min(end - position, block);
+                    updateChecksum(crc32, fileChannel, position, count);
+                    ch.send(
+                        ch.header(USER_DEFINE, 1 + count).writeByte(DATA),
+                        new DefaultFileRegion(source.toFile(), position, count)
+                    );
+                    position += count;
+                }
+            }
+            ch.send(ch.buffer(USER_DEFINE, 1 + 8).writeByte(END).writeLong(crc32.getValue()));
+            if (!future.join()) {
+                throw new RuntimeException("Transfer " + source + " checksum mismatch.");
             }
-            ch.send(ch.buffer(USER_DEFINE, 0));
-            future.join();
+        } catch (RuntimeException e) {
+            ch.close();
+            throw e;
         } catch (Exception e) {
             ch.close();
             throw new RuntimeException(e);
         }
     }
 
+    private static void updateChecksum(
+        CRC32 crc32, FileChannel fileChannel, long position, int count
+    ) throws IOException {
+        ByteBuffer buffer = CHECKSUM_BUFFER.get();
+        long end = position + count;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = fileChannel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file at " + position + ".");
+            }
+            buffer.flip();
+            crc32.update(buffer);
+            position += read;
+        }
+    }
+
     static class Receiver implements Consumer<ByteBuffer> {
 
         private final FileChannel fileChannel;
         private final Path path;
         private final Channel channel;
+        private final CRC32 crc32 = new CRC32();
+        private final long offset;
+        private final long length;
+        private long position;
 
-        public Receiver(Path path, Channel channel) throws Exception {
-            Files.deleteIfExists(path);
+        public Receiver(ByteBuffer content, Channel channel) throws Exception {
+            this.path = Paths.get(PrimitiveCodec.readString(content));
             Files.createDirectories(path.getParent());
-            this.path = path;
+            this.offset = content.getLong();
+            this.length = content.getLong();
+            long size = content.getLong();
+            this.position = offset;
             this.fileChannel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            if (fileChannel.size() > size) {
+                fileChannel.truncate(size);
+            }
             this.channel = channel;
             channel.setCloseListener(wrap(ch -> {
                 fileChannel.close();
@@ -143,11 +241,21 @@ public class FileTransferService implements io.dingodb.net.service.FileTransferS
         @Override
         public void accept(ByteBuffer buffer) {
             try {
-                if (!buffer.hasRemaining()) {
-                    channel.send(Message.EMPTY);
+                if (buffer.get() == END) {
+                    boolean ok = position == offset + length && buffer.getLong() == crc32.getValue();
+                    if (!ok) {
+                        log.warn(
+                            "Receive {} [{}, {}) failed, received to {}.", path, offset, offset + length, position
+                        );
+                    }
+                    fileChannel.force(false);
+                    channel.send(new Message(FILE_TRANSFER, new byte[] {ok ? OK : FAILED}));
                     channel.close();
                 } else {
-                    this.fileChannel.write(buffer);
+                    crc32.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        position += this.fileChannel.write(buffer, position);
+                    }
                 }
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.net.netty.api;
+
+import io.dingodb.common.Location;
+import io.dingodb.net.netty.channel.Channel;
+import io.dingodb.net.netty.connection.Connection;
+import io.dingodb.net.netty.packet.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+public class TestApiCalls {
+    private static final byte OK = 1;
+
+    private final List<Type> sentTypes = new ArrayList<>();
+    private final List<ByteBuf> sentFrames = new ArrayList<>();
+    private final List<Runnable> deadlines = new ArrayList<>();
+    private ApiCalls apiCalls;
+    private ApiMethod apiMethod;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        when(channel.buffer(any(Type.class), anyInt())).thenAnswer(invocation -> {
+            sentTypes.add(invocation.getArgument(0));
+            ByteBuf frame = Unpooled.buffer();
+            sentFrames.add(frame);
+            return frame;
+        });
+        ChannelFuture sendFuture = Mockito.mock(ChannelFuture.class);
+        when(sendFuture.addListener(any())).thenReturn(sendFuture);
+        when(channel.sendAsync(any(ByteBuf.class))).thenReturn(sendFuture);
+        EventLoop eventLoop = Mockito.mock(EventLoop.class);
+        when(eventLoop.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            deadlines.add(invocation.getArgument(0));
+            return Mockito.mock(ScheduledFuture.class);
+        });
+        Connection connection = Mockito.mock(Connection.class);
+        when(connection.channel()).thenReturn(channel);
+        when(connection.eventLoop()).thenReturn(eventLoop);
+        when(connection.remoteLocation()).thenReturn(new Location("localhost", 9999));
+        apiCalls = new ApiCalls(connection);
+        apiMethod = ApiMethod.of("test", Object.class.getMethod("toString"));
+    }
+
+    private long lastRequestId() {
+        return sentFrames.get(sentFrames.size() - 1).getLong(0);
+    }
+
+    private ByteBuffer result(long requestId, Object result) {
+        byte[] content = apiMethod.codec().encodeResult(result);
+        return (ByteBuffer) ByteBuffer.allocate(8 + 1 + content.length)
+            .putLong(requestId)
+            .put(OK)
+            .put(content)
+            .flip();
+    }
+
+    private static ByteBuffer requestId(long requestId) {
+        return (ByteBuffer) ByteBuffer.allocate(8).putLong(requestId).flip();
+    }
+
+    @Test
+    public void testResultById() {
+        CompletableFuture<Object> call1 = apiCalls.call(apiMethod, new Object[0], 0);
+        long requestId1 = lastRequestId();
+        CompletableFuture<Object> call2 = apiCalls.call(apiMethod, new Object[0], 0);
+        long requestId2 = lastRequestId();
+        assertThat(sentTypes).containsExactly(Type.CALL, Type.CALL);
+        assertThat(requestId2).isNotEqualTo(requestId1);
+        assertThat(sentFrames.get(0).getInt(8)).isEqualTo(apiMethod.id());
+        assertThat(sentFrames.get(0).getInt(12)).isEqualTo(apiMethod.check());
+
+        // The results may come in any order.
+        apiCalls.onResult(result(requestId2, "result2"));
+        assertThat(call2.join()).isEqualTo("result2");
+        assertThat(call1).isNotDone();
+        apiCalls.onResult(result(requestId1, null));
+        assertThat(call1.join()).isNull();
+
+        // A duplicated or unknown result is dropped.
+        apiCalls.onResult(result(requestId1, "again"));
+        assertThat(call1.join()).isNull();
+    }
+
+    @Test
+    public void testDeadline() {
+        CompletableFuture<Object> call = apiCalls.call(apiMethod, new Object[0], 1);
+        long requestId = lastRequestId();
+        assertThat(deadlines).hasSize(1);
+
+        deadlines.get(0).run();
+        assertThatThrownBy(call::join).hasRootCauseInstanceOf(TimeoutException.class);
+        // The callee is told to stop, and the late result is dropped.
+        assertThat(sentTypes).containsExactly(Type.CALL, Type.CALL_CANCEL);
+        assertThat(sentFrames.get(1).getLong(0)).isEqualTo(requestId);
+        apiCalls.onResult(result(requestId, "late"));
+        assertThat(call).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testCancelByCaller() {
+        CompletableFuture<Object> call = apiCalls.call(apiMethod, new Object[0], 0);
+        long requestId = lastRequestId();
+        call.cancel(true);
+        assertThat(sentTypes).containsExactly(Type.CALL, Type.CALL_CANCEL);
+        assertThat(sentFrames.get(1).getLong(0)).isEqualTo(requestId);
+    }
+
+    @Test
+    public void testOnCancel() {
+        CompletableFuture<Object> serving = new CompletableFuture<>();
+        CompletableFuture<Object> served = new CompletableFuture<>();
+        apiCalls.serve(1, serving);
+        apiCalls.serve(2, served);
+        served.complete("done");
+
+        apiCalls.onCancel(requestId(1));
+        apiCalls.onCancel(requestId(2));
+        assertThat(serving).isCancelled();
+        assertThat(served.join()).isEqualTo("done");
+    }
+
+    @Test
+    public void testClose() {
+        CompletableFuture<Object> call = apiCalls.call(apiMethod, new Object[0], 0);
+        long requestId = lastRequestId();
+        CompletableFuture<Object> serving = new CompletableFuture<>();
+        apiCalls.serve(1, serving);
+
+        apiCalls.close();
+        assertThatThrownBy(call::join).hasRootCauseMessage("Connection closed");
+        assertThat(serving).isCancelled();
+        // The calls are removed, a result after close is dropped.
+        apiCalls.onResult(result(requestId, "late"));
+        assertThat(call).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.api;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.net.Channel;
+import io.dingodb.net.api.annotation.ApiDeclaration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestApiCodec {
+
+    enum Color {
+        RED, GREEN
+    }
+
+    interface TestApi {
+        @ApiDeclaration
+        void all(
+            Channel channel,
+            int i,
+            long l,
+            boolean b,
+            double d,
+            Integer boxed,
+            String s,
+            byte[] bytes,
+            CommonId id,
+            Location location,
+            Color color,
+            List<String> list
+        );
+
+        @ApiDeclaration
+        CompletableFuture<Location> async();
+
+        @ApiDeclaration
+        long count();
+    }
+
+    private static ApiMethod apiMethod(String name) throws NoSuchMethodException {
+        return ApiMethod.of(Arrays.stream(TestApi.class.getMethods())
+            .filter(method -> method.getName().equals(name))
+            .findAny()
+            .orElseThrow(NoSuchMethodException::new));
+    }
+
+    @Test
+    public void testArgs() throws Exception {
+        ApiCodec codec = apiMethod("all").codec();
+        CommonId id = new CommonId((byte) 'T', new byte[] {'a', 'b'}, new byte[] {0, 0, 0, 1}, 2);
+        Object[] args = {
+            null, 1, 2L, true, 3.0, null, "str", new byte[] {4, 5}, id, new Location("host", 1, 2), Color.GREEN,
+            new ArrayList<>(Arrays.asList("a", "b"))
+        };
+        Object[] decoded = codec.decodeArgs(ByteBuffer.wrap(codec.encodeArgs(args)));
+        assertThat(decoded).hasSize(args.length);
+        assertThat(decoded[0]).isNull();
+        assertThat(Arrays.copyOfRange(decoded, 1, 7)).containsExactly(1, 2L, true, 3.0, null, "str");
+        assertThat((byte[]) decoded[7]).containsExactly(4, 5);
+        assertThat(decoded[8]).isEqualTo(id);
+        assertThat(decoded[9]).isEqualTo(new Location("host", 1, 2));
+        assertThat(((Location) decoded[9]).getRaftPort()).isEqualTo(2);
+        assertThat(decoded[10]).isEqualTo(Color.GREEN);
+        assertThat((List<?>) decoded[11]).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testNullArgs() throws Exception {
+        ApiCodec codec = apiMethod("all").codec();
+        Object[] args = {null, 1, 2L, false, 3.0, null, null, null, null, null, null, null};
+        Object[] decoded = codec.decodeArgs(ByteBuffer.wrap(codec.encodeArgs(args)));
+        assertThat(decoded).containsExactly(args);
+    }
+
+    @Test
+    public void testResult() throws Exception {
+        ApiCodec codec = apiMethod("async").codec();
+        Location location = new Location("host", 1);
+        assertThat(codec.decodeResult(ByteBuffer.wrap(codec.encodeResult(location)))).isEqualTo(location);
+        assertThat(codec.decodeResult(ByteBuffer.wrap(codec.encodeResult(null)))).isNull();
+        codec = apiMethod("count").codec();
+        assertThat(codec.encodeResult(1L)).hasSize(8);
+        assertThat(codec.decodeResult(ByteBuffer.wrap(codec.encodeResult(1L)))).isEqualTo(1L);
+    }
+
+    @Test
+    public void testNoArgs() throws Exception {
+        ApiCodec codec = apiMethod("count").codec();
+        assertThat(codec.encodeArgs(null)).isEmpty();
+        assertThat(codec.decodeArgs(ByteBuffer.allocate(0))).isEmpty();
+    }
+
+    @Test
+    public void testNameCheck() {
+        // The names have the same hash, the checks tell them apart.
+        assertThat(ApiMethod.id("Aa")).isEqualTo(ApiMethod.id("BB"));
+        assertThat(ApiMethod.check("Aa")).isNotEqualTo(ApiMethod.check("BB"));
+    }
+}
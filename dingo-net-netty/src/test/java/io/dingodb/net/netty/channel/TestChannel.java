@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.channel;
+
+import io.dingodb.net.netty.NetServiceConfiguration;
+import io.dingodb.net.netty.connection.Connection;
+import io.dingodb.net.netty.packet.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TestChannel {
+
+    private static ByteBuf frame(int value) {
+        return Unpooled.buffer().writeByte(Type.USER_DEFINE.ordinal()).writeInt(value);
+    }
+
+    @Test
+    public void testSuspendReadingPerChannel() {
+        int highWaterMark = NetServiceConfiguration.pendingFramesHighWaterMark();
+        Connection connection = Mockito.mock(Connection.class);
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Channel channel = new Channel(1, connection, tasks::add, id -> { });
+        List<Integer> received = new ArrayList<>();
+        channel.directListener(buffer -> received.add(buffer.getInt()));
+
+        for (int i = 0; i < highWaterMark; i++) {
+            channel.receive(frame(i));
+        }
+        // One drain task per channel, however many frames are queued.
+        assertThat(tasks).hasSize(1);
+        verify(connection).suspendReading();
+        verify(connection, never()).resumeReading();
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        verify(connection, times(1)).resumeReading();
+        assertThat(received).isEqualTo(IntStream.range(0, highWaterMark).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testNotDropOnFullStripe() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Channel channel = new Channel(2, connection, task -> {
+            throw new RejectedExecutionException("full");
+        }, id -> { });
+        int count = 100;
+        CountDownLatch latch = new CountDownLatch(count);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        channel.directListener(buffer -> {
+            received.add(buffer.getInt());
+            latch.countDown();
+        });
+
+        for (int i = 0; i < count; i++) {
+            channel.receive(frame(i));
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).isEqualTo(IntStream.range(0, count).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testBlockingOffStripe() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Channel channel = new Channel(3, connection, tasks::add, id -> { }).blocking();
+        CountDownLatch latch = new CountDownLatch(1);
+        channel.directListener(buffer -> latch.countDown());
+
+        channel.receive(frame(0));
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(tasks).isEmpty();
+    }
+}
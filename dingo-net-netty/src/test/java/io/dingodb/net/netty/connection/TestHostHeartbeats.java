@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.net.netty.connection;
+
+import io.dingodb.common.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestHostHeartbeats {
+    private static final long INTERVAL = 1_000;
+    private static final long TIMEOUT = 3_000;
+
+    private final AtomicLong now = new AtomicLong(Long.MAX_VALUE - 2_000);
+    private final List<String> failures = new ArrayList<>();
+    private HostHeartbeats heartbeats;
+
+    @BeforeEach
+    public void setup() {
+        heartbeats = new HostHeartbeats(now::get, INTERVAL, TIMEOUT, false);
+        heartbeats.addFailureListener(failures::add);
+    }
+
+    private Connection connection(String host, int port) {
+        Connection connection = Mockito.mock(Connection.class);
+        when(connection.remoteLocation()).thenReturn(new Location(host, port));
+        when(connection.reading()).thenReturn(true);
+        when(connection.lastReadNanos()).thenReturn(now.get());
+        return connection;
+    }
+
+    @Test
+    public void testPingThenFailure() {
+        Connection connection = connection("host1", 1000);
+        heartbeats.add(connection);
+        heartbeats.check();
+        verify(connection, never()).ping();
+
+        now.addAndGet(INTERVAL);
+        heartbeats.check();
+        verify(connection, times(1)).ping();
+        assertThat(failures).isEmpty();
+
+        now.addAndGet(TIMEOUT - INTERVAL);
+        heartbeats.check();
+        verify(connection, times(1)).ping();
+        verify(connection).close();
+        assertThat(failures).containsExactly("host1");
+
+        // The host is removed, so it is reported once.
+        now.addAndGet(TIMEOUT);
+        heartbeats.check();
+        assertThat(failures).containsExactly("host1");
+    }
+
+    @Test
+    public void testReadOnAnyConnectionOfHost() {
+        Connection idle = connection("host1", 1000);
+        Connection active = connection("host1", 2000);
+        heartbeats.add(idle);
+        heartbeats.add(active);
+        now.addAndGet(TIMEOUT);
+        when(active.lastReadNanos()).thenReturn(now.get());
+        heartbeats.check();
+        verify(idle, never()).ping();
+        verify(active, never()).ping();
+        assertThat(failures).isEmpty();
+
+        now.addAndGet(INTERVAL);
+        heartbeats.check();
+        verify(idle, times(1)).ping();
+        verify(active, never()).ping();
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    public void testReadSuspended() {
+        Connection connection = connection("host1", 1000);
+        when(connection.reading()).thenReturn(false);
+        heartbeats.add(connection);
+        now.addAndGet(TIMEOUT * 2);
+        heartbeats.check();
+        verify(connection, never()).ping();
+        verify(connection, never()).close();
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    public void testRemove() {
+        Connection connection = connection("host1", 1000);
+        heartbeats.add(connection);
+        heartbeats.remove(connection);
+        now.addAndGet(TIMEOUT);
+        heartbeats.check();
+        verify(connection, never()).close();
+        assertThat(failures).isEmpty();
+    }
+}
@@ -18,6 +18,9 @@ package io.dingodb.raft.kv;
 
 public class Constants {
     public static final String SNAPSHOT_SST = "snapshot.sst";
+    public static final String SNAPSHOT_SST_PREFIX = "snapshot-";
+    public static final String SNAPSHOT_SST_SUFFIX = ".sst";
     public static final String SNAPSHOT_ZIP = "snapshot.zip";
     public static final String SNAPSHOT = "snapshot.dat";
+    public static final String INGEST_DIR = "ingest";
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.kv.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A put applied only if the current value of the key equals {@code expect}, a {@code null} expect means the key
+ * must be absent. The {@code puts} and {@code deletes}, e.g. index entries of the row, are written only if the put
+ * is applied, in the same batch.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ConditionalPut {
+    private final byte[] key;
+    private final byte[] expect;
+    private final byte[] value;
+    private final List<ByteArrayEntry> puts;
+    private final List<byte[]> deletes;
+
+    public ConditionalPut(byte[] key, byte[] expect, byte[] value) {
+        this(key, expect, value, Collections.emptyList(), Collections.emptyList());
+    }
+}
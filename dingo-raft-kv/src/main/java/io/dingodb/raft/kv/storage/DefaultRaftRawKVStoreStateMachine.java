@@ -32,9 +32,13 @@ import io.dingodb.raft.storage.snapshot.SnapshotReader;
 import io.dingodb.raft.storage.snapshot.SnapshotWriter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.zip.Checksum;
+import java.util.stream.Collectors;
 
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_SST_SUFFIX;
 import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_LOAD;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_SAVE;
@@ -112,18 +116,53 @@ public class DefaultRaftRawKVStoreStateMachine implements StateMachine {
     public RaftRawKVOperation snapshotLoadOperation(final SnapshotReader reader) {
         return RaftRawKVOperation.builder()
             .ext1(reader.getPath())
-            .ext2(((LocalFileMetaOutter.LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP)).getChecksum())
+            .ext2(snapshotLoadFiles(reader))
             .op(SNAPSHOT_LOAD)
             .build();
     }
 
+    /**
+     * Returns the zip checksum for a zip snapshot, or the top level sst file names for a file snapshot.
+     */
+    protected Object snapshotLoadFiles(final SnapshotReader reader) {
+        LocalFileMetaOutter.LocalFileMeta zipMeta =
+            (LocalFileMetaOutter.LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP);
+        if (zipMeta != null) {
+            return zipMeta.getChecksum();
+        }
+        return reader.listFiles().stream()
+            .filter(name -> name.endsWith(SNAPSHOT_SST_SUFFIX) && name.indexOf('/') < 0)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
     @Override
     public void onSnapshotSave(final SnapshotWriter writer, final Closure done) {
-        store.snapshotSave(snapshotSaveOperation(writer, done)).whenCompleteAsync((checksum, ex) -> {
+        RaftRawKVOperation operation = snapshotSaveOperation(writer, done);
+        List<Path> ingestedFiles = store.ingestedFiles();
+        CompletableFuture<List<String>> files = store.snapshotSaveFiles(operation);
+        if (files != null) {
+            files.whenCompleteAsync((names, ex) -> {
+                if (ex != null) {
+                    log.error("Save snapshot files to {} error.", writer.getPath(), ex);
+                    done.run(new Status(RaftError.EIO, "Save snapshot files error: %s.", ex.getMessage()));
+                    return;
+                }
+                LocalFileMetaOutter.LocalFileMeta meta = LocalFileMetaOutter.LocalFileMeta.newBuilder()
+                    .setUserMeta(ByteString.copyFromUtf8(store.getRaftId().toString()))
+                    .build();
+                names.forEach(name -> writer.addFile(name, meta));
+                store.cleanIngestedFiles(ingestedFiles);
+                done.run(Status.OK());
+            }, Executors.executor("snapshot-save-" + id));
+            return;
+        }
+        store.snapshotSave(operation).whenCompleteAsync((checksum, ex) -> {
             LocalFileMetaOutter.LocalFileMeta.Builder metaBuilder = LocalFileMetaOutter.LocalFileMeta.newBuilder();
             metaBuilder.setChecksum(Long.toHexString(checksum.getValue()));
             metaBuilder.setUserMeta(ByteString.copyFromUtf8(store.getRaftId().toString()));
             writer.addFile(SNAPSHOT_ZIP, metaBuilder.build());
+            store.cleanIngestedFiles(ingestedFiles);
             done.run(Status.OK());
         }, Executors.executor("snapshot-save-" + id));
     }
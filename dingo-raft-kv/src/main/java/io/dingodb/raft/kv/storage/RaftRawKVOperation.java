@@ -16,7 +16,6 @@
 
 package io.dingodb.raft.kv.storage;
 
-import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.raft.Node;
 import io.dingodb.raft.entity.Task;
 import lombok.Builder;
@@ -29,6 +28,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.CAS;
+import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.CAS_LIST;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.COMPUTE;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.CONTAINS_KEY;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.COUNT;
@@ -36,11 +37,14 @@ import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.DELETE;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.DELETE_LIST;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.DELETE_RANGE;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.GET;
+import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.INGEST;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.MULTI_GET;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.PUT;
+import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.PUT_IF_ABSENT;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.PUT_LIST;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SCAN;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SYNC;
+import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.WRITE_BATCH;
 
 @Slf4j
 @Getter
@@ -66,7 +70,12 @@ public class RaftRawKVOperation {
         BACKUP,
         RESTORE,
 
-        COMPUTE
+        COMPUTE,
+        WRITE_BATCH,
+        INGEST,
+        PUT_IF_ABSENT,
+        CAS,
+        CAS_LIST
         ;
     }
 
@@ -116,7 +125,7 @@ public class RaftRawKVOperation {
     }
 
     public boolean merge(RaftRawKVOperation operation) {
-        if (ext1 instanceof List && op == operation.op) {
+        if (isBatch() && op == operation.op) {
             ((List<?>) ext1).addAll(operation.ext1());
             return true;
         }
@@ -124,11 +133,11 @@ public class RaftRawKVOperation {
     }
 
     public byte[] encode() {
-        return ProtostuffCodec.write(this);
+        return RaftRawKVOperationCodec.encode(this);
     }
 
     public static RaftRawKVOperation decode(ByteBuffer buffer) {
-        return ProtostuffCodec.read(buffer);
+        return RaftRawKVOperationCodec.decode(buffer);
     }
 
     public static RaftRawKVOperation sync() {
@@ -161,6 +170,90 @@ public class RaftRawKVOperation {
             .build();
     }
 
+    /**
+     * Puts and deletes applied atomically in one raft log entry, puts are written before deletes.
+     */
+    public static RaftRawKVOperation writeBatch(final List<ByteArrayEntry> puts, final List<byte[]> deletes) {
+        return RaftRawKVOperation.builder()
+            .ext1(puts)
+            .ext2(deletes)
+            .op(WRITE_BATCH)
+            .build();
+    }
+
+    /**
+     * Ingest external sst files, the file names are resolved against the ingest directory of each replica.
+     */
+    public static RaftRawKVOperation ingest(final List<String> files) {
+        return RaftRawKVOperation.builder()
+            .ext1(files)
+            .op(INGEST)
+            .build();
+    }
+
+    /**
+     * Put the value if the key has no live value, the check is done when the entry is applied.
+     */
+    public static RaftRawKVOperation putIfAbsent(final byte[] key, final byte[] value) {
+        return putIfAbsent(key, value, RocksDBUtils.now());
+    }
+
+    /**
+     * Put the value if the key has no live value at {@code timestamp}, the timestamp of the proposer is carried in
+     * the entry, so every replica and every replay decides the same.
+     */
+    public static RaftRawKVOperation putIfAbsent(final byte[] key, final byte[] value, int timestamp) {
+        return RaftRawKVOperation.builder()
+            .key(key)
+            .value(value)
+            .ext2(timestamp)
+            .op(PUT_IF_ABSENT)
+            .build();
+    }
+
+    /**
+     * Put the value if the live value of the key equals {@code expect}, the check is done when the entry is applied.
+     */
+    public static RaftRawKVOperation compareAndPut(final byte[] key, final byte[] expect, final byte[] value) {
+        return compareAndPut(key, expect, value, RocksDBUtils.now());
+    }
+
+    /**
+     * Put the value if the live value of the key at {@code timestamp} equals {@code expect}.
+     */
+    public static RaftRawKVOperation compareAndPut(
+        final byte[] key,
+        final byte[] expect,
+        final byte[] value,
+        int timestamp
+    ) {
+        return RaftRawKVOperation.builder()
+            .key(key)
+            .extValue(expect)
+            .value(value)
+            .ext2(timestamp)
+            .op(CAS)
+            .build();
+    }
+
+    /**
+     * Conditional puts checked one by one and written in one batch, the result is the flags of applied puts.
+     */
+    public static RaftRawKVOperation compareAndPut(final List<ConditionalPut> puts) {
+        return compareAndPut(puts, RocksDBUtils.now());
+    }
+
+    /**
+     * Conditional puts checked against the live values at {@code timestamp}.
+     */
+    public static RaftRawKVOperation compareAndPut(final List<ConditionalPut> puts, int timestamp) {
+        return RaftRawKVOperation.builder()
+            .ext1(puts)
+            .ext2(timestamp)
+            .op(CAS_LIST)
+            .build();
+    }
+
     public static RaftRawKVOperation delete(final byte[] key) {
         return RaftRawKVOperation.builder()
             .op(DELETE)
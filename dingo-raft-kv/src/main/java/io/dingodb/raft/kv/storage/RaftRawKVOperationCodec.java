@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.kv.storage;
+
+import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.codec.ProtostuffCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.dingodb.common.codec.PrimitiveCodec.computeNullableBytesSize;
+import static io.dingodb.common.codec.PrimitiveCodec.computeVarIntSize;
+import static io.dingodb.common.codec.PrimitiveCodec.readNullableBytes;
+import static io.dingodb.common.codec.PrimitiveCodec.readVarIntOrThrow;
+import static io.dingodb.common.codec.PrimitiveCodec.writeNullableBytes;
+import static io.dingodb.common.codec.PrimitiveCodec.writeVarInt;
+
+/**
+ * Binary codec for the write operations stored in the raft log.
+ *
+ * <p>Layout: {@code MAGIC | VERSION | op ordinal | op body}. Byte arrays are written by
+ * {@link PrimitiveCodec#writeNullableBytes}. Operations
+ * without a binary layout, and log entries written before this codec existed, fall back to protostuff.
+ *
+ * <p>The conditional puts carry the timestamp of the proposer, they are checked at it on every replica. Any change
+ * of the layout bumps {@link #VERSION}, entries of other versions are rejected.
+ */
+final class RaftRawKVOperationCodec {
+
+    // Protostuff output always starts with a field tag (field 1 => 0x08..0x0F), so the magic never collides.
+    static final byte MAGIC = (byte) 0xD1;
+    static final byte VERSION = 2;
+
+    private static final RaftRawKVOperation.Op[] OPS = RaftRawKVOperation.Op.values();
+
+    private RaftRawKVOperationCodec() {
+    }
+
+    static byte[] encode(RaftRawKVOperation operation) {
+        int size = bodySize(operation);
+        if (size < 0) {
+            return ProtostuffCodec.write(operation);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(3 + size);
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) operation.getOp().ordinal());
+        switch (operation.getOp()) {
+            case SYNC:
+                break;
+            case PUT:
+                writeNullableBytes(buffer, operation.getKey());
+                writeNullableBytes(buffer, operation.getValue());
+                break;
+            case PUT_LIST:
+                writeEntries(buffer, operation.ext1());
+                break;
+            case DELETE:
+                writeNullableBytes(buffer, operation.getKey());
+                break;
+            case DELETE_LIST:
+                writeBytesList(buffer, operation.ext1());
+                break;
+            case DELETE_RANGE:
+                writeNullableBytes(buffer, operation.getKey());
+                writeNullableBytes(buffer, operation.getExtKey());
+                break;
+            case COMPUTE:
+                writeNullableBytes(buffer, operation.getKey());
+                writeNullableBytes(buffer, operation.getExtKey());
+                writeBytesList(buffer, operation.ext1());
+                writeVarInt(buffer, operation.<Integer>ext2());
+                break;
+            case WRITE_BATCH:
+                writeEntries(buffer, operation.ext1());
+                writeBytesList(buffer, operation.ext2());
+                break;
+            case INGEST:
+                writeBytesList(buffer, toBytesList(operation.ext1()));
+                break;
+            case PUT_IF_ABSENT:
+                writeNullableBytes(buffer, operation.getKey());
+                writeNullableBytes(buffer, operation.getValue());
+                writeVarInt(buffer, operation.<Integer>ext2());
+                break;
+            case CAS:
+                writeNullableBytes(buffer, operation.getKey());
+                writeNullableBytes(buffer, operation.getExtValue());
+                writeNullableBytes(buffer, operation.getValue());
+                writeVarInt(buffer, operation.<Integer>ext2());
+                break;
+            case CAS_LIST:
+                writeConditionalPuts(buffer, operation.ext1());
+                writeVarInt(buffer, operation.<Integer>ext2());
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value: " + operation.getOp());
+        }
+        return buffer.array();
+    }
+
+    static RaftRawKVOperation decode(ByteBuffer buffer) {
+        if (!buffer.hasRemaining() || buffer.get(buffer.position()) != MAGIC) {
+            return ProtostuffCodec.read(buffer);
+        }
+        buffer.get();
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported raft operation encoding version: " + version);
+        }
+        RaftRawKVOperation.Op op = OPS[buffer.get()];
+        switch (op) {
+            case SYNC:
+                return RaftRawKVOperation.SYNC_OP;
+            case PUT:
+                return RaftRawKVOperation.put(readNullableBytes(buffer), readNullableBytes(buffer));
+            case PUT_LIST:
+                return RaftRawKVOperation.put(readEntries(buffer));
+            case DELETE:
+                return RaftRawKVOperation.delete(readNullableBytes(buffer));
+            case DELETE_LIST:
+                return RaftRawKVOperation.delete(readBytesList(buffer));
+            case DELETE_RANGE:
+                return RaftRawKVOperation.delete(readNullableBytes(buffer), readNullableBytes(buffer));
+            case COMPUTE:
+                return RaftRawKVOperation.compute(
+                    readNullableBytes(buffer),
+                    readNullableBytes(buffer),
+                    readBytesList(buffer),
+                    readVarIntOrThrow(buffer)
+                );
+            case WRITE_BATCH:
+                return RaftRawKVOperation.writeBatch(readEntries(buffer), readBytesList(buffer));
+            case INGEST:
+                return RaftRawKVOperation.ingest(readBytesList(buffer).stream()
+                    .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                    .collect(Collectors.toList()));
+            case PUT_IF_ABSENT:
+                return RaftRawKVOperation.putIfAbsent(
+                    readNullableBytes(buffer), readNullableBytes(buffer), readVarIntOrThrow(buffer)
+                );
+            case CAS:
+                return RaftRawKVOperation.compareAndPut(
+                    readNullableBytes(buffer),
+                    readNullableBytes(buffer),
+                    readNullableBytes(buffer),
+                    readVarIntOrThrow(buffer)
+                );
+            case CAS_LIST:
+                return RaftRawKVOperation.compareAndPut(readConditionalPuts(buffer), readVarIntOrThrow(buffer));
+            default:
+                throw new IllegalStateException("Unexpected value: " + op);
+        }
+    }
+
+    /**
+     * Returns the encoded body size, or {@code -1} if the operation has no binary layout.
+     */
+    private static int bodySize(RaftRawKVOperation operation) {
+        switch (operation.getOp()) {
+            case SYNC:
+                return 0;
+            case PUT:
+                return computeNullableBytesSize(operation.getKey()) + computeNullableBytesSize(operation.getValue());
+            case PUT_LIST:
+                return entriesSize(operation.ext1());
+            case DELETE:
+                return computeNullableBytesSize(operation.getKey());
+            case DELETE_LIST:
+                return bytesListSize(operation.ext1());
+            case DELETE_RANGE:
+                return computeNullableBytesSize(operation.getKey()) + computeNullableBytesSize(operation.getExtKey());
+            case COMPUTE:
+                return computeNullableBytesSize(operation.getKey()) + computeNullableBytesSize(operation.getExtKey())
+                    + bytesListSize(operation.ext1()) + computeVarIntSize(operation.<Integer>ext2());
+            case WRITE_BATCH:
+                return entriesSize(operation.ext1()) + bytesListSize(operation.ext2());
+            case INGEST:
+                return bytesListSize(toBytesList(operation.ext1()));
+            case PUT_IF_ABSENT:
+                return computeNullableBytesSize(operation.getKey()) + computeNullableBytesSize(operation.getValue())
+                    + computeVarIntSize(operation.<Integer>ext2());
+            case CAS:
+                return computeNullableBytesSize(operation.getKey())
+                    + computeNullableBytesSize(operation.getExtValue())
+                    + computeNullableBytesSize(operation.getValue()) + computeVarIntSize(operation.<Integer>ext2());
+            case CAS_LIST:
+                return conditionalPutsSize(operation.ext1()) + computeVarIntSize(operation.<Integer>ext2());
+            default:
+                return -1;
+        }
+    }
+
+    private static List<byte[]> toBytesList(List<String> strings) {
+        return strings.stream().map(str -> str.getBytes(StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+
+    private static int bytesListSize(List<byte[]> list) {
+        int size = computeVarIntSize(list.size());
+        for (byte[] bytes : list) {
+            size += computeNullableBytesSize(bytes);
+        }
+        return size;
+    }
+
+    private static int entriesSize(List<ByteArrayEntry> entries) {
+        int size = computeVarIntSize(entries.size());
+        for (ByteArrayEntry entry : entries) {
+            size += computeNullableBytesSize(entry.getKey()) + computeNullableBytesSize(entry.getValue());
+        }
+        return size;
+    }
+
+    private static int conditionalPutsSize(List<ConditionalPut> puts) {
+        int size = computeVarIntSize(puts.size());
+        for (ConditionalPut put : puts) {
+            size += computeNullableBytesSize(put.getKey()) + computeNullableBytesSize(put.getExpect())
+                + computeNullableBytesSize(put.getValue()) + entriesSize(put.getPuts())
+                + bytesListSize(put.getDeletes());
+        }
+        return size;
+    }
+
+    private static void writeBytesList(ByteBuffer buffer, List<byte[]> list) {
+        writeVarInt(buffer, list.size());
+        for (byte[] bytes : list) {
+            writeNullableBytes(buffer, bytes);
+        }
+    }
+
+    private static void writeEntries(ByteBuffer buffer, List<ByteArrayEntry> entries) {
+        writeVarInt(buffer, entries.size());
+        for (ByteArrayEntry entry : entries) {
+            writeNullableBytes(buffer, entry.getKey());
+            writeNullableBytes(buffer, entry.getValue());
+        }
+    }
+
+    private static void writeConditionalPuts(ByteBuffer buffer, List<ConditionalPut> puts) {
+        writeVarInt(buffer, puts.size());
+        for (ConditionalPut put : puts) {
+            writeNullableBytes(buffer, put.getKey());
+            writeNullableBytes(buffer, put.getExpect());
+            writeNullableBytes(buffer, put.getValue());
+            writeEntries(buffer, put.getPuts());
+            writeBytesList(buffer, put.getDeletes());
+        }
+    }
+
+    private static List<ByteArrayEntry> readEntries(ByteBuffer buffer) {
+        int count = readVarIntOrThrow(buffer);
+        List<ByteArrayEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new ByteArrayEntry(readNullableBytes(buffer), readNullableBytes(buffer)));
+        }
+        return entries;
+    }
+
+    private static List<byte[]> readBytesList(ByteBuffer buffer) {
+        int count = readVarIntOrThrow(buffer);
+        List<byte[]> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(readNullableBytes(buffer));
+        }
+        return list;
+    }
+
+    private static List<ConditionalPut> readConditionalPuts(ByteBuffer buffer) {
+        int count = readVarIntOrThrow(buffer);
+        List<ConditionalPut> puts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            puts.add(new ConditionalPut(
+                readNullableBytes(buffer),
+                readNullableBytes(buffer),
+                readNullableBytes(buffer),
+                readEntries(buffer),
+                readBytesList(buffer)
+            ));
+        }
+        return puts;
+    }
+
+}
@@ -18,23 +18,33 @@ package io.dingodb.raft.kv.storage;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.raft.Lifecycle;
 import io.dingodb.raft.Node;
 import io.dingodb.raft.NodeManager;
 import io.dingodb.raft.conf.Configuration;
 import io.dingodb.raft.entity.PeerId;
+import io.dingodb.raft.kv.Constants;
 import io.dingodb.raft.option.NodeOptions;
 import io.dingodb.raft.storage.LogStorage;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.Checksum;
 
 import static io.dingodb.common.util.Parameters.cleanNull;
@@ -44,6 +54,8 @@ import static io.dingodb.raft.RaftServiceFactory.createRaftNode;
 @Getter
 public class RaftRawKVStore implements Lifecycle<Void> {
 
+    private static final String INGESTED_SUFFIX = ".ingested";
+
     private final CommonId raftId;
 
     private Path path;
@@ -55,6 +67,8 @@ public class RaftRawKVStore implements Lifecycle<Void> {
     private final NodeOptions nodeOptions;
     private final ReadIndexRunner readIndexRunner;
 
+    private volatile List<Path> savedIngestedFiles = Collections.emptyList();
+
     public RaftRawKVStore(CommonId raftId, RawKVStore kvStore, NodeOptions nodeOptions, Location location) {
         this.raftId = raftId;
         this.node = createRaftNode(raftId.toString(), new PeerId(location.getHost(), location.getPort()));
@@ -152,10 +166,89 @@ public class RaftRawKVStore implements Lifecycle<Void> {
         this.kvStore.put(entries);
     }
 
+    protected void localWriteBatch(final List<ByteArrayEntry> puts, final List<byte[]> deletes) {
+        this.kvStore.writeBatch(puts, deletes);
+    }
+
+    /**
+     * Check the conditional puts against the current values and write the matched ones in one batch. It runs in
+     * the apply thread, so no other write is applied between the check and the write. A later put of a key
+     * already put in the batch does not match. The values are live or expired at {@code timestamp}, the time of the
+     * proposer carried in the entry, not the clock of the replica.
+     */
+    protected List<Boolean> localCompareAndPut(final List<ConditionalPut> puts, int timestamp) {
+        List<byte[]> keys = new ArrayList<>(puts.size());
+        for (ConditionalPut put : puts) {
+            keys.add(put.getKey());
+        }
+        List<ByteArrayEntry> currents = this.kvStore.get(keys, timestamp);
+        List<Boolean> results = new ArrayList<>(puts.size());
+        List<ByteArrayEntry> writes = new ArrayList<>();
+        List<byte[]> deletes = new ArrayList<>();
+        Set<byte[]> written = new TreeSet<>(ByteArrayUtils::compare);
+        for (int i = 0; i < puts.size(); i++) {
+            ConditionalPut put = puts.get(i);
+            ByteArrayEntry current = currents.get(i);
+            boolean matched = !written.contains(put.getKey())
+                && Arrays.equals(put.getExpect(), current == null ? null : current.getValue());
+            if (matched) {
+                written.add(put.getKey());
+                writes.add(new ByteArrayEntry(put.getKey(), put.getValue()));
+                writes.addAll(put.getPuts());
+                deletes.addAll(put.getDeletes());
+            }
+            results.add(matched);
+        }
+        if (!writes.isEmpty()) {
+            this.kvStore.writeBatch(writes, deletes);
+        }
+        return results;
+    }
+
     protected void localCompute(byte[] start, byte[] end, List<byte[]> operation, int timestamp) {
         this.kvStore.compute(start, end, operation, timestamp);
     }
 
+    protected void localIngest(final List<String> files) {
+        Path ingestPath = ingestPath();
+        List<String> paths = new ArrayList<>(files.size());
+        try {
+            for (String file : files) {
+                Path filePath = ingestPath.resolve(file);
+                Path kept = ingestedFile(ingestPath, file);
+                if (!Files.exists(filePath)) {
+                    // The file is moved into the store by the ingestion before, the entry is replayed after a
+                    // restart or a snapshot load, ingest the kept link again so the rows are not lost.
+                    if (!Files.exists(kept)) {
+                        // Skipping the file makes this replica diverge from the others, so fail the apply.
+                        throw new IllegalStateException(
+                            "The " + raftId + " ingest file " + filePath + " not found."
+                        );
+                    }
+                    link(filePath, kept);
+                } else if (!Files.exists(kept)) {
+                    link(kept, filePath);
+                }
+                paths.add(filePath.toString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.kvStore.ingest(paths);
+    }
+
+    private static Path ingestedFile(Path ingestPath, String file) {
+        return ingestPath.resolve(file + INGESTED_SUFFIX);
+    }
+
+    private static void link(Path link, Path target) throws IOException {
+        try {
+            Files.createLink(link, target);
+        } catch (UnsupportedOperationException e) {
+            Files.copy(target, link);
+        }
+    }
+
     protected Boolean localDelete(final byte[] key) {
         return this.kvStore.delete(key);
     }
@@ -176,7 +269,23 @@ public class RaftRawKVStore implements Lifecycle<Void> {
         );
     }
 
+    protected CompletableFuture<List<String>> snapshotSaveFiles(RaftRawKVOperation operation) {
+        return this.kvStore.snapshotSaveFiles(
+            operation.ext1(),
+            operation.getKey(),
+            operation.getExtKey()
+        );
+    }
+
     protected CompletableFuture<Boolean> snapshotLoad(RaftRawKVOperation operation) {
+        if (operation.ext2() instanceof List) {
+            return this.kvStore.snapshotLoadFiles(
+                operation.ext1(),
+                operation.ext2(),
+                operation.getKey(),
+                operation.getExtKey()
+            );
+        }
         return this.kvStore.snapshotLoad(
             operation.ext1(),
             operation.ext2(),
@@ -232,6 +341,78 @@ public class RaftRawKVStore implements Lifecycle<Void> {
         return write(RaftRawKVOperation.compute(start, end, operation, timestamp));
     }
 
+    public CompletableFuture<Boolean> writeBatch(List<ByteArrayEntry> puts, List<byte[]> deletes) {
+        return write(RaftRawKVOperation.writeBatch(puts, deletes));
+    }
+
+    /**
+     * Put the value if the key has no live value, returns whether the value is put.
+     */
+    public CompletableFuture<Boolean> putIfAbsent(byte[] key, byte[] value) {
+        return write(RaftRawKVOperation.putIfAbsent(key, value));
+    }
+
+    /**
+     * Put the value if the live value of the key equals {@code expect}, returns whether the value is put.
+     */
+    public CompletableFuture<Boolean> compareAndPut(byte[] key, byte[] expect, byte[] value) {
+        return write(RaftRawKVOperation.compareAndPut(key, expect, value));
+    }
+
+    /**
+     * Apply the conditional puts in one raft log entry, returns the flags of applied puts in the order of puts.
+     */
+    public CompletableFuture<List<Boolean>> compareAndPut(List<ConditionalPut> puts) {
+        return write(RaftRawKVOperation.compareAndPut(puts));
+    }
+
+    /**
+     * Returns the directory that files to {@link #ingest} are put in, every replica has its own.
+     */
+    public Path ingestPath() {
+        if (path == null) {
+            throw new IllegalStateException("The " + raftId + " has no data path to ingest files.");
+        }
+        return path.resolve(Constants.INGEST_DIR);
+    }
+
+    /**
+     * Returns the kept links of the ingested files, call it before saving a snapshot and pass the result to
+     * {@link #cleanIngestedFiles} once the snapshot is saved.
+     */
+    public List<Path> ingestedFiles() {
+        if (path == null || !Files.isDirectory(ingestPath())) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(ingestPath())) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(INGESTED_SUFFIX))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("List the {} ingested files error.", raftId, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Remove the ingested files listed before the previous saved snapshot, a new snapshot is saved after it, so
+     * the previous one is complete and the entries of the files are never replayed. The files listed before this
+     * snapshot are kept until the next one, this snapshot may not be complete yet.
+     */
+    public void cleanIngestedFiles(List<Path> files) {
+        List<Path> previous = savedIngestedFiles;
+        savedIngestedFiles = files;
+        previous.forEach(FileUtils::deleteIfExists);
+    }
+
+    /**
+     * Ingest the sst files under {@link #ingestPath()} on all replicas, the files must be sent to every
+     * replica before.
+     */
+    public CompletableFuture<Boolean> ingest(List<String> files) {
+        return write(RaftRawKVOperation.ingest(files));
+    }
+
     public CompletableFuture<Boolean> delete(byte[] key) {
         return write(RaftRawKVOperation.delete(key));
     }
@@ -284,6 +465,22 @@ public class RaftRawKVStore implements Lifecycle<Void> {
             case COMPUTE:
                 localCompute(operation.getKey(), operation.getExtKey(), operation.ext1(), operation.ext2());
                 return true;
+            case WRITE_BATCH:
+                localWriteBatch(operation.ext1(), operation.ext2());
+                return true;
+            case INGEST:
+                localIngest(operation.ext1());
+                return true;
+            case PUT_IF_ABSENT:
+                return localCompareAndPut(Collections.singletonList(
+                    new ConditionalPut(operation.getKey(), null, operation.getValue())
+                ), operation.ext2()).get(0);
+            case CAS:
+                return localCompareAndPut(Collections.singletonList(
+                    new ConditionalPut(operation.getKey(), operation.getExtValue(), operation.getValue())
+                ), operation.ext2()).get(0);
+            case CAS_LIST:
+                return localCompareAndPut(operation.ext1(), operation.ext2());
             default:
                 throw new IllegalStateException("Unexpected value: " + operation.getOp());
         }
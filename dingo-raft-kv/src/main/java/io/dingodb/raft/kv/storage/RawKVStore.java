@@ -34,6 +34,13 @@ public interface RawKVStore {
 
     List<ByteArrayEntry> get(List<byte[]> keys);
 
+    /**
+     * Returns the values live at {@code timestamp}, in seconds, instead of now.
+     */
+    default List<ByteArrayEntry> get(List<byte[]> keys, int timestamp) {
+        return get(keys);
+    }
+
     boolean containsKey(byte[] key);
 
     SeekableIterator<byte[], ByteArrayEntry> scan(byte[] startKey, byte[] endKey);
@@ -53,6 +60,18 @@ public interface RawKVStore {
 
     long count(byte[] startKey, byte[] endKey);
 
+    /**
+     * Write puts and deletes as one batch, the default implementation is not atomic.
+     */
+    default void writeBatch(List<ByteArrayEntry> puts, List<byte[]> deletes) {
+        if (!puts.isEmpty()) {
+            put(puts);
+        }
+        if (!deletes.isEmpty()) {
+            delete(deletes);
+        }
+    }
+
     void compute(byte[] start, byte[] end, List<byte[]> operation, int timestamp);
 
     CompletableFuture<Checksum> snapshotSave(String path);
@@ -63,4 +82,37 @@ public interface RawKVStore {
 
     CompletableFuture<Boolean> snapshotLoad(String path, String checksum, byte[] startKey, byte[] endKey);
 
+    /**
+     * Save snapshot as files under {@code path} that are shipped as-is, returns the file names.
+     * Returns {@code null} if the store has no file snapshot, then the zip snapshot is used.
+     */
+    default CompletableFuture<List<String>> snapshotSaveFiles(String path, byte[] startKey, byte[] endKey) {
+        return null;
+    }
+
+    /**
+     * Save the ranges as snapshot files from one point in time of the store, range {@code i} is saved under
+     * {@code paths.get(i)}, returns the file names of each range. Returns {@code null} if the store has no file
+     * snapshot.
+     */
+    default CompletableFuture<List<List<String>>> snapshotSaveFiles(
+        List<String> paths, List<byte[]> startKeys, List<byte[]> endKeys
+    ) {
+        return null;
+    }
+
+    default CompletableFuture<Boolean> snapshotLoadFiles(
+        String path, List<String> files, byte[] startKey, byte[] endKey
+    ) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Ingest external sst files one by one, so later files win on overlapping keys. The files are removed
+     * once they are ingested.
+     */
+    default void ingest(List<String> files) {
+        throw new UnsupportedOperationException();
+    }
+
 }
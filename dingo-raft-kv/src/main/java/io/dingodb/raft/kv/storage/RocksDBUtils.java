@@ -21,8 +21,14 @@ import io.dingodb.raft.util.BytesUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Values of stores with ttl end with a fixed32 expire time in seconds, the expire time is set by the writer,
+ * so each row may have its own ttl. Expired values are filtered on read and deleted by the expiry sweep of
+ * the store.
+ */
 @Slf4j
 public class RocksDBUtils {
     public static int TIMESTAMP_WITHOUT_TTL = -1;
@@ -31,6 +37,14 @@ public class RocksDBUtils {
         return ttl > 0;
     }
 
+    public static int now() {
+        return (int) (System.currentTimeMillis() / 1000);
+    }
+
+    public static int expireAt(int ttl) {
+        return now() + ttl;
+    }
+
     public static byte[] encodeFixed32(int value) {
         return new byte[] {(byte)(value & 0xff), (byte)((value >> 8) & 0xff), (byte)((value >> 16) & 0xff),
             (byte)((value >> 24) & 0xff)};
@@ -52,15 +66,25 @@ public class RocksDBUtils {
         return getValueWithTs(value, tsArray);
     }
 
-    public static byte[] getValueWithNowTs(byte[] value) {
-        int now = (int) (System.currentTimeMillis() / 1000);
-        return getValueWithTs(value, now);
+    /**
+     * Append the expire time of {@code ttl} seconds from now to the value.
+     */
+    public static byte[] getValueWithTtl(byte[] value, int ttl) {
+        return getValueWithTs(value, expireAt(ttl));
+    }
+
+    public static int getExpireAt(byte[] valueWithTs) {
+        int offset = valueWithTs.length - Integer.BYTES;
+        return (valueWithTs[offset] & 0xff) | (valueWithTs[offset + 1] & 0xff) << 8
+            | (valueWithTs[offset + 2] & 0xff) << 16 | (valueWithTs[offset + 3] & 0xff) << 24;
+    }
+
+    public static boolean isExpired(byte[] valueWithTs, int now) {
+        return getExpireAt(valueWithTs) <= now;
     }
 
-    public static int getTsbyValue(byte[] valueWithTs) {
-        byte[] tsArray = new byte[4];
-        System.arraycopy(valueWithTs, valueWithTs.length - tsArray.length, tsArray, 0, tsArray.length);
-        return decodeFixed32(tsArray);
+    public static byte[] getValueWithoutTs(byte[] valueWithTs) {
+        return Arrays.copyOf(valueWithTs, valueWithTs.length - Integer.BYTES);
     }
 
     public static List<KeyValue> getValueWithTsList(List<KeyValue> rows, int timestamp) {
@@ -76,8 +100,7 @@ public class RocksDBUtils {
         return kvWithTsList;
     }
 
-    public static List<KeyValue> getValueWithNowTsList(List<KeyValue> rows) {
-        int now = (int)(System.currentTimeMillis() / 1000);
-        return getValueWithTsList(rows, now);
+    public static List<KeyValue> getValueWithTtlList(List<KeyValue> rows, int ttl) {
+        return getValueWithTsList(rows, expireAt(ttl));
     }
 }
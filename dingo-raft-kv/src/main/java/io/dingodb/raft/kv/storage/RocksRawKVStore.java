@@ -17,8 +17,11 @@
 package io.dingodb.raft.kv.storage;
 
 import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.operation.Operation;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.store.StorageProfile;
+import io.dingodb.common.store.StorageProfileOptions;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.Utils;
 import io.dingodb.raft.kv.Constants;
@@ -26,20 +29,22 @@ import io.dingodb.raft.util.BytesUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.ConfigOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.Options;
 import org.rocksdb.OptionsUtil;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.rocksdb.Snapshot;
 import org.rocksdb.SstFileReader;
 import org.rocksdb.SstFileReaderIterator;
 import org.rocksdb.SstFileWriter;
-import org.rocksdb.TtlDB;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
@@ -49,10 +54,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.zip.Checksum;
@@ -69,15 +77,42 @@ public class RocksRawKVStore implements RawKVStore {
         RocksDB.loadLibrary();
     }
 
+    private static final long SNAPSHOT_SST_FILE_SIZE = 64L * 1024 * 1024;
+    // Routed to the storage pool, see Executors.
+    private static final String SNAPSHOT_SAVE_PREFIX = "snapshot-save-";
+    private static final String SNAPSHOT_LOAD_PREFIX = "snapshot-load-";
+    private static final int EXPIRE_RANGE_ROWS = 64;
+    private static final int EXPIRE_MAX_RUN_ROWS = 10000;
+    private static final long LARGE_SCAN_ROWS = 10000;
+    private static final long SCAN_READAHEAD_SIZE = 2L * 1024 * 1024;
+
     private RocksDB db;
+    private ColumnFamilyHandle columnFamily;
+    private SharedRocksDB sharedDB;
     private WriteOptions writeOptions;
     private final List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
     private ScheduledFuture<?> scheduledFuture;
     private String groupId;
     private int ttl = -1;
+    // Writes hold the read lock, the expiry sweep holds the write lock while re-checking and deleting rows.
+    private final ReadWriteLock expireLock = new ReentrantReadWriteLock();
 
     public RocksRawKVStore(final String dataPath, final String optionsFile, String groupId, final int ttl)
         throws RocksDBException {
+        this(dataPath, optionsFile, groupId, ttl, StorageProfile.DEFAULT);
+    }
+
+    /**
+     * Create store tuned by the storage profile, a profile other than the default one overrides the column family
+     * options loaded from the options file.
+     */
+    public RocksRawKVStore(
+        final String dataPath,
+        final String optionsFile,
+        String groupId,
+        final int ttl,
+        StorageProfile profile
+    ) throws RocksDBException {
         this.groupId = groupId;
         this.ttl = ttl;
         this.writeOptions = new WriteOptions();
@@ -99,32 +134,57 @@ public class RocksRawKVStore implements RawKVStore {
 
         options.setCreateIfMissing(true);
         if (useDefaultOptions) {
-            this.cfDescriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+            this.cfDescriptors.add(new ColumnFamilyDescriptor(
+                RocksDB.DEFAULT_COLUMN_FAMILY, StorageProfileOptions.apply(profile, new ColumnFamilyOptions())
+            ));
+        } else if (profile != StorageProfile.DEFAULT) {
+            this.cfDescriptors.forEach(descriptor -> StorageProfileOptions.apply(profile, descriptor.getOptions()));
         }
 
         final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
 
+        this.db = RocksDB.open(options, dataPath, this.cfDescriptors, columnFamilyHandles);
         if (RocksDBUtils.dataWithTtl(this.ttl)) {
-            List<Integer> ttlList = new ArrayList<>();
-            ttlList.add(this.ttl);
-            this.db = TtlDB.open(options, dataPath, this.cfDescriptors, columnFamilyHandles, ttlList, false);
-            scheduledFuture = scheduleWithFixedDelayAsync("raw-kv-compact", this::compact,  0, 60 * 60, SECONDS);
-        } else {
-            this.db = RocksDB.open(options, dataPath, this.cfDescriptors, columnFamilyHandles);
+            scheduledFuture = scheduleWithFixedDelayAsync("raw-kv-expire", this::expire,  0, 60 * 60, SECONDS);
         }
+        this.columnFamily = this.db.getDefaultColumnFamily();
         log.info("RocksRawKVStore RocksDB open, path: {}, options file: {}, columnFamilyHandles size: {}, " +
-            "useDefaultOptions: {}, ttl: {}, groupId: {}.", dataPath, optionsFile, columnFamilyHandles.size(),
-            useDefaultOptions, this.ttl, this.groupId);
+            "useDefaultOptions: {}, ttl: {}, groupId: {}, storage profile: {}.", dataPath, optionsFile,
+            columnFamilyHandles.size(), useDefaultOptions, this.ttl, this.groupId, profile.getProfileName());
     }
 
     public RocksRawKVStore(final String dataPath, final String optionsFile, String groupId) throws RocksDBException {
         this(dataPath, optionsFile, groupId, 0);
     }
 
+    /**
+     * Create store on the column family named {@code groupId} of a shared db, memtables, block cache and
+     * background threads are shared with the other stores on the same db.
+     */
+    public RocksRawKVStore(SharedRocksDB sharedDB, String groupId) throws RocksDBException {
+        this(sharedDB, groupId, StorageProfile.DEFAULT);
+    }
+
+    public RocksRawKVStore(SharedRocksDB sharedDB, String groupId, StorageProfile profile) throws RocksDBException {
+        this.groupId = groupId;
+        this.sharedDB = sharedDB;
+        this.writeOptions = new WriteOptions();
+        this.db = sharedDB.db();
+        this.columnFamily = sharedDB.columnFamily(groupId, profile);
+        log.info("RocksRawKVStore use shared RocksDB, path: {}, groupId: {}, storage profile: {}.",
+            sharedDB.getPath(), groupId, profile.getProfileName());
+    }
+
     @Override
     public void close() {
         RawKVStore.super.close();
-        this.db.close();
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+        }
+        if (sharedDB == null) {
+            this.db.close();
+        }
+        this.cfDescriptors.forEach(descriptor -> descriptor.getOptions().close());
         this.cfDescriptors.clear();
         if (this.writeOptions != null) {
             this.writeOptions.close();
@@ -134,19 +194,13 @@ public class RocksRawKVStore implements RawKVStore {
 
     @Override
     public SeekableIterator<byte[], ByteArrayEntry> iterator() {
-        try (ReadOptions readOptions = new ReadOptions()) {
-            try (Snapshot snapshot = this.db.getSnapshot()) {
-                readOptions.setSnapshot(snapshot);
-                return new ByteArrayEntryIterator(
-                    db.newIterator(readOptions), null, null, true, true);
-            }
-        }
+        return new ByteArrayEntryIterator(null, null, true, true, true);
     }
 
     @Override
     public byte[] get(byte[] key) {
         try {
-            return db.get(key);
+            return live(db.get(columnFamily, key));
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -154,11 +208,16 @@ public class RocksRawKVStore implements RawKVStore {
 
     @Override
     public List<ByteArrayEntry> get(List<byte[]> keys) {
+        return get(keys, RocksDBUtils.now());
+    }
+
+    @Override
+    public List<ByteArrayEntry> get(List<byte[]> keys, int timestamp) {
         try {
-            List<byte[]> values = db.multiGetAsList(keys);
+            List<byte[]> values = db.multiGetAsList(Collections.nCopies(keys.size(), columnFamily), keys);
             List<ByteArrayEntry> entries = new ArrayList<>(keys.size());
             for (int i = 0; i < keys.size(); i++) {
-                entries.add(new ByteArrayEntry(keys.get(i), values.get(i)));
+                entries.add(new ByteArrayEntry(keys.get(i), live(values.get(i), timestamp)));
             }
             return entries;
         } catch (RocksDBException e) {
@@ -169,7 +228,7 @@ public class RocksRawKVStore implements RawKVStore {
     @Override
     public boolean containsKey(byte[] key) {
         try {
-            return db.get(key) != null;
+            return live(db.get(columnFamily, key)) != null;
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
@@ -183,21 +242,18 @@ public class RocksRawKVStore implements RawKVStore {
     public SeekableIterator<byte[], ByteArrayEntry> scan(
         byte[] startKey, byte[] endKey, boolean includeStart, boolean includeEnd
     ) {
-        try (ReadOptions readOptions = new ReadOptions()) {
-            try (Snapshot snapshot = this.db.getSnapshot()) {
-                readOptions.setSnapshot(snapshot);
-                return new ByteArrayEntryIterator(
-                    db.newIterator(readOptions), startKey, endKey, includeStart, includeEnd);
-            }
-        }
+        return new ByteArrayEntryIterator(startKey, endKey, includeStart, includeEnd, false);
     }
 
     @Override
     public void put(byte[] key, byte[] value) {
+        expireLock.readLock().lock();
         try {
-            db.put(key, value);
+            db.put(columnFamily, writeOptions, key, value);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
+        } finally {
+            expireLock.readLock().unlock();
         }
     }
 
@@ -205,9 +261,24 @@ public class RocksRawKVStore implements RawKVStore {
     public void put(List<ByteArrayEntry> entries) {
         try (final WriteBatch batch = new WriteBatch()) {
             for (final ByteArrayEntry entry : entries) {
-                batch.put(entry.getKey(), entry.getValue());
+                batch.put(columnFamily, entry.getKey(), entry.getValue());
             }
-            this.db.write(this.writeOptions, batch);
+            write(batch);
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void writeBatch(List<ByteArrayEntry> puts, List<byte[]> deletes) {
+        try (final WriteBatch batch = new WriteBatch()) {
+            for (final ByteArrayEntry entry : puts) {
+                batch.put(columnFamily, entry.getKey(), entry.getValue());
+            }
+            for (final byte[] key : deletes) {
+                batch.delete(columnFamily, key);
+            }
+            write(batch);
         } catch (final Exception e) {
             throw new RuntimeException(e);
         }
@@ -216,7 +287,7 @@ public class RocksRawKVStore implements RawKVStore {
     @Override
     public boolean delete(byte[] key) {
         try {
-            db.delete(key);
+            db.delete(columnFamily, writeOptions, key);
             return true;
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
@@ -227,7 +298,7 @@ public class RocksRawKVStore implements RawKVStore {
     public boolean delete(List<byte[]> keys) {
         try (final WriteBatch batch = new WriteBatch()) {
             for (final byte[] key : keys) {
-                batch.delete(key);
+                batch.delete(columnFamily, key);
             }
             this.db.write(this.writeOptions, batch);
             return true;
@@ -240,16 +311,16 @@ public class RocksRawKVStore implements RawKVStore {
     public boolean delete(byte[] startKey, byte[] endKey) {
         try {
             if (endKey == null) {
-                try (RocksIterator iterator = this.db.newIterator();) {
+                try (RocksIterator iterator = this.db.newIterator(columnFamily)) {
                     iterator.seekToLast();
                     if (iterator.isValid()) {
                         try (final WriteBatch batch = new WriteBatch()) {
                             endKey = iterator.key();
-                            batch.delete(endKey);
-                            batch.deleteRange(startKey, endKey);
+                            batch.delete(columnFamily, endKey);
+                            batch.deleteRange(columnFamily, startKey, endKey);
                             this.db.write(this.writeOptions, batch);
-                            this.db.deleteFilesInRanges(this.db.getDefaultColumnFamily(), Arrays.asList(startKey, endKey), true);
-                            this.db.compactRange(startKey, endKey);
+                            this.db.deleteFilesInRanges(columnFamily, Arrays.asList(startKey, endKey), true);
+                            this.db.compactRange(columnFamily, startKey, endKey);
                             return true;
                         }
                     } else {
@@ -258,9 +329,9 @@ public class RocksRawKVStore implements RawKVStore {
                     }
                 }
             } else {
-                this.db.deleteFilesInRanges(this.db.getDefaultColumnFamily(), Arrays.asList(startKey, endKey), true);
-                this.db.deleteRange(this.writeOptions, startKey, endKey);
-                this.db.compactRange(startKey, endKey);
+                this.db.deleteFilesInRanges(columnFamily, Arrays.asList(startKey, endKey), true);
+                this.db.deleteRange(columnFamily, this.writeOptions, startKey, endKey);
+                this.db.compactRange(columnFamily, startKey, endKey);
                 return true;
             }
         } catch (final Exception e) {
@@ -271,6 +342,8 @@ public class RocksRawKVStore implements RawKVStore {
     @Override
     public long count(byte[] startKey, byte[] endKey) {
         long count = 0;
+        boolean withTtl = RocksDBUtils.dataWithTtl(this.ttl);
+        int now = RocksDBUtils.now();
 
         /*
         try {
@@ -281,9 +354,9 @@ public class RocksRawKVStore implements RawKVStore {
         */
 
         try (
-            ReadOptions readOptions = new ReadOptions();
-            Snapshot snapshot = this.db.getSnapshot();
-            RocksIterator iterator = db.newIterator(readOptions.setSnapshot(snapshot))
+            DBSnapshot snapshot = new DBSnapshot();
+            ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot.snapshot).setFillCache(false);
+            RocksIterator iterator = db.newIterator(columnFamily, readOptions)
         ) {
             if (startKey == null) {
                 iterator.seekToFirst();
@@ -294,7 +367,9 @@ public class RocksRawKVStore implements RawKVStore {
                 if (endKey != null && greatThanOrEqual(iterator.key(), endKey)) {
                     break;
                 }
-                count++;
+                if (!withTtl || !RocksDBUtils.isExpired(iterator.value(), now)) {
+                    count++;
+                }
                 iterator.next();
             }
         }
@@ -306,39 +381,36 @@ public class RocksRawKVStore implements RawKVStore {
         List<Operation> operations = bytes.stream()
             .map(ProtostuffCodec::<Operation>read)
             .collect(Collectors.toList());
-        try (ReadOptions readOptions = new ReadOptions()) {
-            try (Snapshot snapshot = this.db.getSnapshot()) {
-                readOptions.setSnapshot(snapshot);
-                ByteArrayEntryIterator entryIterator = new ByteArrayEntryIterator(
-                    db.newIterator(readOptions), start, end, true, ByteArrayUtils.equal(start, end));
-
-                Iterator<KeyValue> iterator = new KeyValueIterator(entryIterator);
-                for (Operation operation : operations) {
-                    List<KeyValue> execute = (List<KeyValue>) operation.operationType.executive().execute(
-                        operation.operationContext.startKey(start).endKey(end), iterator);
-                    if (execute.size() == 0) {
-                        continue;
-                    }
-                    iterator = execute.iterator();
+        try (
+            ByteArrayEntryIterator entryIterator = new ByteArrayEntryIterator(
+                start, end, true, ByteArrayUtils.equal(start, end), false)
+        ) {
+            Iterator<KeyValue> iterator = new KeyValueIterator(entryIterator);
+            for (Operation operation : operations) {
+                List<KeyValue> execute = (List<KeyValue>) operation.operationType.executive().execute(
+                    operation.operationContext.startKey(start).endKey(end), iterator);
+                if (execute.size() == 0) {
+                    continue;
                 }
+                iterator = execute.iterator();
+            }
 
-                try (final WriteBatch batch = new WriteBatch()) {
-                    if (timestamp != RocksDBUtils.TIMESTAMP_WITHOUT_TTL && RocksDBUtils.dataWithTtl(this.ttl)) {
-                        while (iterator.hasNext()) {
-                            KeyValue entry = iterator.next();
-                            byte[] valueWithTs = RocksDBUtils.getValueWithTs(entry.getValue(), timestamp);
-                            batch.put(entry.getPrimaryKey(), valueWithTs);
-                        }
-                    } else {
-                        while (iterator.hasNext()) {
-                            KeyValue entry = iterator.next();
-                            batch.put(entry.getPrimaryKey(), entry.getValue());
-                        }
+            try (final WriteBatch batch = new WriteBatch()) {
+                if (timestamp != RocksDBUtils.TIMESTAMP_WITHOUT_TTL && RocksDBUtils.dataWithTtl(this.ttl)) {
+                    while (iterator.hasNext()) {
+                        KeyValue entry = iterator.next();
+                        byte[] valueWithTs = RocksDBUtils.getValueWithTs(entry.getValue(), timestamp);
+                        batch.put(columnFamily, entry.getPrimaryKey(), valueWithTs);
+                    }
+                } else {
+                    while (iterator.hasNext()) {
+                        KeyValue entry = iterator.next();
+                        batch.put(columnFamily, entry.getPrimaryKey(), entry.getValue());
                     }
-                    this.db.write(this.writeOptions, batch);
-                } catch (final Exception e) {
-                    throw new RuntimeException(e);
                 }
+                write(batch);
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
             }
         }
     }
@@ -370,15 +442,7 @@ public class RocksRawKVStore implements RawKVStore {
 
     @Override
     public CompletableFuture<Checksum> snapshotSave(String path, byte[] startKey, byte[] endKey) {
-        CompletableFuture<Checksum> future = new CompletableFuture<>();
-        new Thread(() -> {
-            try {
-                future.complete(snapshotSaveSync(path, startKey, endKey));
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        }).start();
-        return future;
+        return Executors.submit(SNAPSHOT_SAVE_PREFIX + groupId, () -> snapshotSaveSync(path, startKey, endKey));
     }
 
     @Nonnull
@@ -388,14 +452,15 @@ public class RocksRawKVStore implements RawKVStore {
         Path sstPath = Paths.get(path, Constants.SNAPSHOT_SST);
         Files.createDirectories(Paths.get(path));
         try (
-            Snapshot snapshot = this.db.getSnapshot();
+            DBSnapshot snapshot = new DBSnapshot();
             ReadOptions readOptions = new ReadOptions();
             EnvOptions envOptions = new EnvOptions();
             Options options = new Options();
         ) {
-            readOptions.setSnapshot(snapshot);
+            readOptions.setSnapshot(snapshot.snapshot);
+            readOptions.setFillCache(false);
             try (
-                RocksIterator iterator = this.db.newIterator(readOptions);
+                RocksIterator iterator = this.db.newIterator(columnFamily, readOptions);
                 SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)
             ) {
                 sstFileWriter.open(sstPath.toAbsolutePath().toString());
@@ -415,13 +480,9 @@ public class RocksRawKVStore implements RawKVStore {
                     }
                     byte[] value = iterator.value();
                     //byte[] value = iterator.sourceValue();
-                    if (RocksDBUtils.dataWithTtl(this.ttl)) {
-                        int timestamp = RocksDBUtils.getTsbyValue(value);
-                        int now = (int)(System.currentTimeMillis() / 1000);
-                        if (timestamp + this.ttl < now) {
-                            iterator.next();
-                            continue;
-                        }
+                    if (RocksDBUtils.dataWithTtl(this.ttl) && RocksDBUtils.isExpired(value, RocksDBUtils.now())) {
+                        iterator.next();
+                        continue;
                     }
                     sstFileWriter.put(key, value);
                     iterator.next();
@@ -449,15 +510,9 @@ public class RocksRawKVStore implements RawKVStore {
 
     @Override
     public CompletableFuture<Boolean> snapshotLoad(String path, String checksum, byte[] startKey, byte[] endKey) {
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-        new Thread(() -> {
-            try {
-                future.complete(snapshotLoadSync(path, checksum, startKey, endKey));
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        }).start();
-        return future;
+        return Executors.submit(
+            SNAPSHOT_LOAD_PREFIX + groupId, () -> snapshotLoadSync(path, checksum, startKey, endKey)
+        );
     }
 
     public Boolean snapshotLoadSync(String path, String checksum, byte[] startKey, byte[] endKey) throws Exception {
@@ -487,7 +542,7 @@ public class RocksRawKVStore implements RawKVStore {
                         break;
                     }
                     byte[] value = iterator.value();
-                    this.db.put(key, value);
+                    put(key, value);
                     iterator.next();
                     if (!iterator.isValid()) {
                         break;
@@ -500,36 +555,314 @@ public class RocksRawKVStore implements RawKVStore {
         return true;
     }
 
-    private void compact() {
+    @Override
+    public CompletableFuture<List<String>> snapshotSaveFiles(String path, byte[] startKey, byte[] endKey) {
+        return snapshotSaveFiles(
+            Collections.singletonList(path), Collections.singletonList(startKey), Collections.singletonList(endKey)
+        ).thenApply(files -> files.get(0));
+    }
+
+    /**
+     * The rocksdb snapshot is taken before returning, so called on the state machine thread the files are of the
+     * applied index, and all the ranges are of the same sequence.
+     */
+    @Override
+    public CompletableFuture<List<List<String>>> snapshotSaveFiles(
+        List<String> paths, List<byte[]> startKeys, List<byte[]> endKeys
+    ) {
+        DBSnapshot snapshot = new DBSnapshot();
+        CompletableFuture<List<List<String>>> future = Executors.submit(SNAPSHOT_SAVE_PREFIX + groupId, () -> {
+            List<List<String>> files = new ArrayList<>(paths.size());
+            for (int i = 0; i < paths.size(); i++) {
+                files.add(snapshotSaveFilesSync(snapshot, paths.get(i), startKeys.get(i), endKeys.get(i)));
+            }
+            return files;
+        });
+        // Also released if the task is rejected and never runs.
+        future.whenComplete((files, e) -> snapshot.close());
+        return future;
+    }
+
+    /**
+     * Export the range as sorted, non-overlapping sst files of about {@link #SNAPSHOT_SST_FILE_SIZE} bytes,
+     * the files are registered in the snapshot meta and copied to followers without any re-encoding.
+     */
+    private List<String> snapshotSaveFilesSync(
+        DBSnapshot snapshot, String path, byte[] startKey, byte[] endKey
+    ) throws Exception {
+        log.info("RocksRawKVStore snapshotSaveFilesSync, path: {}, startKey: {}, endKey: {}.",
+            path, BytesUtil.toHex(startKey), BytesUtil.toHex(endKey));
+        Files.createDirectories(Paths.get(path));
+        List<String> files = new ArrayList<>();
+        try (
+            ReadOptions readOptions = new ReadOptions();
+            EnvOptions envOptions = new EnvOptions();
+            Options options = new Options()
+        ) {
+            readOptions.setSnapshot(snapshot.snapshot);
+            readOptions.setFillCache(false);
+            try (RocksIterator iterator = this.db.newIterator(columnFamily, readOptions)) {
+                if (startKey == null) {
+                    iterator.seekToFirst();
+                } else {
+                    iterator.seek(startKey);
+                }
+                SstFileWriter sstFileWriter = null;
+                long fileSize = 0;
+                try {
+                    for (; iterator.isValid(); iterator.next()) {
+                        byte[] key = iterator.key();
+                        if (endKey != null && ByteArrayUtils.greatThanOrEqual(key, endKey)) {
+                            break;
+                        }
+                        byte[] value = iterator.value();
+                        if (RocksDBUtils.dataWithTtl(this.ttl) && RocksDBUtils.isExpired(value, RocksDBUtils.now())) {
+                            continue;
+                        }
+                        if (sstFileWriter == null) {
+                            String name = Constants.SNAPSHOT_SST_PREFIX + files.size() + Constants.SNAPSHOT_SST_SUFFIX;
+                            sstFileWriter = new SstFileWriter(envOptions, options);
+                            sstFileWriter.open(Paths.get(path, name).toAbsolutePath().toString());
+                            files.add(name);
+                            fileSize = 0;
+                        }
+                        sstFileWriter.put(key, value);
+                        fileSize += key.length + value.length;
+                        if (fileSize >= SNAPSHOT_SST_FILE_SIZE) {
+                            sstFileWriter.finish();
+                            sstFileWriter.close();
+                            sstFileWriter = null;
+                        }
+                    }
+                    if (sstFileWriter != null) {
+                        sstFileWriter.finish();
+                    }
+                } finally {
+                    if (sstFileWriter != null) {
+                        sstFileWriter.close();
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> snapshotLoadFiles(
+        String path, List<String> files, byte[] startKey, byte[] endKey
+    ) {
+        return Executors.submit(
+            SNAPSHOT_LOAD_PREFIX + groupId, () -> snapshotLoadFilesSync(path, files, startKey, endKey)
+        );
+    }
+
+    private boolean snapshotLoadFilesSync(
+        String path, List<String> files, byte[] startKey, byte[] endKey
+    ) throws Exception {
+        log.info("RocksRawKVStore snapshotLoadFilesSync, path: {}, files: {}, startKey: {}, endKey: {}.",
+            path, files, BytesUtil.toHex(startKey), BytesUtil.toHex(endKey));
+        delete(startKey == null ? ByteArrayUtils.EMPTY_BYTES : startKey, endKey);
+        if (files.isEmpty()) {
+            return true;
+        }
+        List<String> sstPaths = files.stream()
+            .map(name -> Paths.get(path, name).toAbsolutePath().toString())
+            .collect(Collectors.toList());
+        // Keep the snapshot files, the snapshot may be sent to other followers later.
+        expireLock.readLock().lock();
+        try (IngestExternalFileOptions options = new IngestExternalFileOptions()) {
+            options.setMoveFiles(false);
+            this.db.ingestExternalFile(columnFamily, sstPaths, options);
+        } finally {
+            expireLock.readLock().unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void ingest(List<String> files) {
+        if (RocksDBUtils.dataWithTtl(this.ttl)) {
+            // The values in external files have no expire time.
+            throw new UnsupportedOperationException("Ingest is not supported with ttl.");
+        }
         long now = System.currentTimeMillis();
         try {
-            this.db.compactRange();
+            for (String file : files) {
+                // Files are ingested one by one, an ingested file gets a newer sequence number than the
+                // files before it, so the later file wins on overlapping keys. The raft store keeps a link of
+                // each file to ingest it again when the entry is replayed.
+                try (IngestExternalFileOptions options = new IngestExternalFileOptions()) {
+                    options.setMoveFiles(true);
+                    this.db.ingestExternalFile(columnFamily, Collections.singletonList(file), options);
+                }
+            }
+        } catch (Exception e) {
+            log.error("RocksRawKVStore ingest exception, groupId: {}, files: {}.", this.groupId, files, e);
+            throw new RuntimeException(e);
+        }
+        log.info("RocksRawKVStore ingest, groupId: {}, files: {}, cost {}ms.", this.groupId, files.size(),
+            System.currentTimeMillis() - now);
+    }
+
+    private void write(WriteBatch batch) throws RocksDBException {
+        expireLock.readLock().lock();
+        try {
+            this.db.write(this.writeOptions, batch);
+        } finally {
+            expireLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the value without the expire time, or {@code null} if the value is expired.
+     */
+    private byte[] live(byte[] value) {
+        return live(value, RocksDBUtils.now());
+    }
+
+    /**
+     * Returns the value without the expire time, or {@code null} if the value is expired at {@code timestamp}.
+     */
+    private byte[] live(byte[] value, int timestamp) {
+        if (value == null || !RocksDBUtils.dataWithTtl(this.ttl)) {
+            return value;
+        }
+        if (RocksDBUtils.isExpired(value, timestamp)) {
+            return null;
+        }
+        return RocksDBUtils.getValueWithoutTs(value);
+    }
+
+    /**
+     * Delete the expired rows, expired rows are already invisible to reads, the sweep reclaims their space.
+     * Runs of at least {@link #EXPIRE_RANGE_ROWS} expired rows are deleted by a range tombstone and the range
+     * is compacted afterwards, so the tombstone and the rows under it are dropped together.
+     */
+    private void expire() {
+        long start = System.currentTimeMillis();
+        int now = RocksDBUtils.now();
+        long expired = 0;
+        try (
+            DBSnapshot snapshot = new DBSnapshot();
+            ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot.snapshot).setFillCache(false);
+            RocksIterator iterator = db.newIterator(columnFamily, readOptions)
+        ) {
+            byte[] first = null;
+            byte[] last = null;
+            int rows = 0;
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                if (RocksDBUtils.isExpired(iterator.value(), now)) {
+                    last = iterator.key();
+                    if (first == null) {
+                        first = last;
+                    }
+                    if (++rows < EXPIRE_MAX_RUN_ROWS) {
+                        continue;
+                    }
+                }
+                if (first != null) {
+                    expired += deleteExpired(first, last, now);
+                    first = null;
+                    rows = 0;
+                }
+            }
+            if (first != null) {
+                expired += deleteExpired(first, last, now);
+            }
         } catch (final Exception e) {
-            log.error("RocksRawKVStore compact exception, groupId: {}.", this.groupId, e);
+            log.error("RocksRawKVStore expire exception, groupId: {}.", this.groupId, e);
             throw new RuntimeException(e);
         }
-        log.info("RocksRawKVStore compact, groupId: {}, cost {}s.", this.groupId,
-            (System.currentTimeMillis() - now) / 1000 );
+        log.info("RocksRawKVStore expire, groupId: {}, deleted: {}, cost {}ms.", this.groupId, expired,
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Delete the expired rows in {@code [first, last]}, the rows are read again with writes blocked, so a row
+     * rewritten after the sweep read it is kept.
+     */
+    private int deleteExpired(byte[] first, byte[] last, int now) throws RocksDBException {
+        List<byte[]> keys = new ArrayList<>();
+        boolean allExpired = true;
+        expireLock.writeLock().lock();
+        try (
+            ReadOptions readOptions = new ReadOptions().setFillCache(false);
+            RocksIterator iterator = db.newIterator(columnFamily, readOptions);
+            WriteBatch batch = new WriteBatch()
+        ) {
+            for (iterator.seek(first); iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (ByteArrayUtils.greatThan(key, last)) {
+                    break;
+                }
+                if (RocksDBUtils.isExpired(iterator.value(), now)) {
+                    keys.add(key);
+                } else {
+                    allExpired = false;
+                }
+            }
+            if (keys.isEmpty()) {
+                return 0;
+            }
+            if (allExpired && keys.size() >= EXPIRE_RANGE_ROWS) {
+                batch.deleteRange(columnFamily, first, last);
+                batch.delete(columnFamily, last);
+            } else {
+                for (byte[] key : keys) {
+                    batch.delete(columnFamily, key);
+                }
+            }
+            this.db.write(this.writeOptions, batch);
+        } finally {
+            expireLock.writeLock().unlock();
+        }
+        if (allExpired && keys.size() >= EXPIRE_RANGE_ROWS) {
+            this.db.compactRange(columnFamily, first, last);
+        }
+        return keys.size();
+    }
+
+    /**
+     * A snapshot released on close, {@link Snapshot#close()} leaves the snapshot held by the db.
+     */
+    private class DBSnapshot implements AutoCloseable {
+        private final Snapshot snapshot = db.getSnapshot();
+
+        @Override
+        public void close() {
+            db.releaseSnapshot(snapshot);
+        }
     }
 
-    @SuppressWarnings("checkstyle:NoFinalizer")
-    static class ByteArrayEntryIterator implements SeekableIterator<byte[], ByteArrayEntry> {
+    /**
+     * Iterator on a snapshot, the iterator owns the snapshot and its read options and releases them on
+     * {@link #close()}, every caller must close it. The end key is the iterate upper bound, so rocksdb stops at the
+     * bound instead of reading past it, which also lets the seeks skip files and prefix blooms out of the range. A
+     * full scan, or a scan which has read {@link #LARGE_SCAN_ROWS} rows, goes on without filling the block cache
+     * and with readahead.
+     */
+    class ByteArrayEntryIterator implements SeekableIterator<byte[], ByteArrayEntry> {
 
         private final byte[] startKey;
         private final byte[] endKey;
         private final Predicate<byte[]> compareWithStart;
         private final Predicate<byte[]> compareWithEnd;
-        private final RocksIterator iterator;
+        private final Snapshot snapshot;
+        private final Slice upperBound;
+        private final List<ReadOptions> readOptions = new ArrayList<>(2);
         private final int buffSize;
+        private RocksIterator iterator;
+        private boolean largeScan;
+        private long loaded = 0;
+        private boolean closed = false;
         private Iterator<ByteArrayEntry> buffer;
 
         private boolean hasMore = true;
         private ByteArrayEntry currentEntry;
 
-        public ByteArrayEntryIterator(
-            RocksIterator iterator, byte[] startKey, byte[] endKey, boolean includeStart, boolean includeEnd
+        ByteArrayEntryIterator(
+            byte[] startKey, byte[] endKey, boolean includeStart, boolean includeEnd, boolean largeScan
         ) {
-            this.iterator = iterator;
             this.startKey = startKey;
             this.endKey = endKey;
             this.buffSize = 100;
@@ -545,23 +878,57 @@ public class RocksRawKVStore implements RawKVStore {
             } else {
                 compareWithEnd = end -> endKey == null || ByteArrayUtils.lessThan(end, endKey);
             }
+            this.snapshot = db.getSnapshot();
+            if (endKey == null) {
+                this.upperBound = null;
+            } else {
+                // The bound is exclusive, the end key followed by a zero byte is the least key after the end key.
+                this.upperBound = new Slice(includeEnd ? Arrays.copyOf(endKey, endKey.length + 1) : endKey);
+            }
+            this.iterator = newIterator(largeScan);
             seekToFirst();
         }
 
+        private RocksIterator newIterator(boolean largeScan) {
+            ReadOptions options = new ReadOptions().setSnapshot(snapshot);
+            if (upperBound != null) {
+                options.setIterateUpperBound(upperBound);
+            }
+            if (largeScan) {
+                options.setFillCache(false);
+                options.setReadaheadSize(SCAN_READAHEAD_SIZE);
+            }
+            readOptions.add(options);
+            this.largeScan = largeScan;
+            return db.newIterator(columnFamily, options);
+        }
+
         private synchronized void load() {
             if (!hasMore) {
                 return;
             }
             ArrayList<ByteArrayEntry> list = new ArrayList<>();
             byte[] key = ByteArrayUtils.EMPTY_BYTES;
-            for (int i = 0; i < buffSize; i++, iterator.next()) {
+            // Expired values are skipped, so read on until the buffer is filled.
+            for (; list.size() < buffSize; iterator.next()) {
                 if (!iterator.isValid() || !compareWithEnd.test(key = iterator.key())) {
                     hasMore = false;
                     break;
                 }
-                list.add(new ByteArrayEntry(iterator.key(), iterator.value()));
+                byte[] value = live(iterator.value());
+                if (value != null) {
+                    list.add(new ByteArrayEntry(key, value));
+                }
             }
             buffer = list.iterator();
+            loaded += list.size();
+            if (!largeScan && loaded >= LARGE_SCAN_ROWS && iterator.isValid()) {
+                // Same snapshot and bound, so the new iterator goes on from the next key.
+                byte[] next = iterator.key();
+                iterator.close();
+                iterator = newIterator(true);
+                iterator.seek(next);
+            }
         }
 
         @Override
@@ -580,6 +947,7 @@ public class RocksRawKVStore implements RawKVStore {
                 if (iterator.isValid() && !compareWithEnd.test(position)) {
                     iterator.prev();
                 }
+                hasMore = true;
                 load();
             } else {
                 throw new IllegalArgumentException("Position out of range.");
@@ -593,6 +961,7 @@ public class RocksRawKVStore implements RawKVStore {
             }
             if (startKey == null) {
                 iterator.seekToFirst();
+                hasMore = true;
                 load();
             } else {
                 seek(startKey);
@@ -638,14 +1007,20 @@ public class RocksRawKVStore implements RawKVStore {
             return currentEntry = buffer.next();
         }
 
-        // close rocksdb iterator
         @Override
-        protected void finalize() throws Throwable {
-            super.finalize();
-            try {
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Nothing to release if the db is closed already.
+            if (db.isOwningHandle()) {
                 iterator.close();
-            } catch (Exception e) {
-                log.error("Close iterator on finalize error.", e);
+                db.releaseSnapshot(snapshot);
+            }
+            readOptions.forEach(ReadOptions::close);
+            if (upperBound != null) {
+                upperBound.close();
             }
         }
     }
@@ -16,9 +16,9 @@
 
 package io.dingodb.raft.kv.storage;
 
-import java.util.Iterator;
+import io.dingodb.common.util.CloseableIterator;
 
-public interface SeekableIterator<P, T> extends Iterator<T> {
+public interface SeekableIterator<P, T> extends CloseableIterator<T> {
 
     /**
      * Returns the next element index in the iteration.
@@ -41,4 +41,11 @@ public interface SeekableIterator<P, T> extends Iterator<T> {
      */
     void seekToLast();
 
+    /**
+     * Release the resources held by the iterator, such as the storage snapshot.
+     */
+    @Override
+    default void close() {
+    }
+
 }
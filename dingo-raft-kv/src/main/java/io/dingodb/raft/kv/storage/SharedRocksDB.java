@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.kv.storage;
+
+import io.dingodb.common.store.StorageProfile;
+import io.dingodb.common.store.StorageProfileOptions;
+import io.dingodb.common.util.FileUtils;
+import io.dingodb.common.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBufferManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One RocksDB shared by many {@link RocksRawKVStore}, each store owns a column family. All column families
+ * use the same block cache, and the memtables of all of them are bounded by one write buffer manager.
+ *
+ * <p>Each column family is tuned by the {@link StorageProfile} of its table, the profiles are kept in the
+ * {@code PROFILES} file of the db path, so the column families are reopened with the same options.
+ */
+@Slf4j
+public class SharedRocksDB implements AutoCloseable {
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    @Getter
+    private final String path;
+    private final Cache blockCache;
+    private final WriteBufferManager writeBufferManager;
+    private final DBOptions dbOptions;
+    private final Path profilesPath;
+    private final Properties profiles = new Properties();
+    private final RocksDB db;
+    private final Map<String, ColumnFamilyHandle> columnFamilies = new ConcurrentHashMap<>();
+    private final Map<String, ColumnFamilyOptions> cfOptions = new ConcurrentHashMap<>();
+
+    public SharedRocksDB(String path, long blockCacheSize, long writeBufferSize) throws RocksDBException {
+        this.path = path;
+        FileUtils.createDirectories(Paths.get(path));
+        this.blockCache = new LRUCache(blockCacheSize);
+        this.writeBufferManager = new WriteBufferManager(writeBufferSize, blockCache);
+        this.dbOptions = new DBOptions()
+            .setCreateIfMissing(true)
+            .setCreateMissingColumnFamilies(true)
+            .setWriteBufferManager(writeBufferManager);
+        this.profilesPath = Paths.get(path, "PROFILES");
+        loadProfiles();
+
+        List<byte[]> names;
+        try (Options options = new Options()) {
+            names = RocksDB.listColumnFamilies(options, path);
+        }
+        if (names.isEmpty()) {
+            names = new ArrayList<>();
+            names.add(RocksDB.DEFAULT_COLUMN_FAMILY);
+        }
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>(names.size());
+        for (byte[] name : names) {
+            String cf = new String(name, StandardCharsets.UTF_8);
+            descriptors.add(new ColumnFamilyDescriptor(name, options(cf, profile(cf))));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>(names.size());
+        this.db = RocksDB.open(dbOptions, path, descriptors, handles);
+        for (int i = 0; i < names.size(); i++) {
+            if (!Arrays.equals(names.get(i), RocksDB.DEFAULT_COLUMN_FAMILY)) {
+                columnFamilies.put(new String(names.get(i), StandardCharsets.UTF_8), handles.get(i));
+            }
+        }
+        log.info("Shared RocksDB open, path: {}, block cache: {}, write buffer: {}, column families: {}.",
+            path, blockCacheSize, writeBufferSize, columnFamilies.keySet());
+    }
+
+    public RocksDB db() {
+        return db;
+    }
+
+    public ColumnFamilyHandle columnFamily(String name) throws RocksDBException {
+        return columnFamily(name, StorageProfile.DEFAULT);
+    }
+
+    /**
+     * Get or create the column family, the profile only takes effect on creating.
+     */
+    public synchronized ColumnFamilyHandle columnFamily(String name, StorageProfile profile) throws RocksDBException {
+        ColumnFamilyHandle handle = columnFamilies.get(name);
+        if (handle == null) {
+            profiles.setProperty(name, profile.getProfileName());
+            saveProfiles();
+            handle = db.createColumnFamily(
+                new ColumnFamilyDescriptor(name.getBytes(StandardCharsets.UTF_8), options(name, profile))
+            );
+            columnFamilies.put(name, handle);
+        }
+        return handle;
+    }
+
+    public synchronized void dropColumnFamily(String name) {
+        ColumnFamilyHandle handle = columnFamilies.remove(name);
+        if (handle == null) {
+            return;
+        }
+        try {
+            db.dropColumnFamily(handle);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        } finally {
+            handle.close();
+            Optional.ifPresent(cfOptions.remove(name), ColumnFamilyOptions::close);
+        }
+        profiles.remove(name);
+        saveProfiles();
+        log.info("Shared RocksDB drop column family: {}, path: {}.", name, path);
+    }
+
+    @Override
+    public synchronized void close() {
+        columnFamilies.values().forEach(ColumnFamilyHandle::close);
+        columnFamilies.clear();
+        db.close();
+        dbOptions.close();
+        cfOptions.values().forEach(ColumnFamilyOptions::close);
+        cfOptions.clear();
+        writeBufferManager.close();
+        blockCache.close();
+    }
+
+    private ColumnFamilyOptions options(String name, StorageProfile profile) {
+        ColumnFamilyOptions options = StorageProfileOptions.apply(profile, new ColumnFamilyOptions(), blockCache);
+        cfOptions.put(name, options);
+        return options;
+    }
+
+    private StorageProfile profile(String name) {
+        return StorageProfile.of(profiles.getProperty(name));
+    }
+
+    private void loadProfiles() {
+        if (!Files.exists(profilesPath)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(profilesPath)) {
+            profiles.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void saveProfiles() {
+        try (OutputStream out = Files.newOutputStream(profilesPath)) {
+            profiles.store(out, null);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.kv.storage;
+
+import io.dingodb.common.codec.ProtostuffCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestRaftRawKVOperation {
+
+    private static RaftRawKVOperation roundTrip(RaftRawKVOperation operation) {
+        return RaftRawKVOperation.decode(ByteBuffer.wrap(operation.encode()));
+    }
+
+    @Test
+    public void testPut() {
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.put(new byte[] {1, 2}, new byte[] {3}));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.PUT);
+        assertThat(operation.getKey()).isEqualTo(new byte[] {1, 2});
+        assertThat(operation.getValue()).isEqualTo(new byte[] {3});
+    }
+
+    @Test
+    public void testPutList() {
+        List<ByteArrayEntry> entries = Arrays.asList(
+            new ByteArrayEntry(new byte[] {1}, new byte[] {1}),
+            new ByteArrayEntry(new byte[] {2}, new byte[0])
+        );
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.put(entries));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.PUT_LIST);
+        assertThat(operation.<List<ByteArrayEntry>>ext1()).isEqualTo(entries);
+    }
+
+    @Test
+    public void testDeleteRangeWithNullEnd() {
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.delete(new byte[] {1}, null));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.DELETE_RANGE);
+        assertThat(operation.getKey()).isEqualTo(new byte[] {1});
+        assertThat(operation.getExtKey()).isNull();
+    }
+
+    @Test
+    public void testCompute() {
+        List<byte[]> operations = Arrays.asList(new byte[] {1}, new byte[] {2, 3});
+        RaftRawKVOperation operation = roundTrip(
+            RaftRawKVOperation.compute(new byte[] {1}, new byte[] {9}, operations, 300)
+        );
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.COMPUTE);
+        assertThat(operation.<List<byte[]>>ext1()).containsExactly(new byte[] {1}, new byte[] {2, 3});
+        assertThat(operation.<Integer>ext2()).isEqualTo(300);
+    }
+
+    @Test
+    public void testWriteBatch() {
+        List<ByteArrayEntry> puts = Arrays.asList(
+            new ByteArrayEntry(new byte[] {1}, new byte[] {1}),
+            new ByteArrayEntry(new byte[] {(byte) 0xFF, 1}, new byte[] {1})
+        );
+        List<byte[]> deletes = Arrays.asList(new byte[] {(byte) 0xFF, 2});
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.writeBatch(puts, deletes));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.WRITE_BATCH);
+        assertThat(operation.<List<ByteArrayEntry>>ext1()).isEqualTo(puts);
+        assertThat(operation.<List<byte[]>>ext2()).containsExactly(new byte[] {(byte) 0xFF, 2});
+    }
+
+    @Test
+    public void testIngest() {
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.ingest(Arrays.asList("load-0.sst", "load-1.sst")));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.INGEST);
+        assertThat(operation.<List<String>>ext1()).containsExactly("load-0.sst", "load-1.sst");
+    }
+
+    @Test
+    public void testCompareAndPut() {
+        RaftRawKVOperation operation = roundTrip(
+            RaftRawKVOperation.compareAndPut(new byte[] {1}, new byte[] {2}, new byte[] {3})
+        );
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.CAS);
+        assertThat(operation.getKey()).isEqualTo(new byte[] {1});
+        assertThat(operation.getExtValue()).isEqualTo(new byte[] {2});
+        assertThat(operation.getValue()).isEqualTo(new byte[] {3});
+        assertThat(operation.<Integer>ext2()).isNotNull();
+    }
+
+    @Test
+    public void testCompareAndPutList() {
+        List<ConditionalPut> puts = Arrays.asList(
+            new ConditionalPut(new byte[] {1}, null, new byte[] {1}),
+            new ConditionalPut(
+                new byte[] {2},
+                new byte[] {2},
+                new byte[] {3},
+                Arrays.asList(new ByteArrayEntry(new byte[] {(byte) 0xFF, 3}, new byte[] {2})),
+                Arrays.asList(new byte[] {(byte) 0xFF, 2})
+            )
+        );
+        RaftRawKVOperation operation = roundTrip(RaftRawKVOperation.compareAndPut(puts));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.CAS_LIST);
+        List<ConditionalPut> decoded = operation.ext1();
+        assertThat(decoded).hasSize(2);
+        assertThat(decoded.get(0).getExpect()).isNull();
+        assertThat(decoded.get(0).getPuts()).isEmpty();
+        assertThat(decoded.get(1).getKey()).isEqualTo(new byte[] {2});
+        assertThat(decoded.get(1).getExpect()).isEqualTo(new byte[] {2});
+        assertThat(decoded.get(1).getValue()).isEqualTo(new byte[] {3});
+        assertThat(decoded.get(1).getPuts()).isEqualTo(puts.get(1).getPuts());
+        assertThat(decoded.get(1).getDeletes()).containsExactly(new byte[] {(byte) 0xFF, 2});
+    }
+
+    @Test
+    public void testConditionalPutTimestamp() {
+        RaftRawKVOperation operation = roundTrip(
+            RaftRawKVOperation.putIfAbsent(new byte[] {1}, new byte[] {2}, 12345)
+        );
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.PUT_IF_ABSENT);
+        assertThat(operation.<Integer>ext2()).isEqualTo(12345);
+        operation = roundTrip(RaftRawKVOperation.compareAndPut(new byte[] {1}, null, new byte[] {2}, 23456));
+        assertThat(operation.<Integer>ext2()).isEqualTo(23456);
+        operation = roundTrip(RaftRawKVOperation.compareAndPut(
+            Arrays.asList(new ConditionalPut(new byte[] {1}, null, new byte[] {1})), 34567
+        ));
+        assertThat(operation.<Integer>ext2()).isEqualTo(34567);
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] bytes = RaftRawKVOperation.putIfAbsent(new byte[] {1}, new byte[] {2}, 12345).encode();
+        bytes[1] = RaftRawKVOperationCodec.VERSION - 1;
+        assertThatThrownBy(() -> RaftRawKVOperation.decode(ByteBuffer.wrap(bytes)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testDecodeLegacy() {
+        byte[] legacy = ProtostuffCodec.write(RaftRawKVOperation.delete(new byte[] {5}));
+        RaftRawKVOperation operation = RaftRawKVOperation.decode(ByteBuffer.wrap(legacy));
+        assertThat(operation.getOp()).isEqualTo(RaftRawKVOperation.Op.DELETE);
+        assertThat(operation.getKey()).isEqualTo(new byte[] {5});
+    }
+
+}
@@ -33,14 +33,21 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.SstFileWriter;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TestRaftRawKVStore {
 
@@ -161,6 +168,42 @@ public class TestRaftRawKVStore {
     }
 
 
+    @Test
+    public void testPutIfAbsent() throws ExecutionException, InterruptedException {
+        assertThat(store.putIfAbsent(new byte[] {1}, new byte[] {10}).get()).isFalse();
+        assertThat(store.putIfAbsent(new byte[] {20}, new byte[] {20}).get()).isTrue();
+        assertThat(store.get(new byte[] {1}).get()).isEqualTo(new byte[] {1});
+        assertThat(store.get(new byte[] {20}).get()).isEqualTo(new byte[] {20});
+    }
+
+    @Test
+    public void testCompareAndPut() throws ExecutionException, InterruptedException {
+        assertThat(store.compareAndPut(new byte[] {1}, new byte[] {2}, new byte[] {10}).get()).isFalse();
+        assertThat(store.compareAndPut(new byte[] {1}, new byte[] {1}, new byte[] {10}).get()).isTrue();
+        assertThat(store.get(new byte[] {1}).get()).isEqualTo(new byte[] {10});
+    }
+
+    @Test
+    public void testCompareAndPutList() throws ExecutionException, InterruptedException {
+        List<Boolean> results = store.compareAndPut(Arrays.asList(
+            new ConditionalPut(
+                new byte[] {30},
+                null,
+                new byte[] {30},
+                Collections.singletonList(new ByteArrayEntry(new byte[] {31}, new byte[] {30})),
+                Collections.emptyList()
+            ),
+            new ConditionalPut(new byte[] {30}, null, new byte[] {32}),
+            new ConditionalPut(new byte[] {2}, null, new byte[] {20}),
+            new ConditionalPut(new byte[] {3}, new byte[] {3}, new byte[] {33})
+        )).get();
+        assertThat(results).containsExactly(true, false, false, true);
+        assertThat(store.get(new byte[] {30}).get()).isEqualTo(new byte[] {30});
+        assertThat(store.get(new byte[] {31}).get()).isEqualTo(new byte[] {30});
+        assertThat(store.get(new byte[] {2}).get()).isEqualTo(new byte[] {2});
+        assertThat(store.get(new byte[] {3}).get()).isEqualTo(new byte[] {33});
+    }
+
     @Test
     public void testDelete() throws ExecutionException, InterruptedException {
         store.delete(new byte[] {2}).get();
@@ -191,4 +234,58 @@ public class TestRaftRawKVStore {
         assertThat(store.containsKey(new byte[] {5}).get()).isTrue();
     }
 
+    @Test
+    public void testIngestReplay() throws Exception {
+        Path path = Paths.get(DB_PATH, "ingest-replay");
+        RocksRawKVStore kvStore = new RocksRawKVStore(path.resolve("db").toString(), "", "");
+        Location location = new Location("localhost", 9182);
+        RaftRawKVStore raftStore = new RaftRawKVStore(
+            RAFT_ID, kvStore, null, path.resolve("raft"), null, location, Collections.singletonList(location)
+        );
+        try {
+            Path ingestPath = raftStore.ingestPath();
+            FileUtils.createDirectories(ingestPath);
+            kvStore.put(new byte[] {1}, new byte[] {1});
+            kvStore.put(new byte[] {2}, new byte[] {2});
+            String snapshotPath = path.resolve("snapshot").toString();
+            List<String> snapshotFiles = kvStore.snapshotSaveFiles(snapshotPath, null, null).get();
+
+            try (
+                EnvOptions envOptions = new EnvOptions();
+                Options options = new Options();
+                SstFileWriter writer = new SstFileWriter(envOptions, options)
+            ) {
+                writer.open(ingestPath.resolve("load-0.sst").toString());
+                writer.put(new byte[] {1}, new byte[] {10});
+                writer.put(new byte[] {3}, new byte[] {30});
+                writer.finish();
+            }
+            raftStore.localIngest(Collections.singletonList("load-0.sst"));
+            assertThat(kvStore.get(new byte[] {1})).isEqualTo(new byte[] {10});
+            assertThat(kvStore.get(new byte[] {3})).isEqualTo(new byte[] {30});
+            assertThat(ingestPath.resolve("load-0.sst")).doesNotExist();
+
+            // Restart: the snapshot before the ingestion is loaded and the log is replayed over it.
+            kvStore.snapshotLoadFiles(snapshotPath, snapshotFiles, null, null).get();
+            assertThat(kvStore.get(new byte[] {3})).isNull();
+            kvStore.put(new byte[] {1}, new byte[] {1});
+            raftStore.localIngest(Collections.singletonList("load-0.sst"));
+            assertThat(kvStore.get(new byte[] {1})).isEqualTo(new byte[] {10});
+            assertThat(kvStore.get(new byte[] {3})).isEqualTo(new byte[] {30});
+
+            // The kept files are removed after the next snapshot is saved.
+            List<Path> ingested = raftStore.ingestedFiles();
+            assertThat(ingested).hasSize(1);
+            raftStore.cleanIngestedFiles(ingested);
+            assertThat(ingested.get(0)).exists();
+            raftStore.cleanIngestedFiles(raftStore.ingestedFiles());
+            assertThat(ingested.get(0)).doesNotExist();
+
+            assertThatThrownBy(() -> raftStore.localIngest(Collections.singletonList("load-1.sst")))
+                .isInstanceOf(IllegalStateException.class);
+        } finally {
+            kvStore.close();
+            FileUtils.deleteIfExists(path);
+        }
+    }
 }
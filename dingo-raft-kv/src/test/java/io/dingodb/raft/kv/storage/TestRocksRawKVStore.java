@@ -26,6 +26,9 @@ import org.junit.jupiter.api.Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.Checksum;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -136,4 +139,120 @@ public class TestRocksRawKVStore {
         assertThat(iterator.hasNext()).isFalse();
     }
 
+    @Test
+    public void testFileSnapshot() throws Exception {
+        String path = DB_PATH.toString() + "-snapshot";
+        try {
+            List<String> files = store.snapshotSaveFiles(path, new byte[] {2}, new byte[] {5}).get();
+            assertThat(files).hasSize(1);
+            afterEach();
+            store.put(new byte[] {3}, new byte[] {0});
+            store.put(new byte[] {9}, new byte[] {9});
+
+            store.snapshotLoadFiles(path, files, new byte[] {2}, new byte[] {5}).get();
+            SeekableIterator<byte[], ByteArrayEntry> iterator = store.iterator();
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {2}, new byte[] {2}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {3}, new byte[] {3}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {4}, new byte[] {4}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {9}, new byte[] {9}));
+            assertThat(iterator.hasNext()).isFalse();
+        } finally {
+            FileUtils.deleteIfExists(Paths.get(path));
+        }
+    }
+
+    @Test
+    public void testFileSnapshotRanges() throws Exception {
+        String path = DB_PATH.toString() + "-snapshot";
+        try {
+            CompletableFuture<List<List<String>>> future = store.snapshotSaveFiles(
+                Arrays.asList(Paths.get(path, "rows").toString(), Paths.get(path, "index").toString()),
+                Arrays.asList(new byte[] {1}, new byte[] {4}),
+                Arrays.asList(new byte[] {3}, null)
+            );
+            // Written after the snapshot is taken, so in none of the ranges.
+            store.put(new byte[] {2}, new byte[] {0});
+            store.put(new byte[] {6}, new byte[] {6});
+            List<List<String>> files = future.get();
+            assertThat(files).hasSize(2);
+
+            store.snapshotLoadFiles(Paths.get(path, "rows").toString(), files.get(0), new byte[] {1}, new byte[] {3})
+                .get();
+            store.snapshotLoadFiles(Paths.get(path, "index").toString(), files.get(1), new byte[] {4}, null).get();
+            SeekableIterator<byte[], ByteArrayEntry> iterator = store.iterator();
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {1}, new byte[] {1}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {2}, new byte[] {2}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {3}, new byte[] {3}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {4}, new byte[] {4}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {5}, new byte[] {5}));
+            assertThat(iterator.hasNext()).isFalse();
+        } finally {
+            FileUtils.deleteIfExists(Paths.get(path));
+        }
+    }
+
+    @Test
+    public void testSharedDB() throws Exception {
+        Path sharedPath = Paths.get(DB_PATH.toString() + "-shared");
+        FileUtils.deleteIfExists(sharedPath);
+        try (SharedRocksDB sharedDB = new SharedRocksDB(sharedPath.toString(), 8 * 1024 * 1024, 8 * 1024 * 1024)) {
+            RocksRawKVStore store1 = new RocksRawKVStore(sharedDB, "store1");
+            RocksRawKVStore store2 = new RocksRawKVStore(sharedDB, "store2");
+            store1.put(new byte[] {1}, new byte[] {1});
+            store2.put(new byte[] {1}, new byte[] {2});
+            assertThat(store1.get(new byte[] {1})).isEqualTo(new byte[] {1});
+            assertThat(store2.get(new byte[] {1})).isEqualTo(new byte[] {2});
+
+            store1.close();
+            sharedDB.dropColumnFamily("store1");
+            assertThat(store2.get(new byte[] {1})).isEqualTo(new byte[] {2});
+            assertThat(new RocksRawKVStore(sharedDB, "store1").get(new byte[] {1})).isNull();
+            store2.close();
+        } finally {
+            FileUtils.deleteIfExists(sharedPath);
+        }
+    }
+
+    @Test
+    public void testTtl() throws Exception {
+        Path ttlPath = Paths.get(DB_PATH.toString() + "-ttl");
+        FileUtils.deleteIfExists(ttlPath);
+        RocksRawKVStore ttlStore = new RocksRawKVStore(ttlPath.toString(), "", "ttl", 100);
+        try {
+            int now = RocksDBUtils.now();
+            ttlStore.put(new byte[] {1}, RocksDBUtils.getValueWithTs(new byte[] {1}, now + 100));
+            ttlStore.put(new byte[] {2}, RocksDBUtils.getValueWithTs(new byte[] {2}, now - 1));
+            ttlStore.put(new byte[] {3}, RocksDBUtils.getValueWithTtl(new byte[] {3}, 100));
+            assertThat(ttlStore.get(new byte[] {1})).isEqualTo(new byte[] {1});
+            assertThat(ttlStore.get(new byte[] {2})).isNull();
+            assertThat(ttlStore.containsKey(new byte[] {2})).isFalse();
+            assertThat(ttlStore.count(null, null)).isEqualTo(2);
+            SeekableIterator<byte[], ByteArrayEntry> iterator = ttlStore.scan(new byte[] {1}, new byte[] {4});
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {1}, new byte[] {1}));
+            assertThat(iterator.next()).isEqualTo(new ByteArrayEntry(new byte[] {3}, new byte[] {3}));
+            assertThat(iterator.hasNext()).isFalse();
+        } finally {
+            ttlStore.close();
+            FileUtils.deleteIfExists(ttlPath);
+        }
+    }
+
+    @Test
+    public void testTtlGetAtTimestamp() throws Exception {
+        Path ttlPath = Paths.get(DB_PATH.toString() + "-ttl-ts");
+        FileUtils.deleteIfExists(ttlPath);
+        RocksRawKVStore ttlStore = new RocksRawKVStore(ttlPath.toString(), "", "ttl-ts", 100);
+        try {
+            int now = RocksDBUtils.now();
+            ttlStore.put(new byte[] {1}, RocksDBUtils.getValueWithTs(new byte[] {1}, now - 1));
+            List<byte[]> keys = Collections.singletonList(new byte[] {1});
+            // Expired now, but live at the time of an earlier proposal.
+            assertThat(ttlStore.get(keys).get(0).getValue()).isNull();
+            assertThat(ttlStore.get(keys, now - 2).get(0).getValue()).isEqualTo(new byte[] {1});
+        } finally {
+            ttlStore.close();
+            FileUtils.deleteIfExists(ttlPath);
+        }
+    }
+
 }
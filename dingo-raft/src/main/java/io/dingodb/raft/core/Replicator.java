@@ -78,6 +78,7 @@ public class Replicator implements ThreadId.OnError {
     private boolean hasSucceeded;
     private long timeoutNowIndex;
     private volatile long lastRpcSendTimestamp;
+    private volatile long lastEntriesSendTimestamp;
     private volatile long heartbeatCounter = 0;
     private volatile long probeCounter = 0;
     private volatile long appendEntriesCounter = 0;
@@ -588,8 +589,36 @@ public class Replicator implements ThreadId.OnError {
         return this.inflights.poll();
     }
 
+    /**
+     * Returns true when the follower has caught up and no entries were sent for one election timeout.
+     *
+     * @param nowMs the current monotonic time
+     */
+    boolean isQuiescent(final long nowMs) {
+        return this.state == State.Replicate
+            && this.inflights.isEmpty()
+            && this.nextIndex > this.options.getLogManager().getLastLogIndex()
+            && nowMs - this.lastEntriesSendTimestamp >= this.options.getElectionTimeoutMs();
+    }
+
+    /**
+     * Returns the delay of the next heartbeat. A factor not above 1 would let the follower election timeout expire
+     * between two heartbeats, so it disables the hibernation.
+     *
+     * @param nowMs the current monotonic time
+     */
+    long heartbeatTimeoutMs(final long nowMs) {
+        final int hibernateFactor = this.raftOptions.getHibernateHeartbeatFactor();
+        if (hibernateFactor > 1 && isQuiescent(nowMs)) {
+            // Hibernate: keep the leader alive on the follower with fewer heartbeats until new entries arrive.
+            return Math.max(this.options.getDynamicHeartBeatTimeoutMs(),
+                this.options.getElectionTimeoutMs() / hibernateFactor);
+        }
+        return this.options.getDynamicHeartBeatTimeoutMs();
+    }
+
     private void startHeartbeatTimer(final long startMs) {
-        final long dueTime = startMs + this.options.getDynamicHeartBeatTimeoutMs();
+        final long dueTime = startMs + heartbeatTimeoutMs(Utils.monotonicMs());
         try {
             this.heartbeatTimer = this.timerManager.schedule(() -> onTimeout(this.id), dueTime - Utils.nowMs(),
                 TimeUnit.MILLISECONDS);
@@ -897,6 +926,7 @@ public class Replicator implements ThreadId.OnError {
         LOG.info("Replicator={}@{} is started", r.id, r.options.getPeerId());
         r.catchUpClosure = null;
         r.lastRpcSendTimestamp = Utils.monotonicMs();
+        r.lastEntriesSendTimestamp = r.lastRpcSendTimestamp;
         r.startHeartbeatTimer(Utils.nowMs());
         // id.unlock in sendEmptyEntries
         r.sendProbeRequest();
@@ -1661,6 +1691,7 @@ public class Replicator implements ThreadId.OnError {
         final int seq = getAndIncrementReqSeq();
 
         this.appendEntriesCounter++;
+        this.lastEntriesSendTimestamp = monotonicSendTimeMs;
         Future<Message> rpcFuture = null;
         try {
             rpcFuture = this.rpcService.appendEntries(this.options.getPeerId().getEndpoint(), request, -1,
@@ -35,6 +35,12 @@ public class RaftOptions implements Copiable<RaftOptions> {
     private int            maxElectionDelayMs                   = 1000;
     /** Raft election:heartbeat timeout factor */
     private int            electionHeartbeatFactor              = 10;
+    /**
+     * Raft election:heartbeat timeout factor used while a replicator is quiescent (follower caught up and no
+     * entries sent for one election timeout). Idle groups then heartbeat less often until they see traffic again.
+     * A value not less than electionHeartbeatFactor, or not greater than 1, disables hibernation.
+     */
+    private int            hibernateHeartbeatFactor             = 3;
     /** Maximum number of tasks that can be applied in a batch */
     private int            applyBatch                           = 32;
     /** Call fsync when need */
@@ -213,6 +219,14 @@ public class RaftOptions implements Copiable<RaftOptions> {
         this.electionHeartbeatFactor = electionHeartbeatFactor;
     }
 
+    public int getHibernateHeartbeatFactor() {
+        return this.hibernateHeartbeatFactor;
+    }
+
+    public void setHibernateHeartbeatFactor(final int hibernateHeartbeatFactor) {
+        this.hibernateHeartbeatFactor = hibernateHeartbeatFactor;
+    }
+
     public int getApplyBatch() {
         return this.applyBatch;
     }
@@ -255,6 +269,7 @@ public class RaftOptions implements Copiable<RaftOptions> {
         raftOptions.setMaxAppendBufferSize(this.maxAppendBufferSize);
         raftOptions.setMaxElectionDelayMs(this.maxElectionDelayMs);
         raftOptions.setElectionHeartbeatFactor(this.electionHeartbeatFactor);
+        raftOptions.setHibernateHeartbeatFactor(this.hibernateHeartbeatFactor);
         raftOptions.setApplyBatch(this.applyBatch);
         raftOptions.setSync(this.sync);
         raftOptions.setSyncMeta(this.syncMeta);
@@ -274,6 +289,7 @@ public class RaftOptions implements Copiable<RaftOptions> {
                + this.fileCheckHole + ", maxEntriesSize=" + this.maxEntriesSize + ", maxBodySize=" + this.maxBodySize
                + ", maxAppendBufferSize=" + this.maxAppendBufferSize + ", maxElectionDelayMs="
                + this.maxElectionDelayMs + ", electionHeartbeatFactor=" + this.electionHeartbeatFactor
+               + ", hibernateHeartbeatFactor=" + this.hibernateHeartbeatFactor
                + ", applyBatch=" + this.applyBatch + ", sync=" + this.sync + ", syncMeta=" + this.syncMeta
                + ", openStatistics=" + this.openStatistics + ", replicatorPipeline=" + this.replicatorPipeline
                + ", maxReplicatorInflightMsgs=" + this.maxReplicatorInflightMsgs + ", disruptorBufferSize="
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.raft.core;
+
+import io.dingodb.raft.entity.PeerId;
+import io.dingodb.raft.option.NodeOptions;
+import io.dingodb.raft.option.RaftOptions;
+import io.dingodb.raft.option.ReplicatorOptions;
+import io.dingodb.raft.storage.LogManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class TestReplicator {
+    private static final int ELECTION_TIMEOUT_MS = 1000;
+    private static final int HEARTBEAT_TIMEOUT_MS = ELECTION_TIMEOUT_MS / 10;
+    private static final long LAST_LOG_INDEX = 10;
+
+    private final RaftOptions raftOptions = new RaftOptions();
+    private LogManager logManager;
+    private Replicator replicator;
+
+    @BeforeEach
+    public void setup() {
+        NodeImpl node = Mockito.mock(NodeImpl.class);
+        when(node.getNodeMetrics()).thenReturn(new NodeMetrics(false));
+        when(node.getGroupId()).thenReturn("group");
+        logManager = Mockito.mock(LogManager.class);
+        when(logManager.getLastLogIndex()).thenReturn(LAST_LOG_INDEX);
+        ReplicatorOptions options = new ReplicatorOptions();
+        options.setElectionTimeoutMs(ELECTION_TIMEOUT_MS);
+        options.setDynamicHeartBeatTimeoutMs(HEARTBEAT_TIMEOUT_MS);
+        options.setNode(node);
+        options.setLogManager(logManager);
+        options.setPeerId(new PeerId("127.0.0.1", 8081));
+        replicator = new Replicator(options, raftOptions);
+        // Caught up, the next index is after the last log index.
+        replicator.setState(Replicator.State.Replicate);
+    }
+
+    @Test
+    public void testDefaultHibernateFactor() {
+        assertThat(raftOptions.getHibernateHeartbeatFactor()).isEqualTo(3);
+        assertThat(raftOptions.copy().getHibernateHeartbeatFactor()).isEqualTo(3);
+    }
+
+    @Test
+    public void testQuiescent() {
+        // No entries sent since the replicator starts at 0.
+        assertThat(replicator.isQuiescent(ELECTION_TIMEOUT_MS)).isTrue();
+        assertThat(replicator.isQuiescent(ELECTION_TIMEOUT_MS - 1)).isFalse();
+    }
+
+    @Test
+    public void testNotQuiescentWhenFollowerBehind() {
+        when(logManager.getLastLogIndex()).thenReturn(LAST_LOG_INDEX + 1);
+        assertThat(replicator.isQuiescent(ELECTION_TIMEOUT_MS)).isFalse();
+    }
+
+    @Test
+    public void testNotQuiescentWhenNotReplicating() {
+        replicator.setState(Replicator.State.Probe);
+        assertThat(replicator.isQuiescent(ELECTION_TIMEOUT_MS)).isFalse();
+        replicator.setState(Replicator.State.Snapshot);
+        assertThat(replicator.isQuiescent(ELECTION_TIMEOUT_MS)).isFalse();
+    }
+
+    @Test
+    public void testHeartbeatTimeout() {
+        assertThat(replicator.heartbeatTimeoutMs(0)).isEqualTo(HEARTBEAT_TIMEOUT_MS);
+        assertThat(replicator.heartbeatTimeoutMs(ELECTION_TIMEOUT_MS)).isEqualTo(ELECTION_TIMEOUT_MS / 3);
+        when(logManager.getLastLogIndex()).thenReturn(LAST_LOG_INDEX + 1);
+        assertThat(replicator.heartbeatTimeoutMs(ELECTION_TIMEOUT_MS)).isEqualTo(HEARTBEAT_TIMEOUT_MS);
+    }
+
+    @Test
+    public void testHibernateDisabled() {
+        for (int factor : new int[] {-1, 0, 1}) {
+            raftOptions.setHibernateHeartbeatFactor(factor);
+            assertThat(replicator.heartbeatTimeoutMs(ELECTION_TIMEOUT_MS)).isEqualTo(HEARTBEAT_TIMEOUT_MS);
+        }
+        // Not less heartbeats than the normal interval.
+        raftOptions.setHibernateHeartbeatFactor(20);
+        assertThat(replicator.heartbeatTimeoutMs(ELECTION_TIMEOUT_MS)).isEqualTo(HEARTBEAT_TIMEOUT_MS);
+    }
+
+    @Test
+    public void testFollowerNotElectWhileLeaderQuiescent() {
+        long leaseMs = new NodeOptions().getLeaderLeaseTimeRatio() * ELECTION_TIMEOUT_MS / 100;
+        for (int factor = 2; factor < 10; factor++) {
+            raftOptions.setHibernateHeartbeatFactor(factor);
+            // The leader sends the heartbeats for 100 election timeouts without entries, the follower keeps the
+            // leader while the last heartbeat is in one election timeout (NodeImpl#isCurrentLeaderValid), and the
+            // leader keeps its lease while the follower answered in the lease.
+            long lastHeartbeat = 0;
+            boolean hibernated = false;
+            while (lastHeartbeat < 100L * ELECTION_TIMEOUT_MS) {
+                long delay = replicator.heartbeatTimeoutMs(lastHeartbeat);
+                hibernated |= delay > HEARTBEAT_TIMEOUT_MS;
+                assertThat(delay).as("factor %d", factor).isLessThan(ELECTION_TIMEOUT_MS).isLessThan(leaseMs);
+                lastHeartbeat += delay;
+            }
+            assertThat(hibernated).as("factor %d", factor).isTrue();
+        }
+    }
+}
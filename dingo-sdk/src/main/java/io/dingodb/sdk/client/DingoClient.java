@@ -18,6 +18,7 @@ package io.dingodb.sdk.client;
 
 import com.google.common.collect.ImmutableList;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
 import io.dingodb.common.operation.Column;
 import io.dingodb.common.operation.DingoExecResult;
 import io.dingodb.common.operation.Operation;
@@ -33,6 +34,7 @@ import io.dingodb.sdk.operation.ResultForClient;
 import io.dingodb.sdk.operation.StoreOperationType;
 import io.dingodb.sdk.operation.StoreOperationUtils;
 import io.dingodb.sdk.operation.UDFContext;
+import io.dingodb.server.api.ExecutorApi;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -209,6 +211,29 @@ public class DingoClient {
         return tableDef;
     }
 
+    /**
+     * get route table of table from coordinator, used by tools that write to the stores directly.
+     * @param tableName input table name
+     * @return RouteTable about table partition leaders and replicas on hosts.
+     */
+    public RouteTable getRouteTable(final String tableName) {
+        if (!isConnected()) {
+            log.error("connection has not been initialized, please call openConnection first");
+            return null;
+        }
+        return storeOpUtils.getAndRefreshRouteTable(tableName, true);
+    }
+
+    /**
+     * get executor api on the location.
+     * @param routeTable route table of table
+     * @param location executor location
+     * @return ExecutorApi proxy of the executor.
+     */
+    public ExecutorApi getExecutor(final RouteTable routeTable, final Location location) {
+        return routeTable.getExecutor(connection.getApiRegistry(), location);
+    }
+
     /**
      * insert records into table.
      * @param tableName input table name
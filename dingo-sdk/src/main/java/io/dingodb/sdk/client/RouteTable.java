@@ -36,7 +36,9 @@ public class RouteTable {
     private CommonId tableId;
     @Getter
     private KeyValueCodec codec;
+    @Getter
     private NavigableMap<ByteArrayUtils.ComparableByteArray, Part> partitionRange;
+    @Getter
     private PartitionStrategy<ByteArrayUtils.ComparableByteArray> partitionStrategy;
 
     public ExecutorApi getLeaderAddress(ApiRegistry apiRegistry,
@@ -50,6 +52,10 @@ public class RouteTable {
         return executor;
     }
 
+    public ExecutorApi getExecutor(ApiRegistry apiRegistry, Location location) {
+        return apiRegistry.proxy(ExecutorApi.class, () -> location);
+    }
+
     public String getStartPartitionKey(ApiRegistry apiRegistry, byte[] keyInBytes) {
         ByteArrayUtils.ComparableByteArray byteArray = partitionStrategy.calcPartId(keyInBytes);
         Part part = partitionRange.get(byteArray);
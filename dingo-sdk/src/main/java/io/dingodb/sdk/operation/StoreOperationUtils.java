@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 @Slf4j
@@ -78,22 +79,19 @@ public class StoreOperationUtils {
                 Map<String, ContextForStore> keys2Executor =
                     groupKeysByExecutor(routeTable, null, tableName, storeContext);
 
-                List<Future<List<DingoExecResult>>> futureArrayList = new ArrayList<>();
+                // The calls to all the executors are in flight at the same time without a thread per call.
+                List<CompletableFuture<List<DingoExecResult>>> futureArrayList = new ArrayList<>();
                 for (Map.Entry<String, ContextForStore> entry : keys2Executor.entrySet()) {
                     String leaderAddress = entry.getKey();
                     ContextForStore forStore = entry.getValue();
                     ExecutorApi executorApi = getExecutor(routeTable, leaderAddress);
-
-                    RouteTable finalRouteTable = routeTable;
-                    Future<List<DingoExecResult>> future =
-                        Executors.submit("compute-operation", () -> executorApi.operator(
-                            finalRouteTable.getTableId(),
-                            forStore.getStartKeyListInBytes(),
-                            forStore.getEndKeyListInBytes(),
-                            forStore.getOperationListInBytes()));
-                    futureArrayList.add(future);
+                    futureArrayList.add(executorApi.operatorAsync(
+                        routeTable.getTableId(),
+                        forStore.getStartKeyListInBytes(),
+                        forStore.getEndKeyListInBytes(),
+                        forStore.getOperationListInBytes()));
                 }
-                for (Future<List<DingoExecResult>> listFuture : futureArrayList) {
+                for (CompletableFuture<List<DingoExecResult>> listFuture : futureArrayList) {
                     List<DingoExecResult> dingoExecResults = listFuture.get();
                     for (DingoExecResult dingoExecResult : dingoExecResults) {
                         isSuccess = dingoExecResult.isSuccess();
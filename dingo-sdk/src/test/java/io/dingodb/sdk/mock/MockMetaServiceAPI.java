@@ -19,6 +19,7 @@ package io.dingodb.sdk.mock;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.codec.PrimitiveCodec;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.meta.Part;
@@ -41,6 +42,15 @@ public class MockMetaServiceAPI implements MetaServiceApi {
         return false;
     }
 
+    @Override
+    public void createIndex(@Nonnull String tableName, @Nonnull IndexDefinition index) {
+    }
+
+    @Override
+    public boolean dropIndex(@Nonnull String tableName, @Nonnull String indexName) {
+        return false;
+    }
+
     @Override
     public byte[] getTableKey(@Nonnull String tableName) {
         return new byte[0];
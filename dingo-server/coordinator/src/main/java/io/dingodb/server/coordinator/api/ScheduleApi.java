@@ -21,6 +21,7 @@ import io.dingodb.net.api.ApiRegistry;
 import io.dingodb.server.coordinator.meta.adaptor.MetaAdaptorRegistry;
 import io.dingodb.server.coordinator.meta.adaptor.impl.TableAdaptor;
 import io.dingodb.server.coordinator.schedule.ClusterScheduler;
+import io.dingodb.server.coordinator.schedule.processor.SplitPartProcessor;
 import io.dingodb.server.protocol.meta.Table;
 
 public class ScheduleApi implements io.dingodb.server.api.ScheduleApi {
@@ -70,6 +71,7 @@ public class ScheduleApi implements io.dingodb.server.api.ScheduleApi {
 
     @Override
     public void splitPart(CommonId tableId, CommonId partId) {
+        checkSplit(tableId);
         ClusterScheduler.instance().getTableScheduler(tableId).split(partId);
     }
 
@@ -79,6 +81,14 @@ public class ScheduleApi implements io.dingodb.server.api.ScheduleApi {
             splitPart(tableId, partId);
             return;
         }
+        checkSplit(tableId);
         ClusterScheduler.instance().getTableScheduler(tableId).split(partId, key);
     }
+
+    private static void checkSplit(CommonId tableId) {
+        TableAdaptor tableAdaptor = MetaAdaptorRegistry.getMetaAdaptor(Table.class);
+        if (SplitPartProcessor.hasIndexes(tableAdaptor.get(tableId))) {
+            throw new IllegalStateException("The table " + tableId + " has indexes, split is not supported.");
+        }
+    }
 }
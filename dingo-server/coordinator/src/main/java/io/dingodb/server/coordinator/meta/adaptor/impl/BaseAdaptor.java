@@ -19,6 +19,7 @@ package io.dingodb.server.coordinator.meta.adaptor.impl;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.server.coordinator.meta.adaptor.Adaptor;
 import io.dingodb.server.coordinator.store.MetaStore;
 import io.dingodb.server.protocol.meta.Meta;
@@ -44,9 +45,13 @@ public abstract class BaseAdaptor<M extends Meta> implements Adaptor<M> {
     public BaseAdaptor(MetaStore metaStore) {
         this.metaStore = metaStore;
         Iterator<KeyValue> iterator = this.metaStore.keyValueScan(metaId().encode());
-        while (iterator.hasNext()) {
-            M meta = decodeMeta(iterator.next().getValue());
-            metaMap.put(meta.getId(), meta);
+        try {
+            while (iterator.hasNext()) {
+                M meta = decodeMeta(iterator.next().getValue());
+                metaMap.put(meta.getId(), meta);
+            }
+        } finally {
+            CloseableIterator.close(iterator);
         }
     }
 
@@ -19,6 +19,7 @@ package io.dingodb.server.coordinator.meta.adaptor.impl;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.codec.ProtostuffCodec;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.server.coordinator.meta.adaptor.StatsAdaptor;
 import io.dingodb.server.coordinator.store.MetaStore;
 import io.dingodb.server.protocol.meta.Stats;
@@ -41,9 +42,13 @@ public abstract class BaseStatsAdaptor<S extends Stats> implements StatsAdaptor<
     public BaseStatsAdaptor(MetaStore metaStatsStore) {
         this.metaStatsStore = metaStatsStore;
         Iterator<KeyValue> iterator = this.metaStatsStore.keyValueScan(statsId().encode());
-        while (iterator.hasNext()) {
-            S tableSegment = decodeStats(iterator.next().getValue());
-            metaStatsMap.put(tableSegment.getId(), tableSegment);
+        try {
+            while (iterator.hasNext()) {
+                S tableSegment = decodeStats(iterator.next().getValue());
+                metaStatsMap.put(tableSegment.getId(), tableSegment);
+            }
+        } finally {
+            CloseableIterator.close(iterator);
         }
     }
 
@@ -19,7 +19,9 @@ package io.dingodb.server.coordinator.meta.adaptor.impl;
 import com.google.auto.service.AutoService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.Optional;
 import io.dingodb.server.coordinator.config.CoordinatorConfiguration;
@@ -121,7 +123,9 @@ public class TableAdaptor extends BaseAdaptor<Table> {
             .forEach(keyValues::add);
 
         int ttl = TableAdaptor.getTtl(table);
-        log.info("TableAdaptor create, table id: {}, ttl: {}.", table.getId(), ttl);
+        String storageProfile = TableAdaptor.getStorageProfile(table);
+        log.info("TableAdaptor create, table id: {}, ttl: {}, storage profile: {}.",
+            table.getId(), ttl, storageProfile);
         TablePart tablePart = TablePart.builder()
             .version(0)
             .schema(table.getSchema())
@@ -129,6 +133,7 @@ public class TableAdaptor extends BaseAdaptor<Table> {
             .start(EMPTY_BYTES)
             .createTime(System.currentTimeMillis())
             .ttl(ttl)
+            .storageProfile(storageProfile)
             .build();
         tablePart.setId(tablePartAdaptor.newId(tablePart));
         keyValues.add(new KeyValue(tablePart.getId().encode(), tablePartAdaptor.encodeMeta(tablePart)));
@@ -145,10 +150,19 @@ public class TableAdaptor extends BaseAdaptor<Table> {
         }
     }
 
+    public void updateIndexes(CommonId tableId, List<IndexDefinition> indexes) {
+        Table table = get(tableId);
+        table.setIndexes(indexes);
+        table.setUpdateTime(System.currentTimeMillis());
+        pureSave(table);
+    }
+
     public TablePart newPart(CommonId tableId, byte[] start, byte[] end) {
         Table table = get(tableId);
         int ttl = TableAdaptor.getTtl(table);
-        log.info("TableAdaptor newPart, table id: {}, ttl: {}.", table.getId(), ttl);
+        String storageProfile = TableAdaptor.getStorageProfile(table);
+        log.info("TableAdaptor newPart, table id: {}, ttl: {}, storage profile: {}.",
+            table.getId(), ttl, storageProfile);
         TablePart tablePart = TablePart.builder()
             .version(0)
             .schema(table.getSchema())
@@ -156,6 +170,7 @@ public class TableAdaptor extends BaseAdaptor<Table> {
             .start(start)
             .end(end)
             .ttl(ttl)
+            .storageProfile(storageProfile)
             .build();
         tablePart.setId(tablePartAdaptor.newId(tablePart));
         metaStore.upsertKeyValue(tablePart.getId().encode(), tablePartAdaptor.encodeMeta(tablePart));
@@ -241,6 +256,8 @@ public class TableAdaptor extends BaseAdaptor<Table> {
             .map(this::metaToDefinition)
             .collect(Collectors.toList());
         tableDefinition.setColumns(columnDefinitions);
+        tableDefinition.setIndexes(table.getIndexes());
+        tableDefinition.setAttrMap(table.getAttrMap());
         if (log.isDebugEnabled()) {
             log.info("Meta to table definition: {}", tableDefinition);
         }
@@ -271,6 +288,7 @@ public class TableAdaptor extends BaseAdaptor<Table> {
             .attrMap(definition.getAttrMap())
             .partType(definition.getPartType())
             .dingoTablePart(definition.getDingoTablePart())
+            .indexes(definition.getIndexes())
             .build();
     }
 
@@ -391,4 +409,17 @@ public class TableAdaptor extends BaseAdaptor<Table> {
         }
         return ttl;
     }
+
+    public static String getStorageProfile(Table table) {
+        Map<String, Object> attrMap = table.getAttrMap();
+        if (attrMap == null) {
+            return StorageProfile.DEFAULT.getProfileName();
+        }
+        String profile = attrMap.entrySet().stream()
+            .filter(e -> e.getKey().equalsIgnoreCase(StorageProfile.ATTR) && e.getValue() != null)
+            .map(e -> e.getValue().toString())
+            .findAny()
+            .orElse(null);
+        return StorageProfile.of(profile).getProfileName();
+    }
 }
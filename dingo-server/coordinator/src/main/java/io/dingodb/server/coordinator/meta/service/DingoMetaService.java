@@ -20,6 +20,7 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.Optional;
@@ -32,6 +33,7 @@ import io.dingodb.server.coordinator.meta.adaptor.impl.ExecutorAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.ReplicaAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.TableAdaptor;
 import io.dingodb.server.coordinator.meta.adaptor.impl.TablePartStatsAdaptor;
+import io.dingodb.server.coordinator.schedule.processor.TableStoreProcessor;
 import io.dingodb.server.protocol.CommonIdConstant;
 import io.dingodb.server.protocol.meta.Executor;
 import io.dingodb.server.protocol.meta.Replica;
@@ -40,6 +42,7 @@ import io.dingodb.server.protocol.meta.TablePart;
 import io.dingodb.server.protocol.meta.TablePartStats;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -128,6 +131,67 @@ public class DingoMetaService implements MetaService, MetaServiceApi {
         return true;
     }
 
+    @Override
+    public synchronized void createIndex(@Nonnull String tableName, @Nonnull IndexDefinition index) {
+        TableAdaptor adaptor = getMetaAdaptor(Table.class);
+        CommonId tableId = adaptor.getTableId(tableName);
+        if (tableId == null) {
+            throw new RuntimeException("Table " + tableName + " not found");
+        }
+        TableDefinition definition = adaptor.getDefinition(tableId);
+        if (definition.getIndex(index.getName()) != null) {
+            throw new RuntimeException("Index " + index.getName() + " already exists on " + tableName);
+        }
+        // Index entries are only written with the rows, existing rows are not back filled.
+        checkEmpty(tableName, tableId);
+        List<IndexDefinition> indexes = definition.getIndexes() == null
+            ? new ArrayList<>() : new ArrayList<>(definition.getIndexes());
+        definition.addIndex(index);
+        adaptor.updateIndexes(tableId, definition.getIndexes());
+        // A row written by a plan of the old definition between the check and the update has no index entry,
+        // check again after the update and roll back if there is any.
+        try {
+            checkEmpty(tableName, tableId);
+        } catch (RuntimeException e) {
+            adaptor.updateIndexes(tableId, indexes);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized boolean dropIndex(@Nonnull String tableName, @Nonnull String indexName) {
+        TableAdaptor adaptor = getMetaAdaptor(Table.class);
+        CommonId tableId = adaptor.getTableId(tableName);
+        if (tableId == null) {
+            return false;
+        }
+        TableDefinition definition = adaptor.getDefinition(tableId);
+        if (!definition.removeIndex(indexName)) {
+            return false;
+        }
+        adaptor.updateIndexes(tableId, definition.getIndexes());
+        return true;
+    }
+
+    /**
+     * Check every part of the table has no row on its leader, the approximate stats may not be reported yet.
+     */
+    private void checkEmpty(String tableName, CommonId tableId) {
+        TablePartStatsAdaptor statsMetaAdaptor = getStatsMetaAdaptor(TablePartStats.class);
+        for (TablePart part : getMetaAdaptor(TablePart.class).getByDomain(tableId.seqContent())) {
+            TablePartStats stats = statsMetaAdaptor.getStats(
+                new CommonId(ID_TYPE.stats, STATS_IDENTIFIER.part, part.getId().domainContent(),
+                    part.getId().seqContent())
+            );
+            if (stats == null || stats.getLeader() == null) {
+                throw new RuntimeException("The part " + part.getId() + " of " + tableName + " has no leader yet");
+            }
+            if (!TableStoreProcessor.getOrAddStore(stats.getLeader()).isTablePartEmpty(tableId, part.getStart())) {
+                throw new RuntimeException("Create index on non-empty table " + tableName + " is not supported");
+            }
+        }
+    }
+
     @Override
     public NavigableMap<ComparableByteArray, Part> getParts(String name) {
         CommonId tableId = ((TableAdaptor) getMetaAdaptor(Table.class)).getTableId(name);
@@ -121,6 +121,7 @@ public class ClusterScheduler implements ServerApi, ReportApi {
                     .replicates(partRep.stream().map(Replica::getId).collect(Collectors.toList()))
                     .replicateLocations(partRep.stream().map(Replica::location).collect(Collectors.toList()))
                     .ttl(tablePart.getTtl())
+                    .storageProfile(tablePart.getStorageProfile())
                     .build()
                 );
             }
@@ -82,6 +82,13 @@ public class SplitPartProcessor {
     }
 
     public CompletableFuture<Void> split(CommonId part, byte[] split) {
+        if (hasIndexes(tableAdaptor.get(tableId))) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException(
+                "The table " + tableId + " has indexes, split does not move the index entries."
+            ));
+            return future;
+        }
         SplitTask task = createTask(part, split);
         return CompletableFuture.runAsync(() -> processSplitTask(task));
     }
@@ -89,7 +96,7 @@ public class SplitPartProcessor {
     public byte[] estimateSplitKey(TablePartStats stats) {
         List<TablePartStats.ApproximateStats> approximateStats = stats.getApproximateStats();
         Table table = tableAdaptor.get(tableId);
-        if (!table.isAutoSplit() || approximateStats == null || approximateStats.size() <= 1) {
+        if (!table.isAutoSplit() || hasIndexes(table) || approximateStats == null || approximateStats.size() <= 1) {
             return null;
         }
         long totalCount = 0;
@@ -128,6 +135,14 @@ public class SplitPartProcessor {
         return splitKey;
     }
 
+    /**
+     * Index entries are keyed by the part id, a split would leave the entries of the moved rows in the old part,
+     * so the tables with indexes are not split.
+     */
+    public static boolean hasIndexes(Table table) {
+        return table.getIndexes() != null && !table.getIndexes().isEmpty();
+    }
+
     public void processSplitTask(SplitTask task) {
         TablePart oldPart = tablePartAdaptor.get(task.getOldPart());
         if (oldPart.getEnd() != null && ByteArrayUtils.lessThanOrEqual(oldPart.getEnd(), task.getSplitKey())) {
@@ -93,6 +93,7 @@ public class TableStoreProcessor {
             .leaderLocation(null)
             .replicateLocations(replicaLocations)
             .ttl(tablePart.getTtl())
+            .storageProfile(tablePart.getStorageProfile())
             .build();
         log.info("Apply part [{}] on [{}], part info: {}", tablePart.getId(), executor, part);
         if (exist) {
@@ -121,6 +122,7 @@ public class TableStoreProcessor {
             .replicateLocations(replicas.stream().map(Replica::location).collect(Collectors.toList()))
             .replicates(replicas.stream().map(Replica::getId).collect(Collectors.toList()))
             .ttl(tablePart.getTtl())
+            .storageProfile(tablePart.getStorageProfile())
             .build();
         log.info("Apply part [{}] on [{}], part info: {}", tablePart.getId(), executor, part);
         if (exist) {
@@ -133,7 +133,7 @@ public class CoordinatorStateMachine implements StateMachine {
             case DELETE_LIST:
                 return store.delete((List<byte[]>) operation.ext1());
             case DELETE_RANGE:
-                return store.delete(operation.getKey(), operation.getValue());
+                return store.delete(operation.getKey(), operation.getExtKey());
             default:
                 throw new IllegalStateException("Not write or sync operation: " + operation.getOp());
         }
@@ -17,12 +17,11 @@
 package io.dingodb.server.coordinator.store;
 
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.SeekableIterator;
 
-import java.util.Iterator;
-
-public class KeyValueIterator implements Iterator<KeyValue> {
+public class KeyValueIterator implements CloseableIterator<KeyValue> {
 
     protected SeekableIterator<byte[], ByteArrayEntry> iterator;
 
@@ -40,4 +39,9 @@ public class KeyValueIterator implements Iterator<KeyValue> {
         ByteArrayEntry entry = iterator.next();
         return new KeyValue(entry.getKey(), entry.getValue());
     }
+
+    @Override
+    public void close() {
+        iterator.close();
+    }
 }
@@ -29,7 +29,6 @@ import io.dingodb.raft.kv.storage.SeekableIterator;
 import io.dingodb.server.protocol.CommonIdConstant;
 import io.dingodb.store.api.StoreInstance;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -107,7 +106,9 @@ public class MetaStore implements StoreInstance {
 
     @Override
     public boolean existAny(byte[] startPrimaryKey, byte[] endPrimaryKey) {
-        return keyValueScan(startPrimaryKey, endPrimaryKey).hasNext();
+        try (KeyValueIterator iterator = keyValueScan(startPrimaryKey, endPrimaryKey)) {
+            return iterator.hasNext();
+        }
     }
 
     @Override
@@ -123,12 +124,12 @@ public class MetaStore implements StoreInstance {
     }
 
     @Override
-    public Iterator<KeyValue> keyValueScan() {
+    public KeyValueIterator keyValueScan() {
         return new KeyValueIterator(iterator());
     }
 
     @Override
-    public Iterator<KeyValue> keyValueScan(byte[] startPrimaryKey, byte[] endPrimaryKey) {
+    public KeyValueIterator keyValueScan(byte[] startPrimaryKey, byte[] endPrimaryKey) {
         return new KeyValueIterator(read(RaftRawKVOperation.scan(startPrimaryKey, endPrimaryKey)));
     }
 
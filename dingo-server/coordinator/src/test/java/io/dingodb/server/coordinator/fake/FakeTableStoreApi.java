@@ -61,6 +61,11 @@ public class FakeTableStoreApi implements TableStoreApi {
 
     }
 
+    @Override
+    public boolean isTablePartEmpty(CommonId table, byte[] startKey) {
+        return true;
+    }
+
     @Override
     public void newTable(CommonId id) {
 
@@ -22,6 +22,7 @@ import io.dingodb.common.operation.DingoExecResult;
 import io.dingodb.common.operation.Operation;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.net.NetService;
 import io.dingodb.store.api.StoreService;
 import lombok.extern.slf4j.Slf4j;
@@ -100,13 +101,27 @@ public class ExecutorApi implements io.dingodb.server.api.ExecutorApi {
             .getInstance(tableId).keyValueScan(startPrimaryKey, endPrimaryKey);
 
         List<KeyValue> keyValues = new java.util.ArrayList<>();
-        while (rows.hasNext()) {
-            KeyValue keyValue = rows.next();
-            keyValues.add(keyValue);
+        try {
+            while (rows.hasNext()) {
+                KeyValue keyValue = rows.next();
+                keyValues.add(keyValue);
+            }
+        } finally {
+            CloseableIterator.close(rows);
         }
         return keyValues;
     }
 
+    @Override
+    public String ingestPath(CommonId tableId, byte[] primaryKey) {
+        return storeService.getInstance(tableId).ingestPath(primaryKey);
+    }
+
+    @Override
+    public boolean ingest(CommonId tableId, byte[] primaryKey, List<String> files) {
+        return storeService.getInstance(tableId).ingest(primaryKey, files);
+    }
+
     @Override
     public List<DingoExecResult> operator(CommonId tableId,
                                           List<byte[]> startKeys,
@@ -133,9 +148,13 @@ public class ExecutorApi implements io.dingodb.server.api.ExecutorApi {
 
         for (Operation operation : readOperations) {
             Iterator<KeyValue> iterator = storeService.getInstance(tableId).keyValueScan(startKeys.get(0), end);
-            DingoExecResult value = (DingoExecResult)
-                operation.operationType.executive().execute(operation.operationContext, iterator);
-            results.add(value);
+            try {
+                DingoExecResult value = (DingoExecResult)
+                    operation.operationType.executive().execute(operation.operationContext, iterator);
+                results.add(value);
+            } finally {
+                CloseableIterator.close(iterator);
+            }
 
         }
         return results;
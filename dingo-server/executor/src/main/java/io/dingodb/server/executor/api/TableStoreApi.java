@@ -19,6 +19,7 @@ package io.dingodb.server.executor.api;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.net.NetService;
 import io.dingodb.store.api.StoreService;
 import lombok.extern.slf4j.Slf4j;
@@ -60,10 +61,17 @@ public class TableStoreApi implements io.dingodb.server.api.TableStoreApi {
         // todo
     }
 
+    @Override
+    public boolean isTablePartEmpty(CommonId table, byte[] startKey) {
+        return storeService.getInstance(table).isEmptyPart(startKey);
+    }
+
     @Override
     public void assignTablePart(Part part) {
         log.info("Assign table part: {}", part);
-        storeService.getOrCreateInstance(part.getInstanceId(), part.getTtl()).assignPart(part);
+        storeService.getOrCreateInstance(
+            part.getInstanceId(), part.getTtl(), StorageProfile.of(part.getStorageProfile())
+        ).assignPart(part);
     }
 
     @Override
@@ -23,6 +23,7 @@ import io.dingodb.common.table.TableDefinition;
 import io.dingodb.net.api.annotation.ApiDeclaration;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ExecutorApi {
 
@@ -56,6 +57,19 @@ public interface ExecutorApi {
     @ApiDeclaration
     List<KeyValue> getKeyValueByRange(CommonId tableId, byte[] startPrimaryKey, byte[] endPrimaryKey);
 
+    /**
+     * Returns the directory on this executor that sst files to ingest into the part of {@code primaryKey} are
+     * sent to.
+     */
+    @ApiDeclaration
+    String ingestPath(CommonId tableId, byte[] primaryKey);
+
+    /**
+     * Ingest the sst files sent to every replica into the part of {@code primaryKey}, called on the leader.
+     */
+    @ApiDeclaration
+    boolean ingest(CommonId tableId, byte[] primaryKey, List<String> files);
+
     @ApiDeclaration
     List<DingoExecResult> operator(
         CommonId tableId,
@@ -63,6 +77,19 @@ public interface ExecutorApi {
         List<byte[]> endPrimaryKey,
         List<byte[]> operations);
 
+    /**
+     * Async {@link #operator}, the caller gets the future of the result without waiting on a thread.
+     */
+    @ApiDeclaration
+    default CompletableFuture<List<DingoExecResult>> operatorAsync(
+        CommonId tableId,
+        List<byte[]> startPrimaryKeys,
+        List<byte[]> endPrimaryKey,
+        List<byte[]> operations
+    ) {
+        return CompletableFuture.completedFuture(operator(tableId, startPrimaryKeys, endPrimaryKey, operations));
+    }
+
     @ApiDeclaration
     default KeyValue udfGet(CommonId tableId, byte[] primaryKey, String udfName, String functionName) {
         return udfGet(tableId, primaryKey, udfName, functionName, 0);
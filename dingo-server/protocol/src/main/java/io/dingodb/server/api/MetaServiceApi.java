@@ -18,6 +18,7 @@ package io.dingodb.server.api;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.meta.Part;
@@ -36,6 +37,12 @@ public interface MetaServiceApi {
     @ApiDeclaration
     boolean dropTable(@Nonnull String tableName);
 
+    @ApiDeclaration
+    void createIndex(@Nonnull String tableName, @Nonnull IndexDefinition index);
+
+    @ApiDeclaration
+    boolean dropIndex(@Nonnull String tableName, @Nonnull String indexName);
+
     @ApiDeclaration
     byte[] getTableKey(@Nonnull String tableName);
 
@@ -50,4 +50,10 @@ public interface TableStoreApi {
     @ApiDeclaration
     void transferLeader(CommonId table, CommonId part, Location leader);
 
+    /**
+     * Returns {@code true} if the part starting at {@code startKey} has no key, called on the leader of the part.
+     */
+    @ApiDeclaration
+    boolean isTablePartEmpty(CommonId table, byte[] startKey);
+
 }
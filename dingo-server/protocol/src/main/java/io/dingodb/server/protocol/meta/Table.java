@@ -18,6 +18,7 @@ package io.dingodb.server.protocol.meta;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.DingoTablePart;
+import io.dingodb.common.table.IndexDefinition;
 import io.dingodb.common.table.TableDefinition;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,6 +30,7 @@ import lombok.ToString;
 import lombok.experimental.FieldNameConstants;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -68,4 +70,6 @@ public class Table implements Meta {
     private DingoTablePart dingoTablePart;
 
     private String partType;
+
+    private List<IndexDefinition> indexes;
 }
@@ -60,4 +60,5 @@ public class TablePart implements Meta {
     private long upTime;
     private long downTime;
     private int ttl;
+    private String storageProfile;
 }
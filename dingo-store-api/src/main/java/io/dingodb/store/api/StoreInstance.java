@@ -19,6 +19,7 @@ package io.dingodb.store.api;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.PartColumns;
 import io.dingodb.common.store.Row;
 
 import java.util.Iterator;
@@ -58,6 +59,14 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns {@code true} if the part starting at {@code startKey} has no key, the part is read like the other
+     * reads, so it is exact, not from the approximate stats.
+     */
+    default boolean isEmptyPart(byte[] startKey) {
+        throw new UnsupportedOperationException();
+    }
+
     default boolean exist(byte[] primaryKey) {
         throw new UnsupportedOperationException();
     }
@@ -86,10 +95,75 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Upsert the row expiring {@code ttl} seconds later instead of after the ttl of the table, only tables with
+     * ttl keep the expire time of rows. The mpu store keeps the TtlDB semantics, its rows expire after the ttl
+     * of the table since they are written, and it does not support this.
+     */
+    default boolean upsertKeyValue(byte[] primaryKey, byte[] row, int ttl) {
+        throw new UnsupportedOperationException();
+    }
+
     default boolean upsertKeyValue(List<KeyValue> rows) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Upsert the row together with its secondary index entries in one atomic write. The index keys are
+     * relative to the row, the store places them next to the part that owns the primary key.
+     */
+    default boolean upsertKeyValue(KeyValue row, List<byte[]> indexKeys, List<byte[]> staleIndexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Upsert the new rows together with their secondary index entries in one atomic write, {@code indexKeys}
+     * holds the index keys of each row in the order of the rows.
+     */
+    default boolean upsertKeyValue(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Put the row if its primary key not exists, the check and the put are one atomic operation.
+     */
+    default boolean putIfAbsent(KeyValue row) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Put the rows whose primary keys not exist in one atomic operation, returns whether each row is put in the
+     * order of the rows. The rows must be in the same part.
+     */
+    default List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Same as {@link #putIfAbsent(List)}, the index entries of the put rows are put too, {@code indexKeys} holds the
+     * index keys of each row in the order of the rows.
+     */
+    default List<Boolean> putIfAbsent(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Replace the value of the row if the current value equals {@code expect}, the check and the put are one
+     * atomic operation, so a concurrent change of the row fails it.
+     */
+    default boolean compareAndSet(KeyValue row, byte[] expect) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Same as {@link #compareAndSet(KeyValue, byte[])}, the index entries are changed together with the row.
+     */
+    default boolean compareAndSet(
+        KeyValue row, byte[] expect, List<byte[]> indexKeys, List<byte[]> staleIndexKeys
+    ) {
+        throw new UnsupportedOperationException();
+    }
+
     default boolean update(Row row) {
         throw new UnsupportedOperationException();
     }
@@ -109,6 +183,13 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Delete the row together with its secondary index entries in one atomic write.
+     */
+    default boolean delete(byte[] primaryKey, List<byte[]> indexKeys) {
+        throw new UnsupportedOperationException();
+    }
+
     default boolean delete(List<byte[]> primaryKeys) {
         throw new UnsupportedOperationException();
     }
@@ -140,6 +221,10 @@ public interface StoreInstance {
         return new KeyValue(primaryKey, getValueByPrimaryKey(primaryKey));
     }
 
+    /**
+     * Get the rows of the keys, the keys may be in different parts. The result is in the order of the keys,
+     * the value of a missing row is {@code null}.
+     */
     default List<KeyValue> getKeyValueByPrimaryKeys(List<byte[]> primaryKeys) {
         throw new UnsupportedOperationException();
     }
@@ -180,11 +265,36 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
-    default Iterator<byte[]> columnScan(int columnIndex) {
+    /**
+     * Scan the secondary index entries starting with {@code indexPrefix} in all parts, returns the rows
+     * they point to.
+     */
+    default Iterator<KeyValue> keyValueScanByIndex(byte[] indexPrefix) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Scan the columnar chunks of the {@code columns} of all parts, the parts not converted to columnar return
+     * their rows instead. The column indexes are the indexes in the table tuple.
+     */
+    default Iterator<PartColumns> columnScan(int[] columns) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the local directory that sst files to ingest into the part of {@code primaryKey} are put in,
+     * every replica of the part has its own.
+     */
+    default String ingestPath(byte[] primaryKey) {
         throw new UnsupportedOperationException();
     }
 
-    default Iterator<byte[]> columnScan(int columnIndex, byte[] startPrimaryKey, byte[] endPrimaryKey) {
+    /**
+     * Ingest the sst files under {@link #ingestPath} into the part of {@code primaryKey} on all replicas.
+     * The files must be sent to every replica before, only hold sorted keys of the part, and later files win
+     * on overlapping keys.
+     */
+    default boolean ingest(byte[] primaryKey, List<String> files) {
         throw new UnsupportedOperationException();
     }
 
@@ -17,6 +17,7 @@
 package io.dingodb.store.api;
 
 import io.dingodb.common.CommonId;
+import io.dingodb.common.store.StorageProfile;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
@@ -26,6 +27,13 @@ public interface StoreService {
 
     StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl);
 
+    /**
+     * Get or create the instance tuned by the storage profile, the profile only takes effect on creating.
+     */
+    default StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl, @Nonnull StorageProfile profile) {
+        return getOrCreateInstance(id, ttl);
+    }
+
     StoreInstance getInstance(@Nonnull CommonId id);
 
     void deleteInstance(CommonId id);
@@ -21,6 +21,7 @@ import io.dingodb.common.store.Part;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.store.api.StoreInstance;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -110,6 +111,26 @@ public class MemoryStoreInstance implements StoreInstance {
         return true;
     }
 
+    @Override
+    public boolean putIfAbsent(KeyValue row) {
+        return db.putIfAbsent(row.getKey(), row.getValue()) == null;
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        return rows.stream().map(this::putIfAbsent).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean compareAndSet(KeyValue row, byte[] expect) {
+        if (expect == null) {
+            return putIfAbsent(row);
+        }
+        byte[] current = db.get(row.getKey());
+        // The map compares values by identity, so the replace fails if the row is changed after the get.
+        return Arrays.equals(current, expect) && db.replace(row.getKey(), current, row.getValue());
+    }
+
     @Override
     public boolean delete(byte[] primaryKey) {
         db.remove(primaryKey);
@@ -23,6 +23,7 @@ import io.dingodb.common.codec.KeyValueCodec;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.table.DingoKeyValueCodec;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils;
@@ -59,6 +60,11 @@ import java.util.stream.Stream;
 import static io.dingodb.server.protocol.CommonIdConstant.ID_TYPE;
 import static io.dingodb.server.protocol.CommonIdConstant.STATS_IDENTIFIER;
 
+/**
+ * Store instance on a mirror processing unit. Tables with ttl keep the TtlDB semantics here: the whole storage is
+ * opened by TtlDB, a row expires after the ttl of the table since it is written, expired rows may be read until
+ * they are compacted, and a row cannot have its own ttl.
+ */
 @Slf4j
 public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
@@ -77,10 +83,17 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     public StoreInstance(CommonId id, Path path, final String dbRocksOptionsFile, final String logRocksOptionsFile,
                          final int ttl) {
+        this(id, path, dbRocksOptionsFile, logRocksOptionsFile, ttl, StorageProfile.DEFAULT);
+    }
+
+    public StoreInstance(CommonId id, Path path, final String dbRocksOptionsFile, final String logRocksOptionsFile,
+                         final int ttl, StorageProfile profile) {
         this.id = id;
         this.path = path.toAbsolutePath();
         this.ttl = ttl;
-        this.mpu = new MirrorProcessingUnit(id, this.path, dbRocksOptionsFile, logRocksOptionsFile, this.ttl);
+        this.mpu = new MirrorProcessingUnit(
+            id, this.path, dbRocksOptionsFile, logRocksOptionsFile, this.ttl, profile
+        );
     }
 
     @Override
@@ -194,6 +207,35 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
         return true;
     }
 
+    @Override
+    public boolean putIfAbsent(KeyValue row) {
+        byte[] value = RocksUtils.ttlValid(this.ttl) ? RocksUtils.getValueWithNowTs(row.getValue()) : row.getValue();
+        return core.exec(KVInstructions.id, KVInstructions.SET_IF_ABSENT_OC, row.getPrimaryKey(), value).join();
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        List<KeyValue> kvList;
+        if (RocksUtils.ttlValid(this.ttl)) {
+            kvList = RocksUtils.getValueWithNowTsList(rows);
+        } else {
+            kvList = rows;
+        }
+        return core.exec(
+            KVInstructions.id, KVInstructions.SET_IF_ABSENT_BATCH_OC,
+            kvList.stream().flatMap(kv -> Stream.of(kv.getPrimaryKey(), kv.getValue())).toArray()
+        ).join();
+    }
+
+    @Override
+    public boolean compareAndSet(KeyValue row, byte[] expect) {
+        if (expect == null) {
+            return putIfAbsent(row);
+        }
+        byte[] value = RocksUtils.ttlValid(this.ttl) ? RocksUtils.getValueWithNowTs(row.getValue()) : row.getValue();
+        return core.exec(KVInstructions.id, KVInstructions.CAS_OC, row.getPrimaryKey(), expect, value).join();
+    }
+
     @Override
     public byte[] getValueByPrimaryKey(byte[] primaryKey) {
         return core.view(KVInstructions.id, KVInstructions.GET_OC, primaryKey);
@@ -17,6 +17,7 @@
 package io.dingodb.store.mpu;
 
 import io.dingodb.common.CommonId;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.common.util.Optional;
 import io.dingodb.mpu.instruction.InstructionSetRegistry;
@@ -49,9 +50,14 @@ public class StoreService implements io.dingodb.store.api.StoreService {
 
     @Override
     public StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl) {
+        return getOrCreateInstance(id, ttl, StorageProfile.DEFAULT);
+    }
+
+    @Override
+    public StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl, @Nonnull StorageProfile profile) {
         Path instancePath = Paths.get(StoreConfiguration.dbPath(), id.toString());
         return storeInstanceMap.compute(id, (l, i) -> i == null ? new StoreInstance(id, instancePath,
-            StoreConfiguration.dbRocksOptionsFile(), StoreConfiguration.logRocksOptionsFile(), ttl) : i);
+            StoreConfiguration.dbRocksOptionsFile(), StoreConfiguration.logRocksOptionsFile(), ttl, profile) : i);
     }
 
     @Override
@@ -17,11 +17,12 @@
 package io.dingodb.store.raft;
 
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.CloseableIterator;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 
 import java.util.Iterator;
 
-public class KeyValueIterator implements Iterator<KeyValue> {
+public class KeyValueIterator implements CloseableIterator<KeyValue> {
 
     protected Iterator<ByteArrayEntry> iterator;
 
@@ -39,4 +40,9 @@ public class KeyValueIterator implements Iterator<KeyValue> {
         ByteArrayEntry entry = iterator.next();
         return new KeyValue(entry.getKey(), entry.getValue());
     }
+
+    @Override
+    public void close() {
+        CloseableIterator.close(iterator);
+    }
 }
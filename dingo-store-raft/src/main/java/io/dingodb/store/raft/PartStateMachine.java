@@ -16,17 +16,20 @@
 
 package io.dingodb.store.raft;
 
+import com.google.protobuf.ByteString;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.util.FileUtils;
 import io.dingodb.net.NetServiceProvider;
 import io.dingodb.raft.Closure;
 import io.dingodb.raft.Node;
 import io.dingodb.raft.Status;
 import io.dingodb.raft.entity.LocalFileMetaOutter;
 import io.dingodb.raft.entity.PeerId;
+import io.dingodb.raft.error.RaftError;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.DefaultRaftRawKVStoreStateMachine;
 import io.dingodb.raft.kv.storage.RaftRawKVOperation;
@@ -40,11 +43,15 @@ import io.dingodb.server.protocol.meta.TablePartStats;
 import io.dingodb.server.protocol.meta.TablePartStats.ApproximateStats;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.function.Function;
@@ -52,7 +59,7 @@ import java.util.stream.Collectors;
 
 import static io.dingodb.common.concurrent.Executors.execute;
 import static io.dingodb.common.concurrent.Executors.scheduleWithFixedDelayAsync;
-import static io.dingodb.raft.kv.Constants.SNAPSHOT_ZIP;
+import static io.dingodb.raft.kv.Constants.SNAPSHOT_SST_SUFFIX;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_LOAD;
 import static io.dingodb.raft.kv.storage.RaftRawKVOperation.Op.SNAPSHOT_SAVE;
 import static io.dingodb.server.protocol.CommonIdConstant.ID_TYPE;
@@ -64,6 +71,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 @Slf4j
 public class PartStateMachine extends DefaultRaftRawKVStoreStateMachine {
 
+    private static final String INDEX_SNAPSHOT_DIR = "index";
+
     public final Integer approximateCount = approximateCount();
     private final CommonId id;
 
@@ -195,11 +204,65 @@ public class PartStateMachine extends DefaultRaftRawKVStoreStateMachine {
             .key(part.getStart())
             .extKey(part.getEnd())
             .ext1(reader.getPath())
-            .ext2(((LocalFileMetaOutter.LocalFileMeta) reader.getFileMeta(SNAPSHOT_ZIP)).getChecksum())
+            .ext2(snapshotLoadFiles(reader))
             .op(SNAPSHOT_LOAD)
             .build();
     }
 
+    /**
+     * The secondary index entries of the part are outside the part range, they are saved as sst files in the
+     * {@link #INDEX_SNAPSHOT_DIR} sub directory of the same snapshot. The rows and the index entries are saved from
+     * one rocksdb snapshot, so a loaded index matches the loaded rows.
+     */
+    @Override
+    public void onSnapshotSave(SnapshotWriter writer, Closure done) {
+        List<Path> ingestedFiles = store.ingestedFiles();
+        CompletableFuture<List<List<String>>> files = store.getKvStore().snapshotSaveFiles(
+            Arrays.asList(writer.getPath(), Paths.get(writer.getPath(), INDEX_SNAPSHOT_DIR).toString()),
+            Arrays.asList(part.getStart(), RaftStoreInstancePart.indexStart(id)),
+            Arrays.asList(part.getEnd(), RaftStoreInstancePart.indexEnd(id))
+        );
+        if (files == null) {
+            super.onSnapshotSave(writer, done);
+            return;
+        }
+        files.whenCompleteAsync((names, ex) -> {
+            if (ex != null) {
+                log.error("Save snapshot files to {} error.", writer.getPath(), ex);
+                done.run(new Status(RaftError.EIO, "Save snapshot files error: %s.", ex.getMessage()));
+                return;
+            }
+            LocalFileMetaOutter.LocalFileMeta meta = LocalFileMetaOutter.LocalFileMeta.newBuilder()
+                .setUserMeta(ByteString.copyFromUtf8(id.toString()))
+                .build();
+            names.get(0).forEach(name -> writer.addFile(name, meta));
+            names.get(1).forEach(name -> writer.addFile(INDEX_SNAPSHOT_DIR + "/" + name, meta));
+            store.cleanIngestedFiles(ingestedFiles);
+            done.run(Status.OK());
+        }, Executors.executor("snapshot-save-" + id));
+    }
+
+    @Override
+    public boolean onSnapshotLoad(SnapshotReader reader) {
+        if (!super.onSnapshotLoad(reader)) {
+            return false;
+        }
+        String prefix = INDEX_SNAPSHOT_DIR + "/";
+        List<String> files = reader.listFiles().stream()
+            .filter(name -> name.startsWith(prefix) && name.endsWith(SNAPSHOT_SST_SUFFIX))
+            .map(name -> name.substring(prefix.length()))
+            .sorted()
+            .collect(Collectors.toList());
+        String path = Paths.get(reader.getPath(), INDEX_SNAPSHOT_DIR).toString();
+        FileUtils.createDirectories(Paths.get(path));
+        // Columnar chunks are not in the snapshot, drop them, they are converted again from the loaded rows.
+        store.getKvStore().delete(RaftStoreInstancePart.columnarStart(id), RaftStoreInstancePart.columnarEnd(id));
+        // Always load, loading no files clears the stale index entries of the part.
+        return store.getKvStore().snapshotLoadFiles(
+            path, files, RaftStoreInstancePart.indexStart(id), RaftStoreInstancePart.indexEnd(id)
+        ).join();
+    }
+
     @Override
     public void onLeaderStart(long term) {
         super.onLeaderStart(term);
@@ -234,30 +297,34 @@ public class PartStateMachine extends DefaultRaftRawKVStoreStateMachine {
             }
             List<ApproximateStats> approximateStats = new ArrayList<>();
             if (collectStats) {
-                SeekableIterator<byte[], ByteArrayEntry> iterator = store.scan(part.getStart(), part.getEnd()).join();
-                long count = 0;
-                long size = 0;
-                byte[] startKey = null;
-                byte[] endKey = null;
-                while (iterator.hasNext()) {
-                    count++;
-                    ByteArrayEntry entry = iterator.next();
-                    size += entry.getKey().length;
-                    size += entry.getValue().length;
-                    if (startKey == null) {
-                        startKey = entry.getKey();
+                try (
+                    SeekableIterator<byte[], ByteArrayEntry> iterator =
+                        store.scan(part.getStart(), part.getEnd()).join()
+                ) {
+                    long count = 0;
+                    long size = 0;
+                    byte[] startKey = null;
+                    byte[] endKey = null;
+                    while (iterator.hasNext()) {
+                        count++;
+                        ByteArrayEntry entry = iterator.next();
+                        size += entry.getKey().length;
+                        size += entry.getValue().length;
+                        if (startKey == null) {
+                            startKey = entry.getKey();
+                        }
+                        endKey = entry.getKey();
+                        if (count >= approximateCount) {
+                            approximateStats.add(new ApproximateStats(startKey, entry.getKey(), count, size));
+                            count = 0;
+                            size = 0;
+                            startKey = null;
+                        }
                     }
-                    endKey = entry.getKey();
-                    if (count >= approximateCount) {
-                        approximateStats.add(new ApproximateStats(startKey, entry.getKey(), count, size));
-                        count = 0;
-                        size = 0;
-                        startKey = null;
+                    if (count > 0) {
+                        approximateStats.add(new ApproximateStats(startKey, endKey, count, size));
                     }
                 }
-                if (count > 0) {
-                    approximateStats.add(new ApproximateStats(startKey, endKey, count, size));
-                }
             }
             TablePartStats stats = TablePartStats.builder()
                 .id(new CommonId(ID_TYPE.stats, STATS_IDENTIFIER.part, id.domainContent(), id.seqContent()))
@@ -20,6 +20,9 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.codec.KeyValueCodec;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.PartColumns;
+import io.dingodb.common.store.StorageProfile;
+import io.dingodb.common.table.DingoColumnarCodec;
 import io.dingodb.common.table.DingoKeyValueCodec;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils;
@@ -30,8 +33,10 @@ import io.dingodb.common.util.UdfUtils;
 import io.dingodb.raft.core.DefaultJRaftServiceFactory;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
 import io.dingodb.raft.kv.storage.RawKVStore;
+import io.dingodb.raft.kv.storage.RocksDBUtils;
 import io.dingodb.raft.kv.storage.RocksRawKVStore;
 import io.dingodb.raft.kv.storage.SeekableIterator;
+import io.dingodb.raft.kv.storage.SharedRocksDB;
 import io.dingodb.raft.option.RaftLogStoreOptions;
 import io.dingodb.raft.storage.LogStore;
 import io.dingodb.raft.storage.impl.RocksDBLogStore;
@@ -46,6 +51,7 @@ import org.luaj.vm2.LuaTable;
 import org.luaj.vm2.LuaValue;
 import org.luaj.vm2.lib.jse.JsePlatform;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -56,12 +62,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import static io.dingodb.common.concurrent.Executors.scheduleWithFixedDelayAsync;
 import static io.dingodb.common.util.ByteArrayUtils.EMPTY_BYTES;
+import static io.dingodb.common.util.ByteArrayUtils.MAX_BYTES;
 import static io.dingodb.common.util.ByteArrayUtils.lessThan;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 @Slf4j
 public class RaftStoreInstance implements StoreInstance {
@@ -77,7 +89,10 @@ public class RaftStoreInstance implements StoreInstance {
     private final NavigableMap<byte[], Part> startKeyPartMap;
     private final Map<byte[], RaftStoreInstancePart> waitParts;
     private final PartReadWriteCollector collector;
+    private final SharedRocksDB sharedDB;
     private int ttl = 0;
+    private final boolean columnar;
+    private ScheduledFuture<?> columnarConverter;
 
     private final MetaServiceApi metaServiceApi;
 
@@ -87,16 +102,28 @@ public class RaftStoreInstance implements StoreInstance {
 
     private Map<String, KeyValueCodec> codecMap = new HashMap<>();
 
-    public RaftStoreInstance(Path path, CommonId id, MetaServiceApi metaServiceApi, final int ttl) {
+    public RaftStoreInstance(
+        Path path,
+        CommonId id,
+        MetaServiceApi metaServiceApi,
+        final int ttl,
+        SharedRocksDB sharedDB,
+        StorageProfile profile
+    ) {
         try {
             this.id = id;
             this.path = path;
             this.ttl = ttl;
+            this.sharedDB = sharedDB;
             FileUtils.createDirectories(path);
             FileUtils.createDirectories(dbPath = Paths.get(path.toString(), "db"));
             FileUtils.createDirectories(logPath = Paths.get(path.toString(), "log"));
-            this.store = new RocksRawKVStore(dbPath.toString(), StoreConfiguration.dbRocksOptionsFile(),
-                this.id.toString(), this.ttl);
+            if (sharedDB != null && !RocksDBUtils.dataWithTtl(ttl)) {
+                this.store = new RocksRawKVStore(sharedDB, this.id.toString(), profile);
+            } else {
+                this.store = new RocksRawKVStore(dbPath.toString(), StoreConfiguration.dbRocksOptionsFile(),
+                    this.id.toString(), this.ttl, profile);
+            }
             this.logStore = new RocksDBLogStore();
             RaftLogStoreOptions logStoreOptions = new RaftLogStoreOptions();
             logStoreOptions.setDataPath(logPath.toString());
@@ -112,23 +139,106 @@ public class RaftStoreInstance implements StoreInstance {
             this.waitParts = new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
             this.collector = PartReadWriteCollector.instance();
             this.metaServiceApi = metaServiceApi;
-            log.info("Start raft store instance, id: {}", id);
+            this.columnar = columnarTable();
+            if (columnar && StoreConfiguration.columnarConvertInterval() > 0) {
+                int interval = StoreConfiguration.columnarConvertInterval();
+                this.columnarConverter = scheduleWithFixedDelayAsync(
+                    "columnar-convert", this::convertColumnar, interval, interval, SECONDS
+                );
+            }
+            log.info("Start raft store instance, id: {}, columnar: {}, storage profile: {}",
+                id, columnar, profile.getProfileName());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    public RaftStoreInstance(
+        Path path, CommonId id, MetaServiceApi metaServiceApi, final int ttl, SharedRocksDB sharedDB
+    ) {
+        this(path, id, metaServiceApi, ttl, sharedDB, StorageProfile.DEFAULT);
+    }
+
+    public RaftStoreInstance(Path path, CommonId id, MetaServiceApi metaServiceApi, final int ttl) {
+        this(path, id, metaServiceApi, ttl, null);
+    }
+
     public RaftStoreInstance(Path path, CommonId id, MetaServiceApi metaServiceApi) {
         this(path, id, metaServiceApi, 0);
     }
 
+    private boolean columnarTable() {
+        if (metaServiceApi == null) {
+            return false;
+        }
+        try {
+            TableDefinition definition = metaServiceApi.getTableDefinition(id);
+            return definition != null && definition.isColumnar();
+        } catch (Exception e) {
+            // Chunks converted before may exist, maintain them to not read stale chunks.
+            log.warn("Get table definition of {} error, assume columnar.", id, e);
+            return true;
+        }
+    }
+
+    /**
+     * Convert the parts led by this node and not written for a convert interval to columnar.
+     */
+    private void convertColumnar() {
+        TableDefinition definition = metaServiceApi.getTableDefinition(id);
+        if (definition == null) {
+            return;
+        }
+        KeyValueCodec codec = new DingoKeyValueCodec(definition.getDingoType(), definition.getKeyMapping());
+        DingoColumnarCodec columnarCodec = new DingoColumnarCodec(definition.getDingoType());
+        BiConsumer<Iterator<KeyValue>, DingoColumnarCodec.ChunkConsumer> encoder = (rows, consumer) -> {
+            try {
+                columnarCodec.encode(new Iterator<Object[]>() {
+                    @Override
+                    public boolean hasNext() {
+                        return rows.hasNext();
+                    }
+
+                    @Override
+                    public Object[] next() {
+                        try {
+                            return codec.decode(rows.next());
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }, consumer);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        };
+        long idleSince = System.currentTimeMillis() - SECONDS.toMillis(StoreConfiguration.columnarConvertInterval());
+        for (Part part : startKeyPartMap.values()) {
+            RaftStoreInstancePart storeInstancePart = parts.get(part.getId());
+            if (storeInstancePart == null) {
+                continue;
+            }
+            try {
+                storeInstancePart.convertColumnar(idleSince, encoder);
+            } catch (Exception e) {
+                log.error("Convert part {} to columnar error.", part.getId(), e);
+            }
+        }
+    }
+
     public void clear() {
         log.info("Clear store instance, id: [{}], data path: [{}]", id, path.toString());
+        if (columnarConverter != null) {
+            columnarConverter.cancel(true);
+        }
         startKeyPartMap.clear();
         parts.values().forEach(RaftStoreInstancePart::clear);
         parts.clear();
         waitParts.clear();
         store.close();
+        if (sharedDB != null && !RocksDBUtils.dataWithTtl(ttl)) {
+            sharedDB.dropColumnFamily(id.toString());
+        }
         logStore.shutdown();
         FileUtils.deleteIfExists(path);
     }
@@ -146,6 +256,8 @@ public class RaftStoreInstance implements StoreInstance {
     @Override
     public void assignPart(Part part) {
         part.setStart(Parameters.cleanNull(part.getStart(), EMPTY_BYTES));
+        // Keys from 0xFF hold the secondary index entries, see RaftStoreInstancePart#indexStart.
+        part.setEnd(Parameters.cleanNull(part.getEnd(), MAX_BYTES));
         try {
             Path partPath = Optional.ofNullable(StoreConfiguration.raft().getRaftPath())
                 .filter(s -> !s.isEmpty())
@@ -155,6 +267,9 @@ public class RaftStoreInstance implements StoreInstance {
                 .get();
             RaftStoreInstancePart storeInstancePart = new RaftStoreInstancePart(part, partPath, store, logStore,
                 this.ttl);
+            if (columnar) {
+                storeInstancePart.enableColumnar();
+            }
             storeInstancePart.getStateMachine().listenAvailable(() -> onPartAvailable(storeInstancePart));
             storeInstancePart.init();
             parts.put(part.getId(), storeInstancePart);
@@ -166,6 +281,7 @@ public class RaftStoreInstance implements StoreInstance {
     @Override
     public void reassignPart(Part part) {
         // todo how to ensure consistency when reassign?
+        part.setEnd(Parameters.cleanNull(part.getEnd(), MAX_BYTES));
         RaftStoreInstancePart storeInstancePart = parts.get(part.getId());
         storeInstancePart.resetPart(part);
         startKeyPartMap.computeIfPresent(part.getStart(), (key, old) -> {
@@ -185,6 +301,10 @@ public class RaftStoreInstance implements StoreInstance {
     public void deletePart(Part part) {
         unassignPart(part);
         store.delete(part.getStart(), part.getEnd());
+        store.delete(RaftStoreInstancePart.indexStart(part.getId()), RaftStoreInstancePart.indexEnd(part.getId()));
+        store.delete(
+            RaftStoreInstancePart.columnarStart(part.getId()), RaftStoreInstancePart.columnarEnd(part.getId())
+        );
         log.info("Delete store instance part, id: [{}], part: {}", part.getId(), part);
     }
 
@@ -199,6 +319,17 @@ public class RaftStoreInstance implements StoreInstance {
         return parts.get(part.getId()).countOrDeletePart(startKey, doDeleting);
     }
 
+    @Override
+    public boolean isEmptyPart(byte[] startKey) {
+        Part part = getPart(startKey);
+        if (part == null || !Arrays.equals(part.getStart(), startKey)) {
+            throw new IllegalArgumentException(
+                "The part of start key " + Arrays.toString(startKey) + " not available in current instance."
+            );
+        }
+        return !parts.get(part.getId()).existAny(part.getStart(), part.getEnd());
+    }
+
     public void onPartAvailable(RaftStoreInstancePart part) {
         log.info("The part {} available change {}", part.getId(), part.getStateMachine().isAvailable());
         if (part.getStateMachine().isAvailable()) {
@@ -233,22 +364,25 @@ public class RaftStoreInstance implements StoreInstance {
         return exist;
     }
 
+    /**
+     * Check the keys of all parts at once, each part checks its keys by one multi get.
+     */
     @Override
     public boolean existAny(List<byte[]> primaryKeys) {
-        Part part = null;
         long startTime = System.currentTimeMillis();
-        for (byte[] primaryKey : primaryKeys) {
-            if (part == null && (part = getPart(primaryKey)) == null) {
-                throw new IllegalArgumentException(
-                    "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
-                );
-            }
-            if (part != getPart(primaryKey)) {
-                throw new IllegalArgumentException("The primary key list not in same part.");
-            }
+        Map<Part, List<Integer>> keyIndexesByPart = groupKeyIndexesByPart(primaryKeys);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(keyIndexesByPart.size());
+        for (Map.Entry<Part, List<Integer>> entry : keyIndexesByPart.entrySet()) {
+            Part part = entry.getKey();
+            futures.add(parts.get(part.getId()).existAnyAsync(select(primaryKeys, entry.getValue()))
+                .whenComplete((r, e) -> collector.putSample(
+                    System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ
+                )));
+        }
+        boolean exist = false;
+        for (CompletableFuture<Boolean> future : futures) {
+            exist |= future.join();
         }
-        boolean exist = parts.get(part.getId()).existAny(primaryKeys);
-        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ);
         return exist;
     }
 
@@ -276,6 +410,76 @@ public class RaftStoreInstance implements StoreInstance {
         return result;
     }
 
+    @Override
+    public boolean upsertKeyValue(KeyValue row, List<byte[]> indexKeys, List<byte[]> staleIndexKeys) {
+        long startTime = System.currentTimeMillis();
+        Part part = getPart(row.getPrimaryKey());
+        if (part == null) {
+            throw new IllegalArgumentException(
+                "The primary key " + Arrays.toString(row.getKey()) + " not in current instance."
+            );
+        }
+        boolean result = parts.get(part.getId()).upsertKeyValue(row, indexKeys, staleIndexKeys);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public boolean upsertKeyValue(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(rows);
+        boolean result = parts.get(part.getId()).upsertKeyValue(rows, indexKeys);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public boolean putIfAbsent(KeyValue row) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(Collections.singletonList(row));
+        boolean result = parts.get(part.getId()).putIfAbsent(row);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(rows);
+        List<Boolean> result = parts.get(part.getId()).putIfAbsent(rows);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(rows);
+        List<Boolean> result = parts.get(part.getId()).putIfAbsent(rows, indexKeys);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public boolean compareAndSet(KeyValue row, byte[] expect) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(Collections.singletonList(row));
+        boolean result = parts.get(part.getId()).compareAndSet(row, expect);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
+    @Override
+    public boolean compareAndSet(
+        KeyValue row, byte[] expect, List<byte[]> indexKeys, List<byte[]> staleIndexKeys
+    ) {
+        long startTime = System.currentTimeMillis();
+        Part part = samePart(Collections.singletonList(row));
+        boolean result = parts.get(part.getId()).compareAndSet(row, expect, indexKeys, staleIndexKeys);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
     @Override
     public boolean upsertKeyValue(byte[] primaryKey, byte[] row) {
         long startTime = System.currentTimeMillis();
@@ -292,18 +496,8 @@ public class RaftStoreInstance implements StoreInstance {
 
     @Override
     public boolean upsertKeyValue(List<KeyValue> rows) {
-        Part part = null;
         long startTime = System.currentTimeMillis();
-        for (KeyValue row : rows) {
-            if (part == null && (part = getPart(row.getPrimaryKey())) == null) {
-                throw new IllegalArgumentException(
-                    "The primary key " + Arrays.toString(row.getPrimaryKey()) + " not in current instance."
-                );
-            }
-            if (part != getPart(row.getPrimaryKey())) {
-                throw new IllegalArgumentException("The primary key list not in same part.");
-            }
-        }
+        Part part = samePart(rows);
         boolean result = parts.get(part.getId()).upsertKeyValue(rows);
         this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
         return result;
@@ -341,6 +535,17 @@ public class RaftStoreInstance implements StoreInstance {
         return parts.get(part.getId()).delete(primaryKey);
     }
 
+    @Override
+    public boolean delete(byte[] primaryKey, List<byte[]> indexKeys) {
+        Part part = getPart(primaryKey);
+        if (part == null) {
+            throw new IllegalArgumentException(
+                "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+            );
+        }
+        return parts.get(part.getId()).delete(primaryKey, indexKeys);
+    }
+
     @Override
     public boolean delete(List<byte[]> primaryKeys) {
         boolean isSuccess = false;
@@ -387,12 +592,56 @@ public class RaftStoreInstance implements StoreInstance {
         return isSuccess;
     }
 
+    private Part samePart(List<KeyValue> rows) {
+        Part part = null;
+        for (KeyValue row : rows) {
+            if (part == null && (part = getPart(row.getPrimaryKey())) == null) {
+                throw new IllegalArgumentException(
+                    "The primary key " + Arrays.toString(row.getPrimaryKey()) + " not in current instance."
+                );
+            }
+            if (part != getPart(row.getPrimaryKey())) {
+                throw new IllegalArgumentException("The primary key list not in same part.");
+            }
+        }
+        if (part == null) {
+            throw new IllegalArgumentException("The row list is empty.");
+        }
+        return part;
+    }
+
     private static void isValidRangeKey(byte[] startPrimaryKey, byte[] endPrimaryKey) {
         if (endPrimaryKey != null && ByteArrayUtils.greatThan(startPrimaryKey, endPrimaryKey)) {
             throw new IllegalArgumentException("Invalid range key, start key should be less than end key");
         }
     }
 
+    /**
+     * Group the indexes of the keys by part, the indexes of a part are in the order of the keys.
+     */
+    private Map<Part, List<Integer>> groupKeyIndexesByPart(List<byte[]> primaryKeys) {
+        Map<Part, List<Integer>> result = new HashMap<>();
+        for (int i = 0; i < primaryKeys.size(); i++) {
+            byte[] primaryKey = primaryKeys.get(i);
+            Part part = getPart(primaryKey);
+            if (part == null) {
+                throw new IllegalArgumentException(
+                    "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+                );
+            }
+            result.computeIfAbsent(part, p -> new ArrayList<>()).add(i);
+        }
+        return result;
+    }
+
+    private static List<byte[]> select(List<byte[]> primaryKeys, List<Integer> indexes) {
+        List<byte[]> keys = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            keys.add(primaryKeys.get(index));
+        }
+        return keys;
+    }
+
     private Map<Part, List<byte[]>> groupKeysByPart(List<byte[]> primaryKeys) {
         Map<Part, List<byte[]>> result = new HashMap<>();
         for (byte[] primaryKey : primaryKeys) {
@@ -492,23 +741,33 @@ public class RaftStoreInstance implements StoreInstance {
         return result;
     }
 
+    /**
+     * Get the rows of keys in any parts of the instance, keys are grouped by part and each part reads its keys
+     * by one multi get, the parts are read in parallel. The result is in the order of the keys, missing rows
+     * have {@code null} value.
+     */
     @Override
     public List<KeyValue> getKeyValueByPrimaryKeys(List<byte[]> primaryKeys) {
         long startTime = System.currentTimeMillis();
-        Part part = null;
-        for (byte[] primaryKey : primaryKeys) {
-            if (part == null && (part = getPart(primaryKey)) == null) {
-                throw new IllegalArgumentException(
-                    "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
-                );
-            }
-            if (part != getPart(primaryKey)) {
-                throw new IllegalArgumentException("The primary key list not in same part.");
+        Map<Part, List<Integer>> keyIndexesByPart = groupKeyIndexesByPart(primaryKeys);
+        Map<Part, CompletableFuture<List<KeyValue>>> futures = new HashMap<>(keyIndexesByPart.size());
+        for (Map.Entry<Part, List<Integer>> entry : keyIndexesByPart.entrySet()) {
+            Part part = entry.getKey();
+            futures.put(part, parts.get(part.getId())
+                .getKeyValueByPrimaryKeysAsync(select(primaryKeys, entry.getValue()))
+                .whenComplete((r, e) -> collector.putSample(
+                    System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ
+                )));
+        }
+        KeyValue[] result = new KeyValue[primaryKeys.size()];
+        for (Map.Entry<Part, List<Integer>> entry : keyIndexesByPart.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            List<KeyValue> rows = futures.get(entry.getKey()).join();
+            for (int i = 0; i < indexes.size(); i++) {
+                result[indexes.get(i)] = rows.get(i);
             }
         }
-        List<KeyValue> result = parts.get(part.getId()).getKeyValueByPrimaryKeys(primaryKeys);
-        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ);
-        return result;
+        return Arrays.asList(result);
     }
 
     @Override
@@ -556,6 +815,55 @@ public class RaftStoreInstance implements StoreInstance {
         return parts.get(part.getId()).keyValueScan(startPrimaryKey, endPrimaryKey, includeStart, includeEnd);
     }
 
+    @Override
+    public Iterator<KeyValue> keyValueScanByIndex(byte[] indexPrefix) {
+        List<KeyValue> rows = new ArrayList<>();
+        for (Part part : startKeyPartMap.values()) {
+            long startTime = System.currentTimeMillis();
+            parts.get(part.getId()).keyValueScanByIndex(indexPrefix).forEachRemaining(rows::add);
+            this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ);
+        }
+        return rows.iterator();
+    }
+
+    @Override
+    public Iterator<PartColumns> columnScan(int[] columns) {
+        List<PartColumns> result = new ArrayList<>();
+        for (Part part : startKeyPartMap.values()) {
+            long startTime = System.currentTimeMillis();
+            parts.get(part.getId()).columnScan(columns).forEachRemaining(result::add);
+            this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_READ);
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public String ingestPath(byte[] primaryKey) {
+        // Followers are asked too, so look up all parts of this instance instead of the available ones.
+        return parts.values().stream()
+            .filter(part -> !lessThan(primaryKey, part.getPart().getStart()))
+            .filter(part -> part.getPart().getEnd() == null || lessThan(primaryKey, part.getPart().getEnd()))
+            .findAny()
+            .map(RaftStoreInstancePart::ingestPath)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+            ));
+    }
+
+    @Override
+    public boolean ingest(byte[] primaryKey, List<String> files) {
+        long startTime = System.currentTimeMillis();
+        Part part = getPart(primaryKey);
+        if (part == null) {
+            throw new IllegalArgumentException(
+                "The primary key " + Arrays.toString(primaryKey) + " not in current instance."
+            );
+        }
+        boolean result = parts.get(part.getId()).ingest(files);
+        this.collector.putSample(System.currentTimeMillis() - startTime, part.getId(), MonitorMetric.PART_WRITE);
+        return result;
+    }
+
     class FullScanRawIterator extends KeyValueIterator {
         private final Iterator<SeekableIterator<byte[], ByteArrayEntry>> partIterator;
 
@@ -570,6 +878,8 @@ public class RaftStoreInstance implements StoreInstance {
                 if (!partIterator.hasNext()) {
                     return false;
                 }
+                // The parts are opened one by one, so release the snapshot of the finished part first.
+                close();
                 iterator = partIterator.next();
             }
             return true;
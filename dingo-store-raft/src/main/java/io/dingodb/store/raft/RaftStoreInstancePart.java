@@ -21,7 +21,11 @@ import io.dingodb.common.Location;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.PartColumns;
+import io.dingodb.common.table.DingoColumnarCodec;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.raft.kv.storage.ByteArrayEntry;
+import io.dingodb.raft.kv.storage.ConditionalPut;
 import io.dingodb.raft.kv.storage.RaftRawKVStore;
 import io.dingodb.raft.kv.storage.RawKVStore;
 import io.dingodb.raft.kv.storage.RocksDBUtils;
@@ -34,17 +38,31 @@ import io.dingodb.store.raft.config.StoreConfiguration;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Getter
 public final class RaftStoreInstancePart implements StoreInstance {
 
+    private static final int INDEX_PREFIX_LEN = ByteArrayUtils.MAX_BYTES.length + CommonId.LEN + 1;
+    // Bytes of the chunks in one raft entry when converting a part to columnar.
+    private static final int COLUMNAR_BATCH_BYTES = 4 * 1024 * 1024;
+
     private CommonId id;
     private Part part;
     private RawKVStore store;
@@ -52,6 +70,14 @@ public final class RaftStoreInstancePart implements StoreInstance {
     private PartStateMachine stateMachine;
     private int ttl = 0;
 
+    private final ReentrantReadWriteLock columnarLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean converting = new AtomicBoolean();
+    private final AtomicLong writeSeq = new AtomicLong();
+    private volatile boolean columnarEnabled = false;
+    // The part may have columnar chunks, the first write after a conversion invalidates them.
+    private volatile boolean columnar = false;
+    private volatile long lastWriteTime = System.currentTimeMillis();
+
     public RaftStoreInstancePart(Part part, Path path, RawKVStore store, LogStore logStore, int ttl) throws Exception {
         this.id = part.getId();
         this.store = store;
@@ -71,15 +97,172 @@ public final class RaftStoreInstancePart implements StoreInstance {
         log.info("Start raft store instance part, id: {}, part: {}", id, part);
     }
 
+    /**
+     * Secondary index entries of a part are stored after the rows of all parts, under
+     * {@code 0xFF | part id | 0x00}, so they are written in the same raft log entry as the row.
+     */
+    public static byte[] indexStart(CommonId partId) {
+        byte[] start = new byte[INDEX_PREFIX_LEN];
+        System.arraycopy(ByteArrayUtils.MAX_BYTES, 0, start, 0, ByteArrayUtils.MAX_BYTES.length);
+        System.arraycopy(partId.encode(), 0, start, ByteArrayUtils.MAX_BYTES.length, CommonId.LEN);
+        return start;
+    }
+
+    public static byte[] indexEnd(CommonId partId) {
+        byte[] end = indexStart(partId);
+        end[end.length - 1] = 1;
+        return end;
+    }
+
+    /**
+     * Columnar chunks of a part are stored after its index entries, under {@code 0xFF | part id | 0x01}. The
+     * prefix itself marks the chunks valid, chunk keys are {@code prefix | column | chunk number}.
+     */
+    public static byte[] columnarStart(CommonId partId) {
+        return indexEnd(partId);
+    }
+
+    public static byte[] columnarEnd(CommonId partId) {
+        byte[] end = indexStart(partId);
+        end[end.length - 1] = 2;
+        return end;
+    }
+
+    private byte[] chunkKey(int column, int chunk) {
+        return ByteBuffer.allocate(INDEX_PREFIX_LEN + 2 * Integer.BYTES)
+            .put(columnarStart(id))
+            .putInt(column)
+            .putInt(chunk)
+            .array();
+    }
+
+    private byte[] indexKey(byte[] key) {
+        byte[] indexKey = Arrays.copyOf(indexStart(id), INDEX_PREFIX_LEN + key.length);
+        System.arraycopy(key, 0, indexKey, INDEX_PREFIX_LEN, key.length);
+        return indexKey;
+    }
+
+    private static byte[] prefixEnd(byte[] prefix) {
+        int i = prefix.length - 1;
+        while (i >= 0 && prefix[i] == (byte) 0xFF) {
+            i--;
+        }
+        if (i < 0) {
+            return null;
+        }
+        byte[] end = Arrays.copyOf(prefix, i + 1);
+        end[i]++;
+        return end;
+    }
+
     public void resetPart(Part part) {
         this.part = part;
         this.stateMachine.resetPart(part);
     }
 
+    /**
+     * Maintain the columnar chunks of the part, must be called before {@link #init()}.
+     */
+    public void enableColumnar() {
+        this.columnarEnabled = true;
+        this.columnar = true;
+        // Another leader may have converted the part, be conservative when the leader changes.
+        this.stateMachine.listenAvailable(() -> this.columnar = true);
+    }
+
     public void init() {
         this.raftStore.init(null);
     }
 
+    private <T> T write(Supplier<T> writer) {
+        if (!columnarEnabled) {
+            return writer.get();
+        }
+        Lock lock = columnarLock.readLock();
+        lock.lock();
+        try {
+            writeSeq.incrementAndGet();
+            lastWriteTime = System.currentTimeMillis();
+            if (columnar) {
+                // Invalidate before the write, so a reader sees either the chunks of old rows or the rows.
+                raftStore.delete(columnarStart(id)).join();
+                columnar = false;
+            }
+            return writer.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Convert the rows of the part to columnar chunks if the part has no write since {@code idleSince}.
+     *
+     * @param encoder encode the rows to the chunks of each column of the table tuple, passing each chunk to the
+     *                consumer as soon as it is encoded
+     * @return {@code true} if the part has valid chunks after the conversion
+     */
+    public boolean convertColumnar(
+        long idleSince,
+        BiConsumer<Iterator<KeyValue>, DingoColumnarCodec.ChunkConsumer> encoder
+    ) {
+        if (!columnarEnabled || RocksDBUtils.dataWithTtl(this.ttl) || !converting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long seq;
+            Lock lock = columnarLock.writeLock();
+            lock.lock();
+            try {
+                if (lastWriteTime > idleSince || !raftStore.getNode().isLeader()) {
+                    return false;
+                }
+                if (columnar && raftStore.containsKey(columnarStart(id)).join()) {
+                    return true;
+                }
+                seq = writeSeq.get();
+            } finally {
+                lock.unlock();
+            }
+            // The chunks are not read before the marker at the columnar start key is written, so they are written
+            // in bounded batches as they are encoded, without blocking the row writes, and the marker is written
+            // last in its own batch.
+            raftStore.delete(columnarStart(id), columnarEnd(id)).join();
+            List<ByteArrayEntry> puts = new ArrayList<>();
+            long[] batchBytes = new long[1];
+            int[] count = new int[1];
+            try (KeyValueIterator iterator = keyValueScan()) {
+                encoder.accept(iterator, (column, chunk, value) -> {
+                    puts.add(new ByteArrayEntry(chunkKey(column, chunk), value));
+                    batchBytes[0] += value.length;
+                    count[0]++;
+                    if (batchBytes[0] >= COLUMNAR_BATCH_BYTES) {
+                        raftStore.writeBatch(new ArrayList<>(puts), Collections.emptyList()).join();
+                        puts.clear();
+                        batchBytes[0] = 0;
+                    }
+                });
+            }
+            if (!puts.isEmpty()) {
+                raftStore.writeBatch(puts, Collections.emptyList()).join();
+            }
+            lock.lock();
+            try {
+                // Written while encoding, the chunks are stale.
+                if (writeSeq.get() != seq) {
+                    return false;
+                }
+                raftStore.put(columnarStart(id), ByteArrayUtils.EMPTY_BYTES).join();
+                columnar = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Convert part {} to columnar, chunks: {}.", id, count[0]);
+            return true;
+        } finally {
+            converting.set(false);
+        }
+    }
+
     public void clear() {
         log.info("Clear raft store instance part, id: {}", id.toString());
         raftStore.shutdown();
@@ -103,15 +286,18 @@ public final class RaftStoreInstancePart implements StoreInstance {
 
     @Override
     public boolean existAny(List<byte[]> primaryKeys) {
+        return existAnyAsync(primaryKeys).join();
+    }
+
+    /**
+     * Check the keys by one multi get, the read is ordered by read index like the other reads.
+     */
+    public CompletableFuture<Boolean> existAnyAsync(List<byte[]> primaryKeys) {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        for (byte[] primaryKey : primaryKeys) {
-            if (exist(primaryKey)) {
-                return true;
-            }
-        }
-        return false;
+        return raftStore.get(primaryKeys)
+            .thenApply(entries -> entries.stream().anyMatch(entry -> entry.getValue() != null));
     }
 
     @Override
@@ -119,7 +305,9 @@ public final class RaftStoreInstancePart implements StoreInstance {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        return keyValueScan(startPrimaryKey, endPrimaryKey).hasNext();
+        try (KeyValueIterator iterator = keyValueScan(startPrimaryKey, endPrimaryKey)) {
+            return iterator.hasNext();
+        }
     }
 
     @Override
@@ -133,12 +321,26 @@ public final class RaftStoreInstancePart implements StoreInstance {
             throw new UnsupportedOperationException("State machine not available");
         }
         if (RocksDBUtils.dataWithTtl(this.ttl)) {
-            return raftStore.put(primaryKey, RocksDBUtils.getValueWithNowTs(row)).join();
+            return write(() -> raftStore.put(primaryKey, RocksDBUtils.getValueWithTtl(row, this.ttl)).join());
         } else {
-            return raftStore.put(primaryKey, row).join();
+            return write(() -> raftStore.put(primaryKey, row).join());
         }
     }
 
+    @Override
+    public boolean upsertKeyValue(byte[] primaryKey, byte[] row, int ttl) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        if (!RocksDBUtils.dataWithTtl(this.ttl)) {
+            throw new UnsupportedOperationException("Row ttl is only supported by ttl tables.");
+        }
+        if (!RocksDBUtils.dataWithTtl(ttl)) {
+            throw new IllegalArgumentException("Row ttl must be positive, but got " + ttl);
+        }
+        return write(() -> raftStore.put(primaryKey, RocksDBUtils.getValueWithTtl(row, ttl)).join());
+    }
+
     @Override
     public boolean upsertKeyValue(List<KeyValue> rows) {
         if (!stateMachine.isEnable()) {
@@ -146,15 +348,119 @@ public final class RaftStoreInstancePart implements StoreInstance {
         }
         List<KeyValue> kvList;
         if (RocksDBUtils.dataWithTtl(this.ttl)) {
-            kvList = RocksDBUtils.getValueWithNowTsList(rows);
+            kvList = RocksDBUtils.getValueWithTtlList(rows, this.ttl);
         } else {
             kvList = rows;
         }
-        return raftStore.put(kvList.stream()
+        List<ByteArrayEntry> entries = kvList.stream()
             .filter(Objects::nonNull)
             .map(row -> new ByteArrayEntry(row.getPrimaryKey(), row.getValue()))
-            .collect(Collectors.toList())
-        ).join();
+            .collect(Collectors.toList());
+        return write(() -> raftStore.put(entries).join());
+    }
+
+    @Override
+    public boolean upsertKeyValue(KeyValue row, List<byte[]> indexKeys, List<byte[]> staleIndexKeys) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        boolean withTtl = RocksDBUtils.dataWithTtl(this.ttl);
+        byte[] primaryKey = row.getPrimaryKey();
+        byte[] indexValue = withTtl ? RocksDBUtils.getValueWithTtl(primaryKey, this.ttl) : primaryKey;
+        List<ByteArrayEntry> puts = new ArrayList<>(indexKeys.size() + 1);
+        byte[] value = withTtl ? RocksDBUtils.getValueWithTtl(row.getValue(), this.ttl) : row.getValue();
+        puts.add(new ByteArrayEntry(primaryKey, value));
+        for (byte[] indexKey : indexKeys) {
+            puts.add(new ByteArrayEntry(indexKey(indexKey), indexValue));
+        }
+        List<byte[]> deletes = staleIndexKeys.stream().map(this::indexKey).collect(Collectors.toList());
+        return write(() -> raftStore.writeBatch(puts, deletes).join());
+    }
+
+    @Override
+    public boolean upsertKeyValue(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        boolean withTtl = RocksDBUtils.dataWithTtl(this.ttl);
+        List<ByteArrayEntry> puts = new ArrayList<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            KeyValue row = rows.get(i);
+            byte[] primaryKey = row.getPrimaryKey();
+            byte[] indexValue = withTtl ? RocksDBUtils.getValueWithTtl(primaryKey, this.ttl) : primaryKey;
+            byte[] value = withTtl ? RocksDBUtils.getValueWithTtl(row.getValue(), this.ttl) : row.getValue();
+            puts.add(new ByteArrayEntry(primaryKey, value));
+            for (byte[] indexKey : indexKeys.get(i)) {
+                puts.add(new ByteArrayEntry(indexKey(indexKey), indexValue));
+            }
+        }
+        return write(() -> raftStore.writeBatch(puts, Collections.emptyList()).join());
+    }
+
+    @Override
+    public boolean putIfAbsent(KeyValue row) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        byte[] value = RocksDBUtils.dataWithTtl(this.ttl)
+            ? RocksDBUtils.getValueWithTtl(row.getValue(), this.ttl) : row.getValue();
+        return write(() -> raftStore.putIfAbsent(row.getPrimaryKey(), value).join());
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        return putIfAbsent(rows, Collections.nCopies(rows.size(), Collections.<byte[]>emptyList()));
+    }
+
+    @Override
+    public List<Boolean> putIfAbsent(List<KeyValue> rows, List<List<byte[]>> indexKeys) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        List<ConditionalPut> puts = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            puts.add(conditionalPut(rows.get(i), null, indexKeys.get(i), Collections.emptyList()));
+        }
+        return write(() -> raftStore.compareAndPut(puts).join());
+    }
+
+    @Override
+    public boolean compareAndSet(KeyValue row, byte[] expect) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        byte[] value = RocksDBUtils.dataWithTtl(this.ttl)
+            ? RocksDBUtils.getValueWithTtl(row.getValue(), this.ttl) : row.getValue();
+        return write(() -> raftStore.compareAndPut(row.getPrimaryKey(), expect, value).join());
+    }
+
+    @Override
+    public boolean compareAndSet(
+        KeyValue row, byte[] expect, List<byte[]> indexKeys, List<byte[]> staleIndexKeys
+    ) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        ConditionalPut put = conditionalPut(row, expect, indexKeys, staleIndexKeys);
+        return write(() -> raftStore.compareAndPut(Collections.singletonList(put)).join().get(0));
+    }
+
+    /**
+     * The expected value is compared with the value without expire time, the written values get the expire time.
+     */
+    private ConditionalPut conditionalPut(
+        KeyValue row, byte[] expect, List<byte[]> indexKeys, List<byte[]> staleIndexKeys
+    ) {
+        boolean withTtl = RocksDBUtils.dataWithTtl(this.ttl);
+        byte[] primaryKey = row.getPrimaryKey();
+        byte[] indexValue = withTtl ? RocksDBUtils.getValueWithTtl(primaryKey, this.ttl) : primaryKey;
+        byte[] value = withTtl ? RocksDBUtils.getValueWithTtl(row.getValue(), this.ttl) : row.getValue();
+        List<ByteArrayEntry> puts = new ArrayList<>(indexKeys.size());
+        for (byte[] indexKey : indexKeys) {
+            puts.add(new ByteArrayEntry(indexKey(indexKey), indexValue));
+        }
+        List<byte[]> deletes = staleIndexKeys.stream().map(this::indexKey).collect(Collectors.toList());
+        return new ConditionalPut(primaryKey, expect, value, puts, deletes);
     }
 
     @Override
@@ -167,16 +473,23 @@ public final class RaftStoreInstancePart implements StoreInstance {
 
     @Override
     public List<KeyValue> getKeyValueByPrimaryKeys(List<byte[]> primaryKeys) {
+        return getKeyValueByPrimaryKeysAsync(primaryKeys).join();
+    }
+
+    /**
+     * Get the rows by one multi get, the result is in the order of the keys, missing rows have {@code null} value.
+     */
+    public CompletableFuture<List<KeyValue>> getKeyValueByPrimaryKeysAsync(List<byte[]> primaryKeys) {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        return raftStore.get(primaryKeys).join().stream()
+        return raftStore.get(primaryKeys).thenApply(entries -> entries.stream()
             .filter(Objects::nonNull)
-            .map(e -> new KeyValue(e.getKey(), e.getValue())).collect(Collectors.toList());
+            .map(e -> new KeyValue(e.getKey(), e.getValue())).collect(Collectors.toList()));
     }
 
     @Override
-    public Iterator<KeyValue> keyValueScan() {
+    public KeyValueIterator keyValueScan() {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
@@ -184,7 +497,7 @@ public final class RaftStoreInstancePart implements StoreInstance {
     }
 
     @Override
-    public Iterator<KeyValue> keyValueScan(byte[] startPrimaryKey, byte[] endPrimaryKey) {
+    public KeyValueIterator keyValueScan(byte[] startPrimaryKey, byte[] endPrimaryKey) {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
@@ -192,7 +505,7 @@ public final class RaftStoreInstancePart implements StoreInstance {
     }
 
     @Override
-    public Iterator<KeyValue> keyValueScan(
+    public KeyValueIterator keyValueScan(
         byte[] startPrimaryKey, byte[] endPrimaryKey, boolean includeStart, boolean includeEnd
     ) {
         if (!stateMachine.isEnable()) {
@@ -202,15 +515,68 @@ public final class RaftStoreInstancePart implements StoreInstance {
     }
 
     @Override
-    public boolean compute(byte[] startPrimaryKey, byte[] endPrimaryKey, List<byte[]> operations) {
+    public Iterator<KeyValue> keyValueScanByIndex(byte[] indexPrefix) {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        int timestamp = RocksDBUtils.TIMESTAMP_WITHOUT_TTL;
-        if (RocksDBUtils.dataWithTtl(this.ttl)) {
-            timestamp = (int) (System.currentTimeMillis() / 1000);
+        byte[] start = indexKey(indexPrefix);
+        List<byte[]> primaryKeys = new ArrayList<>();
+        try (SeekableIterator<byte[], ByteArrayEntry> iterator = raftStore.scan(start, prefixEnd(start)).join()) {
+            while (iterator.hasNext()) {
+                primaryKeys.add(iterator.next().getValue());
+            }
         }
-        return raftStore.compute(startPrimaryKey, endPrimaryKey, operations, timestamp).join();
+        if (primaryKeys.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        // The row may be gone when the index entry is stale, skip it.
+        return getKeyValueByPrimaryKeys(primaryKeys).stream()
+            .filter(row -> row.getValue() != null)
+            .iterator();
+    }
+
+    @Override
+    public Iterator<PartColumns> columnScan(int[] columns) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        if (!columnarEnabled) {
+            return Collections.singletonList(PartColumns.ofRows(keyValueScan())).iterator();
+        }
+        byte[] start = columnarStart(id);
+        // One iterator, so the chunks of all columns are read from the same view.
+        List<List<byte[]>> chunks = new ArrayList<>(columns.length);
+        try (SeekableIterator<byte[], ByteArrayEntry> iterator = raftStore.scan(start, columnarEnd(id)).join()) {
+            if (!iterator.hasNext() || !Arrays.equals(iterator.next().getKey(), start)) {
+                return Collections.singletonList(PartColumns.ofRows(keyValueScan())).iterator();
+            }
+            for (int column : columns) {
+                byte[] columnStart = chunkKey(column, 0);
+                byte[] columnEnd = chunkKey(column + 1, 0);
+                List<byte[]> columnChunks = new ArrayList<>();
+                iterator.seek(columnStart);
+                while (iterator.hasNext()) {
+                    ByteArrayEntry entry = iterator.next();
+                    if (ByteArrayUtils.compare(entry.getKey(), columnEnd) >= 0) {
+                        break;
+                    }
+                    columnChunks.add(entry.getValue());
+                }
+                chunks.add(columnChunks);
+            }
+        }
+        return Collections.singletonList(PartColumns.ofChunks(chunks)).iterator();
+    }
+
+    @Override
+    public boolean compute(byte[] startPrimaryKey, byte[] endPrimaryKey, List<byte[]> operations) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        final int timestamp = RocksDBUtils.dataWithTtl(this.ttl)
+            ? RocksDBUtils.expireAt(this.ttl)
+            : RocksDBUtils.TIMESTAMP_WITHOUT_TTL;
+        return write(() -> raftStore.compute(startPrimaryKey, endPrimaryKey, operations, timestamp).join());
     }
 
     @Override
@@ -218,7 +584,18 @@ public final class RaftStoreInstancePart implements StoreInstance {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        return raftStore.delete(key).join();
+        return write(() -> raftStore.delete(key).join());
+    }
+
+    @Override
+    public boolean delete(byte[] primaryKey, List<byte[]> indexKeys) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        List<byte[]> deletes = new ArrayList<>(indexKeys.size() + 1);
+        deletes.add(primaryKey);
+        indexKeys.stream().map(this::indexKey).forEach(deletes::add);
+        return write(() -> raftStore.writeBatch(Collections.emptyList(), deletes).join());
     }
 
     @Override
@@ -226,7 +603,7 @@ public final class RaftStoreInstancePart implements StoreInstance {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        return raftStore.delete(primaryKeys).join();
+        return write(() -> raftStore.delete(primaryKeys).join());
     }
 
     @Override
@@ -234,14 +611,28 @@ public final class RaftStoreInstancePart implements StoreInstance {
         if (!stateMachine.isEnable()) {
             throw new UnsupportedOperationException("State machine not available");
         }
-        return raftStore.delete(startPrimaryKey, endPrimaryKey).join();
+        return write(() -> raftStore.delete(startPrimaryKey, endPrimaryKey).join());
+    }
+
+    public String ingestPath() {
+        return raftStore.ingestPath().toString();
+    }
+
+    public boolean ingest(List<String> files) {
+        if (!stateMachine.isEnable()) {
+            throw new UnsupportedOperationException("State machine not available");
+        }
+        if (RocksDBUtils.dataWithTtl(this.ttl)) {
+            throw new UnsupportedOperationException("Ingest is not supported by ttl tables.");
+        }
+        return write(() -> raftStore.ingest(files).join());
     }
 
     @Override
     public long countOrDeletePart(byte[] startKey, boolean doDeleting) {
         CompletableFuture<Long> count = raftStore.count(startKey, part.getEnd());
         if (doDeleting) {
-            raftStore.delete(startKey, part.getEnd()).join();
+            write(() -> raftStore.delete(startKey, part.getEnd()).join());
         }
         return count.join();
     }
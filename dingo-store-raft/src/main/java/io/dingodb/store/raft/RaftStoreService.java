@@ -18,9 +18,11 @@ package io.dingodb.store.raft;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.common.util.Optional;
 import io.dingodb.net.api.ApiRegistry;
+import io.dingodb.raft.kv.storage.SharedRocksDB;
 import io.dingodb.raft.rpc.RaftRpcServerFactory;
 import io.dingodb.raft.rpc.RpcServer;
 import io.dingodb.raft.util.Endpoint;
@@ -50,8 +52,23 @@ public class RaftStoreService implements StoreService {
 
     private final Map<CommonId, RaftStoreInstance> storeInstanceMap = new ConcurrentHashMap<>();
 
+    private final SharedRocksDB sharedDB;
+
     private RaftStoreService() {
         FileUtils.createDirectories(path);
+        if (StoreConfiguration.sharedDb()) {
+            try {
+                this.sharedDB = new SharedRocksDB(
+                    Paths.get(StoreConfiguration.dbPath(), "shared").toString(),
+                    StoreConfiguration.sharedDbBlockCacheSize(),
+                    StoreConfiguration.sharedDbWriteBufferSize()
+                );
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            this.sharedDB = null;
+        }
         RpcServer rpcServer = RaftRpcServerFactory.createRaftRpcServer(
             new Endpoint(DingoConfiguration.host(), StoreConfiguration.raft().getPort()));
         rpcServer.init(null);
@@ -67,9 +84,14 @@ public class RaftStoreService implements StoreService {
 
     @Override
     public StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl) {
+        return getOrCreateInstance(id, ttl, StorageProfile.DEFAULT);
+    }
+
+    @Override
+    public StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl, @Nonnull StorageProfile profile) {
         Path instancePath = Paths.get(StoreConfiguration.dbPath(), id.toString());
         return storeInstanceMap.compute(id, (l, i) -> i == null
-            ? new RaftStoreInstance(instancePath, id, metaServiceApi, 0) : i);
+            ? new RaftStoreInstance(instancePath, id, metaServiceApi, ttl, sharedDB, profile) : i);
     }
 
     @Override
@@ -54,6 +54,10 @@ public class StoreConfiguration {
     private int approximateCount = 10_000;
     private RaftConfiguration raft;
     private boolean collectMetric = false;   // default false, current collect is invalid
+    private boolean sharedDb = false;   // all tables on the executor share one rocksdb, one column family per table
+    private long sharedDbBlockCacheSize = 512L * 1024 * 1024;
+    private long sharedDbWriteBufferSize = 256L * 1024 * 1024;
+    private int columnarConvertInterval = 60;   // seconds, parts of columnar tables idle for it are converted
 
     public static Integer collectStatsInterval() {
         return INSTANCE.collectStatsInterval;
@@ -82,4 +86,20 @@ public class StoreConfiguration {
     public static boolean collectMetric() {
         return INSTANCE.collectMetric;
     }
+
+    public static boolean sharedDb() {
+        return INSTANCE.sharedDb;
+    }
+
+    public static long sharedDbBlockCacheSize() {
+        return INSTANCE.sharedDbBlockCacheSize;
+    }
+
+    public static long sharedDbWriteBufferSize() {
+        return INSTANCE.sharedDbWriteBufferSize;
+    }
+
+    public static int columnarConvertInterval() {
+        return INSTANCE.columnarConvertInterval;
+    }
 }
@@ -21,6 +21,7 @@ import io.dingodb.common.Location;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.PartColumns;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.raft.core.DefaultJRaftServiceFactory;
 import io.dingodb.raft.kv.storage.MemoryRawKVStore;
@@ -76,6 +77,7 @@ public class TestRaftInstancePart {
         storeInstancePart = new RaftStoreInstancePart(
             part, Paths.get(TEST_PATH.toString(), id.toString()), store, logStore, 0
         );
+        storeInstancePart.enableColumnar();
         storeInstancePart.init();
         while (!storeInstancePart.getStateMachine().isAvailable()) {
             LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
@@ -151,6 +153,34 @@ public class TestRaftInstancePart {
     }
 
 
+    @Test
+    public void testConvertColumnar() {
+        // One chunk for each row of column 0, so the chunks are the values of the rows.
+        assertThat(storeInstancePart.convertColumnar(Long.MAX_VALUE, (rows, consumer) -> {
+            for (int chunk = 0; rows.hasNext(); chunk++) {
+                consumer.accept(0, chunk, rows.next().getValue());
+            }
+        })).isTrue();
+        PartColumns columns = storeInstancePart.columnScan(new int[] {0}).next();
+        assertThat(columns.isColumnar()).isTrue();
+        assertThat(columns.getChunks()).hasSize(1);
+        assertThat(columns.getChunks().get(0)).containsExactly(
+            new byte[] {1}, new byte[] {2}, new byte[] {3}, new byte[] {4}, new byte[] {5}
+        );
+    }
+
+    @Test
+    public void testFirstWriteInvalidatesColumnar() {
+        assertThat(storeInstancePart.convertColumnar(Long.MAX_VALUE, (rows, consumer) -> consumer.accept(0, 0, new byte[] {0}))).isTrue();
+        assertThat(storeInstancePart.columnScan(new int[] {0}).next().isColumnar()).isTrue();
+        storeInstancePart.upsertKeyValue(new byte[] {6}, new byte[] {6});
+        PartColumns columns = storeInstancePart.columnScan(new int[] {0}).next();
+        assertThat(columns.isColumnar()).isFalse();
+        assertThat(columns.getRows()).toIterable().hasSize(6);
+        // Written since the conversion starts, the part is not converted.
+        assertThat(storeInstancePart.convertColumnar(0, (rows, consumer) -> consumer.accept(0, 0, new byte[] {0}))).isFalse();
+    }
+
     @Test
     public void testDelete() {
         storeInstancePart.delete(new byte[] {2});
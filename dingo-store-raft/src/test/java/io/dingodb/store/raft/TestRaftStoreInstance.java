@@ -240,6 +240,29 @@ public class TestRaftStoreInstance {
         }
     }
 
+    @Test
+    public void testGetKeyValueByPrimaryKeysWithMultiPartition() {
+        List<Part> parts = constructMultiPartTables();
+        for (Part part : parts) {
+            while (storeInstance.getPart(part.getStart()) == null) {
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        List<KeyValue> rows = storeInstance.getKeyValueByPrimaryKeys(
+            Arrays.asList(new byte[] {4}, new byte[] {1}, new byte[] {6}, new byte[] {0}, new byte[] {2})
+        );
+        assertThat(rows).containsExactly(
+            new KeyValue(new byte[] {4}, new byte[] {4}),
+            new KeyValue(new byte[] {1}, new byte[] {1}),
+            new KeyValue(new byte[] {6}, null),
+            new KeyValue(new byte[] {0}, null),
+            new KeyValue(new byte[] {2}, new byte[] {2})
+        );
+        assertThat(storeInstance.existAny(Arrays.asList(new byte[] {0}, new byte[] {6}))).isFalse();
+        assertThat(storeInstance.existAny(Arrays.asList(new byte[] {0}, new byte[] {6}, new byte[] {3}))).isTrue();
+        parts.forEach(storeInstance::unassignPart);
+    }
+
     private List<Part> constructMultiPartTables() {
         List<Part> parts = new ArrayList<>();
 
@@ -19,9 +19,13 @@ package io.dingodb.store.rocksdb;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.store.Part;
+import io.dingodb.common.store.StorageProfile;
+import io.dingodb.common.store.StorageProfileOptions;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.FileUtils;
 import io.dingodb.store.api.StoreInstance;
 import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
@@ -33,8 +37,11 @@ import org.rocksdb.WriteOptions;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Slf4j
 public class RocksStoreInstance implements StoreInstance {
@@ -43,10 +50,15 @@ public class RocksStoreInstance implements StoreInstance {
     private final WriteOptions writeOptions;
 
     public RocksStoreInstance(CommonId id) {
+        this(id, StorageProfile.DEFAULT);
+    }
+
+    public RocksStoreInstance(CommonId id, StorageProfile profile) {
         try {
             this.path = Paths.get(RocksConfiguration.dataPath(), id.toString());
             FileUtils.createDirectories(path);
-            this.db = RocksDB.open(path.toString());
+            Options options = StorageProfileOptions.apply(profile, new Options().setCreateIfMissing(true));
+            this.db = RocksDB.open(options, path.toString());
             this.writeOptions = new WriteOptions();
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
@@ -161,6 +173,45 @@ public class RocksStoreInstance implements StoreInstance {
         }
     }
 
+    // Conditional writes are serialized by the instance lock, they are not checked against concurrent plain writes.
+    @Override
+    public synchronized boolean putIfAbsent(KeyValue row) {
+        return compareAndSet(row, null);
+    }
+
+    @Override
+    public synchronized List<Boolean> putIfAbsent(List<KeyValue> rows) {
+        List<Boolean> results = new ArrayList<>(rows.size());
+        Set<byte[]> written = new TreeSet<>(ByteArrayUtils::compare);
+        try (final WriteBatch batch = new WriteBatch()) {
+            for (KeyValue row : rows) {
+                boolean absent = !written.contains(row.getKey()) && db.get(row.getKey()) == null;
+                if (absent) {
+                    written.add(row.getKey());
+                    batch.put(row.getKey(), row.getValue());
+                }
+                results.add(absent);
+            }
+            this.db.write(writeOptions, batch);
+            return results;
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean compareAndSet(KeyValue row, byte[] expect) {
+        try {
+            if (!Arrays.equals(db.get(row.getKey()), expect)) {
+                return false;
+            }
+            db.put(writeOptions, row.getKey(), row.getValue());
+            return true;
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public boolean delete(byte[] primaryKey) {
         try {
@@ -18,6 +18,7 @@ package io.dingodb.store.rocksdb;
 
 import com.google.auto.service.AutoService;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.store.StorageProfile;
 import io.dingodb.store.api.StoreInstance;
 import io.dingodb.store.api.StoreService;
 import org.rocksdb.RocksDB;
@@ -49,6 +50,11 @@ public class RocksStoreService implements StoreService {
         return getInstance(id);
     }
 
+    @Override
+    public StoreInstance getOrCreateInstance(@Nonnull CommonId id, int ttl, @Nonnull StorageProfile profile) {
+        return locationStoreInstanceMap.compute(id, (l, i) -> i == null ? new RocksStoreInstance(id, profile) : i);
+    }
+
     @Override
     public void deleteInstance(CommonId id) {
 